@@ -58,6 +58,8 @@ public class DataLoader implements CommandLineRunner {
         restaurante1.setEndereco("Rua X, 100");
         restaurante1.setTaxaEntrega(new BigDecimal("5.00"));
         restaurante1.setAvaliacao(4.5);
+        restaurante1.setLatitude(-23.5505);
+        restaurante1.setLongitude(-46.6333);
         
         Restaurante restaurante2 = new Restaurante();
         restaurante2.setNome("Hamburgueria Popular");
@@ -65,6 +67,8 @@ public class DataLoader implements CommandLineRunner {
         restaurante2.setEndereco("Rua Y, 200");
         restaurante2.setTaxaEntrega(new BigDecimal("3.00"));
         restaurante2.setAvaliacao(4.8);
+        restaurante2.setLatitude(-23.5614);
+        restaurante2.setLongitude(-46.6911);
 
         restauranteRepository.saveAll(Arrays.asList(restaurante1, restaurante2));
         
@@ -5,6 +5,10 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.deliverytech.delivery.service.GeracaoListagem;
+import com.deliverytech.delivery.service.IdempotencyStore;
+import com.deliverytech.delivery.service.RedisGeracaoListagem;
+import com.deliverytech.delivery.service.RedisIdempotencyStore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +19,7 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -99,6 +104,24 @@ public class RedisCacheConfig {
                 .build();
     }
 
+    /**
+     * Store de idempotência compartilhado entre instâncias (substitui o store em memória)
+     */
+    @Bean
+    @Primary
+    public IdempotencyStore redisIdempotencyStore(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisIdempotencyStore(redisTemplate);
+    }
+
+    /**
+     * Geração da listagem de restaurantes compartilhada entre instâncias (substitui o contador local)
+     */
+    @Bean
+    @Primary
+    public GeracaoListagem redisGeracaoListagem(StringRedisTemplate stringRedisTemplate) {
+        return new RedisGeracaoListagem(stringRedisTemplate);
+    }
+
     /**
      * Cria o serializer JSON para objetos Redis
      */
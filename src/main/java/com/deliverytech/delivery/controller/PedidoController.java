@@ -1,8 +1,15 @@
 package com.deliverytech.delivery.controller;
 
 import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.enums.FormatoExportacao;
+import com.deliverytech.delivery.enums.ModoContagem;
 import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.service.IdempotencyService;
+import com.deliverytech.delivery.service.PedidoExportacaoService;
+import com.deliverytech.delivery.service.PedidoFeedService;
 import com.deliverytech.delivery.service.PedidoServiceInterface;
+import com.deliverytech.delivery.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,15 +18,22 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/pedidos")
@@ -27,15 +41,59 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class PedidoController {
     
+    private static final int TAMANHO_MAXIMO_IDEMPOTENCY_KEY = 128;
+    
     @Autowired
     private PedidoServiceInterface pedidoService;
     
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private PedidoFeedService pedidoFeedService;
+    
+    @Autowired
+    private PedidoExportacaoService pedidoExportacaoService;
+    
     @PostMapping
     @PreAuthorize("hasRole('CLIENTE')")
-    @Operation(summary = "Criar pedido", description = "Cria um novo pedido. Requer perfil de CLIENTE.")
-    public ResponseEntity<ApiResponse<PedidoResponseDTO>> criarPedido(@Valid @RequestBody PedidoDTO pedidoDTO) {
-        PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(pedido, "Pedido criado com sucesso"));
+    @Operation(summary = "Criar pedido", description = "Cria um novo pedido. Requer perfil de CLIENTE. " +
+            "Com o header Idempotency-Key, repetições da mesma requisição retornam o pedido já criado; " +
+            "a mesma chave com outro conteúdo retorna 409.")
+    public ResponseEntity<ApiResponse<PedidoResponseDTO>> criarPedido(
+            @Valid @RequestBody PedidoDTO pedidoDTO,
+            @Parameter(description = "Chave única gerada pelo cliente para evitar pedidos duplicados em retentativas")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(pedido, "Pedido criado com sucesso"));
+        }
+        if (idempotencyKey.length() > TAMANHO_MAXIMO_IDEMPOTENCY_KEY) {
+            throw new BusinessException("Idempotency-Key deve ter no máximo " + TAMANHO_MAXIMO_IDEMPOTENCY_KEY + " caracteres");
+        }
+        
+        // Chave restrita ao usuário autenticado, não ao cliente informado no corpo
+        Long usuarioId = SecurityUtils.getCurrentUserId();
+        if (usuarioId == null) {
+            throw new BusinessException("Idempotency-Key exige usuário autenticado");
+        }
+        String chave = "pedido:" + usuarioId + ":" + idempotencyKey.trim();
+        IdempotencyService.Resultado<PedidoResponseDTO> resultado = idempotencyService.executar(
+                chave, pedidoDTO, PedidoResponseDTO.class, () -> pedidoService.criarPedido(pedidoDTO));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(resultado.reaproveitado()))
+                .body(ApiResponse.success(resultado.valor(), "Pedido criado com sucesso"));
+    }
+    
+    @PostMapping("/lote")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CLIENTE')")
+    @Operation(summary = "Criar pedidos em lote", description = "Cria vários pedidos de uma vez. Cada pedido é validado individualmente " +
+            "e o resultado é retornado na mesma ordem do envio; pedidos inválidos não impedem a criação dos demais.")
+    public ResponseEntity<ApiResponse<List<ResultadoPedidoLoteDTO>>> criarPedidosEmLote(@RequestBody List<PedidoDTO> pedidos) {
+        List<ResultadoPedidoLoteDTO> resultados = pedidoService.criarPedidosEmLote(pedidos);
+        long criados = resultados.stream().filter(ResultadoPedidoLoteDTO::isSucesso).count();
+        return ResponseEntity.ok(ApiResponse.success(resultados,
+                String.format("%d de %d pedidos criados com sucesso", criados, resultados.size())));
     }
     
     @GetMapping("/{id}")
@@ -48,19 +106,72 @@ public class PedidoController {
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Listar todos os pedidos com filtros", description = "Lista todos os pedidos. Requer perfil de ADMIN.")
+    @Operation(summary = "Listar todos os pedidos com filtros", description = "Lista todos os pedidos. Requer perfil de ADMIN. " +
+            "Com o parâmetro cursor (vazio na primeira página) a listagem usa paginação por cursor: siga o link next " +
+            "para as páginas seguintes, com custo constante em qualquer profundidade.")
     public ResponseEntity<PagedResponse<PedidoResumoDTO>> listarPedidos(
             @RequestParam(required = false) StatusPedido status,
             @RequestParam(required = false) LocalDate dataInicio,
             @RequestParam(required = false) LocalDate dataFim,
             @RequestParam(required = false) Long clienteId,
             @RequestParam(required = false) Long restauranteId,
+            @Parameter(description = "Cursor opaco retornado no link next; vazio para a primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cálculo do total na paginação por cursor")
+            @RequestParam(defaultValue = "NENHUMA") ModoContagem contagem,
             @PageableDefault(size = 10, sort = "criadoEm") Pageable pageable,
             HttpServletRequest request) {
+        if (cursor != null) {
+            String url = request.getQueryString() != null
+                    ? request.getRequestURL() + "?" + request.getQueryString()
+                    : request.getRequestURL().toString();
+            return ResponseEntity.ok(pedidoService.listarPedidosPorCursor(status, dataInicio, dataFim, clienteId,
+                    restauranteId, cursor, pageable.getPageSize(), contagem, url));
+        }
         PagedResponse<PedidoResumoDTO> pedidos = pedidoService.listarPedidosComFiltros(status, dataInicio, dataFim, clienteId, restauranteId, pageable, request.getRequestURL().toString());
         return ResponseEntity.ok(pedidos);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar pedidos", description = "Exporta os pedidos filtrados em NDJSON ou CSV, em ordem cronológica. " +
+            "As linhas são transmitidas conforme lidas do banco; com Accept-Encoding: gzip a resposta é comprimida durante o envio.")
+    public void exportarPedidos(
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long restauranteId,
+            @Parameter(description = "ndjson ou csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        response.setContentType(formato.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pedidos." + formato.getExtensao() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        if (!aceitaGzip(acceptEncoding)) {
+            pedidoExportacaoService.exportar(status, dataInicio, dataFim, clienteId, restauranteId, formato, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (OutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192)) {
+            pedidoExportacaoService.exportar(status, dataInicio, dataFim, clienteId, restauranteId, formato, gzip);
+        }
+    }
+    
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     @GetMapping("/meus")
     @PreAuthorize("hasRole('CLIENTE')")
     @Operation(summary = "Meus Pedidos", description = "Retorna o histórico de pedidos do cliente logado.")
@@ -79,6 +190,17 @@ public class PedidoController {
         return ResponseEntity.ok(ApiResponse.success(pedidos));
     }
     
+    @GetMapping(value = "/restaurante/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    @Operation(summary = "Feed de pedidos do restaurante", description = "Stream (Server-Sent Events) com novos pedidos e mudanças de status " +
+            "do restaurante do usuário logado. Envie o header Last-Event-ID (o id do último evento recebido, sua sequência de entrega) para receber os eventos perdidos ao reconectar.")
+    public SseEmitter acompanharPedidosDoRestaurante(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        Long restauranteId = SecurityUtils.getCurrentUser().getRestauranteId();
+        if (restauranteId == null) throw new BusinessException("Usuário atual não está associado a um restaurante.");
+        return pedidoFeedService.assinar(restauranteId, ultimoEventoId);
+    }
+    
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and @pedidoService.canAccess(#id))")
     @Operation(summary = "Atualizar status do pedido", description = "Atualiza o status de um pedido. ADMIN ou dono do restaurante.")
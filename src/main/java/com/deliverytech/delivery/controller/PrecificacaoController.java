@@ -0,0 +1,63 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.ApiResponse;
+import com.deliverytech.delivery.dto.RegrasPrecoPicoDTO;
+import com.deliverytech.delivery.service.PrecoPicoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/precificacao/pico")
+@Tag(name = "Precificação", description = "Regras de adicional de horário de pico")
+@SecurityRequirement(name = "bearerAuth")
+public class PrecificacaoController {
+
+    @Autowired
+    private PrecoPicoService precoPicoService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Consultar regras de pico", description = "Retorna as regras de pico em vigor. Requer perfil de ADMIN.")
+    public ResponseEntity<ApiResponse<RegrasPrecoPicoDTO>> consultarRegras() {
+        return ResponseEntity.ok(ApiResponse.success(precoPicoService.getRegras(), "Regras de pico em vigor"));
+    }
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Substituir regras de pico",
+            description = "Compila e publica as novas regras; as cotações passam a usá-las imediatamente. Requer perfil de ADMIN.")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Regras publicadas"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Regras inválidas")
+    })
+    public ResponseEntity<ApiResponse<RegrasPrecoPicoDTO>> atualizarRegras(@Valid @RequestBody RegrasPrecoPicoDTO regras) {
+        RegrasPrecoPicoDTO publicadas = precoPicoService.atualizarRegras(regras);
+        return ResponseEntity.ok(ApiResponse.success(publicadas, "Regras de pico atualizadas com sucesso"));
+    }
+
+    @PutMapping("/zonas/{zona}/demanda")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Alterar multiplicador de demanda",
+            description = "Aplica o multiplicador aos adicionais de pico da zona. Requer perfil de ADMIN.")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Multiplicador aplicado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Zona não encontrada")
+    })
+    public ResponseEntity<ApiResponse<RegrasPrecoPicoDTO>> definirMultiplicadorDemanda(
+            @Parameter(description = "Nome da zona") @PathVariable String zona,
+            @Parameter(description = "Multiplicador entre 0 e 5")
+            @RequestParam BigDecimal multiplicador) {
+        RegrasPrecoPicoDTO regras = precoPicoService.definirMultiplicadorDemanda(zona, multiplicador);
+        return ResponseEntity.ok(ApiResponse.success(regras, "Multiplicador de demanda atualizado com sucesso"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.deliverytech.delivery.controller;
 
 import com.deliverytech.delivery.dto.ApiResponse;
+import com.deliverytech.delivery.dto.CalculoTaxaMultiplaDTO;
+import com.deliverytech.delivery.dto.EstatisticasRestauranteDTO;
+import com.deliverytech.delivery.dto.FiltroRestauranteDTO;
 import com.deliverytech.delivery.dto.PagedResponse;
 import com.deliverytech.delivery.dto.RestauranteDTO;
 import com.deliverytech.delivery.dto.RestauranteResponseDTO;
 import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.dto.ZonaEntregaDTO;
 import com.deliverytech.delivery.service.RestauranteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -87,6 +91,46 @@ public class RestauranteController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/zonas-entrega")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and @restauranteService.isOwner(#id))")
+    @Operation(summary = "Listar zonas de entrega", description = "Lista as zonas de entrega (raio ou polígono) do restaurante. Sem zonas vale o raio padrão.")
+    public ResponseEntity<ApiResponse<List<ZonaEntregaDTO>>> listarZonasEntrega(@PathVariable Long id) {
+        List<ZonaEntregaDTO> zonas = restauranteService.listarZonasEntrega(id);
+        return ResponseEntity.ok(ApiResponse.success(zonas));
+    }
+
+    @PutMapping("/{id}/zonas-entrega")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and @restauranteService.isOwner(#id))")
+    @Operation(summary = "Definir zonas de entrega", description = "Substitui as zonas de entrega do restaurante, cada uma com taxa base própria. Lista vazia volta ao raio padrão.")
+    public ResponseEntity<ApiResponse<List<ZonaEntregaDTO>>> definirZonasEntrega(@PathVariable Long id,
+                                                                               @RequestBody List<@Valid ZonaEntregaDTO> zonas) {
+        List<ZonaEntregaDTO> response = restauranteService.definirZonasEntrega(id, zonas);
+        return ResponseEntity.ok(ApiResponse.success(response, "Zonas de entrega atualizadas com sucesso"));
+    }
+
+    @GetMapping("/categorias")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Listar categorias", description = "Endpoint público com as categorias dos restaurantes cadastrados.")
+    public ResponseEntity<ApiResponse<List<String>>> listarCategorias() {
+        return ResponseEntity.ok(ApiResponse.success(restauranteService.obterCategorias()));
+    }
+
+    @GetMapping("/sugestoes")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Sugestões de busca", description = "Endpoint público de autocomplete: nomes e categorias de restaurantes ativos cujas palavras começam pelo texto digitado, sem diferenciar acentos, dos mais bem avaliados primeiro.")
+    public ResponseEntity<ApiResponse<List<String>>> obterSugestoes(
+            @RequestParam String texto,
+            @Parameter(description = "Máximo de sugestões (1 a 20)") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(ApiResponse.success(restauranteService.obterSugestoes(texto, limite)));
+    }
+
+    @GetMapping("/estatisticas")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Estatísticas dos restaurantes", description = "Totais, categorias ativas e médias de avaliação e taxa. Requer perfil de ADMIN.")
+    public ResponseEntity<ApiResponse<EstatisticasRestauranteDTO>> obterEstatisticas() {
+        return ResponseEntity.ok(ApiResponse.success(restauranteService.obterEstatisticas()));
+    }
+
     @GetMapping("/categoria/{categoria}")
     @PreAuthorize("permitAll()")
     @Operation(summary = "Buscar por categoria", description = "Endpoint público para listar restaurantes de uma categoria específica.")
@@ -103,6 +147,15 @@ public class RestauranteController {
         return ResponseEntity.ok(ApiResponse.success(restaurantes));
     }
 
+    @GetMapping("/busca-avancada")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Busca avançada", description = "Endpoint público com filtros combinados (nome, categoria, endereço, ativo, avaliação mínima, taxa máxima), ordenação e paginação.")
+    public ResponseEntity<PagedResponse<RestauranteResponseDTO>> buscarAvancado(FiltroRestauranteDTO filtro,
+                                                                               HttpServletRequest request) {
+        Page<RestauranteResponseDTO> restaurantesPage = restauranteService.buscarAvancado(filtro);
+        return ResponseEntity.ok(PagedResponse.of(restaurantesPage, request.getRequestURL().toString()));
+    }
+
     @GetMapping("/ativos")
     @PreAuthorize("permitAll()")
     @Operation(summary = "Listar restaurantes ativos", description = "Endpoint público para listar apenas restaurantes que estão ativos.")
@@ -119,6 +172,14 @@ public class RestauranteController {
         return ResponseEntity.ok(ApiResponse.success(taxaResponse, "Taxa de entrega calculada com sucesso"));
     }
 
+    @PostMapping("/taxa-entrega")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Comparar taxas de entrega", description = "Endpoint público para calcular em uma única chamada a taxa de entrega de vários restaurantes para um CEP.")
+    public ResponseEntity<ApiResponse<List<TaxaEntregaResponse>>> calcularTaxasEntrega(@Valid @RequestBody CalculoTaxaMultiplaDTO dto) {
+        List<TaxaEntregaResponse> taxas = restauranteService.calcularTaxasEntrega(dto);
+        return ResponseEntity.ok(ApiResponse.success(taxas, "Taxas de entrega calculadas com sucesso"));
+    }
+
     @GetMapping("/proximos/{cep}")
     @PreAuthorize("permitAll()")
     @Operation(summary = "Buscar restaurantes próximos", description = "Endpoint público para listar restaurantes próximos a um CEP.")
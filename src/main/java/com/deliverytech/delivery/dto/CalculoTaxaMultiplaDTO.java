@@ -10,13 +10,15 @@ import java.util.List;
 @Schema(description = "DTO para cálculo de taxa de entrega múltipla")
 public class CalculoTaxaMultiplaDTO {
 
+    public static final int MAXIMO_RESTAURANTES = 100;
+
     @NotBlank(message = "CEP é obrigatório")
     @ValidCEP(message = "CEP deve estar no formato válido (12345-678)")
     @Schema(description = "CEP de destino", example = "01234-567", required = true)
     private String cep;
 
     @NotEmpty(message = "Lista de restaurantes não pode estar vazia")
-    @Size(min = 1, max = 10, message = "Deve informar entre 1 e 10 restaurantes")
+    @Size(min = 1, max = MAXIMO_RESTAURANTES, message = "Deve informar entre 1 e 100 restaurantes")
     @Schema(description = "Lista de IDs dos restaurantes", example = "[1, 2, 3]", required = true)
     private List<Long> restauranteIds;
 
@@ -87,7 +89,7 @@ public class CalculoTaxaMultiplaDTO {
     public boolean isValida() {
         return cep != null && !cep.trim().isEmpty() &&
                restauranteIds != null && !restauranteIds.isEmpty() &&
-               restauranteIds.size() <= 10;
+               restauranteIds.size() <= MAXIMO_RESTAURANTES;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.dto;
 
+import com.deliverytech.delivery.model.Cliente;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 
@@ -30,6 +31,21 @@ public class ClienteResponseDTO {
     // Constructors
     public ClienteResponseDTO() {}
 
+    /**
+     * Conversão direta da entidade, sem reflexão
+     */
+    public static ClienteResponseDTO from(Cliente cliente) {
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.id = cliente.getId();
+        dto.nome = cliente.getNome();
+        dto.email = cliente.getEmail();
+        dto.telefone = cliente.getTelefone();
+        dto.endereco = cliente.getEndereco();
+        dto.ativo = cliente.isAtivo();
+        dto.dataCadastro = cliente.getDataCadastro();
+        return dto;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.OutboxEvento;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.model.TipoEventoPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento do ciclo de vida do pedido entregue aos sinks do outbox
+ * A entrega é pelo menos uma vez: consumidores devem tolerar repetições do mesmo id
+ * A sequência é a posição na ordem de entrega; um evento reentregue recebe uma sequência nova
+ */
+public record EventoPedido(
+        Long id,
+        TipoEventoPedido tipo,
+        Long pedidoId,
+        Long restauranteId,
+        Long clienteId,
+        StatusPedido status,
+        StatusPedido statusAnterior,
+        BigDecimal total,
+        LocalDateTime ocorridoEm,
+        Long sequencia
+) {
+    public static EventoPedido from(OutboxEvento evento) {
+        return new EventoPedido(evento.getId(), evento.getTipo(), evento.getPedidoId(), evento.getRestauranteId(),
+                evento.getClienteId(), evento.getStatus(), evento.getStatusAnterior(), evento.getTotal(),
+                evento.getCriadoEm(), evento.getSequencia());
+    }
+}
@@ -168,7 +168,8 @@ public class FiltroRestauranteDTO {
         }
         
         if (categoria != null) {
-            categoria = categoria.trim();
+            // Comparada por igualdade com a categoria gravada, que segue o formato padrão
+            categoria = RestauranteDTO.categoriaNormalizada(categoria);
             if (categoria.isEmpty()) categoria = null;
         }
         
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.dto;
 
+import com.deliverytech.delivery.model.ItemPedido;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 
@@ -27,6 +28,20 @@ public class ItemPedidoResponseDTO {
     // Constructors
     public ItemPedidoResponseDTO() {}
 
+    /**
+     * Conversão direta da entidade, sem reflexão
+     */
+    public static ItemPedidoResponseDTO from(ItemPedido item) {
+        ItemPedidoResponseDTO dto = new ItemPedidoResponseDTO();
+        dto.id = item.getId();
+        dto.produto = ProdutoResponseDTO.from(item.getProduto());
+        dto.quantidade = item.getQuantidade();
+        dto.precoUnitario = item.getPrecoUnitario();
+        dto.precoTotal = item.getPrecoTotal();
+        dto.observacao = item.getObservacao();
+        return dto;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
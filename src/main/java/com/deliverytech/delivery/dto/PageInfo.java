@@ -1,21 +1,26 @@
 package com.deliverytech.delivery.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Informações de paginação")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageInfo {
     
-    @Schema(description = "Número da página atual (baseado em zero)", example = "0")
-    private int number;
+    @Schema(description = "Número da página atual (baseado em zero); ausente na paginação por cursor", example = "0")
+    private Integer number;
     
     @Schema(description = "Tamanho da página", example = "10")
     private int size;
     
-    @Schema(description = "Total de elementos", example = "50")
-    private long totalElements;
+    @Schema(description = "Total de elementos; ausente quando a contagem não foi solicitada", example = "50")
+    private Long totalElements;
     
-    @Schema(description = "Total de páginas", example = "5")
-    private int totalPages;
+    @Schema(description = "Indica que o total é um limite inferior (contagem interrompida no limite)", example = "false")
+    private Boolean totalEstimado;
+    
+    @Schema(description = "Total de páginas; ausente na paginação por cursor", example = "5")
+    private Integer totalPages;
     
     @Schema(description = "Indica se é a primeira página", example = "true")
     private boolean first;
@@ -42,12 +47,27 @@ public class PageInfo {
         this.hasPrevious = number > 0;
     }
     
+    /**
+     * Página da paginação por cursor: sem número de página e com total opcional
+     */
+    public static PageInfo cursor(int size, boolean primeira, boolean hasNext, Long totalElements, Boolean totalEstimado) {
+        PageInfo info = new PageInfo();
+        info.size = size;
+        info.totalElements = totalElements;
+        info.totalEstimado = totalEstimado;
+        info.first = primeira;
+        info.last = !hasNext;
+        info.hasNext = hasNext;
+        info.hasPrevious = !primeira;
+        return info;
+    }
+    
     // Getters and Setters
-    public int getNumber() {
+    public Integer getNumber() {
         return number;
     }
     
-    public void setNumber(int number) {
+    public void setNumber(Integer number) {
         this.number = number;
     }
     
@@ -59,19 +79,27 @@ public class PageInfo {
         this.size = size;
     }
     
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
     
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
     
-    public int getTotalPages() {
+    public Boolean getTotalEstimado() {
+        return totalEstimado;
+    }
+    
+    public void setTotalEstimado(Boolean totalEstimado) {
+        this.totalEstimado = totalEstimado;
+    }
+    
+    public Integer getTotalPages() {
         return totalPages;
     }
     
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
     
@@ -2,6 +2,7 @@ package com.deliverytech.delivery.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
+import org.springframework.web.util.UriComponentsBuilder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,24 @@ public class PagedResponse<T> {
         return response;
     }
     
+    /**
+     * Resposta da paginação por cursor: o link "next" carrega o cursor opaco
+     * da última linha e preserva os demais parâmetros da requisição
+     */
+    public static <T> PagedResponse<T> ofCursor(List<T> content, int size, boolean primeira, String proximoCursor,
+                                                Long totalElements, Boolean totalEstimado, String requestUrl) {
+        PageInfo pageInfo = PageInfo.cursor(size, primeira, proximoCursor != null, totalElements, totalEstimado);
+        PagedResponse<T> response = new PagedResponse<>(content, pageInfo);
+        
+        UriComponentsBuilder url = UriComponentsBuilder.fromUriString(requestUrl).replaceQueryParam("page");
+        response.links.put("self", url.build(true).toUriString());
+        response.links.put("first", url.cloneBuilder().replaceQueryParam("cursor", "").build(true).toUriString());
+        if (proximoCursor != null) {
+            response.links.put("next", url.cloneBuilder().replaceQueryParam("cursor", proximoCursor).build(true).toUriString());
+        }
+        return response;
+    }
+    
     private void buildLinks(String baseUrl, Page<T> springPage) {
         // Remove query parameters if they exist
         String cleanBaseUrl = baseUrl.split("\\?")[0];
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de pedidos (NDJSON e CSV)
+ */
+public record PedidoExportacaoDTO(
+        Long id,
+        LocalDateTime dataPedido,
+        StatusPedido status,
+        Long clienteId,
+        String nomeCliente,
+        Long restauranteId,
+        String nomeRestaurante,
+        String cepEntrega,
+        BigDecimal subtotal,
+        BigDecimal taxaEntrega,
+        BigDecimal total
+) {
+    public static final String CABECALHO_CSV =
+            "id,dataPedido,status,clienteId,nomeCliente,restauranteId,nomeRestaurante,cepEntrega,subtotal,taxaEntrega,total";
+
+    public static PedidoExportacaoDTO from(Pedido pedido) {
+        return new PedidoExportacaoDTO(pedido.getId(), pedido.getDataPedido(), pedido.getStatus(),
+                pedido.getCliente().getId(), pedido.getCliente().getNome(),
+                pedido.getRestaurante().getId(), pedido.getRestaurante().getNome(),
+                pedido.getCepEntrega(), pedido.getSubtotal(), pedido.getTaxaEntrega(), pedido.getTotal());
+    }
+}
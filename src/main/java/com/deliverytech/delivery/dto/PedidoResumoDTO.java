@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.dto;
 
+import com.deliverytech.delivery.model.Pedido;
 import com.deliverytech.delivery.model.StatusPedido;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
@@ -44,6 +45,20 @@ public class PedidoResumoDTO {
         this.quantidadeItens = quantidadeItens;
     }
 
+    /**
+     * Conversão direta da entidade, sem reflexão
+     */
+    public static PedidoResumoDTO from(Pedido pedido) {
+        PedidoResumoDTO dto = new PedidoResumoDTO();
+        dto.id = pedido.getId();
+        dto.nomeCliente = pedido.getCliente().getNome();
+        dto.nomeRestaurante = pedido.getRestaurante().getNome();
+        dto.dataPedido = pedido.getDataPedido();
+        dto.status = pedido.getStatus();
+        dto.valorTotal = pedido.getTotal();
+        return dto;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.StatusPedido;
+
+/**
+ * Projeção mínima usada nas transições de status, sem carregar o agregado
+ */
+public interface PedidoStatusResumo {
+    StatusPedido getStatus();
+    Long getRestauranteId();
+    Long getClienteId();
+}
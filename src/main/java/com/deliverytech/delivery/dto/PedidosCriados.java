@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.Pedido;
+
+import java.util.List;
+
+/**
+ * Pedidos gravados na transação atual (um pedido avulso ou os aceitos de um lote)
+ * Assinantes locais o recebem depois do commit; a entrega para fora da aplicação é do outbox
+ */
+public record PedidosCriados(List<Pedido> pedidos) {
+}
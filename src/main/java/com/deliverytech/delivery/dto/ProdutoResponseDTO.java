@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.dto;
 
+import com.deliverytech.delivery.model.Produto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 
@@ -30,6 +31,21 @@ public class ProdutoResponseDTO {
     // Constructors
     public ProdutoResponseDTO() {}
 
+    /**
+     * Conversão direta da entidade, sem reflexão
+     */
+    public static ProdutoResponseDTO from(Produto produto) {
+        ProdutoResponseDTO dto = new ProdutoResponseDTO();
+        dto.id = produto.getId();
+        dto.nome = produto.getNome();
+        dto.descricao = produto.getDescricao();
+        dto.preco = produto.getPreco();
+        dto.categoria = produto.getCategoria();
+        dto.disponivel = produto.isDisponivel();
+        dto.restaurante = produto.getRestaurante() != null ? RestauranteResponseDTO.from(produto.getRestaurante()) : null;
+        return dto;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
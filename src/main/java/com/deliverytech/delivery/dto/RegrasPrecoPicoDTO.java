@@ -0,0 +1,89 @@
+package com.deliverytech.delivery.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Regras de adicional de horário de pico por zona de entrega
+ */
+@Schema(description = "Regras de adicional de horário de pico por zona")
+public record RegrasPrecoPicoDTO(
+        @NotEmpty(message = "Informe ao menos uma zona")
+        @Valid
+        List<Zona> zonas) {
+
+    /**
+     * Zona delimitada por faixa de CEP; sem faixa, vale para os CEPs não cobertos pelas demais
+     * Janelas sobrepostas: prevalece o maior adicional
+     */
+    @Schema(description = "Zona de preço")
+    public record Zona(
+            @NotBlank(message = "Nome da zona é obrigatório")
+            @Schema(description = "Nome da zona", example = "sao-paulo")
+            String nome,
+
+            @Min(value = 0, message = "CEP inicial inválido")
+            @Max(value = 99_999_999, message = "CEP inicial inválido")
+            @Schema(description = "Início da faixa de CEP (8 dígitos, sem hífen)", example = "1000000")
+            Integer cepInicio,
+
+            @Min(value = 0, message = "CEP final inválido")
+            @Max(value = 99_999_999, message = "CEP final inválido")
+            @Schema(description = "Fim da faixa de CEP, inclusive", example = "9999999")
+            Integer cepFim,
+
+            @NotNull(message = "Janelas da zona são obrigatórias")
+            @Valid
+            List<Janela> janelas,
+
+            @Schema(description = "Datas avulsas tratadas como feriado na zona (estaduais, municipais)",
+                    example = "[\"2026-01-25\"]")
+            List<LocalDate> feriados,
+
+            @Schema(description = "Trata como feriado os feriados nacionais de cada ano, calculados", example = "true")
+            Boolean feriadosNacionais,
+
+            @Valid
+            @Schema(description = "Janelas usadas nos feriados, no lugar das janelas do dia da semana, "
+                    + "inclusive quando o feriado cai em dia útil")
+            List<Janela> janelasFeriado,
+
+            @DecimalMin(value = "0.0", message = "Multiplicador de demanda deve ser entre 0 e 5")
+            @DecimalMax(value = "5.0", message = "Multiplicador de demanda deve ser entre 0 e 5")
+            @Schema(description = "Multiplicador de demanda aplicado aos adicionais da zona", example = "1.0")
+            BigDecimal multiplicadorDemanda) {
+    }
+
+    /**
+     * Intervalo [inicio, fim) nos dias informados; fim menor ou igual ao início atravessa a meia-noite
+     */
+    @Schema(description = "Janela de horário com adicional")
+    public record Janela(
+            @Schema(description = "Dias da semana; vazio nas janelas de feriado", example = "[\"MONDAY\", \"FRIDAY\"]")
+            List<DayOfWeek> dias,
+
+            @NotNull(message = "Horário inicial é obrigatório")
+            @JsonFormat(pattern = "HH:mm")
+            @Schema(description = "Horário inicial", example = "11:00")
+            LocalTime inicio,
+
+            @NotNull(message = "Horário final é obrigatório")
+            @JsonFormat(pattern = "HH:mm")
+            @Schema(description = "Horário final, exclusivo", example = "15:00")
+            LocalTime fim,
+
+            @NotNull(message = "Adicional é obrigatório")
+            @DecimalMin(value = "0.0", message = "Adicional deve ser maior ou igual a zero")
+            @Digits(integer = 3, fraction = 2, message = "Adicional deve ter no máximo 2 casas decimais")
+            @Schema(description = "Adicional em reais", example = "2.00")
+            BigDecimal adicional) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.Restaurante;
+
+/**
+ * Restaurante criado ou alterado (dados, status, localização ou zonas de entrega)
+ * Publicado dentro da transação; os índices em memória o aplicam depois do commit
+ */
+public record RestauranteAlterado(Restaurante restaurante) {
+}
@@ -55,6 +55,18 @@ public class RestauranteDTO {
             minimum = "1.0", maximum = "5.0")
     private Double avaliacao;
 
+    @NotNull(message = "Latitude é obrigatória")
+    @DecimalMin(value = "-90.0", message = "Latitude deve ser entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "Latitude deve ser entre -90 e 90")
+    @Schema(description = "Latitude do restaurante (WGS84), usada no cálculo da entrega", example = "-23.5505", required = true)
+    private Double latitude;
+
+    @NotNull(message = "Longitude é obrigatória")
+    @DecimalMin(value = "-180.0", message = "Longitude deve ser entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "Longitude deve ser entre -180 e 180")
+    @Schema(description = "Longitude do restaurante (WGS84), usada no cálculo da entrega", example = "-46.6333", required = true)
+    private Double longitude;
+
     // Constructors
     public RestauranteDTO() {}
 
@@ -134,6 +146,22 @@ public class RestauranteDTO {
         this.horarioFuncionamento = horarioFuncionamento;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     // Métodos utilitários para compatibilidade com frontend
     
     /**
@@ -160,23 +188,30 @@ public class RestauranteDTO {
      * Normaliza a categoria para o formato padrão
      */
     public void normalizarCategoria() {
-        if (categoria != null) {
-            categoria = categoria.trim();
-            // Capitaliza primeira letra de cada palavra
-            String[] palavras = categoria.toLowerCase().split("\\s+");
-            StringBuilder resultado = new StringBuilder();
-            
-            for (int i = 0; i < palavras.length; i++) {
-                if (i > 0) resultado.append(" ");
-                if (palavras[i].length() > 0) {
-                    resultado.append(Character.toUpperCase(palavras[i].charAt(0)));
-                    if (palavras[i].length() > 1) {
-                        resultado.append(palavras[i].substring(1));
-                    }
+        categoria = categoriaNormalizada(categoria);
+    }
+
+    /**
+     * Categoria no formato padrão (primeira letra de cada palavra maiúscula), como é gravada
+     */
+    public static String categoriaNormalizada(String categoria) {
+        if (categoria == null) {
+            return null;
+        }
+        // Capitaliza primeira letra de cada palavra
+        String[] palavras = categoria.trim().toLowerCase().split("\\s+");
+        StringBuilder resultado = new StringBuilder();
+        
+        for (int i = 0; i < palavras.length; i++) {
+            if (i > 0) resultado.append(" ");
+            if (palavras[i].length() > 0) {
+                resultado.append(Character.toUpperCase(palavras[i].charAt(0)));
+                if (palavras[i].length() > 1) {
+                    resultado.append(palavras[i].substring(1));
                 }
             }
-            categoria = resultado.toString();
         }
+        return resultado.toString();
     }
 
     /**
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.dto;
+
+/**
+ * Restaurante excluído; publicado dentro da transação e aplicado pelos índices depois do commit
+ */
+public record RestauranteRemovido(Long id) {
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.dto;
 
+import com.deliverytech.delivery.model.Restaurante;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
@@ -31,6 +32,12 @@ public class RestauranteResponseDTO {
     @Schema(description = "Status ativo do restaurante", example = "true", required = true)
     private Boolean ativo;
 
+    @Schema(description = "Latitude do restaurante (WGS84)", example = "-23.5505")
+    private Double latitude;
+
+    @Schema(description = "Longitude do restaurante (WGS84)", example = "-46.6333")
+    private Double longitude;
+
     @Schema(description = "Data e hora de criação do restaurante", 
             example = "2024-01-15T10:30:00")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -82,6 +89,33 @@ public class RestauranteResponseDTO {
         this.atualizadoEm = atualizadoEm;
     }
 
+    /**
+     * Conversão direta da entidade, sem reflexão
+     */
+    public static RestauranteResponseDTO from(Restaurante restaurante) {
+        RestauranteResponseDTO dto = new RestauranteResponseDTO(restaurante.getId(), restaurante.getNome(),
+                restaurante.getCategoria(), restaurante.getEndereco(), restaurante.getTaxaEntrega(),
+                restaurante.getAvaliacao(), restaurante.isAtivo());
+        dto.setLatitude(restaurante.getLatitude());
+        dto.setLongitude(restaurante.getLongitude());
+        return dto;
+    }
+
+    /**
+     * Cópia independente, para quem precisa entregar o mesmo resultado a vários chamadores
+     */
+    public RestauranteResponseDTO copia() {
+        RestauranteResponseDTO copia = new RestauranteResponseDTO(id, nome, categoria, endereco, taxaEntrega,
+                avaliacao, ativo, criadoEm, atualizadoEm);
+        copia.setLatitude(latitude);
+        copia.setLongitude(longitude);
+        copia.setDistanciaKm(distanciaKm);
+        copia.setTempoEntregaEstimado(tempoEntregaEstimado);
+        copia.setTaxaEntregaCalculada(taxaEntregaCalculada);
+        copia.setEntregaDisponivel(entregaDisponivel);
+        return copia;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -139,6 +173,22 @@ public class RestauranteResponseDTO {
         this.ativo = ativo;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public LocalDateTime getCriadoEm() {
         return criadoEm;
     }
@@ -0,0 +1,70 @@
+package com.deliverytech.delivery.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da criação de um pedido dentro de um lote")
+public class ResultadoPedidoLoteDTO {
+
+    @Schema(description = "Posição do pedido na lista enviada", example = "0")
+    private int indice;
+
+    @Schema(description = "Indica se o pedido foi criado", example = "true")
+    private boolean sucesso;
+
+    @Schema(description = "Pedido criado (apenas em caso de sucesso)")
+    private PedidoResponseDTO pedido;
+
+    @Schema(description = "Motivo da rejeição (apenas em caso de falha)", example = "Produto Pizza não está disponível")
+    private String erro;
+
+    // Constructors
+    public ResultadoPedidoLoteDTO() {}
+
+    public ResultadoPedidoLoteDTO(int indice, boolean sucesso, PedidoResponseDTO pedido, String erro) {
+        this.indice = indice;
+        this.sucesso = sucesso;
+        this.pedido = pedido;
+        this.erro = erro;
+    }
+
+    public static ResultadoPedidoLoteDTO sucesso(int indice, PedidoResponseDTO pedido) {
+        return new ResultadoPedidoLoteDTO(indice, true, pedido, null);
+    }
+
+    public static ResultadoPedidoLoteDTO falha(int indice, String erro) {
+        return new ResultadoPedidoLoteDTO(indice, false, null, erro);
+    }
+
+    // Getters and Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public void setSucesso(boolean sucesso) {
+        this.sucesso = sucesso;
+    }
+
+    public PedidoResponseDTO getPedido() {
+        return pedido;
+    }
+
+    public void setPedido(PedidoResponseDTO pedido) {
+        this.pedido = pedido;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.StatusPedido;
+
+/**
+ * Transição de status gravada na transação atual, para os assinantes locais depois do commit
+ */
+public record StatusPedidoAlterado(Long pedidoId, StatusPedido status) {
+}
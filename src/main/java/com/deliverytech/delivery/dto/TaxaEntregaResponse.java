@@ -222,6 +222,20 @@ public class TaxaEntregaResponse {
                 getTaxaEntregaFormatada(), getDistanciaFormatada());
     }
 
+    /**
+     * Cópia independente, para reaproveitar uma cotação sem expor a instância guardada
+     */
+    public TaxaEntregaResponse copiar() {
+        TaxaEntregaResponse copia = new TaxaEntregaResponse(taxaEntrega, distancia, tempoEstimado,
+                cepDestino, restauranteId, restauranteNome);
+        copia.setTaxaBase(taxaBase);
+        copia.setTaxaDistancia(taxaDistancia);
+        copia.setCalculadoEm(calculadoEm);
+        copia.setEntregaDisponivel(entregaDisponivel);
+        copia.setObservacoes(observacoes);
+        return copia;
+    }
+
     /**
      * Cria uma resposta de erro quando a entrega não está disponível
      */
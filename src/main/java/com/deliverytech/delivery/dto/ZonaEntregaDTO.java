@@ -0,0 +1,91 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Zona de entrega de um restaurante, por raio ou polígono")
+public class ZonaEntregaDTO {
+
+    public static final double RAIO_MAXIMO_KM = 30.0;
+    public static final int MAXIMO_VERTICES = 200;
+
+    @NotBlank(message = "Nome da zona é obrigatório")
+    @Size(max = 60, message = "Nome da zona deve ter no máximo 60 caracteres")
+    @Schema(description = "Nome da zona", example = "Centro", required = true)
+    private String nome;
+
+    @NotNull(message = "Tipo da zona é obrigatório")
+    @Schema(description = "RAIO ou POLIGONO", example = "RAIO", required = true)
+    private TipoZonaEntrega tipo;
+
+    @DecimalMin(value = "0.1", message = "Raio deve ser entre 0,1 e 30 km")
+    @DecimalMax(value = "30.0", message = "Raio deve ser entre 0,1 e 30 km")
+    @Schema(description = "Raio em km a partir do restaurante (tipo RAIO)", example = "5.0")
+    private Double raioKm;
+
+    @Size(max = MAXIMO_VERTICES, message = "Polígono deve ter no máximo 200 vértices")
+    @Schema(description = "Vértices [latitude, longitude] do polígono (tipo POLIGONO)",
+            example = "[[-23.54, -46.64], [-23.54, -46.62], [-23.56, -46.62], [-23.56, -46.64]]")
+    private List<double[]> vertices;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "Taxa base deve ser maior ou igual a zero")
+    @DecimalMax(value = "999.99", message = "Taxa base deve ser menor que R$ 1000,00")
+    @Digits(integer = 3, fraction = 2, message = "Taxa base deve ter no máximo 3 dígitos inteiros e 2 decimais")
+    @Schema(description = "Taxa base na zona; vazia usa a taxa de entrega do restaurante", example = "4.50")
+    private BigDecimal taxaBase;
+
+    // Constructors
+    public ZonaEntregaDTO() {}
+
+    public ZonaEntregaDTO(String nome, TipoZonaEntrega tipo, Double raioKm, List<double[]> vertices, BigDecimal taxaBase) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.raioKm = raioKm;
+        this.vertices = vertices;
+        this.taxaBase = taxaBase;
+    }
+
+    // Getters and Setters
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public TipoZonaEntrega getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoZonaEntrega tipo) {
+        this.tipo = tipo;
+    }
+
+    public Double getRaioKm() {
+        return raioKm;
+    }
+
+    public void setRaioKm(Double raioKm) {
+        this.raioKm = raioKm;
+    }
+
+    public List<double[]> getVertices() {
+        return vertices;
+    }
+
+    public void setVertices(List<double[]> vertices) {
+        this.vertices = vertices;
+    }
+
+    public BigDecimal getTaxaBase() {
+        return taxaBase;
+    }
+
+    public void setTaxaBase(BigDecimal taxaBase) {
+        this.taxaBase = taxaBase;
+    }
+}
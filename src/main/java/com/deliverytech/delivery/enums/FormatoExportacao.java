@@ -0,0 +1,39 @@
+package com.deliverytech.delivery.enums;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Formatos disponíveis para exportação de pedidos")
+public enum FormatoExportacao {
+
+    @Schema(description = "Um objeto JSON por linha")
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    @Schema(description = "Valores separados por vírgula, com cabeçalho")
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String valor) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.extensao.equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new BusinessException("Formato de exportação inválido: " + valor + ". Use ndjson ou csv");
+    }
+}
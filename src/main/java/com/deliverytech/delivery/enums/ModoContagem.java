@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Forma de calcular o total de elementos na paginação por cursor")
+public enum ModoContagem {
+
+    @Schema(description = "Não calcula o total (mais barato em qualquer profundidade)")
+    NENHUMA,
+
+    @Schema(description = "Conta até um limite; acima dele o total é informado como estimado")
+    LIMITADA,
+
+    @Schema(description = "COUNT completo, com o mesmo custo da paginação por offset")
+    EXATA
+}
@@ -67,6 +67,11 @@ public class ConflictException extends RuntimeException {
             "Já existe um restaurante cadastrado com este nome: " + nome);
     }
 
+    public static ConflictException restauranteSimilarJaExiste(String nome) {
+        return new ConflictException("RESTAURANTE_DUPLICADO", nome, 
+            "Já existe um restaurante cadastrado com nome semelhante a: " + nome);
+    }
+
     public static ConflictException produtoJaExiste(String nome, Long restauranteId) {
         return new ConflictException("PRODUTO_DUPLICADO", nome, 
             String.format("Já existe um produto com nome '%s' neste restaurante", nome));
@@ -97,6 +102,11 @@ public class ConflictException extends RuntimeException {
             String.format("Não é possível alterar status de '%s' para '%s'", statusAtual, novoStatus));
     }
 
+    public static ConflictException statusAlteradoConcorrentemente(Long pedidoId, String statusEsperado) {
+        return new ConflictException("STATUS_ALTERADO", pedidoId, 
+            String.format("Status do pedido %d foi alterado por outra requisição (esperado '%s')", pedidoId, statusEsperado));
+    }
+
     public static ConflictException recursoEmUso(String recurso, Object id) {
         return new ConflictException("RECURSO_EM_USO", id, 
             String.format("%s está sendo usado e não pode ser removido", recurso));
@@ -5,8 +5,10 @@ import java.math.BigDecimal;
 
 @Entity
 public class ItemPedido {
+    // Sequência com alocação em bloco: IDENTITY impede o batch de INSERTs do Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -16,8 +18,11 @@ public class ItemPedido {
     private Produto produto;
     
     private Integer quantidade;
-    private BigDecimal precoUnitario;
-    private BigDecimal precoTotal;
+    // Centavos em memória; colunas continuam decimais com duas casas
+    @Convert(converter = MoneyConverter.class)
+    private Money precoUnitario;
+    @Convert(converter = MoneyConverter.class)
+    private Money precoTotal;
     private String observacao;
 
     // Getters e Setters
@@ -54,28 +59,44 @@ public class ItemPedido {
     }
 
     public BigDecimal getPrecoUnitario() {
-        return precoUnitario;
+        return precoUnitario != null ? precoUnitario.toBigDecimal() : null;
     }
 
     public void setPrecoUnitario(BigDecimal precoUnitario) {
+        this.precoUnitario = precoUnitario != null ? Money.de(precoUnitario) : null;
+    }
+
+    public Money getPrecoUnitarioMoney() {
+        return precoUnitario;
+    }
+
+    public void setPrecoUnitarioMoney(Money precoUnitario) {
         this.precoUnitario = precoUnitario;
     }
 
     public BigDecimal getPrecoTotal() {
-        return precoTotal;
+        return precoTotal != null ? precoTotal.toBigDecimal() : null;
     }
 
     public void setPrecoTotal(BigDecimal precoTotal) {
+        this.precoTotal = precoTotal != null ? Money.de(precoTotal) : null;
+    }
+
+    public Money getPrecoTotalMoney() {
+        return precoTotal;
+    }
+
+    public void setPrecoTotalMoney(Money precoTotal) {
         this.precoTotal = precoTotal;
     }
 
     // Compatibility methods expected by services: subtotal aliases
     public BigDecimal getSubtotal() {
-        return this.precoTotal;
+        return getPrecoTotal();
     }
 
     public void setSubtotal(BigDecimal subtotal) {
-        this.precoTotal = subtotal;
+        setPrecoTotal(subtotal);
     }
 
     public String getObservacao() {
@@ -91,7 +112,7 @@ public class ItemPedido {
     @PreUpdate
     private void calcularPrecoTotal() {
         if (this.precoUnitario != null && this.quantidade != null) {
-            this.precoTotal = this.precoUnitario.multiply(BigDecimal.valueOf(this.quantidade));
+            this.precoTotal = this.precoUnitario.vezes(this.quantidade);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.deliverytech.delivery.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável em centavos de real
+ *
+ * Soma e multiplicação por quantidade são exatas em long (estouro lança ArithmeticException).
+ * A conversão de BigDecimal arredonda para centavos com HALF_UP, o mesmo que acontece ao gravar
+ * numa coluna numeric(38,2); valores já com duas casas são convertidos sem perda
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    public static Money de(BigDecimal valor) {
+        return deCentavos(centavosDe(valor));
+    }
+
+    /**
+     * Centavos do valor, sem criar um Money; útil para acumular em laços
+     */
+    public static long centavosDe(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor monetário não pode ser nulo");
+        }
+        if (valor.scale() == 0) {
+            return Math.multiplyExact(valor.longValueExact(), 100L);
+        }
+        return valor.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Money mais(Money outro) {
+        return outro.centavos == 0 ? this : deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money vezes(int quantidade) {
+        return quantidade == 1 ? this : deCentavos(Math.multiplyExact(centavos, (long) quantidade));
+    }
+
+    /**
+     * Valor limitado ao intervalo [minimo, maximo]
+     */
+    public Money limitado(Money minimo, Money maximo) {
+        if (centavos < minimo.centavos) return minimo;
+        if (centavos > maximo.centavos) return maximo;
+        return this;
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money outro && centavos == outro.centavos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
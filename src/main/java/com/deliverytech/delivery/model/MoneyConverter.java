@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Grava Money como decimal com duas casas, mantendo o esquema das colunas BigDecimal
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Money.de(valor);
+    }
+}
@@ -0,0 +1,201 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento do ciclo de vida do pedido gravado na mesma transação do Pedido (transactional outbox)
+ * O OutboxRelay reserva os eventos pendentes (reserva/reservadoAte), atribui a sequência de entrega, entrega
+ * cada um aos sinks e marca processadoEm; eventos que esgotam as tentativas ficam descartados (descartadoEm)
+ */
+@Entity
+@Table(name = "outbox_evento", indexes = {
+        @Index(name = "idx_outbox_evento_pendente", columnList = "processado_em, id"),
+        @Index(name = "idx_outbox_evento_restaurante", columnList = "restaurante_id, sequencia"),
+        @Index(name = "idx_outbox_evento_sequencia", columnList = "sequencia"),
+        @Index(name = "idx_outbox_evento_reserva", columnList = "reserva")
+})
+public class OutboxEvento {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_evento_seq")
+    @SequenceGenerator(name = "outbox_evento_seq", sequenceName = "outbox_evento_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEventoPedido tipo;
+
+    @Column(nullable = false)
+    private Long pedidoId;
+    private Long restauranteId;
+    private Long clienteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private StatusPedido status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private StatusPedido statusAnterior;
+
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+    private LocalDateTime processadoEm;
+    private int tentativas;
+    private LocalDateTime descartadoEm;
+
+    @Column(length = 500)
+    private String ultimoErro;
+
+    // Nomes dos sinks que já aceitaram o evento, separados por vírgula; não recebem de novo na repetição
+    @Column(length = 500)
+    private String sinksEntregues;
+
+    @Column(length = 36)
+    private String reserva;
+    private LocalDateTime reservadoAte;
+
+    // Posição na ordem de entrega, atribuída pelo relay a cada reserva (o id segue a ordem de gravação,
+    // não a de confirmação, e não serve para acompanhar o outbox)
+    private Long sequencia;
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TipoEventoPedido getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEventoPedido tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public void setPedidoId(Long pedidoId) {
+        this.pedidoId = pedidoId;
+    }
+
+    public Long getRestauranteId() {
+        return restauranteId;
+    }
+
+    public void setRestauranteId(Long restauranteId) {
+        this.restauranteId = restauranteId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public StatusPedido getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPedido status) {
+        this.status = status;
+    }
+
+    public StatusPedido getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public void setStatusAnterior(StatusPedido statusAnterior) {
+        this.statusAnterior = statusAnterior;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public LocalDateTime getProcessadoEm() {
+        return processadoEm;
+    }
+
+    public void setProcessadoEm(LocalDateTime processadoEm) {
+        this.processadoEm = processadoEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(int tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getDescartadoEm() {
+        return descartadoEm;
+    }
+
+    public void setDescartadoEm(LocalDateTime descartadoEm) {
+        this.descartadoEm = descartadoEm;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+
+    public String getSinksEntregues() {
+        return sinksEntregues;
+    }
+
+    public void setSinksEntregues(String sinksEntregues) {
+        this.sinksEntregues = sinksEntregues;
+    }
+
+    public String getReserva() {
+        return reserva;
+    }
+
+    public void setReserva(String reserva) {
+        this.reserva = reserva;
+    }
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public LocalDateTime getReservadoAte() {
+        return reservadoAte;
+    }
+
+    public void setReservadoAte(LocalDateTime reservadoAte) {
+        this.reservadoAte = reservadoAte;
+    }
+}
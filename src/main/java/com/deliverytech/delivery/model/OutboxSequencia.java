@@ -0,0 +1,49 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador da sequência de entrega do outbox
+ * O OutboxRelay trava a linha durante a reserva de cada lote, então as sequências são confirmadas em ordem
+ * crescente mesmo com várias instâncias; o feed de pedidos acompanha o outbox por ela
+ */
+@Entity
+@Table(name = "outbox_sequencia")
+public class OutboxSequencia {
+
+    public static final Long ENTREGA = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long valor;
+
+    public OutboxSequencia() {
+    }
+
+    public OutboxSequencia(Long id) {
+        this.id = id;
+    }
+
+    public long proxima() {
+        return ++valor;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getValor() {
+        return valor;
+    }
+
+    public void setValor(long valor) {
+        this.valor = valor;
+    }
+}
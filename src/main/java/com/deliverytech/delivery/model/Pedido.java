@@ -5,9 +5,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+    // Paginação por cursor: ORDER BY data_pedido DESC, id DESC sem sort nem offset
+    @Index(name = "idx_pedido_data_id", columnList = "data_pedido, id"),
+    @Index(name = "idx_pedido_restaurante_data_id", columnList = "restaurante_id, data_pedido, id"),
+    @Index(name = "idx_pedido_cliente_data_id", columnList = "cliente_id, data_pedido, id")
+})
 public class Pedido {
+    // Sequência com alocação em bloco para permitir INSERTs em lote (pedidos em lote)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -2,8 +2,17 @@ package com.deliverytech.delivery.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@Table(indexes = {
+    // Busca avançada: filtro por ativo (e categoria) com faixa e ORDER BY na mesma coluna, desempate pelo id
+    @Index(name = "idx_restaurante_ativo_nome_id", columnList = "ativo, nome, id"),
+    @Index(name = "idx_restaurante_ativo_avaliacao_id", columnList = "ativo, avaliacao, id"),
+    @Index(name = "idx_restaurante_ativo_taxa_id", columnList = "ativo, taxa_entrega, id"),
+    @Index(name = "idx_restaurante_categoria_ativo_avaliacao_id", columnList = "categoria, ativo, avaliacao, id")
+})
 public class Restaurante {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,6 +25,15 @@ public class Restaurante {
     private Double avaliacao;
     private boolean ativo = true;
 
+    // Coordenadas do estabelecimento (WGS84), usadas no cálculo de distância
+    private Double latitude;
+    private Double longitude;
+
+    // Sem zonas, vale o raio máximo global de entrega
+    @ElementCollection
+    @CollectionTable(name = "restaurante_zonas_entrega", joinColumns = @JoinColumn(name = "restaurante_id"))
+    private List<ZonaEntrega> zonasEntrega = new ArrayList<>();
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -72,4 +90,28 @@ public class Restaurante {
     public void setAtivo(boolean ativo) {
         this.ativo = ativo;
     }
-}
\ No newline at end of file
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public List<ZonaEntrega> getZonasEntrega() {
+        return zonasEntrega;
+    }
+
+    public void setZonasEntrega(List<ZonaEntrega> zonasEntrega) {
+        this.zonasEntrega = zonasEntrega;
+    }
+}
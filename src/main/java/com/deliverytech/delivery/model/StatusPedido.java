@@ -1,5 +1,11 @@
 package com.deliverytech.delivery.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     PENDENTE,
     CONFIRMADO,
@@ -8,5 +14,37 @@ public enum StatusPedido {
     SAIU_PARA_ENTREGA,
     SAIU_ENTREGA,
     ENTREGUE,
-    CANCELADO
-}
\ No newline at end of file
+    CANCELADO;
+
+    /**
+     * Tabela de transições permitidas a partir de cada status
+     * ENTREGUE e CANCELADO são finais
+     */
+    private static final Map<StatusPedido, Set<StatusPedido>> TRANSICOES = new EnumMap<>(StatusPedido.class);
+
+    static {
+        TRANSICOES.put(PENDENTE, EnumSet.of(CONFIRMADO, CANCELADO));
+        TRANSICOES.put(CONFIRMADO, EnumSet.of(PREPARANDO, CANCELADO));
+        TRANSICOES.put(PREPARANDO, EnumSet.of(PRONTO, CANCELADO));
+        TRANSICOES.put(PRONTO, EnumSet.of(SAIU_PARA_ENTREGA, SAIU_ENTREGA));
+        TRANSICOES.put(SAIU_PARA_ENTREGA, EnumSet.of(ENTREGUE));
+        TRANSICOES.put(SAIU_ENTREGA, EnumSet.of(ENTREGUE));
+        TRANSICOES.put(ENTREGUE, EnumSet.noneOf(StatusPedido.class));
+        TRANSICOES.put(CANCELADO, EnumSet.noneOf(StatusPedido.class));
+    }
+
+    /**
+     * Verifica se o pedido pode passar deste status para o novo status
+     */
+    public boolean podeTransicionarPara(StatusPedido novoStatus) {
+        return TRANSICOES.get(this).contains(novoStatus);
+    }
+
+    public Set<StatusPedido> getTransicoesPermitidas() {
+        return Collections.unmodifiableSet(TRANSICOES.get(this));
+    }
+
+    public boolean isFinal() {
+        return TRANSICOES.get(this).isEmpty();
+    }
+}
@@ -0,0 +1,6 @@
+package com.deliverytech.delivery.model;
+
+public enum TipoEventoPedido {
+    PEDIDO_CRIADO,
+    STATUS_ALTERADO
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.model;
+
+/**
+ * Forma da zona de entrega: círculo em torno do restaurante ou polígono de coordenadas
+ */
+public enum TipoZonaEntrega {
+    RAIO,
+    POLIGONO
+}
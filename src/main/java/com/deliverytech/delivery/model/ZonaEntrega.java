@@ -0,0 +1,76 @@
+package com.deliverytech.delivery.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Zona de entrega de um restaurante, com taxa base própria
+ * RAIO usa raioKm a partir das coordenadas do restaurante; POLIGONO guarda os vértices como "lat lon;lat lon;..."
+ */
+@Embeddable
+public class ZonaEntrega {
+
+    private String nome;
+
+    @Enumerated(EnumType.STRING)
+    private TipoZonaEntrega tipo;
+
+    private Double raioKm;
+
+    @Column(length = 8000)
+    private String vertices;
+
+    // Vazia: vale a taxa de entrega do restaurante
+    private BigDecimal taxaBase;
+
+    public ZonaEntrega() {
+    }
+
+    public ZonaEntrega(String nome, TipoZonaEntrega tipo, Double raioKm, String vertices, BigDecimal taxaBase) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.raioKm = raioKm;
+        this.vertices = vertices;
+        this.taxaBase = taxaBase;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public TipoZonaEntrega getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoZonaEntrega tipo) {
+        this.tipo = tipo;
+    }
+
+    public Double getRaioKm() {
+        return raioKm;
+    }
+
+    public void setRaioKm(Double raioKm) {
+        this.raioKm = raioKm;
+    }
+
+    public String getVertices() {
+        return vertices;
+    }
+
+    public void setVertices(String vertices) {
+        this.vertices = vertices;
+    }
+
+    public BigDecimal getTaxaBase() {
+        return taxaBase;
+    }
+
+    public void setTaxaBase(BigDecimal taxaBase) {
+        this.taxaBase = taxaBase;
+    }
+}
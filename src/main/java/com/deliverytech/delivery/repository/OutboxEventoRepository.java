@@ -0,0 +1,82 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.model.OutboxEvento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    /**
+     * Candidatos ao próximo lote: pendentes, não descartados e sem reserva vigente, na ordem de gravação
+     */
+    @Query("SELECT e.id FROM OutboxEvento e WHERE e.processadoEm IS NULL AND e.descartadoEm IS NULL " +
+           "AND (e.reservadoAte IS NULL OR e.reservadoAte < :agora) ORDER BY e.id")
+    List<Long> findIdsPendentes(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Reserva os candidatos para uma execução do relay. A condição é reavaliada sobre a linha bloqueada,
+     * então de duas instâncias que disputam o mesmo evento só uma o reserva
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.reserva = :reserva, e.reservadoAte = :reservadoAte " +
+           "WHERE e.id IN :ids AND e.processadoEm IS NULL AND e.descartadoEm IS NULL " +
+           "AND (e.reservadoAte IS NULL OR e.reservadoAte < :agora)")
+    int reservar(@Param("ids") Collection<Long> ids, @Param("reserva") String reserva,
+                 @Param("reservadoAte") LocalDateTime reservadoAte, @Param("agora") LocalDateTime agora);
+
+    List<OutboxEvento> findByReservaOrderByIdAsc(String reserva);
+
+    /**
+     * Eventos reservados para entrega depois da sequência informada (acompanhamento do outbox pelo feed)
+     */
+    List<OutboxEvento> findBySequenciaGreaterThanOrderBySequenciaAsc(Long sequencia, Pageable pageable);
+
+    /**
+     * Eventos de um restaurante posteriores ao último recebido (retomada do feed por Last-Event-ID)
+     */
+    List<OutboxEvento> findByRestauranteIdAndSequenciaGreaterThanOrderBySequenciaAsc(Long restauranteId, Long sequencia,
+                                                                                     Pageable pageable);
+
+    @Query("SELECT MAX(e.sequencia) FROM OutboxEvento e")
+    Optional<Long> findMaxSequencia();
+
+    long countByProcessadoEmIsNullAndDescartadoEmIsNull();
+
+    @Query("SELECT MIN(e.criadoEm) FROM OutboxEvento e WHERE e.processadoEm IS NULL AND e.descartadoEm IS NULL")
+    Optional<LocalDateTime> findCriadoEmMaisAntigoPendente();
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.processadoEm = :processadoEm, e.sinksEntregues = :sinksEntregues, " +
+           "e.reserva = NULL, e.reservadoAte = NULL WHERE e.id = :id")
+    int marcarProcessado(@Param("id") Long id, @Param("sinksEntregues") String sinksEntregues,
+                         @Param("processadoEm") LocalDateTime processadoEm);
+
+    /**
+     * Conta a tentativa, guarda os sinks que já aceitaram e libera a reserva;
+     * com descartadoEm preenchido o evento deixa de ser candidato
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.tentativas = e.tentativas + 1, e.sinksEntregues = :sinksEntregues, " +
+           "e.ultimoErro = :erro, e.descartadoEm = :descartadoEm, e.reserva = NULL, e.reservadoAte = NULL " +
+           "WHERE e.id = :id")
+    int registrarFalha(@Param("id") Long id, @Param("sinksEntregues") String sinksEntregues,
+                       @Param("erro") String erro, @Param("descartadoEm") LocalDateTime descartadoEm);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.reserva = NULL, e.reservadoAte = NULL WHERE e.reserva = :reserva")
+    int liberarReserva(@Param("reserva") String reserva);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvento e WHERE e.processadoEm < :limite")
+    int removerProcessadosAntesDe(@Param("limite") LocalDateTime limite);
+}
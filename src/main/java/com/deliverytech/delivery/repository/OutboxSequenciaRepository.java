@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.model.OutboxSequencia;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxSequenciaRepository extends JpaRepository<OutboxSequencia, Long> {
+
+    /**
+     * Contador travado até o fim da transação (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OutboxSequencia s WHERE s.id = :id")
+    Optional<OutboxSequencia> findParaAtualizar(@Param("id") Long id);
+}
@@ -1,21 +1,42 @@
 package com.deliverytech.delivery.repository;
 
+import com.deliverytech.delivery.dto.PedidoStatusResumo;
 import com.deliverytech.delivery.model.Cliente;
 import com.deliverytech.delivery.model.Pedido;
 import com.deliverytech.delivery.model.StatusPedido;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+    
+    /**
+     * Filtros da listagem por cursor e da exportação, com o período já convertido para [inicio, fim)
+     * Comparar a coluna diretamente (sem DATE()) permite usar os índices por data_pedido
+     */
+    String FILTROS_POR_PERIODO = 
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:inicio IS NULL OR p.dataPedido >= :inicio) AND " +
+           "(:fim IS NULL OR p.dataPedido < :fim) AND " +
+           "(:clienteId IS NULL OR p.cliente.id = :clienteId) AND " +
+           "(:restauranteId IS NULL OR p.restaurante.id = :restauranteId)";
+    
+    int TAMANHO_FETCH_EXPORTACAO = 500;
+    
     List<Pedido> findByClienteId(Long clienteId);
     List<Pedido> findByClienteIdOrderByDataPedidoDesc(Long clienteId);
     List<Pedido> findByStatus(StatusPedido status);
@@ -41,6 +62,38 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     
     List<Pedido> findByRestauranteIdOrderByDataPedidoDesc(Long restauranteId);
     
+    /**
+     * Pedido com cliente, restaurante, itens e produtos em uma única consulta
+     * Cada linha traz o pedido e um item (null quando o pedido não tem itens)
+     */
+    @Query("SELECT p, i FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.restaurante " +
+           "LEFT JOIN ItemPedido i ON i.pedido = p LEFT JOIN FETCH i.produto " +
+           "WHERE p.id = :id ORDER BY i.id")
+    List<Object[]> findDetalheById(@Param("id") Long id);
+    
+    /**
+     * Status atual do pedido, sem carregar o agregado
+     */
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+    
+    /**
+     * Status e participantes do pedido, usados para validar a transição e registrar o evento
+     */
+    @Query("SELECT p.status AS status, p.restaurante.id AS restauranteId, p.cliente.id AS clienteId " +
+           "FROM Pedido p WHERE p.id = :id")
+    Optional<PedidoStatusResumo> findStatusResumoById(@Param("id") Long id);
+    
+    /**
+     * Transição atômica (compare-and-set): só altera se o status ainda for o esperado
+     * Retorna 0 quando outra requisição alterou o status antes
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novoStatus WHERE p.id = :id AND p.status = :statusAtual")
+    int atualizarStatusSeAtual(@Param("id") Long id,
+                               @Param("statusAtual") StatusPedido statusAtual,
+                               @Param("novoStatus") StatusPedido novoStatus);
+    
     @Query("SELECT p FROM Pedido p WHERE " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:dataInicio IS NULL OR DATE(p.dataPedido) >= :dataInicio) AND " +
@@ -57,6 +110,81 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
         Pageable pageable
     );
     
+    /**
+     * Primeira página da listagem por cursor (sem COUNT nem OFFSET)
+     */
+    @Query("SELECT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.restaurante WHERE " + FILTROS_POR_PERIODO +
+           " ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPrimeiraPaginaPorCursor(
+        @Param("status") StatusPedido status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("clienteId") Long clienteId,
+        @Param("restauranteId") Long restauranteId,
+        Pageable limite
+    );
+    
+    /**
+     * Página seguinte ao cursor (dataPedido, id): busca por faixa no índice, custo independente da profundidade
+     */
+    @Query("SELECT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.restaurante WHERE " + FILTROS_POR_PERIODO +
+           " AND (p.dataPedido < :cursorData OR (p.dataPedido = :cursorData AND p.id < :cursorId))" +
+           " ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaAposCursor(
+        @Param("status") StatusPedido status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("clienteId") Long clienteId,
+        @Param("restauranteId") Long restauranteId,
+        @Param("cursorData") LocalDateTime cursorData,
+        @Param("cursorId") Long cursorId,
+        Pageable limite
+    );
+    
+    @Query("SELECT COUNT(p) FROM Pedido p WHERE " + FILTROS_POR_PERIODO)
+    long countPorCursor(
+        @Param("status") StatusPedido status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("clienteId") Long clienteId,
+        @Param("restauranteId") Long restauranteId
+    );
+    
+    /**
+     * Contagem com teto: o COUNT roda sobre uma subconsulta com LIMIT, então o banco para de ler
+     * ao atingir o teto e só o número volta para a aplicação. O HQL só aceita LIMIT após ORDER BY;
+     * a ordem pelo id segue o índice da chave primária
+     */
+    @Query("SELECT COUNT(*) FROM (SELECT p.id AS id FROM Pedido p WHERE " + FILTROS_POR_PERIODO +
+           " ORDER BY p.id LIMIT :teto) contados")
+    long countPorCursorAte(
+        @Param("status") StatusPedido status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("clienteId") Long clienteId,
+        @Param("restauranteId") Long restauranteId,
+        @Param("teto") int teto
+    );
+    
+    /**
+     * Pedidos para exportação em ordem cronológica, lidos por cursor do banco
+     * O fetch size limita quantas linhas o driver mantém em memória por vez
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TAMANHO_FETCH_EXPORTACAO),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.restaurante WHERE " + FILTROS_POR_PERIODO +
+           " ORDER BY p.dataPedido, p.id")
+    Stream<Pedido> streamParaExportacao(
+        @Param("status") StatusPedido status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("clienteId") Long clienteId,
+        @Param("restauranteId") Long restauranteId
+    );
+    
     // Métodos para relatórios
     @Query("SELECT r.id, r.nome, COUNT(p.id), COALESCE(SUM(p.total), 0), " +
            "CASE WHEN COUNT(p.id) > 0 THEN COALESCE(SUM(p.total), 0) / COUNT(p.id) ELSE 0 END " +
@@ -80,6 +208,9 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     
     long countByStatusAndDataPedidoBetween(StatusPedido status, LocalDateTime inicio, LocalDateTime fim);
     
+    @Query("SELECT p.status, COUNT(p.id) FROM Pedido p WHERE p.dataPedido BETWEEN :inicio AND :fim GROUP BY p.status")
+    List<Object[]> countPorStatusEntre(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+    
     @Query("SELECT DATE(p.dataPedido), COUNT(p.id), COALESCE(SUM(p.total), 0) " +
            "FROM Pedido p WHERE p.dataPedido BETWEEN :inicio AND :fim " +
            "GROUP BY DATE(p.dataPedido) ORDER BY DATE(p.dataPedido)")
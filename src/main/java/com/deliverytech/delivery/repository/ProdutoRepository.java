@@ -5,7 +5,9 @@ import com.deliverytech.delivery.model.Restaurante;
 import java.math.BigDecimal;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,6 +25,12 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     
     long countByDisponivelTrue();
     
+    /**
+     * Carrega vários produtos (com o restaurante) em uma única consulta
+     */
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante WHERE p.id IN :ids")
+    List<Produto> findAllByIdComRestaurante(@Param("ids") Collection<Long> ids);
+    
     @Query(value = "SELECT p.*, COUNT(ip.id) as vendas FROM produto p " +
            "LEFT JOIN item_pedido ip ON ip.produto_id = p.id " +
            "GROUP BY p.id ORDER BY vendas DESC", nativeQuery = true)
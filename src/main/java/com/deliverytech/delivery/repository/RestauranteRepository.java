@@ -5,17 +5,22 @@ import java.math.BigDecimal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+public interface RestauranteRepository extends JpaRepository<Restaurante, Long>, JpaSpecificationExecutor<Restaurante> {
     
     // Queries básicas existentes
     List<Restaurante> findByCategoria(String categoria);
     List<Restaurante> findByAtivoTrue();
+
+    // Restaurantes ativos que têm zonas de entrega, já com as zonas carregadas
+    @Query("SELECT DISTINCT r FROM Restaurante r JOIN FETCH r.zonasEntrega WHERE r.ativo = true")
+    List<Restaurante> findAtivosComZonasEntrega();
     List<Restaurante> findByTaxaEntregaLessThanEqual(BigDecimal taxa);
     List<Restaurante> findTop5ByOrderByNomeAsc();
     
@@ -37,21 +42,6 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
                                      @Param("endereco") String endereco,
                                      @Param("ativo") Boolean ativo);
     
-    // Busca por texto em múltiplos campos
-    @Query("SELECT r FROM Restaurante r WHERE " +
-           "LOWER(r.nome) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.categoria) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.endereco) LIKE LOWER(CONCAT('%', :texto, '%'))")
-    List<Restaurante> findByTextoGeral(@Param("texto") String texto);
-    
-    // Busca por texto com filtro de status
-    @Query("SELECT r FROM Restaurante r WHERE " +
-           "(LOWER(r.nome) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.categoria) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.endereco) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
-           "(:ativo IS NULL OR r.ativo = :ativo)")
-    List<Restaurante> findByTextoGeralAndAtivo(@Param("texto") String texto, @Param("ativo") Boolean ativo);
-    
     // Queries por avaliação
     List<Restaurante> findByAvaliacaoGreaterThanEqual(Double avaliacao);
     List<Restaurante> findByAvaliacaoGreaterThanEqualAndAtivo(Double avaliacao, Boolean ativo);
@@ -60,11 +50,6 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     List<Restaurante> findByTaxaEntregaBetween(BigDecimal taxaMin, BigDecimal taxaMax);
     List<Restaurante> findByTaxaEntregaBetweenAndAtivo(BigDecimal taxaMin, BigDecimal taxaMax, Boolean ativo);
     
-    // Queries ordenadas
-    List<Restaurante> findByAtivoOrderByNomeAsc(Boolean ativo);
-    List<Restaurante> findByAtivoOrderByAvaliacaoDesc(Boolean ativo);
-    List<Restaurante> findByAtivoOrderByTaxaEntregaAsc(Boolean ativo);
-    
     // Query para estatísticas
     @Query("SELECT r, SUM(p.valorTotal) as totalVendas FROM Restaurante r LEFT JOIN Pedido p ON p.restaurante = r GROUP BY r")
     List<Object[]> getTotalVendasPorRestaurante();
@@ -76,6 +61,10 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     @Query("SELECT COUNT(DISTINCT r.categoria) FROM Restaurante r WHERE r.ativo = true")
     long countCategoriasAtivas();
     
+    // Colunas das estatísticas incrementais: id, ativo, categoria, avaliação e taxa de entrega
+    @Query("SELECT r.id, r.ativo, r.categoria, r.avaliacao, r.taxaEntrega FROM Restaurante r")
+    List<Object[]> findResumoEstatisticas();
+    
     // Métodos com paginação
     @Query("SELECT r FROM Restaurante r WHERE " +
            "(:nome IS NULL OR LOWER(r.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) AND " +
@@ -87,19 +76,4 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
                                              @Param("endereco") String endereco,
                                              @Param("ativo") Boolean ativo,
                                              Pageable pageable);
-    
-    @Query("SELECT r FROM Restaurante r WHERE " +
-           "LOWER(r.nome) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.categoria) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.endereco) LIKE LOWER(CONCAT('%', :texto, '%'))")
-    Page<Restaurante> findByTextoGeralPageable(@Param("texto") String texto, Pageable pageable);
-    
-    @Query("SELECT r FROM Restaurante r WHERE " +
-           "(LOWER(r.nome) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.categoria) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(r.endereco) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
-           "(:ativo IS NULL OR r.ativo = :ativo)")
-    Page<Restaurante> findByTextoGeralAndAtivoPageable(@Param("texto") String texto, 
-                                                      @Param("ativo") Boolean ativo, 
-                                                      Pageable pageable);
 }
\ No newline at end of file
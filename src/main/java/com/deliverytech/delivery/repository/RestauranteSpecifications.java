@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.dto.FiltroRestauranteDTO;
+import com.deliverytech.delivery.model.Restaurante;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consultas de restaurantes montadas a partir do FiltroRestauranteDTO, com todos os filtros e a ordenação no SQL
+ *
+ * Só entram no WHERE os filtros informados. Ativo, categoria, avaliação e taxa usam igualdade ou faixa
+ * e são atendidos pelos índices compostos de Restaurante; nome e endereço continuam como busca parcial
+ */
+public final class RestauranteSpecifications {
+
+    private RestauranteSpecifications() {
+    }
+
+    /**
+     * Filtros do DTO já normalizado (categoria no formato gravado, textos sem espaços extras)
+     */
+    public static Specification<Restaurante> comFiltro(FiltroRestauranteDTO filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro.getAtivo() != null) {
+                predicados.add(cb.equal(root.get("ativo"), filtro.getAtivo()));
+            }
+            if (filtro.getCategoria() != null) {
+                predicados.add(cb.equal(root.get("categoria"), filtro.getCategoria()));
+            }
+            if (filtro.getAvaliacaoMinima() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("avaliacao"), filtro.getAvaliacaoMinima()));
+            }
+            if (filtro.getTaxaMaxima() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("taxaEntrega"), filtro.getTaxaMaxima()));
+            }
+            if (filtro.getNome() != null) {
+                predicados.add(cb.like(cb.lower(root.get("nome")), contendo(filtro.getNome()), '\\'));
+            }
+            if (filtro.getEndereco() != null) {
+                predicados.add(cb.like(cb.lower(root.get("endereco")), contendo(filtro.getEndereco()), '\\'));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Ordenação do filtro (nome_asc quando ausente ou desconhecida), desempatada pelo id no mesmo sentido
+     * para páginas estáveis e para o índice ser percorrido numa só direção
+     */
+    public static Sort ordenacao(String ordenacao) {
+        String chave = ordenacao != null ? ordenacao.trim().toLowerCase() : "nome_asc";
+        return switch (chave) {
+            case "avaliacao_desc" -> Sort.by(Sort.Direction.DESC, "avaliacao", "id");
+            case "avaliacao_asc" -> Sort.by(Sort.Direction.ASC, "avaliacao", "id");
+            case "taxa_asc" -> Sort.by(Sort.Direction.ASC, "taxaEntrega", "id");
+            case "taxa_desc" -> Sort.by(Sort.Direction.DESC, "taxaEntrega", "id");
+            case "nome_desc" -> Sort.by(Sort.Direction.DESC, "nome", "id");
+            default -> Sort.by(Sort.Direction.ASC, "nome", "id");
+        };
+    }
+
+    private static String contendo(String texto) {
+        String escapado = texto.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink padrão: repassa os eventos aos assinantes locais (@EventListener de EventoPedido)
+ */
+@Component
+public class ApplicationEventPedidoSink implements EventoPedidoSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publicar(List<EventoPedido> eventos) {
+        eventos.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,195 @@
+package com.deliverytech.delivery.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabela de faixas de CEP para o centroide geográfico da região
+ *
+ * Formato binário (big-endian), em colunas para que a busca binária percorra só os inícios:
+ * magic "CEPC", versão, quantidade, int[quantidade] inicio, int[quantidade] fim,
+ * int[quantidade] latitude e int[quantidade] longitude em micrograus
+ *
+ * Arquivos no sistema de arquivos são mapeados em memória; recursos do classpath são lidos para o heap.
+ * A busca é O(log n) com leituras absolutas no buffer, sem alocação por chamada
+ */
+@Component
+public class CepCentroideTabela {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepCentroideTabela.class);
+
+    private static final int MAGIC = 0x43455043; // "CEPC"
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 12;
+    private static final double MICROGRAUS = 1_000_000.0;
+
+    /**
+     * Retorno de localizar quando o CEP não está em nenhuma faixa
+     */
+    public static final long NAO_ENCONTRADO = Long.MIN_VALUE;
+
+    private final ByteBuffer dados;
+    private final int quantidade;
+    private final int offsetFim;
+    private final int offsetLatitude;
+    private final int offsetLongitude;
+
+    @Autowired
+    public CepCentroideTabela(@Value("${api.geo.cep-centroides:classpath:geo/cep-centroides.bin}") Resource arquivo) {
+        this(carregar(arquivo));
+        logger.info("Tabela de centroides de CEP carregada de {} com {} faixas", arquivo.getDescription(), quantidade);
+    }
+
+    CepCentroideTabela(ByteBuffer dados) {
+        if (dados.capacity() < TAMANHO_CABECALHO || dados.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Tabela de centroides de CEP inválida: cabeçalho não reconhecido");
+        }
+        if (dados.getInt(4) != VERSAO) {
+            throw new IllegalStateException("Versão da tabela de centroides de CEP não suportada: " + dados.getInt(4));
+        }
+        this.dados = dados;
+        this.quantidade = dados.getInt(8);
+        if (quantidade < 0 || dados.capacity() != TAMANHO_CABECALHO + 16L * quantidade) {
+            throw new IllegalStateException("Tabela de centroides de CEP truncada ou com tamanho inconsistente");
+        }
+        this.offsetFim = TAMANHO_CABECALHO + 4 * quantidade;
+        this.offsetLatitude = offsetFim + 4 * quantidade;
+        this.offsetLongitude = offsetLatitude + 4 * quantidade;
+        validarFaixas();
+    }
+
+    /**
+     * Centroide da faixa que contém o CEP (8 dígitos como inteiro), empacotado em um long:
+     * latitude nos 32 bits altos e longitude nos 32 bits baixos, em micrograus
+     * Retorna NAO_ENCONTRADO quando o CEP está fora da cobertura
+     */
+    public long localizar(int cep) {
+        // Maior início <= cep
+        int baixo = 0;
+        int alto = quantidade - 1;
+        int encontrado = -1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (inicio(meio) <= cep) {
+                encontrado = meio;
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        if (encontrado < 0 || cep > dados.getInt(offsetFim + 4 * encontrado)) {
+            return NAO_ENCONTRADO;
+        }
+        int latitude = dados.getInt(offsetLatitude + 4 * encontrado);
+        int longitude = dados.getInt(offsetLongitude + 4 * encontrado);
+        return ((long) latitude << 32) | (longitude & 0xFFFFFFFFL);
+    }
+
+    public static double latitude(long centroide) {
+        return (int) (centroide >> 32) / MICROGRAUS;
+    }
+
+    public static double longitude(long centroide) {
+        return (int) centroide / MICROGRAUS;
+    }
+
+    /**
+     * CEP com ou sem hífen convertido para inteiro, ou -1 se não tiver exatamente 8 dígitos
+     */
+    public static int cepNumerico(String cep) {
+        if (cep == null) return -1;
+        int valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > 8) return -1;
+                valor = valor * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return digitos == 8 ? valor : -1;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    private int inicio(int indice) {
+        return dados.getInt(TAMANHO_CABECALHO + 4 * indice);
+    }
+
+    private void validarFaixas() {
+        int fimAnterior = -1;
+        for (int i = 0; i < quantidade; i++) {
+            int inicio = inicio(i);
+            int fim = dados.getInt(offsetFim + 4 * i);
+            if (inicio > fim || inicio <= fimAnterior) {
+                throw new IllegalStateException("Tabela de centroides de CEP com faixas fora de ordem ou sobrepostas na posição " + i);
+            }
+            fimAnterior = fim;
+        }
+    }
+
+    private static ByteBuffer carregar(Resource arquivo) {
+        try {
+            if (arquivo.isFile()) {
+                try (FileChannel canal = FileChannel.open(arquivo.getFile().toPath(), StandardOpenOption.READ)) {
+                    // O mapeamento continua válido depois que o canal é fechado
+                    return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                }
+            }
+            try (InputStream entrada = arquivo.getInputStream()) {
+                return ByteBuffer.wrap(entrada.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar a tabela de centroides de CEP: " + arquivo.getDescription(), e);
+        }
+    }
+
+    /**
+     * Gera o arquivo binário a partir do CSV "inicio,fim,latitude,longitude[,regiao]" (linhas com # são ignoradas)
+     */
+    public static void escrever(List<String> linhasCsv, OutputStream saida) throws IOException {
+        List<int[]> faixas = new ArrayList<>();
+        for (String linha : linhasCsv) {
+            String texto = linha.strip();
+            if (texto.isEmpty() || texto.startsWith("#")) continue;
+            String[] campos = texto.split(",", 5);
+            faixas.add(new int[]{
+                    Integer.parseInt(campos[0].strip()),
+                    Integer.parseInt(campos[1].strip()),
+                    (int) Math.round(Double.parseDouble(campos[2].strip()) * MICROGRAUS),
+                    (int) Math.round(Double.parseDouble(campos[3].strip()) * MICROGRAUS)
+            });
+        }
+        faixas.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        DataOutputStream dados = new DataOutputStream(saida);
+        dados.writeInt(MAGIC);
+        dados.writeInt(VERSAO);
+        dados.writeInt(faixas.size());
+        for (int coluna = 0; coluna < 4; coluna++) {
+            for (int[] faixa : faixas) {
+                dados.writeInt(faixa[coluna]);
+            }
+        }
+        dados.flush();
+    }
+}
@@ -7,7 +7,6 @@ import com.deliverytech.delivery.exception.DuplicateResourceException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.model.Cliente;
 import com.deliverytech.delivery.repository.ClienteRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -25,9 +24,6 @@ public class ClienteService implements ClienteServiceInterface {
     @Autowired
     private ClienteRepository clienteRepository;
     
-    @Autowired
-    private ModelMapper modelMapper;
-    
     @Override
     @CacheEvict(value = CacheConfig.CLIENTES_CACHE, allEntries = true)
     public ClienteResponseDTO cadastrarCliente(ClienteDTO dto) {
@@ -36,11 +32,11 @@ public class ClienteService implements ClienteServiceInterface {
             throw new DuplicateResourceException("Cliente", "email", dto.getEmail());
         }
         
-        Cliente cliente = modelMapper.map(dto, Cliente.class);
+        Cliente cliente = convertToEntity(dto);
         cliente.setAtivo(true);
         
         Cliente clienteSalvo = clienteRepository.save(cliente);
-        return modelMapper.map(clienteSalvo, ClienteResponseDTO.class);
+        return ClienteResponseDTO.from(clienteSalvo);
     }
     
     @Override
@@ -50,7 +46,7 @@ public class ClienteService implements ClienteServiceInterface {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
         
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return ClienteResponseDTO.from(cliente);
     }
     
     @Override
@@ -60,7 +56,7 @@ public class ClienteService implements ClienteServiceInterface {
         Cliente cliente = clienteRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
         
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return ClienteResponseDTO.from(cliente);
     }
     
     @Override
@@ -87,7 +83,7 @@ public class ClienteService implements ClienteServiceInterface {
         clienteExistente.setEndereco(dto.getEndereco());
         
         Cliente clienteAtualizado = clienteRepository.save(clienteExistente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return ClienteResponseDTO.from(clienteAtualizado);
     }
     
     @Override
@@ -102,7 +98,7 @@ public class ClienteService implements ClienteServiceInterface {
         cliente.setAtivo(!cliente.isAtivo());
         
         Cliente clienteAtualizado = clienteRepository.save(cliente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return ClienteResponseDTO.from(clienteAtualizado);
     }
     
     @Override
@@ -112,10 +108,19 @@ public class ClienteService implements ClienteServiceInterface {
         List<Cliente> clientesAtivos = clienteRepository.findByAtivoTrue();
         
         return clientesAtivos.stream()
-                .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+                .map(ClienteResponseDTO::from)
                 .collect(Collectors.toList());
     }
     
+    private Cliente convertToEntity(ClienteDTO dto) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(dto.getNome());
+        cliente.setEmail(dto.getEmail());
+        cliente.setTelefone(dto.getTelefone());
+        cliente.setEndereco(dto.getEndereco());
+        return cliente;
+    }
+    
     // Métodos legados para compatibilidade (deprecated)
     @Deprecated
     public Cliente cadastrar(Cliente cliente) {
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos de pedido drenados do outbox
+ * Todo bean desta interface recebe cada evento; uma exceção faz o evento ser reentregue depois,
+ * apenas aos sinks que ainda não o aceitaram
+ */
+public interface EventoPedidoSink {
+
+    void publicar(List<EventoPedido> eventos);
+
+    /**
+     * Identifica o sink no registro de entregas do evento; deve ser estável entre versões
+     */
+    default String nome() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
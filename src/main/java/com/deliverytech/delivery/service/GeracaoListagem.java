@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.service;
+
+/**
+ * Geração das escritas em restaurantes que versiona as páginas da listagem em cache e as cotações de
+ * taxa de entrega (TaxaEntregaCache)
+ * Contador local por padrão, Redis nos perfis com cache distribuído, para que uma escrita confirmada em
+ * qualquer instância invalide os caches de todas
+ */
+public interface GeracaoListagem {
+
+    /**
+     * Geração vigente
+     */
+    long atual();
+
+    /**
+     * Avança a geração após o commit de uma escrita em restaurantes
+     */
+    void avancar();
+}
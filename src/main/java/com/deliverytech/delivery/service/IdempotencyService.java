@@ -0,0 +1,183 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Executa operações protegidas por chave de idempotência
+ * Repetições recebem a primeira resposta; requisições simultâneas com a mesma chave
+ * aguardam a execução em andamento em vez de executar a operação novamente.
+ * A chave guarda o hash da requisição: reutilizá-la com outro conteúdo é rejeitado com conflito
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Map<String, Execucao> emAndamento = new ConcurrentHashMap<>();
+
+    private final Counter hitsCounter;
+    private final Counter colapsadasCounter;
+    private final Counter execucoesCounter;
+    private final Counter conflitosCounter;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${api.idempotency.ttl:PT24H}") Duration ttl) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.hitsCounter = Counter.builder("idempotencia.requisicoes")
+                .description("Requisições atendidas com a resposta já registrada")
+                .tag("resultado", "hit")
+                .register(meterRegistry);
+        this.colapsadasCounter = Counter.builder("idempotencia.requisicoes")
+                .description("Requisições simultâneas que aguardaram a execução em andamento")
+                .tag("resultado", "colapsada")
+                .register(meterRegistry);
+        this.execucoesCounter = Counter.builder("idempotencia.requisicoes")
+                .description("Requisições que executaram a operação")
+                .tag("resultado", "executada")
+                .register(meterRegistry);
+        this.conflitosCounter = Counter.builder("idempotencia.requisicoes")
+                .description("Requisições rejeitadas por reutilizar a chave com outro conteúdo")
+                .tag("resultado", "conflito")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a operação uma única vez por chave dentro do TTL
+     * Falhas não são registradas, permitindo que o cliente tente novamente. A requisição é comparada
+     * pelo hash do seu JSON com a que registrou a chave; se diferir, lança ConflictException
+     */
+    public <T> Resultado<T> executar(String chave, Object requisicao, Class<T> tipo, Supplier<T> operacao) {
+        String impressao = impressao(requisicao);
+        Optional<Object> registrada = store.buscar(chave);
+        if (registrada.isPresent()) {
+            return reaproveitar(chave, (Registro) registrada.get(), impressao, tipo);
+        }
+
+        Execucao execucao = new Execucao(impressao, new CompletableFuture<>());
+        Execucao existente = emAndamento.putIfAbsent(chave, execucao);
+        if (existente != null) {
+            conferir(chave, existente.impressao(), impressao);
+            colapsadasCounter.increment();
+            logger.debug("Requisição com chave {} aguardando execução em andamento", chave);
+            return new Resultado<>(tipo.cast(aguardar(existente.resposta())), true);
+        }
+
+        try {
+            // Outra requisição pode ter concluído entre a consulta ao store e o registro da execução
+            registrada = store.buscar(chave);
+            if (registrada.isPresent()) {
+                Resultado<T> resultado = reaproveitar(chave, (Registro) registrada.get(), impressao, tipo);
+                execucao.resposta().complete(resultado.valor());
+                return resultado;
+            }
+
+            execucoesCounter.increment();
+            T resposta = operacao.get();
+            store.salvar(chave, new Registro(impressao, resposta), ttl);
+            execucao.resposta().complete(resposta);
+            return new Resultado<>(resposta, false);
+        } catch (RuntimeException e) {
+            execucao.resposta().completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, execucao);
+        }
+    }
+
+    private <T> Resultado<T> reaproveitar(String chave, Registro registro, String impressao, Class<T> tipo) {
+        conferir(chave, registro.getImpressao(), impressao);
+        hitsCounter.increment();
+        return new Resultado<>(tipo.cast(registro.getResposta()), true);
+    }
+
+    private void conferir(String chave, String registrada, String recebida) {
+        if (!registrada.equals(recebida)) {
+            conflitosCounter.increment();
+            logger.warn("Chave de idempotência {} reutilizada com conteúdo diferente", chave);
+            throw new ConflictException("IDEMPOTENCY_KEY_REUTILIZADA", chave,
+                    "Idempotency-Key já utilizada com uma requisição diferente");
+        }
+    }
+
+    /**
+     * SHA-256 do JSON da requisição
+     */
+    private String impressao(Object requisicao) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(requisicao));
+            return HexFormat.of().formatHex(hash);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular o hash da requisição", e);
+        }
+    }
+
+    private Object aguardar(CompletableFuture<Object> execucao) {
+        try {
+            return execucao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resposta da operação e indicação se foi reaproveitada de outra requisição
+     */
+    public record Resultado<T>(T valor, boolean reaproveitado) {
+    }
+
+    private record Execucao(String impressao, CompletableFuture<Object> resposta) {
+    }
+
+    /**
+     * Valor guardado no store: hash da requisição que registrou a chave e a resposta dela
+     * Classe não final com construtor vazio para a serialização JSON com tipo do Redis
+     */
+    public static class Registro {
+
+        private String impressao;
+        private Object resposta;
+
+        Registro() {
+        }
+
+        Registro(String impressao, Object resposta) {
+            this.impressao = impressao;
+            this.resposta = resposta;
+        }
+
+        public String getImpressao() {
+            return impressao;
+        }
+
+        public Object getResposta() {
+            return resposta;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazena a primeira resposta associada a uma chave de idempotência
+ * Implementação local em memória por padrão, Redis nos perfis com cache distribuído
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Busca a resposta registrada para a chave, se ainda estiver válida
+     */
+    Optional<Object> buscar(String chave);
+
+    /**
+     * Registra a resposta da chave pelo tempo informado
+     */
+    void salvar(String chave, Object resposta, Duration ttl);
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geração local da listagem; só enxerga as escritas confirmadas nesta instância
+ */
+@Component
+public class InMemoryGeracaoListagem implements GeracaoListagem {
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    @Override
+    public long atual() {
+        return geracao.get();
+    }
+
+    @Override
+    public void avancar() {
+        geracao.incrementAndGet();
+    }
+}
@@ -0,0 +1,75 @@
+package com.deliverytech.delivery.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Store de idempotência local, limitado em quantidade de chaves
+ * As entradas mais antigas são descartadas quando o limite é atingido
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int capacidadeMaxima;
+    private final Map<String, Entrada> entradas;
+
+    public InMemoryIdempotencyStore(@Value("${api.idempotency.max-entries:10000}") int capacidadeMaxima) {
+        this.capacidadeMaxima = capacidadeMaxima;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > InMemoryIdempotencyStore.this.capacidadeMaxima;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<Object> buscar(String chave) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return Optional.empty();
+        }
+        if (entrada.expiraEm <= System.nanoTime()) {
+            entradas.remove(chave);
+            return Optional.empty();
+        }
+        return Optional.of(entrada.resposta);
+    }
+
+    @Override
+    public synchronized void salvar(String chave, Object resposta, Duration ttl) {
+        long agora = System.nanoTime();
+        removerExpiradas(agora);
+        entradas.put(chave, new Entrada(resposta, agora + ttl.toNanos()));
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Com TTL fixo a ordem de inserção é a ordem de expiração, então basta olhar o início
+     */
+    private void removerExpiradas(long agora) {
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiraEm <= agora) {
+            iterator.remove();
+        }
+    }
+
+    private static final class Entrada {
+        final Object resposta;
+        final long expiraEm;
+
+        Entrada(Object resposta, long expiraEm) {
+            this.resposta = resposta;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo [inicio, fim) em que o adicional de pico de nenhuma zona muda
+ * A sequência cresce a cada janela calculada e a cada troca de regras; cotações da mesma sequência são comparáveis
+ */
+public final class JanelaPreco {
+
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+    private final long sequencia;
+    private final TabelaPrecoPico tabela;
+    private final Money[] adicionalPorZona;
+
+    JanelaPreco(LocalDateTime inicio, LocalDateTime fim, long sequencia, TabelaPrecoPico tabela,
+                Money[] adicionalPorZona) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.sequencia = sequencia;
+        this.tabela = tabela;
+        this.adicionalPorZona = adicionalPorZona;
+    }
+
+    /**
+     * Adicional de pico para o CEP (numérico, 8 dígitos); zero fora de qualquer zona
+     */
+    public Money adicional(int cep) {
+        int zona = cep >= 0 ? tabela.zonaDe(cep) : -1;
+        return zona >= 0 ? adicionalPorZona[zona] : Money.ZERO;
+    }
+
+    public LocalDateTime inicio() {
+        return inicio;
+    }
+
+    public LocalDateTime fim() {
+        return fim;
+    }
+
+    public long sequencia() {
+        return sequencia;
+    }
+
+    @Override
+    public String toString() {
+        return "JanelaPreco[" + inicio + " - " + fim + ", sequencia=" + sequencia + "]";
+    }
+}
@@ -0,0 +1,245 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+import com.deliverytech.delivery.model.OutboxEvento;
+import com.deliverytech.delivery.model.OutboxSequencia;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import com.deliverytech.delivery.repository.OutboxSequenciaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena o outbox em lotes e entrega os eventos a todos os EventoPedidoSink
+ *
+ * Cada lote é reservado pela execução (reserva com prazo), para que várias instâncias não entreguem os
+ * mesmos eventos; uma reserva abandonada vence e os eventos voltam a ser candidatos. A reserva também atribui
+ * a sequência de entrega, com o contador travado até a confirmação: as sequências ficam visíveis em ordem
+ * crescente, o que o id (alocado na gravação, confirmado em qualquer ordem) não garante.
+ * Os eventos são entregues e marcados um a um, na ordem de gravação. Entrega pelo menos uma vez: na falha de
+ * um sink o evento conta uma tentativa, guarda os sinks que já o aceitaram (que não o recebem de novo) e o lote
+ * para ali; ao esgotar as tentativas o evento é descartado e deixa de bloquear os seguintes
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Limita o tempo de uma execução quando há acúmulo de eventos
+    private static final int MAXIMO_LOTES_POR_EXECUCAO = 50;
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final OutboxEventoRepository outboxEventoRepository;
+    private final OutboxSequenciaRepository outboxSequenciaRepository;
+    private final List<EventoPedidoSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${api.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${api.outbox.relay.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${api.outbox.retencao:PT24H}")
+    private Duration retencao;
+
+    @Value("${api.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${api.outbox.reserva:PT1M}")
+    private Duration duracaoReserva;
+
+    private final Counter publicadosCounter;
+    private final Counter falhasCounter;
+    private final Counter descartadosCounter;
+    private final Timer atrasoEntregaTimer;
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong atrasoMaisAntigoMs = new AtomicLong();
+
+    public OutboxRelay(OutboxEventoRepository outboxEventoRepository,
+                       OutboxSequenciaRepository outboxSequenciaRepository, List<EventoPedidoSink> sinks,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.outboxEventoRepository = outboxEventoRepository;
+        this.outboxSequenciaRepository = outboxSequenciaRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.publicadosCounter = Counter.builder("outbox.eventos.publicados")
+                .description("Eventos de pedido entregues aos sinks")
+                .register(meterRegistry);
+        this.falhasCounter = Counter.builder("outbox.eventos.falhas")
+                .description("Tentativas de entrega de eventos de pedido que falharam")
+                .register(meterRegistry);
+        this.descartadosCounter = Counter.builder("outbox.eventos.descartados")
+                .description("Eventos de pedido descartados após esgotar as tentativas de entrega")
+                .register(meterRegistry);
+        this.atrasoEntregaTimer = Timer.builder("outbox.entrega.atraso")
+                .description("Tempo entre a gravação do evento e a entrega aos sinks")
+                .register(meterRegistry);
+        Gauge.builder("outbox.eventos.pendentes", pendentes, AtomicLong::get)
+                .description("Eventos aguardando entrega")
+                .register(meterRegistry);
+        Gauge.builder("outbox.atraso.pendente.ms", atrasoMaisAntigoMs, AtomicLong::get)
+                .description("Idade do evento pendente mais antigo em milissegundos")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.outbox.intervalo-ms:500}")
+    public void executarAgendado() {
+        if (habilitado) {
+            drenar();
+        }
+    }
+
+    /**
+     * Entrega lotes até esvaziar o outbox ou ocorrer uma falha
+     * Sincronizado para uma execução por instância; entre instâncias a exclusão vem da reserva dos eventos
+     * Retorna a quantidade de eventos entregues
+     */
+    public synchronized int drenar() {
+        int entregues = 0;
+        for (int i = 0; i < MAXIMO_LOTES_POR_EXECUCAO; i++) {
+            int lote = drenarLote();
+            entregues += Math.max(lote, 0);
+            if (lote < tamanhoLote) {
+                break;
+            }
+        }
+        atualizarPendentes();
+        return entregues;
+    }
+
+    /**
+     * Remove eventos já entregues há mais tempo que a retenção configurada
+     */
+    @Scheduled(fixedDelayString = "${api.outbox.limpeza-intervalo-ms:3600000}")
+    public void removerProcessados() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        Integer removidos = transactionTemplate.execute(status -> outboxEventoRepository.removerProcessadosAntesDe(limite));
+        if (removidos != null && removidos > 0) {
+            logger.info("Outbox: {} eventos processados removidos", removidos);
+        }
+    }
+
+    /**
+     * Retorna a quantidade de eventos entregues do lote ou -1 quando algum sink falhou
+     */
+    private int drenarLote() {
+        String reserva = UUID.randomUUID().toString();
+        List<OutboxEvento> reservados = transactionTemplate.execute(status -> reservarLote(reserva));
+        if (reservados == null || reservados.isEmpty()) {
+            return 0;
+        }
+
+        int entregues = 0;
+        for (OutboxEvento evento : reservados) {
+            if (!entregar(evento)) {
+                // Os eventos seguintes voltam a ser candidatos sem esperar o prazo da reserva
+                transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.liberarReserva(reserva));
+                return -1;
+            }
+            entregues++;
+        }
+        return entregues;
+    }
+
+    /**
+     * Reserva o lote e numera os eventos na ordem de entrega; o contador fica travado até o fim da transação,
+     * o que também serializa as reservas entre instâncias
+     */
+    private List<OutboxEvento> reservarLote(String reserva) {
+        OutboxSequencia sequencia = outboxSequenciaRepository.findParaAtualizar(OutboxSequencia.ENTREGA)
+                .orElseGet(() -> outboxSequenciaRepository.save(new OutboxSequencia(OutboxSequencia.ENTREGA)));
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> candidatos = outboxEventoRepository.findIdsPendentes(agora, PageRequest.of(0, tamanhoLote));
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+        outboxEventoRepository.reservar(candidatos, reserva, agora.plus(duracaoReserva), agora);
+        List<OutboxEvento> reservados = outboxEventoRepository.findByReservaOrderByIdAsc(reserva);
+        for (OutboxEvento evento : reservados) {
+            evento.setSequencia(sequencia.proxima());
+        }
+        return reservados;
+    }
+
+    /**
+     * Entrega o evento aos sinks que ainda não o aceitaram e registra o resultado
+     */
+    private boolean entregar(OutboxEvento registro) {
+        EventoPedido evento = EventoPedido.from(registro);
+        Set<String> aceitos = lerSinks(registro.getSinksEntregues());
+        try {
+            for (EventoPedidoSink sink : sinks) {
+                if (!aceitos.contains(sink.nome())) {
+                    sink.publicar(List.of(evento));
+                    aceitos.add(sink.nome());
+                }
+            }
+        } catch (RuntimeException e) {
+            registrarFalha(registro, aceitos, e);
+            return false;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventoRepository.marcarProcessado(registro.getId(), String.join(",", aceitos), agora));
+        publicadosCounter.increment();
+        atrasoEntregaTimer.record(Duration.between(evento.ocorridoEm(), agora));
+        return true;
+    }
+
+    private void registrarFalha(OutboxEvento registro, Set<String> aceitos, RuntimeException erro) {
+        falhasCounter.increment();
+        int tentativas = registro.getTentativas() + 1;
+        boolean descartar = tentativas >= maxTentativas;
+        String mensagem = String.valueOf(erro.getMessage());
+        if (mensagem.length() > TAMANHO_MAXIMO_ERRO) {
+            mensagem = mensagem.substring(0, TAMANHO_MAXIMO_ERRO);
+        }
+        String ultimoErro = mensagem;
+        transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.registrarFalha(registro.getId(),
+                aceitos.isEmpty() ? null : String.join(",", aceitos), ultimoErro,
+                descartar ? LocalDateTime.now() : null));
+
+        if (descartar) {
+            descartadosCounter.increment();
+            logger.error("Outbox: evento {} descartado após {} tentativas; último erro: {}",
+                    registro.getId(), tentativas, ultimoErro);
+        } else {
+            logger.warn("Outbox: falha ao entregar o evento {} (tentativa {} de {}), nova tentativa na próxima execução: {}",
+                    registro.getId(), tentativas, maxTentativas, ultimoErro);
+        }
+    }
+
+    private static Set<String> lerSinks(String sinksEntregues) {
+        Set<String> aceitos = new LinkedHashSet<>();
+        if (sinksEntregues != null && !sinksEntregues.isEmpty()) {
+            aceitos.addAll(Arrays.asList(sinksEntregues.split(",")));
+        }
+        return aceitos;
+    }
+
+    private void atualizarPendentes() {
+        pendentes.set(outboxEventoRepository.countByProcessadoEmIsNullAndDescartadoEmIsNull());
+        atrasoMaisAntigoMs.set(outboxEventoRepository.findCriadoEmMaisAntigoPendente()
+                .map(criadoEm -> Duration.between(criadoEm, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+}
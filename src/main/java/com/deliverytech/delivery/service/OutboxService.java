@@ -0,0 +1,59 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.PedidoStatusResumo;
+import com.deliverytech.delivery.model.OutboxEvento;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.model.TipoEventoPedido;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Grava eventos de pedido no outbox
+ * Exige a transação do chamador: o evento só existe se a alteração do pedido for confirmada
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    public void registrarPedidoCriado(Pedido pedido) {
+        outboxEventoRepository.save(eventoPedidoCriado(pedido));
+    }
+
+    public void registrarPedidosCriados(List<Pedido> pedidos) {
+        outboxEventoRepository.saveAll(pedidos.stream().map(this::eventoPedidoCriado).toList());
+    }
+
+    public void registrarStatusAlterado(Long pedidoId, PedidoStatusResumo anterior, StatusPedido novoStatus) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setTipo(TipoEventoPedido.STATUS_ALTERADO);
+        evento.setPedidoId(pedidoId);
+        evento.setRestauranteId(anterior.getRestauranteId());
+        evento.setClienteId(anterior.getClienteId());
+        evento.setStatusAnterior(anterior.getStatus());
+        evento.setStatus(novoStatus);
+        evento.setCriadoEm(LocalDateTime.now());
+        outboxEventoRepository.save(evento);
+    }
+
+    private OutboxEvento eventoPedidoCriado(Pedido pedido) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setTipo(TipoEventoPedido.PEDIDO_CRIADO);
+        evento.setPedidoId(pedido.getId());
+        evento.setRestauranteId(pedido.getRestaurante().getId());
+        evento.setClienteId(pedido.getCliente().getId());
+        evento.setStatus(pedido.getStatus());
+        evento.setTotal(pedido.getTotal());
+        evento.setCriadoEm(LocalDateTime.now());
+        return evento;
+    }
+}
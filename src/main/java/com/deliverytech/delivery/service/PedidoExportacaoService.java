@@ -0,0 +1,157 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.PedidoExportacaoDTO;
+import com.deliverytech.delivery.enums.FormatoExportacao;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Exporta pedidos em NDJSON ou CSV direto para o stream da resposta
+ * As linhas vêm de um cursor do banco e o contexto de persistência é limpo periodicamente,
+ * então a memória usada não depende do tamanho do período exportado
+ */
+@Service
+public class PedidoExportacaoService {
+
+    private static final int TAMANHO_BUFFER = 16 * 1024;
+
+    private final PedidoRepository pedidoRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+    private final Map<FormatoExportacao, Counter> linhasCounters = new EnumMap<>(FormatoExportacao.class);
+
+    public PedidoExportacaoService(PedidoRepository pedidoRepository, EntityManager entityManager,
+                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.pedidoRepository = pedidoRepository;
+        this.entityManager = entityManager;
+        // Sem flush por objeto: o envio fica a cargo do buffer, e não uma escrita no socket por linha
+        this.jsonWriter = objectMapper.writerFor(PedidoExportacaoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        for (FormatoExportacao formato : FormatoExportacao.values()) {
+            linhasCounters.put(formato, Counter.builder("pedidos.exportacao.linhas")
+                    .description("Pedidos escritos em exportações")
+                    .tag("formato", formato.getExtensao())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Escreve os pedidos filtrados em ordem cronológica e retorna a quantidade exportada
+     * O stream de saída não é fechado
+     */
+    @Transactional(readOnly = true)
+    public long exportar(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Long clienteId,
+                         Long restauranteId, FormatoExportacao formato, OutputStream saida) throws IOException {
+        LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : null;
+        LocalDateTime fim = dataFim != null ? dataFim.plusDays(1).atStartOfDay() : null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        JsonGenerator json = null;
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(PedidoExportacaoDTO.CABECALHO_CSV);
+            writer.write('\n');
+        } else {
+            json = jsonWriter.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        long linhas = 0;
+        try (Stream<Pedido> pedidos = pedidoRepository.streamParaExportacao(status, inicio, fim, clienteId, restauranteId)) {
+            Iterator<Pedido> iterator = pedidos.iterator();
+            while (iterator.hasNext()) {
+                PedidoExportacaoDTO linha = PedidoExportacaoDTO.from(iterator.next());
+                if (json != null) {
+                    jsonWriter.writeValue(json, linha);
+                } else {
+                    escreverCsv(writer, linha);
+                }
+                // Entidades já exportadas não devem se acumular no contexto de persistência
+                if (++linhas % PedidoRepository.TAMANHO_FETCH_EXPORTACAO == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        if (json != null) {
+            if (linhas > 0) json.writeRaw('\n');
+            json.close();
+        }
+        writer.flush();
+        linhasCounters.get(formato).increment(linhas);
+        return linhas;
+    }
+
+    private static void escreverCsv(Writer writer, PedidoExportacaoDTO linha) throws IOException {
+        writer.write(String.valueOf(linha.id()));
+        writer.write(',');
+        writer.write(String.valueOf(linha.dataPedido()));
+        writer.write(',');
+        writer.write(linha.status() != null ? linha.status().name() : "");
+        writer.write(',');
+        writer.write(String.valueOf(linha.clienteId()));
+        writer.write(',');
+        escreverTexto(writer, linha.nomeCliente());
+        writer.write(',');
+        writer.write(String.valueOf(linha.restauranteId()));
+        writer.write(',');
+        escreverTexto(writer, linha.nomeRestaurante());
+        writer.write(',');
+        escreverTexto(writer, linha.cepEntrega());
+        writer.write(',');
+        escreverValor(writer, linha.subtotal());
+        writer.write(',');
+        escreverValor(writer, linha.taxaEntrega());
+        writer.write(',');
+        escreverValor(writer, linha.total());
+        writer.write('\n');
+    }
+
+    private static void escreverValor(Writer writer, BigDecimal valor) throws IOException {
+        if (valor != null) writer.write(valor.toPlainString());
+    }
+
+    /**
+     * Campo de texto conforme RFC 4180; valores que começam como fórmula recebem um apóstrofo
+     * para não serem executados ao abrir o arquivo em planilhas
+     */
+    private static void escreverTexto(Writer writer, String valor) throws IOException {
+        if (valor == null || valor.isEmpty()) return;
+        char primeiro = valor.charAt(0);
+        if (primeiro == '=' || primeiro == '+' || primeiro == '-' || primeiro == '@') {
+            valor = "'" + valor;
+        }
+        boolean aspas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!aspas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        writer.write(valor.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,264 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+import com.deliverytech.delivery.model.OutboxEvento;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed em tempo real (Server-Sent Events) dos pedidos de cada restaurante
+ * Acompanha o outbox pela sequência de entrega atribuída pelo OutboxRelay, que fica visível em ordem
+ * crescente; assim cada instância vê todos os eventos, mesmo os entregues pelo relay de outra, e a retomada
+ * por Last-Event-ID (a sequência do último evento recebido) não perde eventos confirmados fora da ordem do id.
+ * Os eventos são distribuídos para as conexões do restaurante: cada conexão tem sua fila e os envios
+ * rodam em virtual threads
+ */
+@Service
+public class PedidoFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoFeedService.class);
+
+    // Eventos reenviados no máximo por retomada; o restante o cliente busca pela API de listagem
+    private static final int LIMITE_RETOMADA = 500;
+    private static final int TAMANHO_LOTE_ACOMPANHAMENTO = 500;
+
+    private final OutboxEventoRepository outboxEventoRepository;
+    private final Duration timeout;
+    private final int limiteFila;
+
+    private final Map<Long, Set<Assinatura>> assinaturasPorRestaurante = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Última sequência lida do outbox; só a tarefa agendada escreve
+    private volatile long ultimaSequencia = -1;
+
+    @Value("${api.feed.acompanhamento.enabled:true}")
+    private boolean acompanhamentoHabilitado;
+
+    public PedidoFeedService(OutboxEventoRepository outboxEventoRepository, MeterRegistry meterRegistry,
+                             @Value("${api.feed.timeout:PT30M}") Duration timeout,
+                             @Value("${api.feed.limite-fila:1000}") int limiteFila) {
+        this.outboxEventoRepository = outboxEventoRepository;
+        this.timeout = timeout;
+        this.limiteFila = limiteFila;
+        Gauge.builder("pedidos.feed.conexoes", conexoes, AtomicInteger::get)
+                .description("Conexões abertas no feed de pedidos dos restaurantes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre uma conexão para o restaurante
+     * Com ultimoEventoId (sequência), reenvia os eventos posteriores antes de seguir com os eventos ao vivo
+     */
+    public SseEmitter assinar(Long restauranteId, Long ultimoEventoId) {
+        SseEmitter emitter = criarEmitter();
+        Assinatura assinatura = new Assinatura(restauranteId, emitter);
+        // Pausada até reenviar os eventos perdidos, para não intercalar com os eventos ao vivo
+        assinatura.pausada = ultimoEventoId != null;
+
+        emitter.onCompletion(() -> remover(assinatura));
+        emitter.onTimeout(() -> remover(assinatura));
+        emitter.onError(erro -> remover(assinatura));
+
+        // Registra antes da retomada: eventos ao vivo ficam na fila e os repetidos são descartados pela sequência
+        assinaturasPorRestaurante.computeIfAbsent(restauranteId, id -> ConcurrentHashMap.newKeySet()).add(assinatura);
+        conexoes.incrementAndGet();
+
+        if (ultimoEventoId != null) {
+            executor.execute(() -> retomar(assinatura, ultimoEventoId));
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${api.feed.intervalo-ms:500}")
+    public void acompanharAgendado() {
+        if (acompanhamentoHabilitado) {
+            acompanhar();
+        }
+    }
+
+    /**
+     * Lê os eventos do outbox posteriores à última sequência lida e os distribui
+     * Na primeira execução parte da maior sequência existente: conexões novas recebem só eventos novos
+     */
+    public void acompanhar() {
+        if (ultimaSequencia < 0) {
+            ultimaSequencia = outboxEventoRepository.findMaxSequencia().orElse(0L);
+            return;
+        }
+        List<OutboxEvento> lote;
+        do {
+            lote = outboxEventoRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(ultimaSequencia,
+                    PageRequest.of(0, TAMANHO_LOTE_ACOMPANHAMENTO));
+            for (OutboxEvento evento : lote) {
+                distribuir(EventoPedido.from(evento));
+                ultimaSequencia = evento.getSequencia();
+            }
+        } while (lote.size() == TAMANHO_LOTE_ACOMPANHAMENTO);
+    }
+
+    void distribuir(EventoPedido evento) {
+        if (evento.restauranteId() == null) {
+            return;
+        }
+        Set<Assinatura> assinaturas = assinaturasPorRestaurante.get(evento.restauranteId());
+        if (assinaturas == null) {
+            return;
+        }
+        for (Assinatura assinatura : assinaturas) {
+            enfileirar(assinatura, new Mensagem(evento.sequencia(), evento));
+        }
+    }
+
+    /**
+     * Comentário periódico para manter as conexões ociosas abertas em proxies e balanceadores
+     */
+    @Scheduled(fixedDelayString = "${api.feed.heartbeat-ms:15000}")
+    public void enviarHeartbeat() {
+        assinaturasPorRestaurante.values().forEach(assinaturas ->
+                assinaturas.forEach(assinatura -> enfileirar(assinatura, Mensagem.HEARTBEAT)));
+    }
+
+    SseEmitter criarEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    public int getConexoes() {
+        return conexoes.get();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinaturasPorRestaurante.values().forEach(assinaturas -> assinaturas.forEach(a -> a.emitter.complete()));
+        executor.shutdownNow();
+    }
+
+    private void retomar(Assinatura assinatura, Long ultimoEventoId) {
+        try {
+            List<EventoPedido> perdidos = outboxEventoRepository
+                    .findByRestauranteIdAndSequenciaGreaterThanOrderBySequenciaAsc(assinatura.restauranteId,
+                            ultimoEventoId, PageRequest.of(0, LIMITE_RETOMADA))
+                    .stream().map(EventoPedido::from).toList();
+            assinatura.ultimaSequenciaEnviada = ultimoEventoId;
+            for (EventoPedido evento : perdidos) {
+                enviar(assinatura, new Mensagem(evento.sequencia(), evento));
+            }
+        } catch (Exception e) {
+            logger.debug("Falha ao retomar feed do restaurante {}: {}", assinatura.restauranteId, e.getMessage());
+            assinatura.emitter.completeWithError(e);
+            return;
+        }
+        assinatura.pausada = false;
+        agendarEnvio(assinatura);
+    }
+
+    private void enfileirar(Assinatura assinatura, Mensagem mensagem) {
+        if (assinatura.tamanhoFila.incrementAndGet() > limiteFila) {
+            // Cliente lento: encerra a conexão; ao reconectar com Last-Event-ID recupera o que perdeu
+            logger.debug("Fila do feed excedida para o restaurante {}, encerrando conexão", assinatura.restauranteId);
+            assinatura.emitter.complete();
+            remover(assinatura);
+            return;
+        }
+        assinatura.fila.add(mensagem);
+        agendarEnvio(assinatura);
+    }
+
+    private void agendarEnvio(Assinatura assinatura) {
+        if (!assinatura.pausada && assinatura.enviando.compareAndSet(false, true)) {
+            executor.execute(() -> esvaziarFila(assinatura));
+        }
+    }
+
+    /**
+     * Uma única tarefa por conexão envia a fila em ordem
+     */
+    private void esvaziarFila(Assinatura assinatura) {
+        try {
+            Mensagem mensagem;
+            while (!assinatura.pausada && (mensagem = assinatura.fila.poll()) != null) {
+                assinatura.tamanhoFila.decrementAndGet();
+                enviar(assinatura, mensagem);
+            }
+        } catch (Exception e) {
+            assinatura.emitter.completeWithError(e);
+            remover(assinatura);
+            return;
+        } finally {
+            assinatura.enviando.set(false);
+        }
+        // Mensagem enfileirada entre o último poll e a liberação da flag
+        if (!assinatura.fila.isEmpty()) {
+            agendarEnvio(assinatura);
+        }
+    }
+
+    private void enviar(Assinatura assinatura, Mensagem mensagem) throws Exception {
+        if (mensagem.sequencia() == null) {
+            assinatura.emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        if (mensagem.sequencia() <= assinatura.ultimaSequenciaEnviada) {
+            return;
+        }
+        EventoPedido evento = mensagem.evento();
+        assinatura.emitter.send(SseEmitter.event()
+                .id(String.valueOf(evento.sequencia()))
+                .name(evento.tipo().name())
+                .data(evento, MediaType.APPLICATION_JSON));
+        assinatura.ultimaSequenciaEnviada = evento.sequencia();
+    }
+
+    private void remover(Assinatura assinatura) {
+        if (assinatura.removida.compareAndSet(false, true)) {
+            Set<Assinatura> assinaturas = assinaturasPorRestaurante.get(assinatura.restauranteId);
+            if (assinaturas != null) {
+                assinaturas.remove(assinatura);
+            }
+            conexoes.decrementAndGet();
+        }
+    }
+
+    private record Mensagem(Long sequencia, EventoPedido evento) {
+        static final Mensagem HEARTBEAT = new Mensagem(null, null);
+    }
+
+    private static final class Assinatura {
+        final Long restauranteId;
+        final SseEmitter emitter;
+        final Queue<Mensagem> fila = new ConcurrentLinkedQueue<>();
+        final AtomicInteger tamanhoFila = new AtomicInteger();
+        final AtomicBoolean enviando = new AtomicBoolean();
+        final AtomicBoolean removida = new AtomicBoolean();
+        volatile boolean pausada;
+        // Escrito pela retomada e depois apenas pela tarefa de envio da conexão
+        volatile long ultimaSequenciaEnviada = Long.MIN_VALUE;
+
+        Assinatura(Long restauranteId, SseEmitter emitter) {
+            this.restauranteId = restauranteId;
+            this.emitter = emitter;
+        }
+    }
+}
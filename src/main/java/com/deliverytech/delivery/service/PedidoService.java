@@ -1,21 +1,35 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.enums.ModoContagem;
 import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.model.*;
 import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.util.CursorPedido;
 import com.deliverytech.delivery.util.SecurityUtils;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service("pedidoService")
@@ -27,7 +41,19 @@ public class PedidoService implements PedidoServiceInterface {
     @Autowired private ClienteServiceInterface clienteService;
     @Autowired private RestauranteServiceInterface restauranteService;
     @Autowired private ProdutoServiceInterface produtoService;
-    @Autowired private ModelMapper modelMapper;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private ClienteRepository clienteRepository;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private TaxaEntregaService taxaEntregaService;
+    @Autowired private OutboxService outboxService;
+    @Autowired private PedidosRecentesBuffer pedidosRecentes;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private Validator validator;
+
+    @Value("${api.pedidos.limite-contagem:10000}")
+    private int limiteContagem;
+
+    private static final int TAMANHO_MAXIMO_LOTE = 500;
 
     // Métodos para autorização
     public List<PedidoResumoDTO> findByCliente() {
@@ -59,50 +85,262 @@ public class PedidoService implements PedidoServiceInterface {
         RestauranteResponseDTO restaurante = restauranteService.buscarRestaurantePorId(dto.getRestauranteId());
         if (!restaurante.getAtivo()) throw new BusinessException("Restaurante não está ativo");
 
-        BigDecimal totalItens = BigDecimal.ZERO;
+        // Todos os produtos do pedido são resolvidos em uma única consulta e validados em memória
+        Map<Long, Produto> produtos = carregarProdutos(dto.getItens());
+        Money totalItens = validarItens(dto, produtos);
+
+        Money taxaEntrega = taxaCotada(taxaEntregaService.calcularTaxa(dto.getRestauranteId(), dto.getCepEntrega()));
+
+        Pedido pedido = novoPedido(dto, convertToEntity(cliente), convertToEntity(restaurante), totalItens, taxaEntrega);
+        pedido = pedidoRepository.save(pedido);
+
+        List<ItemPedido> itens = montarItens(pedido, dto, produtos);
+        // Ids por sequência: os INSERTs saem em lote (hibernate.jdbc.batch_size)
+        itemPedidoRepository.saveAll(itens);
+        outboxService.registrarPedidoCriado(pedido);
+        eventPublisher.publishEvent(new PedidosCriados(List.of(pedido)));
+
+        return montarResposta(pedido, cliente, restaurante, itens);
+    }
+
+    @Override
+    public List<ResultadoPedidoLoteDTO> criarPedidosEmLote(List<PedidoDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) throw new BusinessException("Lote de pedidos não pode estar vazio");
+        if (dtos.size() > TAMANHO_MAXIMO_LOTE) throw new BusinessException("Lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " pedidos");
+
+        // Uma consulta por tipo de entidade para o lote inteiro
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(coletarIds(dtos, PedidoDTO::getClienteId)).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        Map<Long, Restaurante> restaurantes = restauranteRepository.findAllById(coletarIds(dtos, PedidoDTO::getRestauranteId)).stream()
+                .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+        Set<Long> produtoIds = dtos.stream()
+                .filter(dto -> dto != null && dto.getItens() != null)
+                .flatMap(dto -> dto.getItens().stream())
+                .filter(Objects::nonNull)
+                .map(ItemPedidoDTO::getProdutoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Produto> produtos = produtoIds.isEmpty() ? Map.of() : produtoRepository.findAllByIdComRestaurante(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        ResultadoPedidoLoteDTO[] resultados = new ResultadoPedidoLoteDTO[dtos.size()];
+        List<Integer> indicesAceitos = new ArrayList<>();
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            PedidoDTO dto = dtos.get(i);
+            try {
+                validarPedidoDoLote(dto, clientes, restaurantes, produtos);
+                Money totalItens = validarItens(dto, produtos);
+                // Cotação sobre o restaurante já carregado: sem nova consulta nem exceção atravessando outro proxy
+                // transacional, que marcaria a transação do lote inteiro para rollback
+                Restaurante restaurante = restaurantes.get(dto.getRestauranteId());
+                Money taxaEntrega = taxaCotada(taxaEntregaService.calcularTaxa(restaurante, dto.getCepEntrega()));
+                pedidos.add(novoPedido(dto, clientes.get(dto.getClienteId()), restaurante, totalItens, taxaEntrega));
+                indicesAceitos.add(i);
+            } catch (BusinessException | EntityNotFoundException e) {
+                resultados[i] = ResultadoPedidoLoteDTO.falha(i, e.getMessage());
+            }
+        }
+
+        // Pedidos e itens com ids por sequência: os INSERTs são agrupados pelo Hibernate
+        pedidoRepository.saveAll(pedidos);
+        List<List<ItemPedido>> itensPorPedido = new ArrayList<>(pedidos.size());
+        List<ItemPedido> todosItens = new ArrayList<>();
+        for (int p = 0; p < pedidos.size(); p++) {
+            List<ItemPedido> itens = montarItens(pedidos.get(p), dtos.get(indicesAceitos.get(p)), produtos);
+            itensPorPedido.add(itens);
+            todosItens.addAll(itens);
+        }
+        itemPedidoRepository.saveAll(todosItens);
+        outboxService.registrarPedidosCriados(pedidos);
+        eventPublisher.publishEvent(new PedidosCriados(List.copyOf(pedidos)));
+
+        Map<Long, ClienteResponseDTO> clientesResponse = new HashMap<>();
+        Map<Long, RestauranteResponseDTO> restaurantesResponse = new HashMap<>();
+        for (int p = 0; p < pedidos.size(); p++) {
+            Pedido pedido = pedidos.get(p);
+            ClienteResponseDTO cliente = clientesResponse.computeIfAbsent(pedido.getCliente().getId(),
+                    id -> ClienteResponseDTO.from(pedido.getCliente()));
+            RestauranteResponseDTO restaurante = restaurantesResponse.computeIfAbsent(pedido.getRestaurante().getId(),
+                    id -> RestauranteResponseDTO.from(pedido.getRestaurante()));
+            int indice = indicesAceitos.get(p);
+            resultados[indice] = ResultadoPedidoLoteDTO.sucesso(indice,
+                    montarResposta(pedido, cliente, restaurante, itensPorPedido.get(p)));
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Valida um pedido do lote contra as entidades já carregadas
+     */
+    private void validarPedidoDoLote(PedidoDTO dto, Map<Long, Cliente> clientes,
+                                     Map<Long, Restaurante> restaurantes, Map<Long, Produto> produtos) {
+        if (dto == null) throw new BusinessException("Pedido não pode ser nulo");
+        Set<ConstraintViolation<PedidoDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new BusinessException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        Cliente cliente = clientes.get(dto.getClienteId());
+        if (cliente == null) throw new EntityNotFoundException("Cliente", dto.getClienteId());
+        if (!cliente.isAtivo()) throw new BusinessException("Cliente não está ativo");
+
+        Restaurante restaurante = restaurantes.get(dto.getRestauranteId());
+        if (restaurante == null) throw new EntityNotFoundException("Restaurante", dto.getRestauranteId());
+        if (!restaurante.isAtivo()) throw new BusinessException("Restaurante não está ativo");
+
         for (ItemPedidoDTO itemDto : dto.getItens()) {
-            ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(itemDto.getProdutoId());
-            if (!produto.getDisponivel()) throw new BusinessException("Produto " + produto.getNome() + " não está disponível");
-            if (!produto.getRestauranteId().equals(dto.getRestauranteId())) throw new BusinessException("Produto " + produto.getNome() + " não pertence ao restaurante");
-            totalItens = totalItens.add(produto.getPreco().multiply(BigDecimal.valueOf(itemDto.getQuantidade())));
+            if (itemDto == null) throw new BusinessException("Item do pedido não pode ser nulo");
+            if (!produtos.containsKey(itemDto.getProdutoId())) throw EntityNotFoundException.produto(itemDto.getProdutoId());
         }
+    }
 
-        BigDecimal taxaEntrega = restauranteService.calcularTaxaEntrega(dto.getRestauranteId(), dto.getCepEntrega());
-        BigDecimal totalPedido = totalItens.add(taxaEntrega);
+    /**
+     * Valida disponibilidade e restaurante dos produtos e retorna o total dos itens
+     */
+    private Money validarItens(PedidoDTO dto, Map<Long, Produto> produtos) {
+        long totalCentavos = 0;
+        for (ItemPedidoDTO itemDto : dto.getItens()) {
+            Produto produto = produtos.get(itemDto.getProdutoId());
+            if (!produto.isDisponivel()) throw new BusinessException("Produto " + produto.getNome() + " não está disponível");
+            if (!produto.getRestaurante().getId().equals(dto.getRestauranteId())) throw new BusinessException("Produto " + produto.getNome() + " não pertence ao restaurante");
+            totalCentavos = Math.addExact(totalCentavos,
+                    Math.multiplyExact(Money.centavosDe(produto.getPreco()), (long) itemDto.getQuantidade()));
+        }
+        return Money.deCentavos(totalCentavos);
+    }
+
+    /**
+     * Taxa de uma cotação atendida; sem entrega para o CEP (restaurante sem localização, CEP fora da
+     * cobertura ou das zonas) o pedido é recusado, em vez de aceito com a taxa zerada da cotação indisponível
+     */
+    private Money taxaCotada(TaxaEntregaResponse cotacao) {
+        if (!Boolean.TRUE.equals(cotacao.getEntregaDisponivel())) {
+            throw new BusinessException("Entrega indisponível para o CEP " + cotacao.getCepDestino()
+                    + ": " + cotacao.getObservacoes());
+        }
+        return Money.de(cotacao.getTaxaEntrega());
+    }
 
+    private Pedido novoPedido(PedidoDTO dto, Cliente cliente, Restaurante restaurante,
+                              Money totalItens, Money taxaEntrega) {
         Pedido pedido = new Pedido();
-        pedido.setCliente(modelMapper.map(cliente, Cliente.class));
-        pedido.setRestaurante(modelMapper.map(restaurante, Restaurante.class));
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
         pedido.setEnderecoEntrega(dto.getEnderecoEntrega());
         pedido.setCepEntrega(dto.getCepEntrega());
+        pedido.setObservacoes(dto.getObservacoes());
         pedido.setStatus(StatusPedido.PENDENTE);
         pedido.setDataPedido(LocalDateTime.now());
-        pedido.setTaxaEntrega(taxaEntrega);
-        pedido.setTotal(totalPedido);
-        pedido = pedidoRepository.save(pedido);
+        pedido.setSubtotal(totalItens.toBigDecimal());
+        pedido.setTaxaEntrega(taxaEntrega.toBigDecimal());
+        pedido.setTotal(totalItens.mais(taxaEntrega).toBigDecimal());
+        return pedido;
+    }
 
+    private List<ItemPedido> montarItens(Pedido pedido, PedidoDTO dto, Map<Long, Produto> produtos) {
+        List<ItemPedido> itens = new ArrayList<>(dto.getItens().size());
         for (ItemPedidoDTO itemDto : dto.getItens()) {
-            ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(itemDto.getProdutoId());
+            Produto produto = produtos.get(itemDto.getProdutoId());
             ItemPedido item = new ItemPedido();
             item.setPedido(pedido);
-            item.setProduto(modelMapper.map(produto, Produto.class));
+            item.setProduto(produto);
             item.setQuantidade(itemDto.getQuantidade());
-            item.setPrecoUnitario(produto.getPreco());
-            item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(itemDto.getQuantidade())));
-            itemPedidoRepository.save(item);
+            item.setObservacao(itemDto.getObservacao());
+            Money precoUnitario = Money.de(produto.getPreco());
+            item.setPrecoUnitarioMoney(precoUnitario);
+            item.setPrecoTotalMoney(precoUnitario.vezes(itemDto.getQuantidade()));
+            itens.add(item);
         }
+        return itens;
+    }
 
-        return buscarPedidoPorId(pedido.getId());
+    private static Set<Long> coletarIds(List<PedidoDTO> dtos, Function<PedidoDTO, Long> extrator) {
+        return dtos.stream().filter(Objects::nonNull).map(extrator).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    /**
+     * Carrega os produtos referenciados pelos itens, indexados por ID
+     */
+    private Map<Long, Produto> carregarProdutos(List<ItemPedidoDTO> itens) {
+        Set<Long> ids = itens.stream().map(ItemPedidoDTO::getProdutoId).collect(Collectors.toSet());
+        Map<Long, Produto> produtos = produtoRepository.findAllByIdComRestaurante(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        for (Long id : ids) {
+            if (!produtos.containsKey(id)) throw EntityNotFoundException.produto(id);
+        }
+        return produtos;
+    }
+
+    /**
+     * Cliente e restaurante do pedido a partir das respostas já validadas, sem nova consulta
+     * Entidades destacadas: o pedido grava só as chaves; os nomes servem ao buffer de recentes
+     */
+    private Cliente convertToEntity(ClienteResponseDTO dto) {
+        Cliente cliente = new Cliente();
+        cliente.setId(dto.getId());
+        cliente.setNome(dto.getNome());
+        cliente.setEmail(dto.getEmail());
+        cliente.setTelefone(dto.getTelefone());
+        cliente.setEndereco(dto.getEndereco());
+        cliente.setAtivo(Boolean.TRUE.equals(dto.getAtivo()));
+        cliente.setDataCadastro(dto.getDataCadastro());
+        return cliente;
+    }
+
+    private Restaurante convertToEntity(RestauranteResponseDTO dto) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(dto.getId());
+        restaurante.setNome(dto.getNome());
+        restaurante.setCategoria(dto.getCategoria());
+        restaurante.setEndereco(dto.getEndereco());
+        restaurante.setTaxaEntrega(dto.getTaxaEntrega());
+        restaurante.setAvaliacao(dto.getAvaliacao());
+        restaurante.setAtivo(Boolean.TRUE.equals(dto.getAtivo()));
+        restaurante.setLatitude(dto.getLatitude());
+        restaurante.setLongitude(dto.getLongitude());
+        return restaurante;
+    }
+
+    /**
+     * Monta a resposta a partir das entidades já carregadas
+     */
+    private PedidoResponseDTO montarResposta(Pedido pedido, ClienteResponseDTO cliente,
+                                             RestauranteResponseDTO restaurante, List<ItemPedido> itens) {
+        PedidoResponseDTO response = new PedidoResponseDTO();
+        response.setId(pedido.getId());
+        response.setCliente(cliente);
+        response.setRestaurante(restaurante);
+        response.setDataPedido(pedido.getDataPedido());
+        response.setStatus(pedido.getStatus());
+        response.setValorTotal(pedido.getTotal());
+        response.setEnderecoCoberto(pedido.getEnderecoEntrega());
+        response.setObservacoes(pedido.getObservacoes());
+
+        List<ItemPedidoResponseDTO> itensResponse = new ArrayList<>(itens.size());
+        for (ItemPedido item : itens) {
+            itensResponse.add(ItemPedidoResponseDTO.from(item));
+        }
+        response.setItens(itensResponse);
+        return response;
     }
     
     @Override
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarPedidoPorId(Long id) {
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-        PedidoResponseDTO response = modelMapper.map(pedido, PedidoResponseDTO.class);
-        List<ItemPedido> itens = itemPedidoRepository.findByPedidoId(id);
-        response.setItens(itens.stream().map(item -> modelMapper.map(item, ItemPedidoResponseDTO.class)).collect(Collectors.toList()));
-        return response;
+        List<Object[]> linhas = pedidoRepository.findDetalheById(id);
+        if (linhas.isEmpty()) throw EntityNotFoundException.pedido(id);
+
+        Pedido pedido = (Pedido) linhas.get(0)[0];
+        List<ItemPedido> itens = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            if (linha[1] != null) itens.add((ItemPedido) linha[1]);
+        }
+        return montarResposta(pedido, ClienteResponseDTO.from(pedido.getCliente()),
+                RestauranteResponseDTO.from(pedido.getRestaurante()), itens);
     }
     
     @Override
@@ -111,16 +349,13 @@ public class PedidoService implements PedidoServiceInterface {
         if (clienteId == null) clienteId = SecurityUtils.getCurrentUserId();
         clienteService.buscarClientePorId(clienteId);
         List<Pedido> pedidos = pedidoRepository.findByClienteIdOrderByDataPedidoDesc(clienteId);
-        return pedidos.stream().map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class)).collect(Collectors.toList());
+        return pedidos.stream().map(PedidoResumoDTO::from).collect(Collectors.toList());
     }
     
     @Override
     @Transactional
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido status) {
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-        // ... (lógica de transição de status completa)
-        pedido.setStatus(status);
-        pedidoRepository.save(pedido);
+        transicionarStatus(id, status);
         return buscarPedidoPorId(id);
     }
     
@@ -130,48 +365,111 @@ public class PedidoService implements PedidoServiceInterface {
         if (restauranteId == null) restauranteId = SecurityUtils.getCurrentUser().getRestauranteId();
         restauranteService.buscarRestaurantePorId(restauranteId);
         List<Pedido> pedidos = pedidoRepository.findByRestauranteIdOrderByDataPedidoDesc(restauranteId);
-        return pedidos.stream().map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class)).collect(Collectors.toList());
+        return pedidos.stream().map(PedidoResumoDTO::from).collect(Collectors.toList());
     }
 
     @Override
     public BigDecimal calcularTotalPedido(List<ItemPedidoDTO> itens, Long restauranteId) {
-        BigDecimal totalItens = BigDecimal.ZERO;
+        long totalCentavos = 0;
         for (ItemPedidoDTO itemDto : itens) {
             ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(itemDto.getProdutoId());
             if (!produto.getRestauranteId().equals(restauranteId)) throw new BusinessException("Produto " + produto.getNome() + " não pertence ao restaurante");
-            totalItens = totalItens.add(produto.getPreco().multiply(BigDecimal.valueOf(itemDto.getQuantidade())));
+            totalCentavos = Math.addExact(totalCentavos,
+                    Math.multiplyExact(Money.centavosDe(produto.getPreco()), (long) itemDto.getQuantidade()));
         }
-        return totalItens;
+        return Money.deCentavos(totalCentavos).toBigDecimal();
     }
     
     @Override
     public PedidoResponseDTO cancelarPedido(Long id) {
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-        // ... (lógica de cancelamento completa)
-        pedido.setStatus(StatusPedido.CANCELADO);
-        pedidoRepository.save(pedido);
+        transicionarStatus(id, StatusPedido.CANCELADO);
         return buscarPedidoPorId(id);
     }
+
+    /**
+     * Valida a transição pela tabela de StatusPedido e aplica com UPDATE condicional
+     * Transição inválida ou concorrente (status alterado por outra requisição) resulta em 409
+     */
+    private void transicionarStatus(Long id, StatusPedido novoStatus) {
+        PedidoStatusResumo atual = pedidoRepository.findStatusResumoById(id).orElseThrow(() -> EntityNotFoundException.pedido(id));
+        StatusPedido statusAtual = atual.getStatus();
+        if (!statusAtual.podeTransicionarPara(novoStatus)) {
+            throw ConflictException.statusInvalido(statusAtual.name(), novoStatus.name());
+        }
+        if (pedidoRepository.atualizarStatusSeAtual(id, statusAtual, novoStatus) == 0) {
+            throw ConflictException.statusAlteradoConcorrentemente(id, statusAtual.name());
+        }
+        outboxService.registrarStatusAlterado(id, atual, novoStatus);
+        eventPublisher.publishEvent(new StatusPedidoAlterado(id, novoStatus));
+    }
     
     @Override
     @Transactional(readOnly = true)
     public List<PedidoResumoDTO> buscarPedidosPorStatus(StatusPedido status) {
         List<Pedido> pedidos = pedidoRepository.findByStatusOrderByDataPedidoDesc(status);
-        return pedidos.stream().map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class)).collect(Collectors.toList());
+        return pedidos.stream().map(PedidoResumoDTO::from).collect(Collectors.toList());
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<PedidoResumoDTO> buscarPedidosRecentes() {
+        if (pedidosRecentes.isPronto()) return pedidosRecentes.recentes(10);
+        
+        // Buffer ainda não aquecido (inicialização)
+        pedidosRecentes.registrarConsultaBanco();
         List<Pedido> pedidos = pedidoRepository.findTop10ByOrderByDataPedidoDesc();
-        return pedidos.stream().map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class)).collect(Collectors.toList());
+        return pedidos.stream().map(PedidoResumoDTO::from).collect(Collectors.toList());
     }
     
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<PedidoResumoDTO> listarPedidosComFiltros(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Long clienteId, Long restauranteId, Pageable pageable, String baseUrl) {
         Page<Pedido> pedidosPage = pedidoRepository.findWithFilters(status, dataInicio, dataFim, clienteId, restauranteId, pageable);
-        Page<PedidoResumoDTO> pedidosResponsePage = pedidosPage.map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class));
+        Page<PedidoResumoDTO> pedidosResponsePage = pedidosPage.map(PedidoResumoDTO::from);
         return PagedResponse.of(pedidosResponsePage, baseUrl);
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<PedidoResumoDTO> listarPedidosPorCursor(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                                 Long clienteId, Long restauranteId, String cursor, int tamanho,
+                                                                 ModoContagem contagem, String requestUrl) {
+        LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : null;
+        LocalDateTime fim = dataFim != null ? dataFim.plusDays(1).atStartOfDay() : null;
+        
+        // Uma linha a mais indica se existe próxima página, sem precisar de COUNT
+        Pageable limite = PageRequest.of(0, tamanho + 1);
+        boolean primeira = cursor == null || cursor.isBlank();
+        List<Pedido> pedidos;
+        if (primeira) {
+            pedidos = pedidoRepository.findPrimeiraPaginaPorCursor(status, inicio, fim, clienteId, restauranteId, limite);
+        } else {
+            CursorPedido posicao = CursorPedido.decodificar(cursor);
+            pedidos = pedidoRepository.findPaginaAposCursor(status, inicio, fim, clienteId, restauranteId,
+                    posicao.dataPedido(), posicao.id(), limite);
+        }
+        
+        boolean temProxima = pedidos.size() > tamanho;
+        if (temProxima) pedidos = pedidos.subList(0, tamanho);
+        String proximoCursor = temProxima ? CursorPedido.de(pedidos.get(pedidos.size() - 1)).codificar() : null;
+        
+        List<PedidoResumoDTO> conteudo = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            conteudo.add(PedidoResumoDTO.from(pedido));
+        }
+        
+        Long total = null;
+        Boolean totalEstimado = null;
+        if (contagem == ModoContagem.EXATA) {
+            total = pedidoRepository.countPorCursor(status, inicio, fim, clienteId, restauranteId);
+            totalEstimado = false;
+        } else if (contagem == ModoContagem.LIMITADA) {
+            // Conta no máximo limiteContagem + 1 pedidos; acima do teto o total informado é um limite inferior
+            long contados = pedidoRepository.countPorCursorAte(status, inicio, fim, clienteId, restauranteId,
+                    limiteContagem + 1);
+            totalEstimado = contados > limiteContagem;
+            total = Math.min(contados, limiteContagem);
+        }
+        return PagedResponse.ofCursor(conteudo, tamanho, primeira, proximoCursor, total, totalEstimado, requestUrl);
+    }
 }
@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.enums.ModoContagem;
 import com.deliverytech.delivery.model.StatusPedido;
 import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
@@ -15,6 +16,12 @@ public interface PedidoServiceInterface {
      */
     PedidoResponseDTO criarPedido(PedidoDTO dto);
     
+    /**
+     * Cria vários pedidos com consultas e inserções em lote
+     * Pedidos inválidos são rejeitados individualmente sem afetar os demais
+     */
+    List<ResultadoPedidoLoteDTO> criarPedidosEmLote(List<PedidoDTO> dtos);
+    
     /**
      * Busca pedido por ID com todos os itens
      */
@@ -63,6 +70,22 @@ public interface PedidoServiceInterface {
         String baseUrl
     );
     
+    /**
+     * Lista pedidos com filtros por cursor (keyset em dataPedido, id), sem OFFSET
+     * O total só é calculado quando solicitado, de forma exata ou limitada
+     */
+    PagedResponse<PedidoResumoDTO> listarPedidosPorCursor(
+        StatusPedido status,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        Long clienteId,
+        Long restauranteId,
+        String cursor,
+        int tamanho,
+        ModoContagem contagem,
+        String requestUrl
+    );
+    
     /**
      * Busca pedidos por restaurante
      */
@@ -0,0 +1,248 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.PedidoResumoDTO;
+import com.deliverytech.delivery.dto.PedidosCriados;
+import com.deliverytech.delivery.dto.StatusPedidoAlterado;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular sem locks com os pedidos mais recentes criados por esta instância
+ * Escritas usam getAndIncrement/getAndSet e o status é atualizado por CAS; leitores percorrem
+ * o anel do mais novo para o mais antigo sem bloquear os escritores
+ * Até o aquecimento a partir do banco terminar, as consultas devem usar o banco
+ *
+ * O anel só vê o que passou por esta instância (além do aquecimento): serve a lista de recentes,
+ * que tolera diferenças entre nós, e não contagens ou relatórios, que continuam no banco
+ */
+@Component
+public class PedidosRecentesBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidosRecentesBuffer.class);
+
+    private final PedidoRepository pedidoRepository;
+    private final int capacidade;
+    private final int mascara;
+    private final AtomicReferenceArray<Entrada> slots;
+    private final AtomicLong proximaSequencia = new AtomicLong();
+    private final Map<Long, Entrada> indice = new ConcurrentHashMap<>();
+
+    // Escritas confirmadas durante o aquecimento, aplicadas em ordem depois da carga do banco
+    private final List<Runnable> pendentes = new ArrayList<>();
+    private volatile boolean aquecendo = true;
+    private volatile boolean pronto;
+
+    private final Counter consultasMemoria;
+    private final Counter consultasBanco;
+
+    public PedidosRecentesBuffer(PedidoRepository pedidoRepository, MeterRegistry meterRegistry,
+                                 @Value("${api.pedidos.recentes.capacidade:1024}") int capacidade) {
+        this.pedidoRepository = pedidoRepository;
+        // Potência de dois para calcular o slot com máscara em vez de módulo
+        this.capacidade = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        this.mascara = this.capacidade - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacidade);
+        this.consultasMemoria = Counter.builder("pedidos.recentes.consultas")
+                .description("Consultas de pedidos recentes por origem")
+                .tag("origem", "memoria")
+                .register(meterRegistry);
+        this.consultasBanco = Counter.builder("pedidos.recentes.consultas")
+                .description("Consultas de pedidos recentes por origem")
+                .tag("origem", "banco")
+                .register(meterRegistry);
+        Gauge.builder("pedidos.recentes.tamanho", indice, Map::size)
+                .description("Pedidos mantidos no buffer de recentes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega os pedidos mais novos do banco depois da inicialização (inclusive dos dados iniciais)
+     *
+     * Criações e mudanças de status confirmadas enquanto o banco é lido ficam pendentes e só são
+     * aplicadas depois da carga, na ordem em que chegaram: o anel recebe primeiro o retrato do banco
+     * (do mais antigo para o mais novo) e depois as escritas ao vivo, então um pedido novo nunca fica
+     * atrás de um antigo, e um status confirmado depois da leitura não é sobrescrito pelo retrato.
+     * Pedidos já presentes no retrato não são repetidos e as transições só avançam, então reaplicar
+     * uma escrita que o retrato já contém não tem efeito
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        List<Pedido> maisNovos = null;
+        try {
+            maisNovos = pedidoRepository.findPrimeiraPaginaPorCursor(null, null, null, null, null,
+                    PageRequest.of(0, capacidade));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao aquecer buffer de pedidos recentes; consultas continuarão no banco", e);
+        }
+        synchronized (pendentes) {
+            if (maisNovos != null) {
+                for (int i = maisNovos.size() - 1; i >= 0; i--) {
+                    adicionarSeAusente(Entrada.de(maisNovos.get(i)));
+                }
+            }
+            pendentes.forEach(Runnable::run);
+            pendentes.clear();
+            aquecendo = false;
+            pronto = maisNovos != null;
+        }
+        if (maisNovos != null) {
+            logger.info("Buffer de pedidos recentes aquecido com {} pedidos", maisNovos.size());
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Criações e mudanças de status chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoCriar(PedidosCriados evento) {
+        registrarCriacoes(evento.pedidos());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlterado evento) {
+        registrarStatus(evento.pedidoId(), evento.status());
+    }
+
+    public void registrarCriacao(Pedido pedido) {
+        registrarCriacoes(List.of(pedido));
+    }
+
+    public void registrarCriacoes(List<Pedido> pedidos) {
+        List<Entrada> entradas = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            entradas.add(Entrada.de(pedido));
+        }
+        aplicar(() -> entradas.forEach(this::adicionarSeAusente));
+    }
+
+    /**
+     * Só aplica transições válidas a partir do status em memória, então atualizações atrasadas
+     * ou repetidas não fazem o status voltar
+     */
+    public void registrarStatus(Long pedidoId, StatusPedido novoStatus) {
+        aplicar(() -> {
+            Entrada entrada = indice.get(pedidoId);
+            if (entrada == null) return;
+            StatusPedido atual;
+            do {
+                atual = entrada.status.get();
+                if (atual == novoStatus || (atual != null && !atual.podeTransicionarPara(novoStatus))) return;
+            } while (!entrada.status.compareAndSet(atual, novoStatus));
+        });
+    }
+
+    /**
+     * Pedidos mais recentes, do mais novo para o mais antigo
+     */
+    public List<PedidoResumoDTO> recentes(int limite) {
+        consultasMemoria.increment();
+        List<PedidoResumoDTO> resultado = new ArrayList<>(limite);
+        long fim = proximaSequencia.get();
+        long inicio = Math.max(0, fim - capacidade);
+        for (long sequencia = fim - 1; sequencia >= inicio && resultado.size() < limite; sequencia--) {
+            Entrada entrada = slots.get((int) (sequencia & mascara));
+            // Slot ainda não publicado ou já sobrescrito por uma volta mais nova do anel
+            if (entrada != null && entrada.sequencia == sequencia) {
+                resultado.add(entrada.resumo());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Registra uma consulta de pedidos recentes atendida pelo banco
+     */
+    public void registrarConsultaBanco() {
+        consultasBanco.increment();
+    }
+
+    private void adicionarSeAusente(Entrada modelo) {
+        if (indice.containsKey(modelo.id)) return;
+        long sequencia = proximaSequencia.getAndIncrement();
+        Entrada entrada = modelo.comSequencia(sequencia);
+        indice.put(entrada.id, entrada);
+        Entrada anterior = slots.getAndSet((int) (sequencia & mascara), entrada);
+        if (anterior != null) {
+            indice.remove(anterior.id, anterior);
+        }
+    }
+
+    /**
+     * Executa a escrita; durante o aquecimento ela fica pendente até a carga do banco terminar
+     */
+    private void aplicar(Runnable acao) {
+        if (aquecendo) {
+            synchronized (pendentes) {
+                if (aquecendo) {
+                    pendentes.add(acao);
+                    return;
+                }
+            }
+        }
+        acao.run();
+    }
+
+    /**
+     * Resumo imutável do pedido, exceto o status, atualizado por CAS
+     */
+    private static final class Entrada {
+        final long sequencia;
+        final Long id;
+        final String nomeCliente;
+        final String nomeRestaurante;
+        final LocalDateTime dataPedido;
+        final BigDecimal total;
+        final AtomicReference<StatusPedido> status;
+
+        private Entrada(long sequencia, Long id, String nomeCliente, String nomeRestaurante,
+                        LocalDateTime dataPedido, BigDecimal total, AtomicReference<StatusPedido> status) {
+            this.sequencia = sequencia;
+            this.id = id;
+            this.nomeCliente = nomeCliente;
+            this.nomeRestaurante = nomeRestaurante;
+            this.dataPedido = dataPedido;
+            this.total = total;
+            this.status = status;
+        }
+
+        static Entrada de(Pedido pedido) {
+            return new Entrada(-1, pedido.getId(), pedido.getCliente().getNome(), pedido.getRestaurante().getNome(),
+                    pedido.getDataPedido(), pedido.getTotal(), new AtomicReference<>(pedido.getStatus()));
+        }
+
+        Entrada comSequencia(long sequencia) {
+            return new Entrada(sequencia, id, nomeCliente, nomeRestaurante, dataPedido, total, status);
+        }
+
+        PedidoResumoDTO resumo() {
+            return new PedidoResumoDTO(id, nomeCliente, nomeRestaurante, dataPedido, status.get(), total, null);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RegrasPrecoPicoDTO;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.model.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor de adicional de horário de pico
+ *
+ * As regras (zonas por faixa de CEP, janelas semanais, feriados e multiplicador de demanda) são compiladas
+ * em TabelaPrecoPico. A cotação usa a janela de preço corrente, que já traz o adicional de cada zona:
+ * no caminho comum é uma leitura volátil e um índice de vetor. Trocas de regras compilam uma tabela nova
+ * e a publicam de uma vez; leitores nunca bloqueiam
+ *
+ * As regras embarcadas repetem os horários fixos anteriores nos dias comuns. Nos feriados nacionais,
+ * calculados para cada ano, valem as janelas de fim de semana, inclusive quando o feriado cai em dia útil
+ */
+@Service
+public class PrecoPicoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecoPicoService.class);
+    private static final BigDecimal MULTIPLICADOR_MAXIMO = new BigDecimal("5.0");
+
+    private final Clock clock;
+    private final AtomicLong sequencia = new AtomicLong();
+    private volatile TabelaPrecoPico tabela;
+    private volatile JanelaVigente vigente;
+
+    @Autowired
+    public PrecoPicoService(ObjectMapper objectMapper,
+                            @Value("${api.precificacao.regras:classpath:precificacao/regras-pico.json}") Resource regras) {
+        this(lerRegras(objectMapper, regras), Clock.systemDefaultZone());
+    }
+
+    PrecoPicoService(RegrasPrecoPicoDTO regras, Clock clock) {
+        this.clock = clock;
+        this.tabela = TabelaPrecoPico.compilar(regras);
+        logger.info("Regras de pico carregadas: {} zonas", tabela.quantidadeZonas());
+    }
+
+    /**
+     * Janela de preço do instante atual; recalculada só quando a anterior termina
+     */
+    public JanelaPreco janelaAtual() {
+        JanelaVigente atual = vigente;
+        long agora = clock.millis();
+        if (atual != null && agora >= atual.inicioMillis() && agora < atual.fimMillis()) {
+            return atual.janela();
+        }
+        return renovarJanela();
+    }
+
+    /**
+     * Janela de preço que contém o instante, calculada com as regras atuais
+     * Usa a sequência zero: serve para consulta e não é aceita pelo cache de cotações
+     */
+    public JanelaPreco janelaEm(LocalDateTime instante) {
+        return calcularJanela(tabela, instante, 0);
+    }
+
+    public RegrasPrecoPicoDTO getRegras() {
+        return tabela.getRegras();
+    }
+
+    /**
+     * Substitui todas as regras; cotações em cache da janela anterior deixam de valer
+     */
+    public synchronized RegrasPrecoPicoDTO atualizarRegras(RegrasPrecoPicoDTO regras) {
+        publicar(TabelaPrecoPico.compilar(regras));
+        logger.info("Regras de pico atualizadas: {} zonas", tabela.quantidadeZonas());
+        return tabela.getRegras();
+    }
+
+    /**
+     * Altera o multiplicador de demanda de uma zona, mantendo as demais regras
+     */
+    public synchronized RegrasPrecoPicoDTO definirMultiplicadorDemanda(String nomeZona, BigDecimal multiplicador) {
+        if (multiplicador == null || multiplicador.signum() < 0 || multiplicador.compareTo(MULTIPLICADOR_MAXIMO) > 0) {
+            throw new BusinessException("REGRA_PICO_INVALIDA", "Multiplicador de demanda deve ser entre 0 e 5");
+        }
+
+        List<RegrasPrecoPicoDTO.Zona> zonas = new ArrayList<>(
+                tabela.getRegras().zonas() != null ? tabela.getRegras().zonas() : List.of());
+        int indice = -1;
+        for (int i = 0; i < zonas.size(); i++) {
+            if (zonas.get(i).nome().equals(nomeZona)) {
+                indice = i;
+            }
+        }
+        if (indice < 0) {
+            throw new EntityNotFoundException("Zona de preço", nomeZona);
+        }
+
+        RegrasPrecoPicoDTO.Zona zona = zonas.get(indice);
+        zonas.set(indice, new RegrasPrecoPicoDTO.Zona(zona.nome(), zona.cepInicio(), zona.cepFim(), zona.janelas(),
+                zona.feriados(), zona.feriadosNacionais(), zona.janelasFeriado(), multiplicador));
+        publicar(TabelaPrecoPico.compilar(new RegrasPrecoPicoDTO(List.copyOf(zonas))));
+        logger.info("Multiplicador de demanda da zona {} alterado para {}", nomeZona, multiplicador);
+        return tabela.getRegras();
+    }
+
+    private void publicar(TabelaPrecoPico nova) {
+        tabela = nova;
+        vigente = null;
+        renovarJanela();
+    }
+
+    private synchronized JanelaPreco renovarJanela() {
+        JanelaVigente atual = vigente;
+        long agora = clock.millis();
+        if (atual != null && agora >= atual.inicioMillis() && agora < atual.fimMillis()) {
+            return atual.janela();
+        }
+
+        JanelaPreco janela = calcularJanela(tabela, LocalDateTime.now(clock), sequencia.incrementAndGet());
+        vigente = new JanelaVigente(janela, paraMillis(janela.inicio()), paraMillis(janela.fim()));
+        return janela;
+    }
+
+    private static JanelaPreco calcularJanela(TabelaPrecoPico tabela, LocalDateTime instante, long sequencia) {
+        LocalDateTime minuto = instante.truncatedTo(ChronoUnit.MINUTES);
+        int minutoSemana = TabelaPrecoPico.minutoDaSemana(minuto);
+
+        Money[] adicionais = new Money[tabela.quantidadeZonas()];
+        boolean algumaZonaEmFeriado = false;
+        for (int zona = 0; zona < adicionais.length; zona++) {
+            boolean feriado = tabela.isFeriado(zona, minuto.toLocalDate());
+            algumaZonaEmFeriado |= feriado;
+            adicionais[zona] = Money.deCentavos(tabela.centavos(zona, minutoSemana, feriado));
+        }
+
+        LocalDateTime[] intervalo = tabela.intervaloEm(minuto, algumaZonaEmFeriado);
+        return new JanelaPreco(intervalo[0], intervalo[1], sequencia, tabela, adicionais);
+    }
+
+    private long paraMillis(LocalDateTime instante) {
+        return instante.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private static RegrasPrecoPicoDTO lerRegras(ObjectMapper objectMapper, Resource regras) {
+        try (InputStream entrada = regras.getInputStream()) {
+            return objectMapper.readValue(entrada, RegrasPrecoPicoDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler as regras de pico em " + regras.getDescription(), e);
+        }
+    }
+
+    private record JanelaVigente(JanelaPreco janela, long inicioMillis, long fimMillis) {
+    }
+}
@@ -8,7 +8,6 @@ import com.deliverytech.delivery.model.Produto;
 import com.deliverytech.delivery.model.Restaurante;
 import com.deliverytech.delivery.repository.ProdutoRepository;
 import com.deliverytech.delivery.repository.RestauranteRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,9 +37,6 @@ public class ProdutoService implements ProdutoServiceInterface {
     @Autowired
     private RestauranteRepository restauranteRepository;
     
-    @Autowired
-    private ModelMapper modelMapper;
-    
     @Override
     public ProdutoResponseDTO cadastrarProduto(ProdutoDTO dto) {
         // Validar se restaurante existe e está ativo
@@ -56,12 +52,12 @@ public class ProdutoService implements ProdutoServiceInterface {
             throw new BusinessException("Preço deve ser maior que zero");
         }
         
-        Produto produto = modelMapper.map(dto, Produto.class);
+        Produto produto = convertToEntity(dto);
         produto.setRestaurante(restaurante);
         produto.setDisponivel(dto.getDisponivel() != null ? dto.getDisponivel() : true);
         
         Produto produtoSalvo = produtoRepository.save(produto);
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        return ProdutoResponseDTO.from(produtoSalvo);
     }
     
     @Override
@@ -73,7 +69,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         List<Produto> produtos = produtoRepository.findByRestauranteAndDisponivelTrue(restaurante);
         
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(ProdutoResponseDTO::from)
                 .collect(Collectors.toList());
     }
     
@@ -83,7 +79,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto", id));
         
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return ProdutoResponseDTO.from(produto);
     }
     
     @Override
@@ -119,7 +115,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         }
         
         Produto produtoAtualizado = produtoRepository.save(produtoExistente);
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        return ProdutoResponseDTO.from(produtoAtualizado);
     }
     
     @Override
@@ -130,7 +126,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         produto.setDisponivel(disponivel);
         
         Produto produtoAtualizado = produtoRepository.save(produto);
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        return ProdutoResponseDTO.from(produtoAtualizado);
     }
     
     @Override
@@ -139,7 +135,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         List<Produto> produtos = produtoRepository.findByCategoriaAndDisponivelTrue(categoria);
         
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(ProdutoResponseDTO::from)
                 .collect(Collectors.toList());
     }
     
@@ -149,7 +145,7 @@ public class ProdutoService implements ProdutoServiceInterface {
         List<Produto> produtos = produtoRepository.findByDisponivelTrue();
         
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(ProdutoResponseDTO::from)
                 .collect(Collectors.toList());
     }
     
@@ -165,10 +161,19 @@ public class ProdutoService implements ProdutoServiceInterface {
         List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(nome.trim());
         
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(ProdutoResponseDTO::from)
                 .collect(Collectors.toList());
     }
     
+    private Produto convertToEntity(ProdutoDTO dto) {
+        Produto produto = new Produto();
+        produto.setNome(dto.getNome());
+        produto.setDescricao(dto.getDescricao());
+        produto.setPreco(dto.getPreco());
+        produto.setCategoria(dto.getCategoria());
+        return produto;
+    }
+    
     // Métodos legados para compatibilidade (deprecated)
     @Deprecated
     public Produto cadastrar(Produto produto, Long restauranteId) {
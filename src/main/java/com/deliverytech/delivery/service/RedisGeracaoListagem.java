@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Geração da listagem compartilhada entre instâncias via Redis (INCR numa chave única)
+ * Registrada por RedisCacheConfig nos perfis com Redis
+ */
+public class RedisGeracaoListagem implements GeracaoListagem {
+
+    private static final String CHAVE = "restaurantes:listagem:geracao";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisGeracaoListagem(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long atual() {
+        String valor = redisTemplate.opsForValue().get(CHAVE);
+        return valor != null ? Long.parseLong(valor) : 0L;
+    }
+
+    @Override
+    public void avancar() {
+        redisTemplate.opsForValue().increment(CHAVE);
+    }
+}
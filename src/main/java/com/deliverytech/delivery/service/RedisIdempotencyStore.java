@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.service;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Store de idempotência compartilhado entre instâncias via Redis
+ * Registrado por RedisCacheConfig nos perfis com Redis
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIXO = "idempotency:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public RedisIdempotencyStore(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<Object> buscar(String chave) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(PREFIXO + chave));
+    }
+
+    @Override
+    public void salvar(String chave, Object resposta, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIXO + chave, resposta, ttl);
+    }
+}
@@ -166,11 +166,16 @@ public class RelatorioService {
         LocalDateTime fimHoje = LocalDate.now().atTime(23, 59, 59);
         
         Map<String, Long> pedidosHoje = new HashMap<>();
-        pedidosHoje.put("pendentes", pedidoRepository.countByStatusAndDataPedidoBetween(StatusPedido.PENDENTE, inicioHoje, fimHoje));
-        pedidosHoje.put("confirmados", pedidoRepository.countByStatusAndDataPedidoBetween(StatusPedido.CONFIRMADO, inicioHoje, fimHoje));
-        pedidosHoje.put("preparando", pedidoRepository.countByStatusAndDataPedidoBetween(StatusPedido.PREPARANDO, inicioHoje, fimHoje));
-        pedidosHoje.put("prontos", pedidoRepository.countByStatusAndDataPedidoBetween(StatusPedido.PRONTO, inicioHoje, fimHoje));
-        pedidosHoje.put("entregues", pedidoRepository.countByStatusAndDataPedidoBetween(StatusPedido.ENTREGUE, inicioHoje, fimHoje));
+        // Uma única agregação no banco, que vê os pedidos de todas as instâncias
+        Map<StatusPedido, Long> contagem = new EnumMap<>(StatusPedido.class);
+        for (Object[] row : pedidoRepository.countPorStatusEntre(inicioHoje, fimHoje)) {
+            contagem.put((StatusPedido) row[0], (Long) row[1]);
+        }
+        pedidosHoje.put("pendentes", contagem.getOrDefault(StatusPedido.PENDENTE, 0L));
+        pedidosHoje.put("confirmados", contagem.getOrDefault(StatusPedido.CONFIRMADO, 0L));
+        pedidosHoje.put("preparando", contagem.getOrDefault(StatusPedido.PREPARANDO, 0L));
+        pedidosHoje.put("prontos", contagem.getOrDefault(StatusPedido.PRONTO, 0L));
+        pedidosHoje.put("entregues", contagem.getOrDefault(StatusPedido.ENTREGUE, 0L));
         
         dashboard.put("pedidosHoje", pedidosHoje);
         
@@ -0,0 +1,477 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice invertido da busca textual de restaurantes (nome, categoria e endereço)
+ *
+ * Cada palavra normalizada (minúscula, sem acento) aponta para a lista, ordenada por id, dos restaurantes
+ * que a contêm, com os campos onde aparece. Uma palavra da consulta casa com as palavras do dicionário que
+ * começam por ela; o restaurante precisa casar com todas. A relevância soma, por palavra da consulta,
+ * o peso do campo × raridade da palavra na consulta (idf), com desconto quando o casamento é só por prefixo.
+ * Listas são imutáveis e trocadas inteiras a cada alteração; leitores não bloqueiam
+ *
+ * O índice é local ao processo: escritas confirmadas por outra instância, ou feitas fora do serviço,
+ * não chegam por evento. A reconciliação periódica relê os restaurantes do banco e corrige os documentos
+ * divergentes, limitando a defasagem entre instâncias ao intervalo configurado
+ */
+@Component
+public class RestauranteBuscaIndice {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteBuscaIndice.class);
+
+    static final int CAMPO_NOME = 1;
+    static final int CAMPO_CATEGORIA = 2;
+    static final int CAMPO_ENDERECO = 4;
+    private static final double PESO_NOME = 3.0;
+    private static final double PESO_CATEGORIA = 2.0;
+    private static final double PESO_ENDERECO = 1.0;
+    private static final double FATOR_PREFIXO = 0.7;
+
+    private static final Postagem[] VAZIA = new Postagem[0];
+    private static final Comparator<Resultado> POR_RELEVANCIA = RestauranteBuscaIndice::compararRelevancia;
+
+    private final RestauranteRepository restauranteRepository;
+    private final NavigableMap<String, Postagem[]> postagens = new ConcurrentSkipListMap<>();
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+    private final Counter divergencias;
+    private volatile boolean carregado;
+
+    // Ids escritos por evento durante a leitura da reconciliação, protegido pelo monitor da instância
+    private Set<Long> escritosDuranteReconciliacao;
+
+    public RestauranteBuscaIndice(RestauranteRepository restauranteRepository, MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.divergencias = Counter.builder("restaurantes.busca.divergencias")
+                .description("Documentos do índice de busca divergentes do banco, corrigidos na reconciliação")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.busca.palavras", postagens, Map::size)
+                .description("Palavras distintas no índice de busca de restaurantes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexa os restaurantes depois da inicialização; buscas anteriores carregam sob demanda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        garantirCarregado();
+    }
+
+    /**
+     * Página de ids dos restaurantes que casam com todas as palavras do texto, do mais relevante ao menos
+     * (empate pelo nome); ativo nulo não filtra. A ordenação do Pageable não se aplica: a ordem é a relevância
+     */
+    public Page<Long> buscar(String texto, Boolean ativo, Pageable pageable) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        long limite = pageable.isUnpaged() ? Integer.MAX_VALUE : pageable.getOffset() + pageable.getPageSize();
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(POR_RELEVANCIA.reversed());
+        long total = pontuar(TextoUtils.palavras(texto), ativo, melhores, (int) Math.min(limite, Integer.MAX_VALUE));
+
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(POR_RELEVANCIA);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ordenados.stream().map(r -> r.documento().id()).toList());
+        }
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        for (int i = (int) Math.min(pageable.getOffset(), ordenados.size()); i < ordenados.size(); i++) {
+            ids.add(ordenados.get(i).documento().id());
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Reindexa o restaurante
+     */
+    public void registrar(Restaurante restaurante) {
+        Documento documento = Documento.de(restaurante);
+        atualizar(documento.id(), documento);
+    }
+
+    public void registrarRemocao(Long id) {
+        atualizar(id, null);
+    }
+
+    int quantidadeRestaurantes() {
+        return documentos.size();
+    }
+
+    /**
+     * Relê os restaurantes do banco e reindexa os que divergem do índice (alterados por outra instância,
+     * excluídos ou novos). Restaurantes escritos por evento durante a leitura ficam como estão: a leitura
+     * pode ser anterior à escrita
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.busca.reconciliacao-ms:60000}",
+            initialDelayString = "${api.restaurantes.busca.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (!carregado) {
+                return;
+            }
+            escritosDuranteReconciliacao = new HashSet<>();
+        }
+        try {
+            Map<Long, Documento> lidos = new HashMap<>();
+            for (Restaurante restaurante : restauranteRepository.findAll()) {
+                Documento documento = Documento.de(restaurante);
+                lidos.put(documento.id(), documento);
+            }
+            synchronized (this) {
+                Set<Long> ids = new HashSet<>(documentos.keySet());
+                ids.addAll(lidos.keySet());
+                ids.removeAll(escritosDuranteReconciliacao);
+                int corrigidos = 0;
+                for (Long id : ids) {
+                    Documento lido = lidos.get(id);
+                    if (!Documento.mesmoConteudo(documentos.get(id), lido)) {
+                        atualizar(id, lido);
+                        corrigidos++;
+                    }
+                }
+                if (corrigidos > 0) {
+                    divergencias.increment(corrigidos);
+                    logger.info("Índice de busca reconciliado com o banco: {} restaurantes reindexados", corrigidos);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                escritosDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    /**
+     * Conta os restaurantes que casam e guarda os limite mais relevantes. Parte da palavra mais rara da
+     * consulta pelas listas do índice; as demais são conferidas nas palavras de cada candidato
+     */
+    private long pontuar(String[] consulta, Boolean ativo, PriorityQueue<Resultado> melhores, int limite) {
+        if (consulta.length == 0) {
+            return 0;
+        }
+        double documentosIndexados = Math.max(1, documentos.size());
+        List<NavigableMap<String, Postagem[]>> expansoes = new ArrayList<>(consulta.length);
+        double[] idfs = new double[consulta.length];
+        int maisRara = 0;
+        long menorFrequencia = Long.MAX_VALUE;
+        for (int i = 0; i < consulta.length; i++) {
+            expansoes.add(postagens.subMap(consulta[i], true, consulta[i] + Character.MAX_VALUE, false));
+            // Raridade da palavra da consulta (todas as expansões juntas), para o prefixo não valer mais que a palavra inteira
+            long frequencia = 0;
+            for (Postagem[] lista : expansoes.get(i).values()) {
+                frequencia += lista.length;
+            }
+            if (frequencia == 0) {
+                return 0;
+            }
+            idfs[i] = Math.log(1 + documentosIndexados / Math.min(frequencia, (long) documentosIndexados));
+            if (frequencia < menorFrequencia) {
+                menorFrequencia = frequencia;
+                maisRara = i;
+            }
+        }
+
+        Contagem contagem = new Contagem(consulta, idfs, maisRara, ativo, melhores, limite);
+        NavigableMap<String, Postagem[]> candidatas = expansoes.get(maisRara);
+        if (candidatas.size() == 1) {
+            // Uma só palavra no dicionário: cada restaurante aparece uma vez na lista
+            Map.Entry<String, Postagem[]> entrada = candidatas.firstEntry();
+            double fator = fator(entrada.getKey(), consulta[maisRara]);
+            for (Postagem postagem : entrada.getValue()) {
+                contagem.avaliar(postagem.documento(), peso(postagem.campos()) * fator);
+            }
+            return contagem.total;
+        }
+
+        Map<Documento, double[]> porDocumento = new IdentityHashMap<>((int) Math.min(menorFrequencia, Integer.MAX_VALUE));
+        for (Map.Entry<String, Postagem[]> entrada : candidatas.entrySet()) {
+            double fator = fator(entrada.getKey(), consulta[maisRara]);
+            for (Postagem postagem : entrada.getValue()) {
+                double[] melhor = porDocumento.computeIfAbsent(postagem.documento(), d -> new double[1]);
+                melhor[0] = Math.max(melhor[0], peso(postagem.campos()) * fator);
+            }
+        }
+        for (Map.Entry<Documento, double[]> candidato : porDocumento.entrySet()) {
+            contagem.avaliar(candidato.getKey(), candidato.getValue()[0]);
+        }
+        return contagem.total;
+    }
+
+    private static double peso(int campos) {
+        if ((campos & CAMPO_NOME) != 0) {
+            return PESO_NOME;
+        }
+        return (campos & CAMPO_CATEGORIA) != 0 ? PESO_CATEGORIA : PESO_ENDERECO;
+    }
+
+    private static double fator(String palavraIndexada, String palavraConsulta) {
+        return palavraIndexada.length() == palavraConsulta.length() ? 1.0 : FATOR_PREFIXO;
+    }
+
+    private static int compararRelevancia(Resultado a, Resultado b) {
+        int comparacao = Double.compare(b.relevancia(), a.relevancia());
+        if (comparacao == 0) {
+            comparacao = a.documento().nomeOrdenacao().compareTo(b.documento().nomeOrdenacao());
+        }
+        return comparacao != 0 ? comparacao : Long.compare(a.documento().id(), b.documento().id());
+    }
+
+    private synchronized void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        Map<String, List<Postagem>> listas = new HashMap<>();
+        List<Restaurante> restaurantes = new ArrayList<>(restauranteRepository.findAll());
+        restaurantes.sort(Comparator.comparing(Restaurante::getId));
+        for (Restaurante restaurante : restaurantes) {
+            Documento documento = Documento.de(restaurante);
+            documentos.put(documento.id(), documento);
+            for (int i = 0; i < documento.palavras().length; i++) {
+                listas.computeIfAbsent(documento.palavras()[i], p -> new ArrayList<>())
+                        .add(new Postagem(documento, documento.campos()[i]));
+            }
+        }
+        listas.forEach((palavra, lista) -> postagens.put(palavra, lista.toArray(VAZIA)));
+        carregado = true;
+        logger.info("Índice de busca carregado com {} restaurantes e {} palavras", documentos.size(), postagens.size());
+    }
+
+    /**
+     * Antes da primeira carga não há o que atualizar: a carga lerá o estado já confirmado.
+     * As listas apontam para o documento, então todas as palavras do restaurante são regravadas
+     */
+    private synchronized void atualizar(Long id, Documento novo) {
+        if (!carregado) {
+            return;
+        }
+        if (escritosDuranteReconciliacao != null) {
+            escritosDuranteReconciliacao.add(id);
+        }
+        Documento anterior = novo != null ? documentos.put(id, novo) : documentos.remove(id);
+        if (anterior != null) {
+            for (String palavra : anterior.palavras()) {
+                if (novo == null || novo.camposDe(palavra) == 0) {
+                    remover(palavra, id);
+                }
+            }
+        }
+        if (novo != null) {
+            for (int i = 0; i < novo.palavras().length; i++) {
+                gravar(novo.palavras()[i], new Postagem(novo, novo.campos()[i]));
+            }
+        }
+    }
+
+    private void gravar(String palavra, Postagem postagem) {
+        Postagem[] lista = postagens.getOrDefault(palavra, VAZIA);
+        int posicao = posicao(lista, postagem.documento().id());
+        Postagem[] nova;
+        if (posicao >= 0) {
+            nova = lista.clone();
+            nova[posicao] = postagem;
+        } else {
+            int insercao = -posicao - 1;
+            nova = new Postagem[lista.length + 1];
+            System.arraycopy(lista, 0, nova, 0, insercao);
+            nova[insercao] = postagem;
+            System.arraycopy(lista, insercao, nova, insercao + 1, lista.length - insercao);
+        }
+        postagens.put(palavra, nova);
+    }
+
+    private void remover(String palavra, long id) {
+        Postagem[] lista = postagens.get(palavra);
+        int posicao = lista != null ? posicao(lista, id) : -1;
+        if (posicao < 0) {
+            return;
+        }
+        if (lista.length == 1) {
+            postagens.remove(palavra);
+            return;
+        }
+        Postagem[] nova = new Postagem[lista.length - 1];
+        System.arraycopy(lista, 0, nova, 0, posicao);
+        System.arraycopy(lista, posicao + 1, nova, posicao, lista.length - posicao - 1);
+        postagens.put(palavra, nova);
+    }
+
+    /**
+     * Busca binária pelo id na lista; negativo indica o ponto de inserção como em Arrays.binarySearch
+     */
+    private static int posicao(Postagem[] lista, long id) {
+        int baixo = 0;
+        int alto = lista.length - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            long atual = lista[meio].documento().id();
+            if (atual < id) {
+                baixo = meio + 1;
+            } else if (atual > id) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(baixo + 1);
+    }
+
+    /**
+     * Palavras distintas do restaurante e, na mesma posição, a máscara dos campos onde aparecem;
+     * copiadas da entidade na escrita
+     */
+    record Documento(long id, boolean ativo, String nomeOrdenacao, String[] palavras, int[] campos) {
+
+        static Documento de(Restaurante restaurante) {
+            Map<String, Integer> campos = new LinkedHashMap<>();
+            adicionar(campos, restaurante.getNome(), CAMPO_NOME);
+            adicionar(campos, restaurante.getCategoria(), CAMPO_CATEGORIA);
+            adicionar(campos, restaurante.getEndereco(), CAMPO_ENDERECO);
+            String nome = restaurante.getNome() != null ? restaurante.getNome().toLowerCase() : "";
+            return new Documento(restaurante.getId(), restaurante.isAtivo(), nome,
+                    campos.keySet().toArray(new String[0]),
+                    campos.values().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        static boolean mesmoConteudo(Documento a, Documento b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            return a.id == b.id && a.ativo == b.ativo && a.nomeOrdenacao.equals(b.nomeOrdenacao)
+                    && Arrays.equals(a.palavras, b.palavras) && Arrays.equals(a.campos, b.campos);
+        }
+
+        int camposDe(String palavra) {
+            for (int i = 0; i < palavras.length; i++) {
+                if (palavras[i].equals(palavra)) {
+                    return campos[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Maior peso de campo × fator de prefixo entre as palavras do restaurante que começam pela palavra; 0 se nenhuma
+         */
+        double melhorCasamento(String palavra) {
+            double melhor = 0;
+            for (int i = 0; i < palavras.length; i++) {
+                if (palavras[i].startsWith(palavra)) {
+                    melhor = Math.max(melhor, peso(campos[i]) * fator(palavras[i], palavra));
+                }
+            }
+            return melhor;
+        }
+
+        private static void adicionar(Map<String, Integer> campos, String texto, int campo) {
+            for (String palavra : TextoUtils.palavras(texto)) {
+                campos.merge(palavra, campo, (a, b) -> a | b);
+            }
+        }
+    }
+
+    private record Postagem(Documento documento, int campos) {
+    }
+
+    private record Resultado(Documento documento, double relevancia) {
+    }
+
+    /**
+     * Acumula a contagem e os melhores resultados de uma consulta, um candidato por vez
+     */
+    private static final class Contagem {
+
+        private final String[] consulta;
+        private final double[] idfs;
+        private final int maisRara;
+        private final Boolean ativo;
+        private final PriorityQueue<Resultado> melhores;
+        private final int limite;
+        private long total;
+
+        Contagem(String[] consulta, double[] idfs, int maisRara, Boolean ativo,
+                 PriorityQueue<Resultado> melhores, int limite) {
+            this.consulta = consulta;
+            this.idfs = idfs;
+            this.maisRara = maisRara;
+            this.ativo = ativo;
+            this.melhores = melhores;
+            this.limite = limite;
+        }
+
+        /**
+         * Confere as demais palavras da consulta no candidato, já pontuado pela palavra mais rara
+         */
+        void avaliar(Documento documento, double pontosMaisRara) {
+            if (ativo != null && documento.ativo() != ativo) {
+                return;
+            }
+            double relevancia = pontosMaisRara * idfs[maisRara];
+            for (int i = 0; i < consulta.length; i++) {
+                if (i != maisRara) {
+                    double pontos = documento.melhorCasamento(consulta[i]);
+                    if (pontos == 0) {
+                        return;
+                    }
+                    relevancia += pontos * idfs[i];
+                }
+            }
+            total++;
+            if (melhores.size() < limite) {
+                melhores.add(new Resultado(documento, relevancia));
+            } else if (limite > 0 && relevancia >= melhores.peek().relevancia()) {
+                Resultado resultado = new Resultado(documento, relevancia);
+                if (POR_RELEVANCIA.compare(resultado, melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.add(resultado);
+                }
+            }
+        }
+    }
+}
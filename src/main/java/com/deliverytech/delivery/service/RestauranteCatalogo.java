@@ -0,0 +1,298 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogo de restaurantes em memória para as consultas de categorias e sugestões
+ *
+ * Cada versão é um Snapshot imutável com os derivados já calculados. Escritas em restaurantes geram
+ * uma nova versão a partir da anterior (sem consultar o banco) após o commit, trocada atomicamente;
+ * leitores usam a versão que obtiveram sem bloqueio. A geração conta as escritas confirmadas (e as
+ * correções da reconciliação) e serve de versão para resultados derivados do banco guardados fora do catálogo
+ *
+ * Os eventos são só desta instância; a reconciliação periódica compara o catálogo com o banco e publica
+ * uma versão corrigida quando há divergência
+ */
+@Component
+public class RestauranteCatalogo {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteCatalogo.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final Counter versoes;
+    private final Counter divergencias;
+    private final AtomicLong geracao = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // Ids escritos por evento durante a leitura da reconciliação, protegido pelo monitor da instância
+    private Set<Long> escritosDuranteReconciliacao;
+
+    public RestauranteCatalogo(RestauranteRepository restauranteRepository, MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.versoes = Counter.builder("restaurantes.catalogo.versoes")
+                .description("Versões do catálogo de restaurantes publicadas")
+                .register(meterRegistry);
+        this.divergencias = Counter.builder("restaurantes.catalogo.divergencias")
+                .description("Restaurantes do catálogo divergentes do banco, corrigidos na reconciliação")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.catalogo.tamanho", this, c -> c.snapshot != null ? c.snapshot.total() : 0)
+                .description("Restaurantes no catálogo em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Monta o catálogo depois da inicialização; consultas anteriores carregam sob demanda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        atual();
+    }
+
+    /**
+     * Versão vigente do catálogo; a referência pode ser mantida durante toda a leitura
+     */
+    public Snapshot atual() {
+        Snapshot atual = snapshot;
+        return atual != null ? atual : carregarDoBanco();
+    }
+
+    /**
+     * Geração das escritas em restaurantes; avança após cada commit, mesmo antes da primeira carga
+     */
+    public long geracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Reflete criação ou alteração do restaurante
+     */
+    public void registrar(Restaurante restaurante) {
+        Entrada entrada = Entrada.de(restaurante);
+        publicar(entrada.id(), entrada);
+    }
+
+    public void registrarRemocao(Long id) {
+        publicar(id, null);
+    }
+
+    /**
+     * Relê os restaurantes do banco e, se algum diverge do catálogo (alterado em outra instância, ou com
+     * eventos aplicados fora de ordem), publica uma versão corrigida; o índice de sugestões só é refeito
+     * quando a correção o afeta. Restaurantes escritos por evento durante a leitura ficam como estão:
+     * a leitura pode ser anterior à escrita
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.catalogo.reconciliacao-ms:60000}",
+            initialDelayString = "${api.restaurantes.catalogo.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (snapshot == null) {
+                return;
+            }
+            escritosDuranteReconciliacao = new HashSet<>();
+        }
+        try {
+            Map<Long, Entrada> lidas = new HashMap<>();
+            for (Restaurante restaurante : restauranteRepository.findAll()) {
+                lidas.put(restaurante.getId(), Entrada.de(restaurante));
+            }
+            synchronized (this) {
+                Map<Long, Entrada> entradas = new HashMap<>(snapshot.entradas);
+                Set<Long> ids = new HashSet<>(entradas.keySet());
+                ids.addAll(lidas.keySet());
+                ids.removeAll(escritosDuranteReconciliacao);
+                int corrigidos = 0;
+                boolean mesmasSugestoes = true;
+                for (Long id : ids) {
+                    Entrada atual = entradas.get(id);
+                    Entrada lida = lidas.get(id);
+                    if (!Objects.equals(atual, lida)) {
+                        mesmasSugestoes &= Entrada.mesmasSugestoes(atual, lida);
+                        if (lida != null) {
+                            entradas.put(id, lida);
+                        } else {
+                            entradas.remove(id);
+                        }
+                        corrigidos++;
+                    }
+                }
+                if (corrigidos > 0) {
+                    geracao.incrementAndGet();
+                    snapshot = Snapshot.de(entradas, mesmasSugestoes ? snapshot.sugestoes : null);
+                    versoes.increment();
+                    divergencias.increment(corrigidos);
+                    logger.info("Catálogo de restaurantes reconciliado com o banco: {} restaurantes corrigidos", corrigidos);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                escritosDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    private synchronized Snapshot carregarDoBanco() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        Map<Long, Entrada> entradas = new HashMap<>();
+        for (Restaurante restaurante : restauranteRepository.findAll()) {
+            entradas.put(restaurante.getId(), Entrada.de(restaurante));
+        }
+        snapshot = Snapshot.de(entradas, null);
+        versoes.increment();
+        logger.info("Catálogo de restaurantes carregado com {} restaurantes", entradas.size());
+        return snapshot;
+    }
+
+    /**
+     * Antes da primeira carga não há o que atualizar: a carga lerá o estado já confirmado
+     */
+    private synchronized void publicar(Long id, Entrada entrada) {
+        geracao.incrementAndGet();
+        if (snapshot == null) {
+            return;
+        }
+        if (escritosDuranteReconciliacao != null) {
+            escritosDuranteReconciliacao.add(id);
+        }
+        Map<Long, Entrada> entradas = new HashMap<>(snapshot.entradas);
+        Entrada anterior = entrada != null ? entradas.put(id, entrada) : entradas.remove(id);
+        // O índice de sugestões só depende de nome, categoria, avaliação e situação dos ativos
+        SugestoesIndice sugestoes = Entrada.mesmasSugestoes(anterior, entrada) ? snapshot.sugestoes : null;
+        snapshot = Snapshot.de(entradas, sugestoes);
+        versoes.increment();
+    }
+
+    /**
+     * Dados do restaurante usados pelo catálogo, copiados da entidade no momento da escrita
+     */
+    record Entrada(long id, String nome, String categoria, boolean ativo, Double avaliacao) {
+
+        static Entrada de(Restaurante restaurante) {
+            return new Entrada(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(),
+                    restaurante.isAtivo(), restaurante.getAvaliacao());
+        }
+
+        static boolean mesmasSugestoes(Entrada anterior, Entrada nova) {
+            boolean anteriorSugere = anterior != null && anterior.ativo();
+            boolean novaSugere = nova != null && nova.ativo();
+            if (!anteriorSugere || !novaSugere) {
+                return !anteriorSugere && !novaSugere;
+            }
+            return Objects.equals(anterior.nome(), nova.nome()) && Objects.equals(anterior.categoria(), nova.categoria())
+                    && Objects.equals(anterior.avaliacao(), nova.avaliacao());
+        }
+    }
+
+    /**
+     * Versão imutável do catálogo com categorias e termos de sugestão pré-calculados
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, Entrada> entradas;
+        private final List<String> categorias;
+        private final SugestoesIndice sugestoes;
+
+        private Snapshot(Map<Long, Entrada> entradas, List<String> categorias, SugestoesIndice sugestoes) {
+            this.entradas = entradas;
+            this.categorias = categorias;
+            this.sugestoes = sugestoes;
+        }
+
+        /**
+         * Monta a versão a partir das entradas; o índice de sugestões é reconstruído quando não informado
+         */
+        static Snapshot de(Map<Long, Entrada> entradas, SugestoesIndice sugestoes) {
+            TreeSet<String> categorias = new TreeSet<>();
+            // Por termo: soma das avaliações e quantidade de restaurantes ativos
+            Map<String, double[]> termos = new HashMap<>();
+
+            for (Entrada entrada : entradas.values()) {
+                if (entrada.categoria() != null) {
+                    categorias.add(entrada.categoria());
+                }
+                if (entrada.ativo() && sugestoes == null) {
+                    acumularTermo(termos, entrada.categoria(), entrada.avaliacao());
+                    if (!Objects.equals(entrada.nome(), entrada.categoria())) {
+                        acumularTermo(termos, entrada.nome(), entrada.avaliacao());
+                    }
+                }
+            }
+
+            if (sugestoes == null) {
+                List<SugestoesIndice.Termo> candidatos = new ArrayList<>(termos.size());
+                termos.forEach((texto, soma) -> candidatos.add(
+                        new SugestoesIndice.Termo(texto, soma[0] / soma[1], (int) soma[1])));
+                sugestoes = new SugestoesIndice(candidatos);
+            }
+
+            return new Snapshot(Collections.unmodifiableMap(entradas), List.copyOf(categorias), sugestoes);
+        }
+
+        private static void acumularTermo(Map<String, double[]> termos, String texto, Double avaliacao) {
+            if (texto == null) {
+                return;
+            }
+            double[] soma = termos.computeIfAbsent(texto, t -> new double[2]);
+            soma[0] += avaliacao != null ? avaliacao : 0.0;
+            soma[1]++;
+        }
+
+        /**
+         * Categorias de todos os restaurantes, sem repetição e em ordem alfabética
+         */
+        public List<String> categorias() {
+            return categorias;
+        }
+
+        /**
+         * Nomes e categorias de restaurantes ativos com palavras começando pelas do texto, sem diferenciar
+         * maiúsculas nem acentos, dos mais bem avaliados para os menos
+         */
+        public List<String> sugestoes(String texto, int limite) {
+            return sugestoes.sugerir(texto, limite);
+        }
+
+        public int total() {
+            return entradas.size();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EstatisticasRestauranteDTO;
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estatísticas de restaurantes mantidas de forma incremental: contagens e somas de avaliação e taxa
+ * de entrega são ajustadas a cada cadastro, alteração, ativação ou remoção (após o commit), subtraindo
+ * a contribuição anterior do restaurante e somando a nova. A leitura devolve o último Resumo publicado, em O(1)
+ *
+ * Escritas feitas fora do serviço ou callbacks de commit fora de ordem podem desviar os totais;
+ * a reconciliação periódica recalcula tudo a partir do banco e corrige a divergência
+ */
+@Component
+public class RestauranteEstatisticas {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteEstatisticas.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final Counter divergencias;
+
+    // Estado mutável protegido pelo monitor da instância; leitores só veem o resumo publicado
+    private Acumulador acumulador;
+    private Map<Long, Contribuicao> escritasDuranteReconciliacao;
+    private volatile Resumo resumo;
+
+    public RestauranteEstatisticas(RestauranteRepository restauranteRepository, MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.divergencias = Counter.builder("restaurantes.estatisticas.divergencias")
+                .description("Reconciliações que encontraram estatísticas de restaurantes divergentes do banco")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calcula os totais depois da inicialização; leituras anteriores carregam sob demanda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        atual();
+    }
+
+    public EstatisticasRestauranteDTO atual() {
+        Resumo atual = resumo;
+        return (atual != null ? atual : garantirCarregado()).paraDto();
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Reflete criação, alteração ou mudança de status do restaurante
+     */
+    public void registrar(Restaurante restaurante) {
+        aplicar(restaurante.getId(), Contribuicao.de(restaurante));
+    }
+
+    public void registrarRemocao(Long id) {
+        aplicar(id, null);
+    }
+
+    /**
+     * Recalcula os totais a partir do banco e substitui os mantidos em memória. Escritas confirmadas durante
+     * a leitura são guardadas e reaplicadas sobre o resultado, para não se perderem na troca
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.estatisticas.reconciliacao-ms:300000}",
+            initialDelayString = "${api.restaurantes.estatisticas.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (acumulador == null) {
+                return;
+            }
+            escritasDuranteReconciliacao = new HashMap<>();
+        }
+        try {
+            Acumulador recalculado = lerDoBanco();
+            synchronized (this) {
+                escritasDuranteReconciliacao.forEach(recalculado::aplicar);
+                Resumo corrigido = recalculado.resumo();
+                if (!corrigido.equals(resumo)) {
+                    divergencias.increment();
+                    logger.warn("Estatísticas de restaurantes divergentes do banco, corrigidas: {} -> {}", resumo, corrigido);
+                }
+                acumulador = recalculado;
+                resumo = corrigido;
+            }
+        } finally {
+            synchronized (this) {
+                escritasDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    private synchronized Resumo garantirCarregado() {
+        if (resumo == null) {
+            acumulador = lerDoBanco();
+            resumo = acumulador.resumo();
+            logger.info("Estatísticas de restaurantes calculadas para {} restaurantes", resumo.total());
+        }
+        return resumo;
+    }
+
+    /**
+     * Antes da primeira carga não há o que atualizar: a carga lerá o estado já confirmado
+     */
+    private synchronized void aplicar(long id, Contribuicao contribuicao) {
+        if (acumulador == null) {
+            return;
+        }
+        acumulador.aplicar(id, contribuicao);
+        if (escritasDuranteReconciliacao != null) {
+            escritasDuranteReconciliacao.put(id, contribuicao);
+        }
+        resumo = acumulador.resumo();
+    }
+
+    private Acumulador lerDoBanco() {
+        Acumulador novo = new Acumulador();
+        for (Object[] linha : restauranteRepository.findResumoEstatisticas()) {
+            novo.aplicar((Long) linha[0], new Contribuicao(Boolean.TRUE.equals(linha[1]), (String) linha[2],
+                    (Double) linha[3], (BigDecimal) linha[4]));
+        }
+        return novo;
+    }
+
+    /**
+     * Dados do restaurante que entram nos totais, copiados da entidade no momento da escrita
+     */
+    record Contribuicao(boolean ativo, String categoria, Double avaliacao, BigDecimal taxaEntrega) {
+
+        static Contribuicao de(Restaurante restaurante) {
+            return new Contribuicao(restaurante.isAtivo(), restaurante.getCategoria(), restaurante.getAvaliacao(),
+                    restaurante.getTaxaEntrega());
+        }
+    }
+
+    /**
+     * Totais publicados para leitura; médias sobre todos os restaurantes com o valor informado
+     */
+    record Resumo(long total, long ativos, long categoriasAtivas, double avaliacaoMedia, double taxaMedia) {
+
+        EstatisticasRestauranteDTO paraDto() {
+            return new EstatisticasRestauranteDTO(total, ativos, total - ativos, categoriasAtivas, avaliacaoMedia, taxaMedia);
+        }
+    }
+
+    /**
+     * Contribuição vigente de cada restaurante e somas correntes. As somas são decimais exatas,
+     * para que somar e subtrair a mesma contribuição não acumule erro de arredondamento
+     */
+    private static final class Acumulador {
+
+        private final Map<Long, Contribuicao> contribuicoes = new HashMap<>();
+        // Restaurantes ativos por categoria; a categoria sai do mapa quando não sobra nenhum
+        private final Map<String, Long> ativosPorCategoria = new HashMap<>();
+        private long ativos;
+        private BigDecimal somaAvaliacao = BigDecimal.ZERO;
+        private long comAvaliacao;
+        private BigDecimal somaTaxa = BigDecimal.ZERO;
+        private long comTaxa;
+
+        void aplicar(Long id, Contribuicao nova) {
+            Contribuicao anterior = nova != null ? contribuicoes.put(id, nova) : contribuicoes.remove(id);
+            if (anterior != null) {
+                somar(anterior, -1);
+            }
+            if (nova != null) {
+                somar(nova, 1);
+            }
+        }
+
+        private void somar(Contribuicao contribuicao, int sinal) {
+            if (contribuicao.ativo()) {
+                ativos += sinal;
+                if (contribuicao.categoria() != null) {
+                    ativosPorCategoria.merge(contribuicao.categoria(), (long) sinal,
+                            (atual, delta) -> atual + delta == 0 ? null : atual + delta);
+                }
+            }
+            if (contribuicao.avaliacao() != null) {
+                BigDecimal avaliacao = BigDecimal.valueOf(contribuicao.avaliacao());
+                somaAvaliacao = sinal > 0 ? somaAvaliacao.add(avaliacao) : somaAvaliacao.subtract(avaliacao);
+                comAvaliacao += sinal;
+            }
+            if (contribuicao.taxaEntrega() != null) {
+                somaTaxa = sinal > 0 ? somaTaxa.add(contribuicao.taxaEntrega()) : somaTaxa.subtract(contribuicao.taxaEntrega());
+                comTaxa += sinal;
+            }
+        }
+
+        Resumo resumo() {
+            return new Resumo(contribuicoes.size(), ativos, ativosPorCategoria.size(),
+                    comAvaliacao > 0 ? somaAvaliacao.doubleValue() / comAvaliacao : 0.0,
+                    comTaxa > 0 ? somaTaxa.doubleValue() / comTaxa : 0.0);
+        }
+    }
+}
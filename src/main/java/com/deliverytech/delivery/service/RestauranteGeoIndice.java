@@ -0,0 +1,316 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Índice espacial em memória dos restaurantes ativos com coordenadas
+ *
+ * Grade de células de 0,05° (~5,5 km de latitude). A busca percorre anéis de células a partir da célula
+ * do ponto, mantendo os k mais próximos num heap limitado, e para quando o próximo anel não pode
+ * conter ninguém mais próximo que o k-ésimo ou além do raio. O índice seleciona candidatos;
+ * o banco continua sendo a fonte de verdade para status e taxa
+ *
+ * As alterações chegam por evento, só desta instância. A reconciliação periódica relê os restaurantes
+ * ativos e corrige os pontos divergentes (desativados ou movidos em outra instância, ou com eventos
+ * aplicados fora de ordem)
+ */
+@Component
+public class RestauranteGeoIndice {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteGeoIndice.class);
+
+    static final double CELULA_GRAUS = 0.05;
+    private static final double KM_POR_GRAU = 111.195;
+    // Folga para o erro da aproximação plana usada no limite inferior de cada anel
+    private static final double FATOR_SEGURANCA = 0.95;
+
+    private final RestauranteRepository restauranteRepository;
+    private final Map<Long, Ponto> pontos = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Ponto>> celulas = new ConcurrentHashMap<>();
+    private final Counter divergencias;
+    private volatile boolean carregado;
+
+    // Ids escritos por evento durante a leitura da reconciliação, protegido pelo monitor da instância
+    private Set<Long> escritosDuranteReconciliacao;
+
+    public RestauranteGeoIndice(RestauranteRepository restauranteRepository, MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.divergencias = Counter.builder("restaurantes.geo.indice.divergencias")
+                .description("Restaurantes do índice espacial divergentes do banco, corrigidos na reconciliação")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.geo.indice.tamanho", pontos, Map::size)
+                .description("Restaurantes ativos no índice espacial")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega os restaurantes ativos depois da inicialização; consultas anteriores carregam sob demanda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        garantirCarregado();
+    }
+
+    /**
+     * Ids dos até k restaurantes mais próximos do ponto, em linha reta e dentro do raio, do mais próximo ao mais distante
+     */
+    public List<Long> maisProximos(double latitude, double longitude, int k, double raioKm) {
+        return maisProximos(latitude, longitude, k, raioKm, id -> false);
+    }
+
+    /**
+     * Como maisProximos, ignorando os restaurantes excluídos (que não ocupam posição no heap)
+     */
+    public List<Long> maisProximos(double latitude, double longitude, int k, double raioKm, LongPredicate excluir) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        if (k <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Candidato> heap = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Candidato::distanciaKm).reversed());
+        int linhaCentro = celula(latitude);
+        int colunaCentro = celula(longitude);
+        double kmPorCelula = kmPorCelula(latitude, raioKm);
+        int anelMaximo = (int) Math.ceil(raioKm / kmPorCelula) + 1;
+
+        for (int anel = 0; anel <= anelMaximo; anel++) {
+            double limiteInferior = Math.max(0, anel - 1) * kmPorCelula;
+            if (limiteInferior > raioKm || (heap.size() == k && limiteInferior > heap.peek().distanciaKm())) {
+                break;
+            }
+            for (int dLinha = -anel; dLinha <= anel; dLinha++) {
+                // Nas linhas internas do anel só as duas colunas da borda
+                int passo = Math.abs(dLinha) == anel ? 1 : Math.max(1, 2 * anel);
+                for (int dColuna = -anel; dColuna <= anel; dColuna += passo) {
+                    Map<Long, Ponto> celula = celulas.get(chave(linhaCentro + dLinha, colunaCentro + dColuna));
+                    if (celula != null) {
+                        considerar(celula, latitude, longitude, k, raioKm, excluir, heap);
+                    }
+                }
+            }
+        }
+
+        List<Candidato> ordenados = new ArrayList<>(heap);
+        ordenados.sort(Comparator.comparingDouble(Candidato::distanciaKm));
+        List<Long> ids = new ArrayList<>(ordenados.size());
+        for (Candidato candidato : ordenados) {
+            ids.add(candidato.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Reflete criação, alteração ou mudança de status do restaurante
+     * Restaurante inativo ou sem coordenadas sai do índice
+     */
+    public void registrar(Restaurante restaurante) {
+        aplicar(restaurante.getId(), restaurante.isAtivo() ? Ponto.de(restaurante) : null);
+    }
+
+    public void registrarRemocao(Long id) {
+        aplicar(id, null);
+    }
+
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    /**
+     * Relê os restaurantes ativos e corrige os pontos que divergem do índice. Restaurantes escritos por
+     * evento durante a leitura ficam como estão: a leitura pode ser anterior à escrita
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.geo.reconciliacao-ms:60000}",
+            initialDelayString = "${api.restaurantes.geo.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (!carregado) {
+                return;
+            }
+            escritosDuranteReconciliacao = new HashSet<>();
+        }
+        try {
+            Map<Long, Ponto> lidos = new HashMap<>();
+            for (Restaurante restaurante : restauranteRepository.findByAtivoTrue()) {
+                Ponto ponto = Ponto.de(restaurante);
+                if (ponto != null) {
+                    lidos.put(ponto.id(), ponto);
+                }
+            }
+            synchronized (this) {
+                Set<Long> ids = new HashSet<>(pontos.keySet());
+                ids.addAll(lidos.keySet());
+                ids.removeAll(escritosDuranteReconciliacao);
+                int corrigidos = 0;
+                for (Long id : ids) {
+                    Ponto lido = lidos.get(id);
+                    if (!Objects.equals(pontos.get(id), lido)) {
+                        if (lido != null) {
+                            inserir(lido);
+                        } else {
+                            remover(id);
+                        }
+                        corrigidos++;
+                    }
+                }
+                if (corrigidos > 0) {
+                    divergencias.increment(corrigidos);
+                    logger.info("Índice espacial reconciliado com o banco: {} restaurantes corrigidos", corrigidos);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                escritosDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    private void considerar(Map<Long, Ponto> celula, double latitude, double longitude, int k, double raioKm,
+                            LongPredicate excluir, PriorityQueue<Candidato> heap) {
+        for (Ponto ponto : celula.values()) {
+            if (excluir.test(ponto.id())) {
+                continue;
+            }
+            double distancia = GeoUtils.distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+            if (distancia > raioKm) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new Candidato(ponto.id(), distancia));
+            } else if (distancia < heap.peek().distanciaKm()) {
+                heap.poll();
+                heap.add(new Candidato(ponto.id(), distancia));
+            }
+        }
+    }
+
+    private synchronized void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        List<Restaurante> ativos = restauranteRepository.findByAtivoTrue();
+        for (Restaurante restaurante : ativos) {
+            Ponto ponto = Ponto.de(restaurante);
+            if (ponto != null) {
+                // Alterações aplicadas antes da carga prevalecem sobre a leitura
+                if (pontos.putIfAbsent(ponto.id(), ponto) == null) {
+                    celulas.computeIfAbsent(chave(ponto), c -> new ConcurrentHashMap<>()).put(ponto.id(), ponto);
+                }
+            }
+        }
+        carregado = true;
+        logger.info("Índice espacial carregado com {} restaurantes ativos", pontos.size());
+    }
+
+    /**
+     * Ponto nulo retira o restaurante do índice
+     */
+    private synchronized void aplicar(Long id, Ponto ponto) {
+        if (escritosDuranteReconciliacao != null) {
+            escritosDuranteReconciliacao.add(id);
+        }
+        if (ponto != null) {
+            inserir(ponto);
+        } else {
+            remover(id);
+        }
+    }
+
+    private synchronized void inserir(Ponto ponto) {
+        remover(ponto.id());
+        pontos.put(ponto.id(), ponto);
+        celulas.computeIfAbsent(chave(ponto), c -> new ConcurrentHashMap<>()).put(ponto.id(), ponto);
+    }
+
+    private synchronized void remover(Long id) {
+        Ponto anterior = pontos.remove(id);
+        if (anterior != null) {
+            long chave = chave(anterior);
+            Map<Long, Ponto> celula = celulas.get(chave);
+            if (celula != null) {
+                celula.remove(id);
+                if (celula.isEmpty()) {
+                    celulas.remove(chave);
+                }
+            }
+        }
+    }
+
+    /**
+     * Menor largura de célula em km na faixa de latitudes coberta pelo raio (a longitude encolhe com o cosseno)
+     */
+    private static double kmPorCelula(double latitude, double raioKm) {
+        double latitudeExtrema = Math.min(89.0, Math.abs(latitude) + raioKm / KM_POR_GRAU + CELULA_GRAUS);
+        return CELULA_GRAUS * KM_POR_GRAU * Math.cos(Math.toRadians(latitudeExtrema)) * FATOR_SEGURANCA;
+    }
+
+    private static int celula(double grau) {
+        return (int) Math.floor(grau / CELULA_GRAUS);
+    }
+
+    private static long chave(Ponto ponto) {
+        return chave(celula(ponto.latitude()), celula(ponto.longitude()));
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    private record Ponto(long id, double latitude, double longitude) {
+
+        /**
+         * Posição do restaurante, ou null se não tiver coordenadas
+         */
+        static Ponto de(Restaurante restaurante) {
+            if (restaurante.getLatitude() == null || restaurante.getLongitude() == null) {
+                return null;
+            }
+            return new Ponto(restaurante.getId(), restaurante.getLatitude(), restaurante.getLongitude());
+        }
+    }
+
+    private record Candidato(long id, double distanciaKm) {
+    }
+}
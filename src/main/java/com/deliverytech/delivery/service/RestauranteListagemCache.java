@@ -0,0 +1,227 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache local das páginas da listagem de restaurantes, pela consulta normalizada e pela página
+ *
+ * Cada página guarda a geração lida antes da consulta ao banco; o commit de qualquer escrita em
+ * restaurantes avança a geração e a página deixa de valer, sem varrer o cache. Com Redis a geração é
+ * compartilhada, e uma escrita em outra instância também invalida as páginas desta; o prazo de validade
+ * limita o atraso caso um avanço se perca. Páginas vencidas são substituídas na próxima consulta igual
+ * ou descartadas pelo limite de capacidade (menos usada primeiro). Cada chamador recebe cópias dos DTOs,
+ * de modo que alterar o resultado não altera o cache. Acertos e faltas são contados por formato da
+ * consulta (quais filtros foram usados)
+ */
+@Component
+public class RestauranteListagemCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteListagemCache.class);
+
+    private final GeracaoListagem geracaoListagem;
+    private final MeterRegistry meterRegistry;
+    private final int capacidadeMaxima;
+    private final long validadeMs;
+    private final Clock clock;
+    private final Map<Chave, Entrada> entradas;
+    private final Map<String, Counter> consultas = new ConcurrentHashMap<>();
+    private final AtomicLong descartes = new AtomicLong();
+
+    @Autowired
+    public RestauranteListagemCache(GeracaoListagem geracaoListagem, MeterRegistry meterRegistry,
+                                    @Value("${api.restaurantes.listagem.cache.capacidade:1000}") int capacidadeMaxima,
+                                    @Value("${api.restaurantes.listagem.cache.validade-ms:60000}") long validadeMs) {
+        this(geracaoListagem, meterRegistry, capacidadeMaxima, validadeMs, Clock.systemUTC());
+    }
+
+    RestauranteListagemCache(GeracaoListagem geracaoListagem, MeterRegistry meterRegistry, int capacidadeMaxima,
+                             long validadeMs, Clock clock) {
+        this.geracaoListagem = geracaoListagem;
+        this.meterRegistry = meterRegistry;
+        this.capacidadeMaxima = capacidadeMaxima;
+        this.validadeMs = validadeMs;
+        this.clock = clock;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> eldest) {
+                if (size() > RestauranteListagemCache.this.capacidadeMaxima) {
+                    descartes.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        FunctionCounter.builder("restaurantes.listagem.cache.descartes", descartes, AtomicLong::get)
+                .description("Páginas da listagem descartadas por limite de capacidade")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.listagem.cache.tamanho", this, RestauranteListagemCache::tamanho)
+                .description("Páginas da listagem de restaurantes em cache, vigentes ou vencidas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Página em cache para a consulta na geração atual, dentro da validade, ou, na falta, a executada
+     * pela consulta informada. Listagens sem paginação, ou dentro de uma transação de escrita (que pode
+     * ver as próprias alterações ainda não confirmadas, ou desfeitas depois sem avançar a geração), não
+     * passam pelo cache; sem acesso à geração, também não
+     */
+    public Page<RestauranteResponseDTO> obter(String busca, String categoria, Boolean ativo, Pageable pageable,
+                                              Supplier<Page<RestauranteResponseDTO>> consulta) {
+        if (pageable.isUnpaged() || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return consulta.get();
+        }
+        Chave chave = Chave.de(busca, categoria, ativo, pageable);
+        Long geracao = geracaoAtual();
+        if (geracao == null) {
+            return consulta.get();
+        }
+        long agora = clock.millis();
+        Entrada entrada;
+        synchronized (this) {
+            entrada = entradas.get(chave);
+        }
+        if (entrada != null && entrada.geracao() == geracao && agora < entrada.expiraEm()) {
+            contar(chave.formato(), "hit");
+            return entrada.pagina();
+        }
+        contar(chave.formato(), "miss");
+
+        Page<RestauranteResponseDTO> pagina = consulta.get();
+        Entrada nova = Entrada.de(geracao, agora + validadeMs, pagina);
+        synchronized (this) {
+            // Uma escrita confirmada durante a consulta pode não estar na página lida
+            if (geracao.equals(geracaoAtual())) {
+                entradas.put(chave, nova);
+            }
+        }
+        return pagina;
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Escritas em restaurantes avançam a geração depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        avancarGeracao();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        avancarGeracao();
+    }
+
+    /**
+     * Uma falha ao avançar deixa as páginas desta geração valendo até o fim da validade
+     */
+    private void avancarGeracao() {
+        try {
+            geracaoListagem.avancar();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao avançar a geração da listagem de restaurantes: {}", e.getMessage());
+        }
+    }
+
+    private Long geracaoAtual() {
+        try {
+            return geracaoListagem.atual();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao ler a geração da listagem de restaurantes: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void contar(String formato, String resultado) {
+        consultas.computeIfAbsent(formato + ":" + resultado, nome -> Counter.builder("restaurantes.listagem.cache.consultas")
+                .description("Consultas à listagem de restaurantes por formato e resultado no cache")
+                .tag("formato", formato)
+                .tag("resultado", resultado)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * Conteúdo guardado em cópias próprias; cada acerto devolve uma página com novas cópias
+     */
+    private record Entrada(long geracao, long expiraEm, List<RestauranteResponseDTO> conteudo,
+                           Pageable pageable, long total) {
+
+        static Entrada de(long geracao, long expiraEm, Page<RestauranteResponseDTO> pagina) {
+            return new Entrada(geracao, expiraEm, copiar(pagina.getContent()), pagina.getPageable(),
+                    pagina.getTotalElements());
+        }
+
+        Page<RestauranteResponseDTO> pagina() {
+            return new PageImpl<>(copiar(conteudo), pageable, total);
+        }
+
+        private static List<RestauranteResponseDTO> copiar(List<RestauranteResponseDTO> dtos) {
+            return dtos.stream().map(RestauranteResponseDTO::copia).toList();
+        }
+    }
+
+    /**
+     * Consulta normalizada: com busca textual valem só as palavras normalizadas e o filtro de ativo, como
+     * no índice de busca, que ignora a categoria; sem ela, a categoria vale sem diferenciar maiúsculas, como
+     * no filtro do banco. A ordenação entra sempre, pois volta nos metadados da página
+     */
+    private record Chave(String busca, String categoria, Boolean ativo, int pagina, int tamanho, Sort ordenacao) {
+
+        static Chave de(String busca, String categoria, Boolean ativo, Pageable pageable) {
+            if (busca != null && !busca.trim().isEmpty()) {
+                return new Chave(String.join(" ", TextoUtils.palavras(busca)), null, ativo,
+                        pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+            }
+            return new Chave(null, categoria != null ? categoria.toLowerCase(Locale.ROOT) : null, ativo,
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        }
+
+        /**
+         * Filtros usados, como "busca+ativo", "categoria" ou "todos"; define a tag das métricas
+         */
+        String formato() {
+            StringBuilder formato = new StringBuilder();
+            if (busca != null) {
+                formato.append("busca");
+            }
+            if (categoria != null) {
+                formato.append(formato.isEmpty() ? "" : "+").append("categoria");
+            }
+            if (ativo != null) {
+                formato.append(formato.isEmpty() ? "" : "+").append("ativo");
+            }
+            return formato.isEmpty() ? "todos" : formato.toString();
+        }
+    }
+}
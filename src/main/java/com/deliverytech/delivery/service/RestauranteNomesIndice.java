@@ -0,0 +1,457 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas dos nomes de restaurantes para detectar nomes quase duplicados
+ *
+ * O nome é normalizado (minúsculo, sem acento, só letras e dígitos) e cada palavra, com dois espaços
+ * antes e um depois, gera seus trigramas. Dois nomes são similares quando a similaridade de Jaccard
+ * dos conjuntos de trigramas atinge SIMILARIDADE_MINIMA, o que exige ao menos s·|nome| trigramas em comum.
+ * Com os trigramas de todos os nomes numa mesma ordem total, o primeiro em comum de um par similar está
+ * no prefixo de |nome| - s·|nome| + 1 trigramas de ambos; por isso cada nome só é indexado pelo seu prefixo
+ * e a consulta só percorre as listas do prefixo dela (filtro de prefixo). A ordem é a raridade medida na
+ * última construção, fixa até a próxima (trigramas novos contam como os mais raros), o que deixa nas listas
+ * quase só trigramas raros. As listas ficam em ordem de tamanho do nome e id, então a consulta só lê a faixa de
+ * tamanhos compatíveis; candidatos são descartados pela posição do trigrama em cada prefixo (se o que sobra
+ * dos dois nomes não alcança o mínimo em comum), e os restantes têm a similaridade conferida.
+ * Listas são imutáveis e trocadas inteiras a cada alteração; leitores não bloqueiam
+ *
+ * As alterações chegam por evento, só desta instância. A reconciliação periódica relê os nomes do banco,
+ * mede de novo a raridade dos trigramas e reconstrói o índice, corrigindo nomes divergentes (alterados em
+ * outra instância, ou com eventos aplicados fora de ordem) e a ordem dos prefixos, que perde seletividade
+ * conforme os nomes mudam
+ */
+@Component
+public class RestauranteNomesIndice {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteNomesIndice.class);
+
+    static final double SIMILARIDADE_MINIMA = 0.6;
+    // Folga para o arredondamento de ponto flutuante nos limites de tamanho e de trigramas em comum
+    private static final double FOLGA = 1e-9;
+
+    // Chave das listas: tamanho do nome nos bits altos e id nos 40 bits baixos
+    private static final int BITS_ID = 40;
+    private static final Lista VAZIA = new Lista(new long[0], new int[0], new Nome[0]);
+    private static final Comparator<Similar> POR_SIMILARIDADE = Comparator.comparingDouble(Similar::similaridade)
+            .reversed().thenComparingLong(Similar::id);
+
+    private final RestauranteRepository restauranteRepository;
+    private final Counter divergencias;
+    private volatile Estado estado = new Estado(Map.of(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile boolean carregado;
+
+    // Ids escritos por evento durante a leitura da reconciliação, protegido pelo monitor da instância
+    private Set<Long> escritosDuranteReconciliacao;
+
+    public RestauranteNomesIndice(RestauranteRepository restauranteRepository, MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.divergencias = Counter.builder("restaurantes.nomes.divergencias")
+                .description("Nomes do índice de trigramas divergentes do banco, corrigidos na reconciliação")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.nomes.trigramas", this, indice -> indice.estado.postagens().size())
+                .description("Trigramas distintos nos prefixos indexados dos nomes de restaurantes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexa os nomes depois da inicialização; consultas anteriores carregam sob demanda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        garantirCarregado();
+    }
+
+    /**
+     * Restaurantes, ativos ou não, com nome similar ao informado, do mais parecido ao menos (empate pelo id)
+     *
+     * As listas do prefixo da consulta são percorridas juntas, só na faixa de tamanhos compatíveis e em
+     * ordem de chave, então as postagens de um mesmo candidato chegam em sequência e na ordem do prefixo.
+     * Os filtros usam só os vetores primitivos das listas; o Nome só é lido para conferir a similaridade
+     */
+    public List<Similar> buscarSimilares(String nome, int limite) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        long[] porCodigo = trigramas(nome);
+        if (porCodigo.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        // Ordem e listas da mesma construção, mesmo que uma reconstrução termine durante a consulta
+        Estado atual = estado;
+        int tamanho = porCodigo.length;
+        int menorTamanho = minimoEmComum(tamanho);
+        int maiorTamanho = (int) Math.floor(tamanho / SIMILARIDADE_MINIMA + FOLGA);
+        long[] consulta = emOrdemDeRaridade(atual.frequencias(), porCodigo);
+        Lista[] listas = new Lista[tamanhoPrefixo(tamanho)];
+        int[] cursores = new int[listas.length];
+        int[] fins = new int[listas.length];
+        for (int i = 0; i < listas.length; i++) {
+            listas[i] = atual.postagens().getOrDefault(consulta[i], VAZIA);
+            cursores[i] = inicio(listas[i].chaves(), (long) menorTamanho << BITS_ID);
+            fins[i] = inicio(listas[i].chaves(), (long) (maiorTamanho + 1) << BITS_ID);
+        }
+
+        List<Similar> similares = new ArrayList<>();
+        while (true) {
+            long chave = Long.MAX_VALUE;
+            for (int i = 0; i < listas.length; i++) {
+                if (cursores[i] < fins[i]) {
+                    chave = Math.min(chave, listas[i].chaves()[cursores[i]]);
+                }
+            }
+            if (chave == Long.MAX_VALUE) {
+                break;
+            }
+            int tamanhoCandidato = (int) (chave >>> BITS_ID);
+            // Jaccard ≥ s exige em comum ≥ s·(|a| + |b|) / (1 + s); o restante dos dois prefixos limita o que ainda pode vir
+            int necessario = (int) Math.ceil(SIMILARIDADE_MINIMA / (1 + SIMILARIDADE_MINIMA)
+                    * (tamanho + tamanhoCandidato) - FOLGA);
+            Nome candidato = null;
+            int emComum = 0;
+            boolean descartado = false;
+            for (int i = 0; i < listas.length; i++) {
+                Lista lista = listas[i];
+                int cursor = cursores[i];
+                if (cursor >= fins[i] || lista.chaves()[cursor] != chave) {
+                    continue;
+                }
+                cursores[i]++;
+                if (descartado) {
+                    continue;
+                }
+                int restante = Math.min(tamanho - i - 1, tamanhoCandidato - lista.posicoes()[cursor] - 1);
+                if (emComum + 1 + restante < necessario) {
+                    descartado = true;
+                } else {
+                    emComum++;
+                    candidato = lista.nomes()[cursor];
+                }
+            }
+            if (!descartado) {
+                double similaridade = jaccard(porCodigo, candidato.trigramas());
+                if (similaridade >= SIMILARIDADE_MINIMA - FOLGA) {
+                    similares.add(new Similar(candidato.id(), candidato.nome(), similaridade));
+                }
+            }
+        }
+        similares.sort(POR_SIMILARIDADE);
+        return similares.size() > limite ? List.copyOf(similares.subList(0, limite)) : similares;
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Reindexa o nome do restaurante
+     */
+    public void registrar(Restaurante restaurante) {
+        atualizar(restaurante.getId(), restaurante.getNome());
+    }
+
+    public void registrarRemocao(Long id) {
+        atualizar(id, null);
+    }
+
+    int quantidadeNomes() {
+        return estado.nomes().size();
+    }
+
+    /**
+     * Relê os nomes do banco e reconstrói o índice com a raridade medida de novo; a nova versão é trocada
+     * inteira. Restaurantes escritos por evento durante a leitura mantêm o nome que o índice já tem:
+     * a leitura pode ser anterior à escrita
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.nomes.reconciliacao-ms:300000}",
+            initialDelayString = "${api.restaurantes.nomes.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (!carregado) {
+                return;
+            }
+            escritosDuranteReconciliacao = new HashSet<>();
+        }
+        try {
+            Map<Long, String> textos = new HashMap<>();
+            for (Restaurante restaurante : restauranteRepository.findAll()) {
+                textos.put(restaurante.getId(), restaurante.getNome());
+            }
+            int corrigidos = 0;
+            synchronized (this) {
+                Map<Long, Nome> atuais = estado.nomes();
+                for (Long id : escritosDuranteReconciliacao) {
+                    Nome nome = atuais.get(id);
+                    if (nome != null) {
+                        textos.put(id, nome.nome());
+                    } else {
+                        textos.remove(id);
+                    }
+                }
+                Set<Long> ids = new HashSet<>(atuais.keySet());
+                ids.addAll(textos.keySet());
+                for (Long id : ids) {
+                    Nome nome = atuais.get(id);
+                    if (!Objects.equals(nome != null ? nome.nome() : null, textos.get(id))) {
+                        corrigidos++;
+                    }
+                }
+                estado = construir(textos);
+            }
+            if (corrigidos > 0) {
+                divergencias.increment(corrigidos);
+                logger.info("Índice de nomes reconciliado com o banco: {} nomes corrigidos", corrigidos);
+            }
+        } finally {
+            synchronized (this) {
+                escritosDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    /**
+     * Trigramas distintos do nome normalizado, codificados em long (três caracteres de 16 bits) e ordenados
+     */
+    static long[] trigramas(String nome) {
+        TreeSet<Long> codigos = new TreeSet<>();
+        for (String palavra : TextoUtils.palavras(nome)) {
+            String marcada = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= marcada.length(); i++) {
+                codigos.add(((long) marcada.charAt(i) << 32) | ((long) marcada.charAt(i + 1) << 16) | marcada.charAt(i + 2));
+            }
+        }
+        return codigos.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Jaccard entre dois conjuntos ordenados: em comum / (soma dos tamanhos - em comum)
+     */
+    static double jaccard(long[] a, long[] b) {
+        int comuns = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                comuns++;
+                i++;
+                j++;
+            }
+        }
+        return (double) comuns / (a.length + b.length - comuns);
+    }
+
+    /**
+     * Primeira posição com chave maior ou igual à informada
+     */
+    private static int inicio(long[] chaves, long chave) {
+        int posicao = Arrays.binarySearch(chaves, chave);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    private static int minimoEmComum(int tamanho) {
+        return (int) Math.ceil(SIMILARIDADE_MINIMA * tamanho - FOLGA);
+    }
+
+    private static int tamanhoPrefixo(int tamanho) {
+        return tamanho - minimoEmComum(tamanho) + 1;
+    }
+
+    /**
+     * Trigramas do mais raro ao mais comum na construção, desempatados pelo código
+     */
+    private static long[] emOrdemDeRaridade(Map<Long, Integer> frequencia, long[] trigramas) {
+        return Arrays.stream(trigramas).boxed()
+                .sorted(Comparator.<Long>comparingInt(t -> frequencia.getOrDefault(t, 0)).thenComparing(t -> t))
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static Nome nome(Map<Long, Integer> frequencias, Long id, String texto, long[] trigramas) {
+        return new Nome(id, texto, trigramas,
+                Arrays.copyOf(emOrdemDeRaridade(frequencias, trigramas), tamanhoPrefixo(trigramas.length)));
+    }
+
+    private synchronized void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        Map<Long, String> textos = new HashMap<>();
+        for (Restaurante restaurante : restauranteRepository.findAll()) {
+            textos.put(restaurante.getId(), restaurante.getNome());
+        }
+        estado = construir(textos);
+        carregado = true;
+        logger.info("Índice de nomes carregado com {} restaurantes e {} trigramas",
+                estado.nomes().size(), estado.postagens().size());
+    }
+
+    /**
+     * Mede a raridade dos trigramas nos nomes informados e monta as listas dos prefixos com essa ordem
+     */
+    private static Estado construir(Map<Long, String> textos) {
+        Map<Long, long[]> trigramas = new HashMap<>();
+        Map<Long, Integer> contagem = new HashMap<>();
+        textos.forEach((id, texto) -> {
+            long[] codigos = trigramas(texto);
+            trigramas.put(id, codigos);
+            for (long trigrama : codigos) {
+                contagem.merge(trigrama, 1, Integer::sum);
+            }
+        });
+        Map<Long, Integer> frequencias = Collections.unmodifiableMap(contagem);
+
+        Map<Long, Nome> nomes = new ConcurrentHashMap<>();
+        Map<Long, List<Nome>> listas = new HashMap<>();
+        textos.forEach((id, texto) -> {
+            Nome nome = nome(frequencias, id, texto, trigramas.get(id));
+            nomes.put(id, nome);
+            for (long trigrama : nome.prefixo()) {
+                listas.computeIfAbsent(trigrama, t -> new ArrayList<>()).add(nome);
+            }
+        });
+        Map<Long, Lista> postagens = new ConcurrentHashMap<>();
+        listas.forEach((trigrama, lista) -> {
+            lista.sort(Comparator.comparingLong(Nome::chave));
+            postagens.put(trigrama, Lista.de(trigrama, lista));
+        });
+        return new Estado(frequencias, postagens, nomes);
+    }
+
+    /**
+     * Antes da primeira carga não há o que atualizar: a carga lerá o estado já confirmado.
+     * O prefixo é calculado aqui, com a ordem da última construção. A chave e as listas dependem do nome
+     * inteiro, então o prefixo anterior sai todo e o novo entra todo
+     */
+    private synchronized void atualizar(Long id, String texto) {
+        if (!carregado) {
+            return;
+        }
+        if (escritosDuranteReconciliacao != null) {
+            escritosDuranteReconciliacao.add(id);
+        }
+        Estado atual = estado;
+        Nome novo = texto != null ? nome(atual.frequencias(), id, texto, trigramas(texto)) : null;
+        Nome anterior = novo != null ? atual.nomes().put(id, novo) : atual.nomes().remove(id);
+        if (anterior != null) {
+            for (long trigrama : anterior.prefixo()) {
+                remover(atual.postagens(), trigrama, anterior.chave());
+            }
+        }
+        if (novo != null) {
+            for (long trigrama : novo.prefixo()) {
+                gravar(atual.postagens(), trigrama, novo);
+            }
+        }
+    }
+
+    private static void gravar(Map<Long, Lista> postagens, long trigrama, Nome nome) {
+        Lista lista = postagens.getOrDefault(trigrama, VAZIA);
+        List<Nome> nova = new ArrayList<>(Arrays.asList(lista.nomes()));
+        nova.add(inicio(lista.chaves(), nome.chave()), nome);
+        postagens.put(trigrama, Lista.de(trigrama, nova));
+    }
+
+    private static void remover(Map<Long, Lista> postagens, long trigrama, long chave) {
+        Lista lista = postagens.get(trigrama);
+        int posicao = lista != null ? Arrays.binarySearch(lista.chaves(), chave) : -1;
+        if (posicao < 0) {
+            return;
+        }
+        if (lista.chaves().length == 1) {
+            postagens.remove(trigrama);
+            return;
+        }
+        List<Nome> nova = new ArrayList<>(Arrays.asList(lista.nomes()));
+        nova.remove(posicao);
+        postagens.put(trigrama, Lista.de(trigrama, nova));
+    }
+
+    /**
+     * Uma construção do índice: a ordem de raridade e as listas e nomes montados com ela. Eventos alteram
+     * as listas e nomes da versão corrente; a reconciliação troca a versão inteira
+     */
+    private record Estado(Map<Long, Integer> frequencias, Map<Long, Lista> postagens, Map<Long, Nome> nomes) {
+    }
+
+    /**
+     * Nome do restaurante com os trigramas em ordem de código e o prefixo indexado em ordem de raridade
+     */
+    record Nome(long id, String nome, long[] trigramas, long[] prefixo) {
+
+        long chave() {
+            return ((long) trigramas.length << BITS_ID) | id;
+        }
+
+        int posicaoNoPrefixo(long trigrama) {
+            for (int j = 0; j < prefixo.length; j++) {
+                if (prefixo[j] == trigrama) {
+                    return j;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Restaurantes com o trigrama no prefixo, em ordem de chave, em vetores paralelos: chave, posição do
+     * trigrama no prefixo do nome e o próprio Nome
+     */
+    record Lista(long[] chaves, int[] posicoes, Nome[] nomes) {
+
+        static Lista de(long trigrama, List<Nome> nomes) {
+            long[] chaves = new long[nomes.size()];
+            int[] posicoes = new int[nomes.size()];
+            for (int i = 0; i < nomes.size(); i++) {
+                Nome nome = nomes.get(i);
+                chaves[i] = nome.chave();
+                posicoes[i] = nome.posicaoNoPrefixo(trigrama);
+            }
+            return new Lista(chaves, posicoes, nomes.toArray(new Nome[0]));
+        }
+    }
+
+    public record Similar(long id, String nome, double similaridade) {
+    }
+}
@@ -1,28 +1,47 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.CalculoTaxaMultiplaDTO;
 import com.deliverytech.delivery.dto.EstatisticasRestauranteDTO;
 import com.deliverytech.delivery.dto.FiltroRestauranteDTO;
+import com.deliverytech.delivery.dto.RestauranteAlterado;
 import com.deliverytech.delivery.dto.RestauranteDTO;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
 import com.deliverytech.delivery.dto.RestauranteResponseDTO;
 import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.dto.ZonaEntregaDTO;
 
 import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import com.deliverytech.delivery.model.ZonaEntrega;
 import com.deliverytech.delivery.repository.RestauranteRepository;
-import org.modelmapper.ModelMapper;
+import com.deliverytech.delivery.repository.RestauranteSpecifications;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.deliverytech.delivery.util.SecurityUtils;
@@ -44,11 +63,39 @@ public class RestauranteService implements RestauranteServiceInterface {
     @Autowired
     private RestauranteRepository restauranteRepository;
     
-    @Autowired
-    private ModelMapper modelMapper;
-    
     @Autowired
     private TaxaEntregaService taxaEntregaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RestauranteGeoIndice restauranteGeoIndice;
+
+    @Autowired
+    private CepCentroideTabela cepCentroides;
+
+    @Autowired
+    private ZonasEntregaIndice zonasEntregaIndice;
+
+    @Autowired
+    private RestauranteCatalogo restauranteCatalogo;
+
+    @Autowired
+    private RestauranteBuscaIndice restauranteBuscaIndice;
+
+    @Autowired
+    private RestauranteEstatisticas restauranteEstatisticas;
+
+    @Autowired
+    private RestauranteNomesIndice restauranteNomesIndice;
+
+    @Autowired
+    private RestauranteListagemCache restauranteListagemCache;
+
+    private static final int LIMITE_PROXIMOS = 20;
+    // Candidatos extras para compensar os que o cálculo da taxa recusar (status desatualizado, arredondamento)
+    private static final int MARGEM_CANDIDATOS_PROXIMOS = 5;
     
     // Novos métodos com DTOs padronizados
     
@@ -70,10 +117,16 @@ public class RestauranteService implements RestauranteServiceInterface {
             throw new BusinessException("Categoria inválida: " + dto.getCategoria());
         }
         
+        // Nome quase igual ao de um restaurante já cadastrado é tratado como duplicado
+        if (existeNomeSimilar(dto.getNome())) {
+            throw ConflictException.restauranteSimilarJaExiste(dto.getNome());
+        }
+        
         Restaurante restaurante = convertToEntity(dto);
         restaurante.setAtivo(true);
         
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        publicarAlteracao(restauranteSalvo);
         
         logger.info("Restaurante criado com sucesso: ID {}", restauranteSalvo.getId());
         return convertToResponseDTO(restauranteSalvo);
@@ -90,11 +143,7 @@ public class RestauranteService implements RestauranteServiceInterface {
         
         // Usar queries otimizadas do repository
         if (busca != null && !busca.trim().isEmpty()) {
-            if (ativo != null) {
-                restaurantes = restauranteRepository.findByTextoGeralAndAtivo(busca.trim(), ativo);
-            } else {
-                restaurantes = restauranteRepository.findByTextoGeral(busca.trim());
-            }
+            restaurantes = buscarPorTexto(busca, ativo, Pageable.unpaged()).getContent();
         } else {
             restaurantes = restauranteRepository.findWithFilters(null, categoria, null, ativo);
         }
@@ -105,27 +154,43 @@ public class RestauranteService implements RestauranteServiceInterface {
     }
     
     /**
-     * Lista todos os restaurantes com filtros opcionais e paginação
+     * Lista todos os restaurantes com filtros opcionais e paginação; páginas ficam em cache até a próxima
+     * escrita em restaurantes
      */
     @Transactional(readOnly = true)
     public Page<RestauranteResponseDTO> listarTodosPaginado(String busca, String categoria, Boolean ativo, Pageable pageable) {
         logger.info("Listando restaurantes paginado - busca: {}, categoria: {}, ativo: {}, page: {}, size: {}", 
                    busca, categoria, ativo, pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Restaurante> restaurantesPage;
-        
-        // Usar queries otimizadas do repository com paginação
-        if (busca != null && !busca.trim().isEmpty()) {
-            if (ativo != null) {
-                restaurantesPage = restauranteRepository.findByTextoGeralAndAtivoPageable(busca.trim(), ativo, pageable);
+        return restauranteListagemCache.obter(busca, categoria, ativo, pageable, () -> {
+            Page<Restaurante> restaurantesPage;
+
+            // Usar queries otimizadas do repository com paginação
+            if (busca != null && !busca.trim().isEmpty()) {
+                restaurantesPage = buscarPorTexto(busca, ativo, pageable);
             } else {
-                restaurantesPage = restauranteRepository.findByTextoGeralPageable(busca.trim(), pageable);
+                restaurantesPage = restauranteRepository.findWithFiltersPageable(null, categoria, null, ativo, pageable);
             }
-        } else {
-            restaurantesPage = restauranteRepository.findWithFiltersPageable(null, categoria, null, ativo, pageable);
+
+            return restaurantesPage.map(this::convertToResponseDTO);
+        });
+    }
+
+    /**
+     * Busca textual pelo índice invertido, em ordem de relevância; carrega só os restaurantes da página
+     */
+    private Page<Restaurante> buscarPorTexto(String busca, Boolean ativo, Pageable pageable) {
+        Page<Long> ids = restauranteBuscaIndice.buscar(busca, ativo, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
         }
-        
-        return restaurantesPage.map(this::convertToResponseDTO);
+        Map<Long, Restaurante> porId = restauranteRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Restaurante::getId, r -> r));
+        List<Restaurante> restaurantes = ids.getContent().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(restaurantes, pageable, ids.getTotalElements());
     }
     
     /**
@@ -228,68 +293,40 @@ public class RestauranteService implements RestauranteServiceInterface {
     }
     
     /**
-     * Lista restaurantes ordenados por critério
+     * Lista restaurantes ordenados por critério (avaliacao, taxa ou nome), paginado no banco
      */
     @Transactional(readOnly = true)
-    public List<RestauranteResponseDTO> listarOrdenados(String ordenacao, Boolean apenasAtivos) {
+    public Page<RestauranteResponseDTO> listarOrdenados(String ordenacao, Boolean apenasAtivos, Pageable pageable) {
         logger.info("Listando restaurantes ordenados por: {}, apenas ativos: {}", ordenacao, apenasAtivos);
         
-        Boolean filtroAtivo = apenasAtivos != null ? apenasAtivos : true;
-        List<Restaurante> restaurantes;
+        FiltroRestauranteDTO filtro = new FiltroRestauranteDTO();
+        filtro.setAtivo(apenasAtivos != null ? apenasAtivos : true);
         
-        switch (ordenacao != null ? ordenacao.toLowerCase() : "nome") {
-            case "avaliacao" -> restaurantes = restauranteRepository.findByAtivoOrderByAvaliacaoDesc(filtroAtivo);
-            case "taxa" -> restaurantes = restauranteRepository.findByAtivoOrderByTaxaEntregaAsc(filtroAtivo);
-            default -> restaurantes = restauranteRepository.findByAtivoOrderByNomeAsc(filtroAtivo);
-        }
+        String chave = switch (ordenacao != null ? ordenacao.toLowerCase() : "nome") {
+            case "avaliacao" -> "avaliacao_desc";
+            case "taxa" -> "taxa_asc";
+            default -> "nome_asc";
+        };
+        Pageable ordenado = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                RestauranteSpecifications.ordenacao(chave));
         
-        return restaurantes.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return restauranteRepository.findAll(RestauranteSpecifications.comFiltro(filtro), ordenado)
+                .map(this::convertToResponseDTO);
     }
     
     /**
-     * Busca avançada com múltiplos filtros
+     * Busca avançada com múltiplos filtros; filtros, ordenação e paginação são resolvidos no banco
      */
     @Transactional(readOnly = true)
-    public List<RestauranteResponseDTO> buscarAvancado(FiltroRestauranteDTO filtro) {
+    public Page<RestauranteResponseDTO> buscarAvancado(FiltroRestauranteDTO filtro) {
+        filtro.normalizar();
         logger.info("Busca avançada com filtros: {}", filtro);
         
-        List<Restaurante> restaurantes = restauranteRepository.findWithFilters(
-            filtro.getNome(),
-            filtro.getCategoria(), 
-            filtro.getEndereco(),
-            filtro.getAtivo()
-        );
-        
-        // Aplicar filtros adicionais que não estão na query
-        if (filtro.getAvaliacaoMinima() != null) {
-            restaurantes = restaurantes.stream()
-                    .filter(r -> r.getAvaliacao() >= filtro.getAvaliacaoMinima())
-                    .collect(Collectors.toList());
-        }
-        
-        if (filtro.getTaxaMaxima() != null) {
-            restaurantes = restaurantes.stream()
-                    .filter(r -> r.getTaxaEntrega().compareTo(filtro.getTaxaMaxima()) <= 0)
-                    .collect(Collectors.toList());
-        }
-        
-        // Aplicar ordenação
-        if (filtro.getOrdenacao() != null) {
-            switch (filtro.getOrdenacao().toLowerCase()) {
-                case "avaliacao_desc" -> restaurantes.sort((a, b) -> Double.compare(b.getAvaliacao(), a.getAvaliacao()));
-                case "avaliacao_asc" -> restaurantes.sort((a, b) -> Double.compare(a.getAvaliacao(), b.getAvaliacao()));
-                case "taxa_asc" -> restaurantes.sort((a, b) -> a.getTaxaEntrega().compareTo(b.getTaxaEntrega()));
-                case "taxa_desc" -> restaurantes.sort((a, b) -> b.getTaxaEntrega().compareTo(a.getTaxaEntrega()));
-                case "nome_desc" -> restaurantes.sort((a, b) -> b.getNome().compareToIgnoreCase(a.getNome()));
-                default -> restaurantes.sort((a, b) -> a.getNome().compareToIgnoreCase(b.getNome()));
-            }
-        }
+        Pageable pageable = PageRequest.of(filtro.getPagina(), filtro.getTamanho(),
+                RestauranteSpecifications.ordenacao(filtro.getOrdenacao()));
         
-        return restaurantes.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return restauranteRepository.findAll(RestauranteSpecifications.comFiltro(filtro), pageable)
+                .map(this::convertToResponseDTO);
     }
     
     /**
@@ -336,8 +373,11 @@ public class RestauranteService implements RestauranteServiceInterface {
         if (dto.getAvaliacao() != null) {
             restauranteExistente.setAvaliacao(dto.getAvaliacao());
         }
+        restauranteExistente.setLatitude(dto.getLatitude());
+        restauranteExistente.setLongitude(dto.getLongitude());
         
         Restaurante restauranteAtualizado = restauranteRepository.save(restauranteExistente);
+        publicarAlteracao(restauranteAtualizado);
         
         logger.info("Restaurante atualizado com sucesso: ID {}", id);
         return convertToResponseDTO(restauranteAtualizado);
@@ -357,6 +397,7 @@ public class RestauranteService implements RestauranteServiceInterface {
         restaurante.setAtivo(!statusAnterior);
         
         Restaurante restauranteAtualizado = restauranteRepository.save(restaurante);
+        publicarAlteracao(restauranteAtualizado);
         
         logger.info("Status do restaurante ID {} alterado de {} para {}", 
                    id, statusAnterior, restauranteAtualizado.isAtivo());
@@ -364,6 +405,98 @@ public class RestauranteService implements RestauranteServiceInterface {
         return convertToResponseDTO(restauranteAtualizado);
     }
     
+    /**
+     * Zonas de entrega do restaurante; lista vazia significa raio global a partir das coordenadas
+     */
+    @Transactional(readOnly = true)
+    public List<ZonaEntregaDTO> listarZonasEntrega(Long id) {
+        Restaurante restaurante = restauranteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
+
+        return restaurante.getZonasEntrega().stream()
+                .map(zona -> new ZonaEntregaDTO(zona.getNome(), zona.getTipo(), zona.getRaioKm(),
+                        zona.getVertices() != null ? ZonasEntregaIndice.decodificarVertices(zona.getVertices()) : null,
+                        zona.getTaxaBase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Substitui as zonas de entrega do restaurante; o índice de zonas é recompilado após o commit
+     */
+    @CacheEvict(value = "restaurantes", key = "#id")
+    public List<ZonaEntregaDTO> definirZonasEntrega(Long id, List<ZonaEntregaDTO> zonas) {
+        if (zonas == null || zonas.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("ZONA_ENTREGA_INVALIDA", "Zona de entrega não pode ser nula");
+        }
+        logger.info("Definindo {} zonas de entrega do restaurante ID {}", zonas.size(), id);
+
+        Restaurante restaurante = restauranteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
+
+        if (!zonas.isEmpty() && (restaurante.getLatitude() == null || restaurante.getLongitude() == null)) {
+            throw new BusinessException("ZONA_ENTREGA_INVALIDA",
+                    "Restaurante precisa de coordenadas para ter zonas de entrega");
+        }
+
+        Set<String> nomes = new HashSet<>();
+        List<ZonaEntrega> novas = new ArrayList<>();
+        for (ZonaEntregaDTO zona : zonas) {
+            validarZonaEntrega(zona);
+            if (!nomes.add(zona.getNome().trim().toLowerCase())) {
+                throw new BusinessException("ZONA_ENTREGA_INVALIDA", "Zona de entrega duplicada: " + zona.getNome());
+            }
+            boolean raio = zona.getTipo() == TipoZonaEntrega.RAIO;
+            novas.add(new ZonaEntrega(zona.getNome().trim(), zona.getTipo(),
+                    raio ? zona.getRaioKm() : null,
+                    raio ? null : ZonasEntregaIndice.codificarVertices(zona.getVertices()),
+                    zona.getTaxaBase()));
+        }
+
+        restaurante.getZonasEntrega().clear();
+        restaurante.getZonasEntrega().addAll(novas);
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        publicarAlteracao(salvo);
+
+        logger.info("Zonas de entrega do restaurante ID {} atualizadas", id);
+        return listarZonasEntrega(id);
+    }
+
+    private void validarZonaEntrega(ZonaEntregaDTO zona) {
+        if (zona.getNome() == null || zona.getNome().isBlank() || zona.getTipo() == null) {
+            throw new BusinessException("ZONA_ENTREGA_INVALIDA", "Zona de entrega precisa de nome e tipo");
+        }
+        if (zona.getTipo() == TipoZonaEntrega.RAIO) {
+            if (zona.getRaioKm() == null || zona.getRaioKm() <= 0 || zona.getRaioKm() > ZonaEntregaDTO.RAIO_MAXIMO_KM) {
+                throw new BusinessException("ZONA_ENTREGA_INVALIDA",
+                        "Zona " + zona.getNome() + ": raio deve ser entre 0 e 30 km");
+            }
+            return;
+        }
+
+        List<double[]> vertices = zona.getVertices();
+        if (vertices == null || vertices.size() < 3 || vertices.size() > ZonaEntregaDTO.MAXIMO_VERTICES) {
+            throw new BusinessException("ZONA_ENTREGA_INVALIDA",
+                    "Zona " + zona.getNome() + ": polígono deve ter entre 3 e 200 vértices");
+        }
+        double latMin = Double.MAX_VALUE, latMax = -Double.MAX_VALUE;
+        double lonMin = Double.MAX_VALUE, lonMax = -Double.MAX_VALUE;
+        for (double[] vertice : vertices) {
+            if (vertice == null || vertice.length != 2 || Math.abs(vertice[0]) > 90 || Math.abs(vertice[1]) > 180) {
+                throw new BusinessException("ZONA_ENTREGA_INVALIDA",
+                        "Zona " + zona.getNome() + ": vértices devem ser [latitude, longitude] válidos");
+            }
+            latMin = Math.min(latMin, vertice[0]);
+            latMax = Math.max(latMax, vertice[0]);
+            lonMin = Math.min(lonMin, vertice[1]);
+            lonMax = Math.max(lonMax, vertice[1]);
+        }
+        if (latMax - latMin > ZonasEntregaIndice.EXTENSAO_MAXIMA_GRAUS
+                || lonMax - lonMin > ZonasEntregaIndice.EXTENSAO_MAXIMA_GRAUS) {
+            throw new BusinessException("ZONA_ENTREGA_INVALIDA",
+                    "Zona " + zona.getNome() + ": polígono deve caber em 1 grau de latitude e longitude");
+        }
+    }
+
     /**
      * Calcula taxa de entrega para um CEP específico (usa o novo serviço)
      */
@@ -414,8 +547,17 @@ public class RestauranteService implements RestauranteServiceInterface {
         return calcularTaxaEntregaDetalhada(restauranteId, cep);
     }
     
+    /**
+     * Taxas de vários restaurantes para o mesmo CEP, com uma única consulta ao banco
+     */
+    @Transactional(readOnly = true)
+    public List<TaxaEntregaResponse> calcularTaxasEntrega(CalculoTaxaMultiplaDTO dto) {
+        return taxaEntregaService.calcularTaxasMultiplas(dto);
+    }
+    
     /**
      * Busca restaurantes próximos a um CEP específico
+     * Os até 20 mais próximos com entrega disponível, a partir dos candidatos do índice espacial
      */
     @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarRestaurantesProximos(String cep) {
@@ -432,43 +574,50 @@ public class RestauranteService implements RestauranteServiceInterface {
             throw new BusinessException("CEP deve ter 8 dígitos");
         }
         
-        // Buscar todos os restaurantes ativos
-        List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
-        
-        // Calcular distância e ordenar por proximidade
-        List<RestauranteResponseDTO> restaurantesComDistancia = restaurantesAtivos.stream()
-                .map(restaurante -> {
-                    RestauranteResponseDTO dto = convertToResponseDTO(restaurante);
-                    
-                    try {
-                        // Calcular taxa de entrega (que inclui distância)
-                        TaxaEntregaResponse taxaResponse = calcularTaxaEntregaDetalhada(restaurante.getId(), cep);
-                        
-                        // Adicionar informações de entrega ao DTO
-                        dto.setDistanciaKm(taxaResponse.getDistancia());
-                        dto.setTempoEntregaEstimado(taxaResponse.getTempoEstimado());
-                        dto.setTaxaEntregaCalculada(taxaResponse.getTaxaEntrega());
-                        dto.setEntregaDisponivel(taxaResponse.getEntregaDisponivel());
-                        
-                    } catch (Exception e) {
-                        logger.warn("Erro ao calcular distância para restaurante {}: {}", restaurante.getId(), e.getMessage());
-                        // Definir valores padrão em caso de erro
-                        dto.setDistanciaKm(999.0); // Distância alta para ficar no final da lista
-                        dto.setTempoEntregaEstimado("Indisponível");
-                        dto.setEntregaDisponivel(false);
-                    }
-                    
-                    return dto;
-                })
-                .filter(dto -> dto.getEntregaDisponivel() != null && dto.getEntregaDisponivel()) // Apenas com entrega disponível
-                .sorted((a, b) -> {
-                    // Ordenar por distância (mais próximo primeiro)
-                    if (a.getDistanciaKm() == null) return 1;
-                    if (b.getDistanciaKm() == null) return -1;
-                    return Double.compare(a.getDistanciaKm(), b.getDistanciaKm());
-                })
-                .limit(20) // Limitar a 20 restaurantes mais próximos
+        long centroide = cepCentroides.localizar(Integer.parseInt(cepLimpo));
+        if (centroide == CepCentroideTabela.NAO_ENCONTRADO) {
+            logger.info("CEP {} fora da área de cobertura", cep);
+            return List.of();
+        }
+        
+        // Candidatos: restaurantes sem zonas pelo raio global e restaurantes cujas zonas cobrem o CEP;
+        // taxa calculada só para eles, com uma consulta ao banco
+        double latitude = CepCentroideTabela.latitude(centroide);
+        double longitude = CepCentroideTabela.longitude(centroide);
+        int quantidade = LIMITE_PROXIMOS + MARGEM_CANDIDATOS_PROXIMOS;
+        Set<Long> unicos = new LinkedHashSet<>(restauranteGeoIndice.maisProximos(latitude, longitude, quantidade,
+                TaxaEntregaService.raioMaximoKm(), zonasEntregaIndice::possuiZonas));
+        unicos.addAll(zonasEntregaIndice.quemEntrega(latitude, longitude, quantidade));
+        List<Long> candidatos = new ArrayList<>(unicos);
+        Map<Long, Restaurante> porId = new HashMap<>();
+        for (Restaurante restaurante : restauranteRepository.findAllById(candidatos)) {
+            porId.put(restaurante.getId(), restaurante);
+        }
+        List<Restaurante> restaurantes = candidatos.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        List<TaxaEntregaResponse> taxas = taxaEntregaService.calcularTaxas(cep, restaurantes);
+        
+        List<RestauranteResponseDTO> restaurantesComDistancia = new ArrayList<>();
+        for (int i = 0; i < restaurantes.size(); i++) {
+            TaxaEntregaResponse taxaResponse = taxas.get(i);
+            if (!Boolean.TRUE.equals(taxaResponse.getEntregaDisponivel())) {
+                continue;
+            }
+            RestauranteResponseDTO dto = convertToResponseDTO(restaurantes.get(i));
+            dto.setDistanciaKm(taxaResponse.getDistancia());
+            dto.setTempoEntregaEstimado(taxaResponse.getTempoEstimado());
+            dto.setTaxaEntregaCalculada(taxaResponse.getTaxaEntrega());
+            dto.setEntregaDisponivel(true);
+            restaurantesComDistancia.add(dto);
+        }
+        
+        // Mais próximo primeiro pela distância de entrega (arredondada); candidatos já vêm em ordem de linha reta
+        restaurantesComDistancia.sort(Comparator.comparing(RestauranteResponseDTO::getDistanciaKm));
+        if (restaurantesComDistancia.size() > LIMITE_PROXIMOS) {
+            restaurantesComDistancia = new ArrayList<>(restaurantesComDistancia.subList(0, LIMITE_PROXIMOS));
+        }
         
         logger.info("Encontrados {} restaurantes próximos ao CEP {}", restaurantesComDistancia.size(), cep);
         return restaurantesComDistancia;
@@ -482,90 +631,56 @@ public class RestauranteService implements RestauranteServiceInterface {
     /**
      * Obtém estatísticas dos restaurantes
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EstatisticasRestauranteDTO obterEstatisticas() {
         logger.info("Obtendo estatísticas dos restaurantes");
         
-        long totalRestaurantes = restauranteRepository.count();
-        long restaurantesAtivos = restauranteRepository.countByAtivo(true);
-        long restaurantesInativos = totalRestaurantes - restaurantesAtivos;
-        long totalCategorias = restauranteRepository.countCategoriasAtivas();
-        
-        // Calcular avaliação média
-        List<Restaurante> todosRestaurantes = restauranteRepository.findAll();
-        double avaliacaoMedia = todosRestaurantes.stream()
-                .filter(r -> r.getAvaliacao() != null)
-                .mapToDouble(Restaurante::getAvaliacao)
-                .average()
-                .orElse(0.0);
-        
-        // Calcular taxa média
-        double taxaMedia = todosRestaurantes.stream()
-                .filter(r -> r.getTaxaEntrega() != null)
-                .mapToDouble(r -> r.getTaxaEntrega().doubleValue())
-                .average()
-                .orElse(0.0);
-        
-        return new EstatisticasRestauranteDTO(
-                totalRestaurantes,
-                restaurantesAtivos,
-                restaurantesInativos,
-                totalCategorias,
-                avaliacaoMedia,
-                taxaMedia
-        );
+        return restauranteEstatisticas.atual();
     }
     
     /**
      * Obtém lista de categorias disponíveis
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<String> obterCategorias() {
         logger.info("Obtendo lista de categorias");
         
-        return restauranteRepository.findAll().stream()
-                .map(Restaurante::getCategoria)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return restauranteCatalogo.atual().categorias();
     }
     
     /**
      * Obtém sugestões de busca baseadas no texto
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<String> obterSugestoes(String texto) {
-        logger.info("Obtendo sugestões para: {}", texto);
+        return obterSugestoes(texto, 10);
+    }
+
+    /**
+     * Sugestões de autocomplete; chamada a cada tecla, por isso só registra em debug
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> obterSugestoes(String texto, int limite) {
+        logger.debug("Obtendo sugestões para: {}", texto);
         
         if (texto == null || texto.trim().length() < 2) {
             return List.of();
         }
         
-        String textoLower = texto.toLowerCase().trim();
-        
-        return restauranteRepository.findAll().stream()
-                .filter(Restaurante::isAtivo)
-                .flatMap(r -> List.of(r.getNome(), r.getCategoria()).stream())
-                .distinct()
-                .filter(s -> s.toLowerCase().contains(textoLower))
-                .sorted()
-                .limit(10)
-                .collect(Collectors.toList());
+        return restauranteCatalogo.atual().sugestoes(texto.trim(), Math.max(1, Math.min(limite, 20)));
     }
     
     /**
-     * Verifica se existe restaurante com nome similar
+     * Verifica se existe restaurante, ativo ou não, com nome quase igual (mesmos trigramas em boa parte,
+     * sem diferenciar maiúsculas, acentos e pontuação)
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean existeNomeSimilar(String nome) {
         if (nome == null || nome.trim().isEmpty()) {
             return false;
         }
         
-        String nomeLimpo = nome.trim().toLowerCase();
-        
-        return restauranteRepository.findAll().stream()
-                .anyMatch(r -> r.getNome().toLowerCase().equals(nomeLimpo));
+        return !restauranteNomesIndice.buscarSimilares(nome, 1).isEmpty();
     }
     
     // Métodos utilitários privados
@@ -589,6 +704,17 @@ public class RestauranteService implements RestauranteServiceInterface {
         if (dto.getAvaliacao() != null && (dto.getAvaliacao() < 1.0 || dto.getAvaliacao() > 5.0)) {
             throw new BusinessException("Avaliação deve estar entre 1.0 e 5.0");
         }
+
+        validarLocalizacao(dto.getLatitude(), dto.getLongitude());
+    }
+
+    /**
+     * Sem coordenadas a cotação de entrega fica indisponível e o restaurante não recebe pedidos
+     */
+    private void validarLocalizacao(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new BusinessException("Latitude e longitude do restaurante são obrigatórias para o cálculo da entrega");
+        }
     }
     
     /**
@@ -601,6 +727,8 @@ public class RestauranteService implements RestauranteServiceInterface {
         restaurante.setEndereco(dto.getEndereco());
         restaurante.setTaxaEntrega(dto.getTaxaEntrega());
         restaurante.setAvaliacao(dto.getAvaliacao() != null ? dto.getAvaliacao() : 5.0);
+        restaurante.setLatitude(dto.getLatitude());
+        restaurante.setLongitude(dto.getLongitude());
         return restaurante;
     }
     
@@ -608,35 +736,7 @@ public class RestauranteService implements RestauranteServiceInterface {
      * Converte entidade para DTO de resposta
      */
     private RestauranteResponseDTO convertToResponseDTO(Restaurante restaurante) {
-        RestauranteResponseDTO dto = new RestauranteResponseDTO();
-        dto.setId(restaurante.getId());
-        dto.setNome(restaurante.getNome());
-        dto.setCategoria(restaurante.getCategoria());
-        dto.setEndereco(restaurante.getEndereco());
-        dto.setTaxaEntrega(restaurante.getTaxaEntrega());
-        dto.setAvaliacao(restaurante.getAvaliacao());
-        dto.setAtivo(restaurante.isAtivo());
-        
-        // Definir timestamps se disponíveis na entidade
-        try {
-            java.lang.reflect.Field criadoEmField = restaurante.getClass().getDeclaredField("criadoEm");
-            criadoEmField.setAccessible(true);
-            LocalDateTime criadoEm = (LocalDateTime) criadoEmField.get(restaurante);
-            dto.setCriadoEm(criadoEm);
-        } catch (Exception e) {
-            // Campo não existe, mantém null
-        }
-        
-        try {
-            java.lang.reflect.Field atualizadoEmField = restaurante.getClass().getDeclaredField("atualizadoEm");
-            atualizadoEmField.setAccessible(true);
-            LocalDateTime atualizadoEm = (LocalDateTime) atualizadoEmField.get(restaurante);
-            dto.setAtualizadoEm(atualizadoEm);
-        } catch (Exception e) {
-            // Campo não existe, mantém null
-        }
-        
-        return dto;
+        return RestauranteResponseDTO.from(restaurante);
     }
     
 
@@ -644,7 +744,10 @@ public class RestauranteService implements RestauranteServiceInterface {
     // Métodos legados para compatibilidade (deprecated)
     @Deprecated
     public Restaurante cadastrar(Restaurante restaurante) {
-        return restauranteRepository.save(restaurante);
+        validarLocalizacao(restaurante.getLatitude(), restaurante.getLongitude());
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        publicarAlteracao(salvo);
+        return salvo;
     }
     
     @Deprecated
@@ -677,8 +780,14 @@ public class RestauranteService implements RestauranteServiceInterface {
         restauranteExistente.setEndereco(restaurante.getEndereco());
         restauranteExistente.setTaxaEntrega(restaurante.getTaxaEntrega());
         restauranteExistente.setAvaliacao(restaurante.getAvaliacao());
-        
-        return restauranteRepository.save(restauranteExistente);
+        if (restaurante.getLatitude() != null || restaurante.getLongitude() != null) {
+            restauranteExistente.setLatitude(restaurante.getLatitude());
+            restauranteExistente.setLongitude(restaurante.getLongitude());
+        }
+        validarLocalizacao(restauranteExistente.getLatitude(), restauranteExistente.getLongitude());
+        Restaurante salvo = restauranteRepository.save(restauranteExistente);
+        publicarAlteracao(salvo);
+        return salvo;
     }
     
     @Deprecated
@@ -686,6 +795,7 @@ public class RestauranteService implements RestauranteServiceInterface {
         Restaurante restaurante = buscarPorIdLegado(id);
         restaurante.setAtivo(ativo);
         restauranteRepository.save(restaurante);
+        publicarAlteracao(restaurante);
     }
     
     @Deprecated
@@ -695,5 +805,15 @@ public class RestauranteService implements RestauranteServiceInterface {
 
     public void deletarRestaurante(Long id) {
         restauranteRepository.deleteById(id);
+        eventPublisher.publishEvent(new RestauranteRemovido(id));
+    }
+
+    /**
+     * Publica a alteração para os índices em memória e o cache de cotações, que a aplicam depois do commit
+     * (RestauranteAlterado). As zonas são carregadas aqui, ainda na transação, para serem recompiladas depois
+     */
+    private void publicarAlteracao(Restaurante restaurante) {
+        Hibernate.initialize(restaurante.getZonasEntrega());
+        eventPublisher.publishEvent(new RestauranteAlterado(restaurante));
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.util.TextoUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Índice de autocomplete imutável sobre os termos de sugestão (nomes e categorias dos restaurantes ativos)
+ *
+ * Termos são numerados na ordem de ranking (avaliação, depois quantidade de restaurantes, depois nome).
+ * Cada palavra normalizada (minúscula, sem acento) de cada termo vira uma entrada num vetor ordenado;
+ * um prefixo corresponde a um intervalo contíguo achado por busca binária, e as melhores sugestões são
+ * as de menor número no intervalo, com o termo que começa pelo prefixo antes do que só o contém
+ */
+final class SugestoesIndice {
+
+    private final String[] termos;
+    private final String[][] palavrasPorTermo;
+    // Vetor de palavras ordenado, com o termo e a posição da palavra no termo em vetores paralelos
+    private final String[] palavras;
+    private final int[] termoDaPalavra;
+    private final boolean[] primeiraPalavra;
+
+    /**
+     * Termo de sugestão com os dados de ranking
+     */
+    record Termo(String texto, double avaliacao, int restaurantes) {
+    }
+
+    SugestoesIndice(List<Termo> candidatos) {
+        List<Termo> ordenados = new ArrayList<>(candidatos);
+        ordenados.sort(Comparator.comparingDouble(Termo::avaliacao).reversed()
+                .thenComparing(Comparator.comparingInt(Termo::restaurantes).reversed())
+                .thenComparing(Termo::texto));
+
+        termos = new String[ordenados.size()];
+        palavrasPorTermo = new String[ordenados.size()][];
+        int totalPalavras = 0;
+        for (int i = 0; i < ordenados.size(); i++) {
+            termos[i] = ordenados.get(i).texto();
+            palavrasPorTermo[i] = TextoUtils.palavras(termos[i]);
+            totalPalavras += palavrasPorTermo[i].length;
+        }
+
+        Integer[] ordem = new Integer[totalPalavras];
+        String[] todas = new String[totalPalavras];
+        int[] termoDe = new int[totalPalavras];
+        boolean[] primeira = new boolean[totalPalavras];
+        int p = 0;
+        for (int t = 0; t < termos.length; t++) {
+            for (int w = 0; w < palavrasPorTermo[t].length; w++) {
+                todas[p] = palavrasPorTermo[t][w];
+                termoDe[p] = t;
+                primeira[p] = w == 0;
+                ordem[p] = p;
+                p++;
+            }
+        }
+        Arrays.sort(ordem, Comparator.comparing((Integer i) -> todas[i]));
+
+        palavras = new String[totalPalavras];
+        termoDaPalavra = new int[totalPalavras];
+        primeiraPalavra = new boolean[totalPalavras];
+        for (int i = 0; i < totalPalavras; i++) {
+            palavras[i] = todas[ordem[i]];
+            termoDaPalavra[i] = termoDe[ordem[i]];
+            primeiraPalavra[i] = primeira[ordem[i]];
+        }
+    }
+
+    /**
+     * Até limite termos cujas palavras começam pelas palavras do texto (a última pode estar incompleta)
+     */
+    List<String> sugerir(String texto, int limite) {
+        String[] consulta = TextoUtils.palavras(texto);
+        if (consulta.length == 0 || limite <= 0 || palavras.length == 0) {
+            return List.of();
+        }
+
+        // A palavra mais longa da consulta dá o menor intervalo; as demais são conferidas no termo
+        String chave = consulta[0];
+        for (String palavra : consulta) {
+            if (palavra.length() > chave.length()) {
+                chave = palavra;
+            }
+        }
+        int inicio = primeiroMaiorOuIgual(chave);
+        int fim = inicio;
+        while (fim < palavras.length && palavras[fim].startsWith(chave)) {
+            fim++;
+        }
+
+        // Menores pontuações: termos que começam pelo prefixo, depois os demais, cada grupo em ordem de ranking
+        long[] melhores = new long[limite];
+        int encontrados = 0;
+        for (int i = inicio; i < fim; i++) {
+            int termo = termoDaPalavra[i];
+            long pontuacao = (primeiraPalavra[i] ? 0L : termos.length) + termo;
+            if (encontrados == limite && pontuacao >= melhores[limite - 1]) {
+                continue;
+            }
+            // O mesmo termo pode aparecer por outra palavra; fica a menor pontuação
+            int repetido = posicaoDoTermo(melhores, encontrados, termo);
+            if (repetido >= 0 ? melhores[repetido] <= pontuacao : !atende(palavrasPorTermo[termo], consulta)) {
+                continue;
+            }
+            int posicao = repetido >= 0 ? repetido : encontrados < limite ? encontrados++ : limite - 1;
+            while (posicao > 0 && melhores[posicao - 1] > pontuacao) {
+                melhores[posicao] = melhores[posicao - 1];
+                posicao--;
+            }
+            melhores[posicao] = pontuacao;
+        }
+
+        List<String> sugestoes = new ArrayList<>(encontrados);
+        for (int i = 0; i < encontrados; i++) {
+            sugestoes.add(termos[(int) (melhores[i] % termos.length)]);
+        }
+        return sugestoes;
+    }
+
+    int quantidadeTermos() {
+        return termos.length;
+    }
+
+    private int primeiroMaiorOuIgual(String chave) {
+        int baixo = 0;
+        int alto = palavras.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (palavras[meio].compareTo(chave) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private int posicaoDoTermo(long[] melhores, int encontrados, int termo) {
+        for (int i = 0; i < encontrados; i++) {
+            if (melhores[i] % termos.length == termo) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cada palavra da consulta é prefixo de uma palavra distinta do termo
+     */
+    private static boolean atende(String[] palavrasTermo, String[] consulta) {
+        if (consulta.length == 1) {
+            return true;
+        }
+        boolean[] usadas = new boolean[palavrasTermo.length];
+        for (String palavra : consulta) {
+            boolean achou = false;
+            for (int i = 0; i < palavrasTermo.length && !achou; i++) {
+                if (!usadas[i] && palavrasTermo[i].startsWith(palavra)) {
+                    usadas[i] = true;
+                    achou = true;
+                }
+            }
+            if (!achou) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,273 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RegrasPrecoPicoDTO;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Regras de pico compiladas: por zona, um vetor com o adicional em centavos de cada minuto da semana
+ * (10.080 posições, segunda 00:00 = 0) e outro com os 1.440 minutos de um dia de feriado, já com o
+ * multiplicador de demanda aplicado. Imutável; uma alteração de regras compila uma tabela nova
+ */
+final class TabelaPrecoPico {
+
+    static final int MINUTOS_DIA = 1440;
+    static final int MINUTOS_SEMANA = 7 * MINUTOS_DIA;
+
+    private final RegrasPrecoPicoDTO regras;
+    private final String[] nomes;
+    private final int[][] semana;
+    private final int[][] feriado;
+    private final List<Set<LocalDate>> feriados;
+    private final boolean[] feriadosNacionais;
+
+    // Faixas de CEP ordenadas pelo início, para busca binária
+    private final int[] faixaInicio;
+    private final int[] faixaFim;
+    private final int[] faixaZona;
+    private final int zonaPadrao;
+
+    // Minutos em que o adicional de alguma zona muda em relação ao minuto anterior
+    private final int[] mudancasSemana;
+    private final int[] mudancasFeriado;
+    private final boolean temFeriados;
+
+    private TabelaPrecoPico(RegrasPrecoPicoDTO regras) {
+        this.regras = regras;
+        List<RegrasPrecoPicoDTO.Zona> zonas = regras.zonas() != null ? regras.zonas() : List.of();
+        int quantidade = zonas.size();
+        this.nomes = new String[quantidade];
+        this.semana = new int[quantidade][];
+        this.feriado = new int[quantidade][];
+        this.feriados = new ArrayList<>(quantidade);
+        this.feriadosNacionais = new boolean[quantidade];
+
+        Set<String> nomesVistos = new HashSet<>();
+        List<Integer> comFaixa = new ArrayList<>();
+        int padrao = -1;
+        boolean algumFeriado = false;
+        for (int z = 0; z < quantidade; z++) {
+            RegrasPrecoPicoDTO.Zona zona = zonas.get(z);
+            if (zona.nome() == null || !nomesVistos.add(zona.nome())) {
+                throw new BusinessException("REGRA_PICO_INVALIDA", "Nome de zona ausente ou repetido: " + zona.nome());
+            }
+            nomes[z] = zona.nome();
+
+            if (zona.cepInicio() == null && zona.cepFim() == null) {
+                if (padrao >= 0) {
+                    throw new BusinessException("REGRA_PICO_INVALIDA",
+                            "Apenas uma zona pode ficar sem faixa de CEP: " + nomes[padrao] + ", " + zona.nome());
+                }
+                padrao = z;
+            } else if (zona.cepInicio() == null || zona.cepFim() == null || zona.cepInicio() > zona.cepFim()) {
+                throw new BusinessException("REGRA_PICO_INVALIDA", "Faixa de CEP inválida na zona " + zona.nome());
+            } else {
+                comFaixa.add(z);
+            }
+
+            BigDecimal multiplicador = zona.multiplicadorDemanda() != null ? zona.multiplicadorDemanda() : BigDecimal.ONE;
+            semana[z] = new int[MINUTOS_SEMANA];
+            for (RegrasPrecoPicoDTO.Janela janela : listaOuVazia(zona.janelas())) {
+                if (janela.dias() == null || janela.dias().isEmpty()) {
+                    throw new BusinessException("REGRA_PICO_INVALIDA",
+                            "Janela sem dias da semana na zona " + zona.nome());
+                }
+                int centavos = centavos(janela, multiplicador);
+                for (var dia : janela.dias()) {
+                    preencher(semana[z], (dia.getValue() - 1) * MINUTOS_DIA, janela, centavos, true);
+                }
+            }
+
+            feriado[z] = new int[MINUTOS_DIA];
+            for (RegrasPrecoPicoDTO.Janela janela : listaOuVazia(zona.janelasFeriado())) {
+                preencher(feriado[z], 0, janela, centavos(janela, multiplicador), false);
+            }
+            Set<LocalDate> datas = Set.copyOf(listaOuVazia(zona.feriados()));
+            feriados.add(datas);
+            feriadosNacionais[z] = Boolean.TRUE.equals(zona.feriadosNacionais());
+            algumFeriado |= !datas.isEmpty() || feriadosNacionais[z];
+        }
+
+        comFaixa.sort(Comparator.comparingInt(z -> zonas.get(z).cepInicio()));
+        this.faixaInicio = new int[comFaixa.size()];
+        this.faixaFim = new int[comFaixa.size()];
+        this.faixaZona = new int[comFaixa.size()];
+        for (int i = 0; i < comFaixa.size(); i++) {
+            RegrasPrecoPicoDTO.Zona zona = zonas.get(comFaixa.get(i));
+            if (i > 0 && zona.cepInicio() <= faixaFim[i - 1]) {
+                throw new BusinessException("REGRA_PICO_INVALIDA",
+                        "Faixas de CEP sobrepostas: " + nomes[faixaZona[i - 1]] + ", " + zona.nome());
+            }
+            faixaInicio[i] = zona.cepInicio();
+            faixaFim[i] = zona.cepFim();
+            faixaZona[i] = comFaixa.get(i);
+        }
+        this.zonaPadrao = padrao;
+        this.mudancasSemana = mudancas(semana, MINUTOS_SEMANA, true);
+        this.mudancasFeriado = mudancas(feriado, MINUTOS_DIA, false);
+        this.temFeriados = algumFeriado;
+    }
+
+    /**
+     * Compila as regras; lança BusinessException se forem inconsistentes
+     */
+    static TabelaPrecoPico compilar(RegrasPrecoPicoDTO regras) {
+        return new TabelaPrecoPico(regras);
+    }
+
+    RegrasPrecoPicoDTO getRegras() {
+        return regras;
+    }
+
+    int quantidadeZonas() {
+        return nomes.length;
+    }
+
+    /**
+     * Índice da zona do CEP, a zona sem faixa para CEPs não cobertos, ou -1 se não houver nenhuma
+     */
+    int zonaDe(int cep) {
+        int baixo = 0;
+        int alto = faixaInicio.length - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (faixaInicio[meio] > cep) {
+                alto = meio - 1;
+            } else if (faixaFim[meio] < cep) {
+                baixo = meio + 1;
+            } else {
+                return faixaZona[meio];
+            }
+        }
+        return zonaPadrao;
+    }
+
+    /**
+     * Adicional da zona no minuto da semana, ou no minuto do dia quando a data é feriado na zona
+     */
+    int centavos(int zona, int minutoSemana, boolean feriadoNaZona) {
+        return feriadoNaZona ? feriado[zona][minutoSemana % MINUTOS_DIA] : semana[zona][minutoSemana];
+    }
+
+    /**
+     * Data avulsa da zona ou, quando a zona usa o calendário nacional, feriado nacional daquele ano
+     */
+    boolean isFeriado(int zona, LocalDate data) {
+        return feriados.get(zona).contains(data) || (feriadosNacionais[zona] && FeriadosNacionais.contem(data));
+    }
+
+    /**
+     * Intervalo em torno do instante (truncado ao minuto) em que nenhuma zona muda de adicional
+     * Com feriados cadastrados o intervalo não atravessa a meia-noite, onde o calendário pode mudar
+     */
+    LocalDateTime[] intervaloEm(LocalDateTime minuto, boolean algumaZonaEmFeriado) {
+        int minutoSemana = minutoDaSemana(minuto);
+        int anterior = minutoSemana - anteriorOuIgual(mudancasSemana, minutoSemana, MINUTOS_SEMANA);
+        int proximo = posterior(mudancasSemana, minutoSemana, MINUTOS_SEMANA) - minutoSemana;
+
+        if (temFeriados) {
+            int minutoDia = minutoSemana % MINUTOS_DIA;
+            anterior = Math.min(anterior, minutoDia);
+            proximo = Math.min(proximo, MINUTOS_DIA - minutoDia);
+            if (algumaZonaEmFeriado) {
+                anterior = Math.min(anterior, minutoDia - anteriorOuIgual(mudancasFeriado, minutoDia, MINUTOS_DIA));
+                proximo = Math.min(proximo, posterior(mudancasFeriado, minutoDia, MINUTOS_DIA) - minutoDia);
+            }
+        }
+        return new LocalDateTime[] { minuto.minusMinutes(anterior), minuto.plusMinutes(proximo) };
+    }
+
+    static int minutoDaSemana(LocalDateTime instante) {
+        return (instante.getDayOfWeek().getValue() - 1) * MINUTOS_DIA
+                + instante.getHour() * 60 + instante.getMinute();
+    }
+
+    /**
+     * Adicional da janela em centavos com o multiplicador de demanda, arredondado como Money
+     */
+    private static int centavos(RegrasPrecoPicoDTO.Janela janela, BigDecimal multiplicador) {
+        return Math.toIntExact(Money.centavosDe(janela.adicional().multiply(multiplicador)));
+    }
+
+    /**
+     * Marca [inicio, fim) a partir da base; na semana a janela que passa da meia-noite continua no dia seguinte
+     * (domingo continua na segunda), no feriado ela termina à meia-noite. Sobreposição: vale o maior adicional
+     */
+    private static void preencher(int[] minutos, int base, RegrasPrecoPicoDTO.Janela janela, int centavos,
+                                  boolean circular) {
+        int inicio = minutoDoDia(janela.inicio());
+        int fim = minutoDoDia(janela.fim());
+        int duracao = fim > inicio ? fim - inicio : MINUTOS_DIA - inicio + fim;
+        if (!circular) {
+            duracao = Math.min(duracao, MINUTOS_DIA - inicio);
+        }
+        for (int i = 0; i < duracao; i++) {
+            int posicao = (base + inicio + i) % minutos.length;
+            minutos[posicao] = Math.max(minutos[posicao], centavos);
+        }
+    }
+
+    private static int[] mudancas(int[][] porZona, int tamanho, boolean circular) {
+        int[] pontos = new int[tamanho];
+        int quantidade = 0;
+        for (int minuto = 0; minuto < tamanho; minuto++) {
+            if (minuto == 0 && !circular) {
+                continue;
+            }
+            int anterior = (minuto + tamanho - 1) % tamanho;
+            for (int[] minutos : porZona) {
+                if (minutos[minuto] != minutos[anterior]) {
+                    pontos[quantidade++] = minuto;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(pontos, quantidade);
+    }
+
+    /**
+     * Última mudança até o minuto; sem nenhuma antes, a última do ciclo anterior (ou um ciclo inteiro)
+     */
+    private static int anteriorOuIgual(int[] mudancas, int minuto, int ciclo) {
+        int posicao = Arrays.binarySearch(mudancas, minuto);
+        if (posicao >= 0) {
+            return minuto;
+        }
+        int insercao = -posicao - 1;
+        if (insercao > 0) {
+            return mudancas[insercao - 1];
+        }
+        return mudancas.length > 0 ? mudancas[mudancas.length - 1] - ciclo : minuto - ciclo;
+    }
+
+    /**
+     * Primeira mudança depois do minuto; sem nenhuma depois, a primeira do próximo ciclo (ou um ciclo inteiro)
+     */
+    private static int posterior(int[] mudancas, int minuto, int ciclo) {
+        int posicao = Arrays.binarySearch(mudancas, minuto + 1);
+        int insercao = posicao >= 0 ? posicao : -posicao - 1;
+        if (insercao < mudancas.length) {
+            return mudancas[insercao];
+        }
+        return mudancas.length > 0 ? mudancas[0] + ciclo : minuto + ciclo;
+    }
+
+    private static int minutoDoDia(LocalTime horario) {
+        return horario.getHour() * 60 + horario.getMinute();
+    }
+
+    private static <T> List<T> listaOuVazia(List<T> lista) {
+        return lista != null ? lista : List.of();
+    }
+}
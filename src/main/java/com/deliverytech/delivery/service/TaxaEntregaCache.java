@@ -0,0 +1,204 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache local de cotações de taxa de entrega por (restaurante, CEP, janela de preço)
+ *
+ * Limitado em quantidade, com descarte do menos usado. Todas as entradas pertencem à janela de preço
+ * corrente: na virada da janela, ou na troca das regras de pico, o cache é esvaziado. Alterações no restaurante removem as suas entradas
+ * e avançam a geração, descartando cálculos que começaram antes da alteração
+ *
+ * As alterações confirmadas em outras instâncias chegam pela geração compartilhada com a listagem de
+ * restaurantes (GeracaoListagem): quando ela muda, o cache é esvaziado. Sem acesso a ela, nada é servido
+ * do cache. O prazo de validade de cada cotação limita o atraso caso um avanço se perca
+ */
+@Component
+public class TaxaEntregaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxaEntregaCache.class);
+
+    private final GeracaoListagem geracaoCompartilhada;
+    private final int capacidadeMaxima;
+    private final long validadeMs;
+    private final Clock clock;
+    private final Map<Chave, Entrada> entradas;
+    private final AtomicLong geracao = new AtomicLong();
+    private long sequenciaJanela;
+    private Long geracaoCompartilhadaVista;
+
+    private final Counter hitsCounter;
+    private final Counter missesCounter;
+    private final AtomicLong descartes = new AtomicLong();
+
+    @Autowired
+    public TaxaEntregaCache(GeracaoListagem geracaoCompartilhada, MeterRegistry meterRegistry,
+                            @Value("${api.taxa-entrega.cache.capacidade:10000}") int capacidadeMaxima,
+                            @Value("${api.taxa-entrega.cache.validade-ms:60000}") long validadeMs) {
+        this(geracaoCompartilhada, meterRegistry, capacidadeMaxima, validadeMs, Clock.systemUTC());
+    }
+
+    TaxaEntregaCache(GeracaoListagem geracaoCompartilhada, MeterRegistry meterRegistry, int capacidadeMaxima,
+                     long validadeMs, Clock clock) {
+        this.geracaoCompartilhada = geracaoCompartilhada;
+        this.capacidadeMaxima = capacidadeMaxima;
+        this.validadeMs = validadeMs;
+        this.clock = clock;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> eldest) {
+                if (size() > TaxaEntregaCache.this.capacidadeMaxima) {
+                    descartes.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hitsCounter = Counter.builder("taxa.entrega.cache.consultas")
+                .description("Cotações de taxa de entrega servidas pelo cache")
+                .tag("resultado", "hit")
+                .register(meterRegistry);
+        this.missesCounter = Counter.builder("taxa.entrega.cache.consultas")
+                .description("Cotações de taxa de entrega calculadas")
+                .tag("resultado", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("taxa.entrega.cache.descartes", descartes, AtomicLong::get)
+                .description("Cotações descartadas por limite de capacidade")
+                .register(meterRegistry);
+        Gauge.builder("taxa.entrega.cache.tamanho", this, TaxaEntregaCache::tamanho)
+                .description("Cotações em cache na janela de preço atual")
+                .register(meterRegistry);
+        Gauge.builder("taxa.entrega.cache.hit.ratio", this, TaxaEntregaCache::taxaAcerto)
+                .description("Proporção de cotações servidas pelo cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cópia da cotação em cache, ou null se não houver cotação válida para a janela informada
+     * As alterações de outras instâncias só são vistas na leitura da geração, que deve vir antes
+     */
+    public TaxaEntregaResponse buscar(long restauranteId, int cep, JanelaPreco janela) {
+        long agora = clock.millis();
+        Entrada entrada;
+        synchronized (this) {
+            entrada = janelaCorrente(janela) && geracaoCompartilhadaVista != null
+                    ? entradas.get(new Chave(restauranteId, cep)) : null;
+        }
+        if (entrada == null || agora >= entrada.expiraEm()) {
+            missesCounter.increment();
+            return null;
+        }
+        hitsCounter.increment();
+        return entrada.cotacao().copiar();
+    }
+
+    /**
+     * Geração atual, lida antes de buscar no cache e de carregar o restaurante, e repassada a salvar
+     * Se a geração compartilhada mudou desde a última leitura, ou não pôde ser lida, o cache é esvaziado
+     * e a geração local avança, descartando também os cálculos em andamento
+     */
+    public long geracao() {
+        Long compartilhada = lerGeracaoCompartilhada();
+        synchronized (this) {
+            if (compartilhada == null || !compartilhada.equals(geracaoCompartilhadaVista)) {
+                entradas.clear();
+                geracao.incrementAndGet();
+                geracaoCompartilhadaVista = compartilhada;
+            }
+            return geracao.get();
+        }
+    }
+
+    /**
+     * Guarda a cotação se nenhum restaurante foi alterado desde a leitura da geração
+     * e a janela ainda é a corrente; sem acesso à geração compartilhada, não guarda
+     */
+    public synchronized void salvar(long restauranteId, int cep, JanelaPreco janela,
+                                    long geracaoLida, TaxaEntregaResponse cotacao) {
+        if (geracaoLida != geracao.get() || janela.sequencia() != sequenciaJanela || geracaoCompartilhadaVista == null) {
+            return;
+        }
+        entradas.put(new Chave(restauranteId, cep), new Entrada(cotacao.copiar(), clock.millis() + validadeMs));
+    }
+
+    /**
+     * Alterações no restaurante (taxa base, status, localização ou zonas) chegam depois do commit,
+     * logo após a recompilação das zonas (ZonasEntregaIndice); fora de transação, na hora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void aoAlterar(RestauranteAlterado evento) {
+        invalidarRestaurante(evento.restaurante().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void aoRemover(RestauranteRemovido evento) {
+        invalidarRestaurante(evento.id());
+    }
+
+    /**
+     * Remove as cotações do restaurante e avança a geração
+     */
+    public synchronized void invalidarRestaurante(long restauranteId) {
+        geracao.incrementAndGet();
+        entradas.keySet().removeIf(chave -> chave.restauranteId() == restauranteId);
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public double taxaAcerto() {
+        double hits = hitsCounter.count();
+        double total = hits + missesCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    /**
+     * Quando chega uma janela de sequência maior, todas as entradas anteriores expiraram
+     * Uma consulta atrasada com a janela anterior não volta o cache para trás
+     */
+    private boolean janelaCorrente(JanelaPreco janela) {
+        if (janela.sequencia() > sequenciaJanela) {
+            entradas.clear();
+            sequenciaJanela = janela.sequencia();
+        }
+        return janela.sequencia() == sequenciaJanela;
+    }
+
+    private Long lerGeracaoCompartilhada() {
+        try {
+            return geracaoCompartilhada.atual();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao ler a geração compartilhada de restaurantes: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record Chave(long restauranteId, int cep) {
+    }
+
+    private record Entrada(TaxaEntregaResponse cotacao, long expiraEm) {
+    }
+}
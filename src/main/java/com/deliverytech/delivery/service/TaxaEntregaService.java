@@ -1,9 +1,12 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.CalculoTaxaMultiplaDTO;
 import com.deliverytech.delivery.dto.TaxaEntregaResponse;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.model.Money;
 import com.deliverytech.delivery.model.Restaurante;
 import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.GeoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +15,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,22 +34,64 @@ public class TaxaEntregaService {
     private static final Pattern CEP_PATTERN = Pattern.compile("^\\d{5}-?\\d{3}$");
     
     // Configurações de taxa
-    private static final BigDecimal TAXA_MINIMA = new BigDecimal("2.00");
-    private static final BigDecimal TAXA_MAXIMA = new BigDecimal("25.00");
+    private static final Money TAXA_MINIMA = Money.deCentavos(200);
+    private static final Money TAXA_MAXIMA = Money.deCentavos(2500);
     private static final double DISTANCIA_MAXIMA = 30.0; // km
+    private static final double FATOR_ROTA = 1.3;
+    private static final Money TAXA_CLIMA = Money.deCentavos(150);
+    private static final Money TAXA_ATE_7_KM = Money.deCentavos(150);
+    private static final Money TAXA_ATE_12_KM = Money.deCentavos(300);
+    private static final Money TAXA_ATE_20_KM = Money.deCentavos(500);
+    private static final Money TAXA_ACIMA_20_KM = Money.deCentavos(800);
+    private static final int MINIMO_CALCULO_PARALELO = 16;
     
     @Autowired
     private RestauranteRepository restauranteRepository;
 
+    @Autowired
+    private CepCentroideTabela cepCentroides;
+
+    @Autowired
+    private TaxaEntregaCache taxaEntregaCache;
+
+    @Autowired
+    private PrecoPicoService precoPicoService;
+
+    @Autowired
+    private ZonasEntregaIndice zonasEntrega;
+
     /**
      * Calcula taxa de entrega completa para um restaurante e CEP
+     * Cotações já calculadas na janela de preço atual são reaproveitadas do cache
      */
     public TaxaEntregaResponse calcularTaxa(Long restauranteId, String cep) {
-        logger.info("Calculando taxa de entrega - Restaurante: {}, CEP: {}", restauranteId, cep);
+        JanelaPreco janela = precoPicoService.janelaAtual();
+        int cepNumerico = CepCentroideTabela.cepNumerico(cep);
+        long geracao = taxaEntregaCache.geracao();
+        if (cepNumerico >= 0) {
+            TaxaEntregaResponse emCache = taxaEntregaCache.buscar(restauranteId, cepNumerico, janela);
+            if (emCache != null) {
+                return emCache;
+            }
+        }
 
-        // Validar restaurante
         Restaurante restaurante = restauranteRepository.findById(restauranteId)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante", restauranteId));
+        return calcularESalvar(restaurante, cep, cepNumerico, janela, geracao);
+    }
+
+    private TaxaEntregaResponse calcularESalvar(Restaurante restaurante, String cep, int cepNumerico,
+                                                JanelaPreco janela, long geracao) {
+        TaxaEntregaResponse response = calcularTaxa(restaurante, cep, janela);
+        if (cepNumerico >= 0) {
+            taxaEntregaCache.salvar(restaurante.getId(), cepNumerico, janela, geracao, response);
+        }
+        return response;
+    }
+
+    private TaxaEntregaResponse calcularTaxa(Restaurante restaurante, String cep, JanelaPreco janela) {
+        Long restauranteId = restaurante.getId();
+        logger.info("Calculando taxa de entrega - Restaurante: {}, CEP: {}", restauranteId, cep);
 
         if (!restaurante.isAtivo()) {
             return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId,
@@ -52,53 +104,59 @@ public class TaxaEntregaService {
                     "CEP inválido ou não informado");
         }
 
+        if (restaurante.getLatitude() == null || restaurante.getLongitude() == null) {
+            return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId,
+                    "Restaurante sem localização cadastrada");
+        }
+
+        long centroide = cepCentroides.localizar(CepCentroideTabela.cepNumerico(cep));
+        if (centroide == CepCentroideTabela.NAO_ENCONTRADO) {
+            return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId,
+                    "CEP fora da área de cobertura");
+        }
+
         // Calcular distância e tempo
-        CalculoDistancia calculo = calcularDistanciaETempo(cep, restaurante);
+        CalculoDistancia calculo = calcularDistanciaETempo(centroide, restaurante);
+        BigDecimal taxaBase = restaurante.getTaxaEntrega();
 
-        // Verificar se atende a região
-        if (calculo.distancia > DISTANCIA_MAXIMA) {
+        // Verificar se atende a região: zonas próprias do restaurante ou, sem zonas, a distância máxima
+        if (zonasEntrega.possuiZonas(restauranteId)) {
+            taxaBase = zonasEntrega.taxaBaseEm(restauranteId,
+                    CepCentroideTabela.latitude(centroide), CepCentroideTabela.longitude(centroide));
+            if (taxaBase == null) {
+                return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId,
+                        "CEP fora das zonas de entrega do restaurante");
+            }
+        } else if (calculo.distancia > DISTANCIA_MAXIMA) {
             return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId,
                     String.format("Região muito distante (%.1f km). Máximo: %.1f km", 
                                  calculo.distancia, DISTANCIA_MAXIMA));
         }
 
         // Calcular taxas
-        BigDecimal taxaBase = restaurante.getTaxaEntrega();
-        BigDecimal taxaDistancia = calcularTaxaDistancia(calculo.distancia);
-        BigDecimal taxaHorario = calcularTaxaHorario();
-        BigDecimal taxaClima = calcularTaxaClima(cep);
-        
-        BigDecimal taxaTotal = taxaBase
-                .add(taxaDistancia)
-                .add(taxaHorario)
-                .add(taxaClima);
-
-        // Aplicar limites
-        if (taxaTotal.compareTo(TAXA_MINIMA) < 0) {
-            taxaTotal = TAXA_MINIMA;
-        }
-        if (taxaTotal.compareTo(TAXA_MAXIMA) > 0) {
-            taxaTotal = TAXA_MAXIMA;
-        }
+        Money taxaHorario = janela.adicional(CepCentroideTabela.cepNumerico(cep));
+        Money taxaClima = calcularTaxaClima(cep);
+        Money adicionais = calcularTaxaDistancia(calculo.distancia).mais(taxaHorario).mais(taxaClima);
+        Money taxaTotal = calcularTaxaTotal(taxaBase, adicionais);
 
         // Criar resposta
         TaxaEntregaResponse response = new TaxaEntregaResponse(
-                taxaTotal, calculo.distancia, calculo.tempoEstimado);
+                taxaTotal.toBigDecimal(), calculo.distancia, calculo.tempoEstimado);
 
         response.setCepDestino(formatarCEP(cep));
         response.setRestauranteId(restauranteId);
         response.setRestauranteNome(restaurante.getNome());
         response.setTaxaBase(taxaBase);
-        response.setTaxaDistancia(taxaDistancia.add(taxaHorario).add(taxaClima));
+        response.setTaxaDistancia(adicionais.toBigDecimal());
         response.setCalculadoEm(LocalDateTime.now());
         response.setEntregaDisponivel(true);
 
         // Adicionar observações
         StringBuilder obs = new StringBuilder();
-        if (taxaHorario.compareTo(BigDecimal.ZERO) > 0) {
+        if (taxaHorario.isPositivo()) {
             obs.append("Taxa de horário de pico aplicada. ");
         }
-        if (taxaClima.compareTo(BigDecimal.ZERO) > 0) {
+        if (taxaClima.isPositivo()) {
             obs.append("Taxa adicional por condições climáticas. ");
         }
         if (calculo.distancia > 15.0) {
@@ -119,66 +177,111 @@ public class TaxaEntregaService {
      * Calcula múltiplas taxas para comparação
      */
     public Map<Long, TaxaEntregaResponse> calcularTaxasMultiplas(String cep, Long... restauranteIds) {
-        logger.info("Calculando taxas múltiplas para CEP: {} e {} restaurantes", cep, restauranteIds.length);
-
-        Map<Long, TaxaEntregaResponse> resultados = new HashMap<>();
-
-        for (Long restauranteId : restauranteIds) {
-            try {
-                TaxaEntregaResponse taxa = calcularTaxa(restauranteId, cep);
-                resultados.put(restauranteId, taxa);
-            } catch (Exception e) {
-                logger.warn("Erro ao calcular taxa para restaurante {}: {}", restauranteId, e.getMessage());
-                resultados.put(restauranteId, 
-                    TaxaEntregaResponse.criarIndisponivel(cep, restauranteId, 
-                        "Erro no cálculo: " + e.getMessage()));
-            }
-        }
+        CalculoTaxaMultiplaDTO dto = new CalculoTaxaMultiplaDTO(cep, Arrays.asList(restauranteIds));
+        dto.setApenasAtivos(false);
 
+        Map<Long, TaxaEntregaResponse> resultados = new LinkedHashMap<>();
+        for (TaxaEntregaResponse taxa : calcularTaxasMultiplas(dto)) {
+            resultados.put(taxa.getRestauranteId(), taxa);
+        }
         return resultados;
     }
 
     /**
-     * Simula consulta de distância e tempo baseada no CEP
+     * Calcula as taxas de vários restaurantes com uma única consulta ao banco
+     * Ids repetidos são considerados uma vez; ids inexistentes voltam como indisponíveis.
+     * A lista segue a ordem dos ids, ou a taxa crescente (disponíveis primeiro) se ordenarPorTaxa
      */
-    private CalculoDistancia calcularDistanciaETempo(String cep, Restaurante restaurante) {
-        String cepLimpo = cep.replaceAll("[^0-9]", "");
-        
-        // Simular diferentes regiões baseadas no CEP
-        String prefixo = cepLimpo.substring(0, 2);
-        String sufixo = cepLimpo.substring(5, 8);
-        
-        // Calcular distância base por região
-        double distanciaBase = switch (prefixo) {
-            case "01", "02", "03", "04", "05" -> 2.0 + Math.random() * 3.0; // Centro SP
-            case "06", "07", "08", "09" -> 5.0 + Math.random() * 5.0; // Zona Leste/Oeste SP
-            case "10", "11", "12", "13" -> 8.0 + Math.random() * 7.0; // Grande SP
-            case "14", "15", "16", "17" -> 12.0 + Math.random() * 8.0; // Interior SP
-            case "20", "21", "22", "23" -> 15.0 + Math.random() * 10.0; // RJ
-            case "30", "31", "32" -> 18.0 + Math.random() * 7.0; // BH
-            case "40", "41", "42" -> 20.0 + Math.random() * 8.0; // Salvador
-            case "50", "51", "52" -> 22.0 + Math.random() * 6.0; // Recife
-            case "60", "61" -> 25.0 + Math.random() * 5.0; // Fortaleza
-            case "70", "71", "72" -> 28.0 + Math.random() * 4.0; // Brasília
-            case "80", "81", "82" -> 24.0 + Math.random() * 6.0; // Curitiba
-            case "90", "91", "92" -> 26.0 + Math.random() * 7.0; // Porto Alegre
-            default -> 15.0 + Math.random() * 10.0; // Outras regiões
-        };
-        
-        // Ajustar pela densidade do bairro (baseado no sufixo)
-        int densidade = Integer.parseInt(sufixo) % 100;
-        if (densidade < 20) {
-            distanciaBase *= 0.8; // Região mais densa, menor distância
-        } else if (densidade > 80) {
-            distanciaBase *= 1.3; // Região menos densa, maior distância
+    public List<TaxaEntregaResponse> calcularTaxasMultiplas(CalculoTaxaMultiplaDTO dto) {
+        String cep = dto.getCep();
+        List<Long> ids = dto.getRestauranteIds().stream().filter(Objects::nonNull).distinct().toList();
+        logger.info("Calculando taxas múltiplas para CEP: {} e {} restaurantes", cep, ids.size());
+
+        JanelaPreco janela = precoPicoService.janelaAtual();
+        int cepNumerico = CepCentroideTabela.cepNumerico(cep);
+        long geracao = taxaEntregaCache.geracao();
+
+        Map<Long, Restaurante> restaurantes = new HashMap<>();
+        for (Restaurante restaurante : restauranteRepository.findAllById(ids)) {
+            restaurantes.put(restaurante.getId(), restaurante);
         }
-        
-        // Arredondar para 1 casa decimal
-        double distanciaFinal = Math.round(distanciaBase * 10.0) / 10.0;
-        
+        boolean apenasAtivos = !Boolean.FALSE.equals(dto.getApenasAtivos());
+
+        // O cálculo só lê campos simples da entidade já carregada; abaixo do limite o paralelismo não compensa
+        Stream<Long> fluxo = ids.size() >= MINIMO_CALCULO_PARALELO ? ids.parallelStream() : ids.stream();
+        Stream<TaxaEntregaResponse> taxas = fluxo
+                .filter(id -> !apenasAtivos || (restaurantes.containsKey(id) && restaurantes.get(id).isAtivo()))
+                .map(id -> cotarParaComparacao(id, restaurantes.get(id), cep, cepNumerico, janela, geracao));
+
+        if (Boolean.TRUE.equals(dto.getOrdenarPorTaxa())) {
+            taxas = taxas.sorted(Comparator
+                    .comparing((TaxaEntregaResponse taxa) -> !Boolean.TRUE.equals(taxa.getEntregaDisponivel()))
+                    .thenComparing(TaxaEntregaResponse::getTaxaEntrega));
+        }
+        return taxas.toList();
+    }
+
+    /**
+     * Taxas para restaurantes já carregados, na mesma ordem, sem nova consulta ao banco
+     */
+    public List<TaxaEntregaResponse> calcularTaxas(String cep, List<Restaurante> restaurantes) {
+        JanelaPreco janela = precoPicoService.janelaAtual();
+        int cepNumerico = CepCentroideTabela.cepNumerico(cep);
+        long geracao = taxaEntregaCache.geracao();
+
+        List<TaxaEntregaResponse> taxas = new ArrayList<>(restaurantes.size());
+        for (Restaurante restaurante : restaurantes) {
+            taxas.add(cotarParaComparacao(restaurante.getId(), restaurante, cep, cepNumerico, janela, geracao));
+        }
+        return taxas;
+    }
+
+    /**
+     * Taxa para um restaurante já carregado, sem nova consulta ao banco
+     */
+    public TaxaEntregaResponse calcularTaxa(Restaurante restaurante, String cep) {
+        return calcularTaxas(cep, List.of(restaurante)).get(0);
+    }
+
+    /**
+     * Raio em linha reta que pode resultar em distância de entrega atendida (com o arredondamento de 0,1 km)
+     */
+    static double raioMaximoKm() {
+        return (DISTANCIA_MAXIMA + 0.05) / FATOR_ROTA;
+    }
+
+    private TaxaEntregaResponse cotarParaComparacao(Long restauranteId, Restaurante restaurante, String cep,
+                                                    int cepNumerico, JanelaPreco janela, long geracao) {
+        if (restaurante == null) {
+            return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId, "Restaurante não encontrado");
+        }
+        try {
+            if (cepNumerico >= 0) {
+                TaxaEntregaResponse emCache = taxaEntregaCache.buscar(restauranteId, cepNumerico, janela);
+                if (emCache != null) {
+                    return emCache;
+                }
+            }
+            return calcularESalvar(restaurante, cep, cepNumerico, janela, geracao);
+        } catch (Exception e) {
+            logger.warn("Erro ao calcular taxa para restaurante {}: {}", restauranteId, e.getMessage());
+            return TaxaEntregaResponse.criarIndisponivel(cep, restauranteId, "Erro no cálculo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Distância entre o restaurante e o centroide da faixa do CEP de destino
+     */
+    private CalculoDistancia calcularDistanciaETempo(long centroide, Restaurante restaurante) {
+        double distanciaReta = GeoUtils.distanciaKm(restaurante.getLatitude(), restaurante.getLongitude(),
+                CepCentroideTabela.latitude(centroide), CepCentroideTabela.longitude(centroide));
+
+        // A malha viária urbana fica em média ~30% acima da linha reta
+        double distanciaFinal = Math.round(distanciaReta * FATOR_ROTA * 10.0) / 10.0;
+
         // Calcular tempo estimado
         String tempoEstimado = calcularTempoEstimado(distanciaFinal);
-        
+
         return new CalculoDistancia(distanciaFinal, tempoEstimado);
     }
 
@@ -202,60 +305,49 @@ public class TaxaEntregaService {
         return String.format("%d-%d min", tempoMin, tempoMax);
     }
 
+    /**
+     * Taxa base mais adicionais, somada e limitada em centavos
+     */
+    static Money calcularTaxaTotal(BigDecimal taxaBase, Money adicionais) {
+        return Money.de(taxaBase).mais(adicionais).limitado(TAXA_MINIMA, TAXA_MAXIMA);
+    }
+
     /**
      * Calcula taxa adicional baseada na distância
      */
-    private BigDecimal calcularTaxaDistancia(double distancia) {
+    static Money calcularTaxaDistancia(double distancia) {
         if (distancia <= 3.0) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
         } else if (distancia <= 7.0) {
-            return new BigDecimal("1.50");
+            return TAXA_ATE_7_KM;
         } else if (distancia <= 12.0) {
-            return new BigDecimal("3.00");
+            return TAXA_ATE_12_KM;
         } else if (distancia <= 20.0) {
-            return new BigDecimal("5.00");
+            return TAXA_ATE_20_KM;
         } else {
-            return new BigDecimal("8.00");
-        }
-    }
-
-    /**
-     * Calcula taxa adicional por horário de pico
-     */
-    private BigDecimal calcularTaxaHorario() {
-        LocalDateTime agora = LocalDateTime.now();
-        int hora = agora.getHour();
-        int diaSemana = agora.getDayOfWeek().getValue();
-        
-        // Horários de pico: 11:30-14:00 e 18:00-21:00 em dias úteis
-        boolean isHorarioPico = (diaSemana <= 5) && 
-                               ((hora >= 11 && hora <= 14) || (hora >= 18 && hora <= 21));
-        
-        // Fins de semana: 12:00-15:00 e 19:00-22:00
-        boolean isFimDeSemana = (diaSemana >= 6) && 
-                               ((hora >= 12 && hora <= 15) || (hora >= 19 && hora <= 22));
-        
-        if (isHorarioPico || isFimDeSemana) {
-            return new BigDecimal("2.00");
+            return TAXA_ACIMA_20_KM;
         }
-        
-        return BigDecimal.ZERO;
     }
 
     /**
      * Simula taxa adicional por condições climáticas
      */
-    private BigDecimal calcularTaxaClima(String cep) {
-        // Simulação simples baseada no CEP
-        String cepLimpo = cep.replaceAll("[^0-9]", "");
-        int ultimoDigito = Integer.parseInt(cepLimpo.substring(7, 8));
+    static Money calcularTaxaClima(String cep) {
+        // Simulação simples baseada no último dígito do CEP (já validado)
+        int ultimoDigito = 0;
+        for (int i = cep.length() - 1; i >= 0; i--) {
+            if (cep.charAt(i) >= '0' && cep.charAt(i) <= '9') {
+                ultimoDigito = cep.charAt(i) - '0';
+                break;
+            }
+        }
         
         // 20% de chance de condições adversas
         if (ultimoDigito <= 1) {
-            return new BigDecimal("1.50"); // Chuva/tempo ruim
+            return TAXA_CLIMA; // Chuva/tempo ruim
         }
         
-        return BigDecimal.ZERO;
+        return Money.ZERO;
     }
 
     /**
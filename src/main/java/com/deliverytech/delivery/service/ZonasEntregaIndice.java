@@ -0,0 +1,536 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import com.deliverytech.delivery.model.ZonaEntrega;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zonas de entrega dos restaurantes ativos compiladas numa grade de células de 0,02° (~2,2 km)
+ *
+ * Cada zona é rasterizada uma vez: células totalmente dentro guardam a zona como interior, células
+ * cortadas pela borda guardam a zona para o teste exato (distância ou ponto no polígono). "Quem entrega
+ * neste ponto" é uma leitura de célula mais os testes exatos das zonas de borda daquela célula.
+ * Células são imutáveis e trocadas inteiras a cada alteração; leitores não bloqueiam
+ *
+ * As alterações chegam por evento, só desta instância. A reconciliação periódica relê as zonas do banco
+ * e recompila os restaurantes divergentes (alterados em outra instância, ou com eventos aplicados fora de
+ * ordem), descartando as cotações em cache desses restaurantes
+ */
+@Component
+public class ZonasEntregaIndice {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZonasEntregaIndice.class);
+
+    static final double CELULA_GRAUS = 0.02;
+    // Maior extensão de um polígono, para limitar o número de células por zona
+    static final double EXTENSAO_MAXIMA_GRAUS = 1.0;
+
+    private static final Celula VAZIA = new Celula(new Zona[0], new Zona[0]);
+
+    private final RestauranteRepository restauranteRepository;
+    private final TaxaEntregaCache taxaEntregaCache;
+    private final Map<Long, Celula> celulas = new ConcurrentHashMap<>();
+    private final Map<Long, Compilado> porRestaurante = new ConcurrentHashMap<>();
+    private final Counter divergencias;
+    private volatile boolean carregado;
+
+    // Ids escritos por evento durante a leitura da reconciliação, protegido pelo monitor da instância
+    private Set<Long> escritosDuranteReconciliacao;
+
+    public ZonasEntregaIndice(RestauranteRepository restauranteRepository, TaxaEntregaCache taxaEntregaCache,
+                              MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.taxaEntregaCache = taxaEntregaCache;
+        this.divergencias = Counter.builder("restaurantes.zonas.entrega.divergencias")
+                .description("Restaurantes com zonas compiladas divergentes do banco, corrigidos na reconciliação")
+                .register(meterRegistry);
+        Gauge.builder("restaurantes.zonas.entrega.celulas", celulas, Map::size)
+                .description("Células da grade de zonas de entrega")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compila as zonas dos restaurantes ativos depois da inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        garantirCarregado();
+    }
+
+    public boolean possuiZonas(long restauranteId) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        return porRestaurante.containsKey(restauranteId);
+    }
+
+    /**
+     * Menor taxa base entre as zonas do restaurante que contêm o ponto, ou null se nenhuma contém
+     */
+    public BigDecimal taxaBaseEm(long restauranteId, double latitude, double longitude) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        Compilado compilado = porRestaurante.get(restauranteId);
+        if (compilado == null) {
+            return null;
+        }
+        BigDecimal menor = null;
+        for (Zona zona : compilado.zonas()) {
+            if (zona.contem(latitude, longitude) && (menor == null || zona.taxaBase().compareTo(menor) < 0)) {
+                menor = zona.taxaBase();
+            }
+        }
+        return menor;
+    }
+
+    /**
+     * Ids dos até k restaurantes cujas zonas contêm o ponto, do mais próximo ao mais distante do ponto
+     */
+    public List<Long> quemEntrega(double latitude, double longitude, int k) {
+        if (!carregado) {
+            garantirCarregado();
+        }
+        Celula celula = celulas.getOrDefault(chave(celula(latitude), celula(longitude)), VAZIA);
+        Map<Long, Zona> atendem = new HashMap<>();
+        for (Zona zona : celula.interiores()) {
+            atendem.putIfAbsent(zona.restauranteId(), zona);
+        }
+        for (Zona zona : celula.bordas()) {
+            if (!atendem.containsKey(zona.restauranteId()) && zona.contem(latitude, longitude)) {
+                atendem.put(zona.restauranteId(), zona);
+            }
+        }
+        if (k <= 0 || atendem.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<double[]> heap = new PriorityQueue<>(Comparator.comparingDouble((double[] c) -> c[1]).reversed());
+        for (Zona zona : atendem.values()) {
+            double distancia = GeoUtils.distanciaKm(latitude, longitude, zona.latitudeRestaurante(), zona.longitudeRestaurante());
+            if (heap.size() < k) {
+                heap.add(new double[] {zona.restauranteId(), distancia});
+            } else if (distancia < heap.peek()[1]) {
+                heap.poll();
+                heap.add(new double[] {zona.restauranteId(), distancia});
+            }
+        }
+        List<double[]> ordenados = new ArrayList<>(heap);
+        ordenados.sort(Comparator.comparingDouble(c -> c[1]));
+        List<Long> ids = new ArrayList<>(ordenados.size());
+        for (double[] candidato : ordenados) {
+            ids.add((long) candidato[0]);
+        }
+        return ids;
+    }
+
+    /**
+     * Escritas em restaurantes chegam depois do commit; fora de transação, na hora
+     * Executa antes do cache de cotações (TaxaEntregaCache), para nenhuma cotação nova usar as zonas antigas
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void aoAlterar(RestauranteAlterado evento) {
+        registrar(evento.restaurante());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void aoRemover(RestauranteRemovido evento) {
+        registrarRemocao(evento.id());
+    }
+
+    /**
+     * Recompila as zonas do restaurante; inativo, sem coordenadas ou sem zonas sai do índice
+     * A coleção de zonas precisa estar carregada (quem publica a alteração a inicializa na transação)
+     */
+    public void registrar(Restaurante restaurante) {
+        aplicar(restaurante.getId(), restaurante.isAtivo() ? compilar(restaurante) : null);
+    }
+
+    public void registrarRemocao(Long id) {
+        aplicar(id, null);
+    }
+
+    public int quantidadeRestaurantes() {
+        return porRestaurante.size();
+    }
+
+    /**
+     * Relê os restaurantes ativos com zonas e recompila os que divergem do índice; os que saíram do banco
+     * (ou ficaram inativos, ou sem zonas) deixam o índice. Restaurantes escritos por evento durante a
+     * leitura ficam como estão: a leitura pode ser anterior à escrita
+     */
+    @Scheduled(fixedDelayString = "${api.restaurantes.zonas.reconciliacao-ms:60000}",
+            initialDelayString = "${api.restaurantes.zonas.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (!carregado) {
+                return;
+            }
+            escritosDuranteReconciliacao = new HashSet<>();
+        }
+        try {
+            Map<Long, Compilado> lidos = new HashMap<>();
+            for (Restaurante restaurante : restauranteRepository.findAtivosComZonasEntrega()) {
+                Compilado compilado = compilar(restaurante);
+                if (compilado != null) {
+                    lidos.put(restaurante.getId(), compilado);
+                }
+            }
+            List<Long> corrigidos = new ArrayList<>();
+            synchronized (this) {
+                Set<Long> ids = new HashSet<>(porRestaurante.keySet());
+                ids.addAll(lidos.keySet());
+                ids.removeAll(escritosDuranteReconciliacao);
+                for (Long id : ids) {
+                    Compilado atual = porRestaurante.get(id);
+                    Compilado lido = lidos.get(id);
+                    if (atual == null || lido == null || !atual.assinatura().equals(lido.assinatura())) {
+                        if (lido != null) {
+                            inserir(id, lido);
+                        } else {
+                            remover(id);
+                        }
+                        corrigidos.add(id);
+                    }
+                }
+            }
+            if (!corrigidos.isEmpty()) {
+                corrigidos.forEach(taxaEntregaCache::invalidarRestaurante);
+                divergencias.increment(corrigidos.size());
+                logger.info("Zonas de entrega reconciliadas com o banco: {} restaurantes recompilados", corrigidos.size());
+            }
+        } finally {
+            synchronized (this) {
+                escritosDuranteReconciliacao = null;
+            }
+        }
+    }
+
+    private synchronized void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        int zonas = 0;
+        for (Restaurante restaurante : restauranteRepository.findAtivosComZonasEntrega()) {
+            Compilado compilado = compilar(restaurante);
+            // Alterações aplicadas antes da carga prevalecem sobre a leitura
+            if (compilado != null && !porRestaurante.containsKey(restaurante.getId())) {
+                inserir(restaurante.getId(), compilado);
+                zonas += compilado.zonas().length;
+            }
+        }
+        carregado = true;
+        logger.info("Zonas de entrega compiladas: {} restaurantes, {} zonas, {} células",
+                porRestaurante.size(), zonas, celulas.size());
+    }
+
+    private synchronized void aplicar(Long id, Compilado compilado) {
+        if (escritosDuranteReconciliacao != null) {
+            escritosDuranteReconciliacao.add(id);
+        }
+        if (compilado != null) {
+            inserir(id, compilado);
+        } else {
+            remover(id);
+        }
+    }
+
+    private synchronized void inserir(Long id, Compilado compilado) {
+        remover(id);
+        porRestaurante.put(id, compilado);
+        for (int i = 0; i < compilado.celulas().length; i++) {
+            Zona zona = compilado.zonasPorCelula()[i];
+            boolean interior = compilado.interiores()[i];
+            celulas.compute(compilado.celulas()[i], (chave, atual) -> {
+                Celula celula = atual != null ? atual : VAZIA;
+                return interior
+                        ? new Celula(acrescentar(celula.interiores(), zona), celula.bordas())
+                        : new Celula(celula.interiores(), acrescentar(celula.bordas(), zona));
+            });
+        }
+    }
+
+    private synchronized void remover(Long id) {
+        Compilado anterior = porRestaurante.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (long chave : anterior.celulas()) {
+            celulas.computeIfPresent(chave, (c, celula) -> {
+                Zona[] interiores = semRestaurante(celula.interiores(), id);
+                Zona[] bordas = semRestaurante(celula.bordas(), id);
+                return interiores.length == 0 && bordas.length == 0 ? null : new Celula(interiores, bordas);
+            });
+        }
+    }
+
+    /**
+     * Rasteriza as zonas do restaurante; null se não houver zona utilizável
+     */
+    private static Compilado compilar(Restaurante restaurante) {
+        if (restaurante.getLatitude() == null || restaurante.getLongitude() == null
+                || restaurante.getZonasEntrega() == null || restaurante.getZonasEntrega().isEmpty()) {
+            return null;
+        }
+
+        List<Zona> zonas = new ArrayList<>();
+        List<String> definicoes = new ArrayList<>();
+        List<Long> chaves = new ArrayList<>();
+        List<Zona> zonasPorCelula = new ArrayList<>();
+        List<Boolean> interiores = new ArrayList<>();
+        for (ZonaEntrega definicao : restaurante.getZonasEntrega()) {
+            Zona zona = Zona.de(restaurante, definicao);
+            if (zona == null) {
+                continue;
+            }
+            zonas.add(zona);
+            definicoes.add(definicao.getTipo() + "|" + definicao.getRaioKm() + "|" + definicao.getVertices()
+                    + "|" + zona.taxaBase().stripTrailingZeros().toPlainString());
+            for (int linha = celula(zona.latitudeMinima()); linha <= celula(zona.latitudeMaxima()); linha++) {
+                for (int coluna = celula(zona.longitudeMinima()); coluna <= celula(zona.longitudeMaxima()); coluna++) {
+                    Cobertura cobertura = zona.cobertura(linha * CELULA_GRAUS, coluna * CELULA_GRAUS,
+                            (linha + 1) * CELULA_GRAUS, (coluna + 1) * CELULA_GRAUS);
+                    if (cobertura != Cobertura.FORA) {
+                        chaves.add(chave(linha, coluna));
+                        zonasPorCelula.add(zona);
+                        interiores.add(cobertura == Cobertura.DENTRO);
+                    }
+                }
+            }
+        }
+        if (zonas.isEmpty()) {
+            return null;
+        }
+
+        long[] celulasOcupadas = new long[chaves.size()];
+        boolean[] interior = new boolean[chaves.size()];
+        for (int i = 0; i < chaves.size(); i++) {
+            celulasOcupadas[i] = chaves.get(i);
+            interior[i] = interiores.get(i);
+        }
+        // A ordem das zonas não altera o resultado
+        definicoes.sort(null);
+        String assinatura = restaurante.getLatitude() + " " + restaurante.getLongitude() + ";" + String.join(";", definicoes);
+        return new Compilado(zonas.toArray(new Zona[0]), celulasOcupadas, zonasPorCelula.toArray(new Zona[0]), interior,
+                assinatura);
+    }
+
+    /**
+     * Vértices no formato persistido em ZonaEntrega: "lat lon;lat lon;..."
+     */
+    static String codificarVertices(List<double[]> vertices) {
+        StringBuilder texto = new StringBuilder();
+        for (double[] vertice : vertices) {
+            if (texto.length() > 0) {
+                texto.append(';');
+            }
+            texto.append(vertice[0]).append(' ').append(vertice[1]);
+        }
+        return texto.toString();
+    }
+
+    static List<double[]> decodificarVertices(String texto) {
+        List<double[]> vertices = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return vertices;
+        }
+        for (String par : texto.split(";")) {
+            String[] coordenadas = par.trim().split(" ");
+            vertices.add(new double[] {Double.parseDouble(coordenadas[0]), Double.parseDouble(coordenadas[1])});
+        }
+        return vertices;
+    }
+
+    private static Zona[] acrescentar(Zona[] zonas, Zona zona) {
+        Zona[] novas = Arrays.copyOf(zonas, zonas.length + 1);
+        novas[zonas.length] = zona;
+        return novas;
+    }
+
+    private static Zona[] semRestaurante(Zona[] zonas, long restauranteId) {
+        return Arrays.stream(zonas).filter(zona -> zona.restauranteId() != restauranteId).toArray(Zona[]::new);
+    }
+
+    private static int celula(double grau) {
+        return (int) Math.floor(grau / CELULA_GRAUS);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    private enum Cobertura { DENTRO, BORDA, FORA }
+
+    private record Celula(Zona[] interiores, Zona[] bordas) {
+    }
+
+    /**
+     * A assinatura resume as definições de origem (coordenadas do restaurante e zonas utilizáveis com a
+     * taxa efetiva) e serve para comparar o compilado com uma nova leitura do banco
+     */
+    private record Compilado(Zona[] zonas, long[] celulas, Zona[] zonasPorCelula, boolean[] interiores,
+                             String assinatura) {
+    }
+
+    /**
+     * Zona pronta para teste: círculo (centro e raio) ou polígono (vértices em vetores), com a taxa efetiva
+     */
+    private record Zona(long restauranteId, double latitudeRestaurante, double longitudeRestaurante,
+                        BigDecimal taxaBase, double raioKm, double[] latitudes, double[] longitudes,
+                        double latitudeMinima, double longitudeMinima, double latitudeMaxima, double longitudeMaxima) {
+
+        private static final double KM_POR_GRAU = 111.195;
+
+        static Zona de(Restaurante restaurante, ZonaEntrega definicao) {
+            double latitude = restaurante.getLatitude();
+            double longitude = restaurante.getLongitude();
+            BigDecimal taxa = definicao.getTaxaBase() != null ? definicao.getTaxaBase() : restaurante.getTaxaEntrega();
+            if (taxa == null || definicao.getTipo() == null) {
+                return null;
+            }
+
+            if (definicao.getTipo() == TipoZonaEntrega.RAIO) {
+                if (definicao.getRaioKm() == null || definicao.getRaioKm() <= 0) {
+                    return null;
+                }
+                double raio = definicao.getRaioKm();
+                double grausLatitude = raio / KM_POR_GRAU;
+                double grausLongitude = raio / (KM_POR_GRAU * Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + grausLatitude))));
+                return new Zona(restaurante.getId(), latitude, longitude, taxa, raio, null, null,
+                        latitude - grausLatitude, longitude - grausLongitude,
+                        latitude + grausLatitude, longitude + grausLongitude);
+            }
+
+            List<double[]> vertices = decodificarVertices(definicao.getVertices());
+            if (vertices.size() < 3) {
+                return null;
+            }
+            double[] latitudes = new double[vertices.size()];
+            double[] longitudes = new double[vertices.size()];
+            for (int i = 0; i < vertices.size(); i++) {
+                latitudes[i] = vertices.get(i)[0];
+                longitudes[i] = vertices.get(i)[1];
+            }
+            double latitudeMinima = Arrays.stream(latitudes).min().getAsDouble();
+            double latitudeMaxima = Arrays.stream(latitudes).max().getAsDouble();
+            double longitudeMinima = Arrays.stream(longitudes).min().getAsDouble();
+            double longitudeMaxima = Arrays.stream(longitudes).max().getAsDouble();
+            if (latitudeMaxima - latitudeMinima > EXTENSAO_MAXIMA_GRAUS
+                    || longitudeMaxima - longitudeMinima > EXTENSAO_MAXIMA_GRAUS) {
+                return null;
+            }
+            return new Zona(restaurante.getId(), latitude, longitude, taxa, 0, latitudes, longitudes,
+                    latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima);
+        }
+
+        boolean contem(double latitude, double longitude) {
+            if (latitude < latitudeMinima || latitude > latitudeMaxima
+                    || longitude < longitudeMinima || longitude > longitudeMaxima) {
+                return false;
+            }
+            if (latitudes == null) {
+                return GeoUtils.distanciaKm(latitudeRestaurante, longitudeRestaurante, latitude, longitude) <= raioKm;
+            }
+            // Raio horizontal (par-ímpar) no plano latitude/longitude
+            boolean dentro = false;
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                        && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                                / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                    dentro = !dentro;
+                }
+            }
+            return dentro;
+        }
+
+        /**
+         * Classifica a célula [lat0, lat1] x [lon0, lon1]; na dúvida, BORDA (o teste exato decide na consulta)
+         */
+        Cobertura cobertura(double lat0, double lon0, double lat1, double lon1) {
+            if (latitudes == null) {
+                double maisProxima = GeoUtils.distanciaKm(latitudeRestaurante, longitudeRestaurante,
+                        Math.max(lat0, Math.min(lat1, latitudeRestaurante)),
+                        Math.max(lon0, Math.min(lon1, longitudeRestaurante)));
+                if (maisProxima > raioKm * 1.01 + 0.05) {
+                    return Cobertura.FORA;
+                }
+                double maisDistante = Math.max(
+                        Math.max(distancia(lat0, lon0), distancia(lat0, lon1)),
+                        Math.max(distancia(lat1, lon0), distancia(lat1, lon1)));
+                return maisDistante < raioKm * 0.99 ? Cobertura.DENTRO : Cobertura.BORDA;
+            }
+
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if (segmentoCruzaRetangulo(latitudes[j], longitudes[j], latitudes[i], longitudes[i], lat0, lon0, lat1, lon1)) {
+                    return Cobertura.BORDA;
+                }
+            }
+            // Sem aresta cruzando, a célula está inteira dentro ou inteira fora
+            return contem((lat0 + lat1) / 2, (lon0 + lon1) / 2) ? Cobertura.DENTRO : Cobertura.FORA;
+        }
+
+        private double distancia(double latitude, double longitude) {
+            return GeoUtils.distanciaKm(latitudeRestaurante, longitudeRestaurante, latitude, longitude);
+        }
+
+        private static boolean segmentoCruzaRetangulo(double aLat, double aLon, double bLat, double bLon,
+                                                      double lat0, double lon0, double lat1, double lon1) {
+            if (Math.max(aLat, bLat) < lat0 || Math.min(aLat, bLat) > lat1
+                    || Math.max(aLon, bLon) < lon0 || Math.min(aLon, bLon) > lon1) {
+                return false;
+            }
+            if ((aLat >= lat0 && aLat <= lat1 && aLon >= lon0 && aLon <= lon1)
+                    || (bLat >= lat0 && bLat <= lat1 && bLon >= lon0 && bLon <= lon1)) {
+                return true;
+            }
+            return segmentosCruzam(aLat, aLon, bLat, bLon, lat0, lon0, lat0, lon1)
+                    || segmentosCruzam(aLat, aLon, bLat, bLon, lat1, lon0, lat1, lon1)
+                    || segmentosCruzam(aLat, aLon, bLat, bLon, lat0, lon0, lat1, lon0)
+                    || segmentosCruzam(aLat, aLon, bLat, bLon, lat0, lon1, lat1, lon1);
+        }
+
+        private static boolean segmentosCruzam(double ax, double ay, double bx, double by,
+                                               double cx, double cy, double dx, double dy) {
+            double d1 = orientacao(cx, cy, dx, dy, ax, ay);
+            double d2 = orientacao(cx, cy, dx, dy, bx, by);
+            double d3 = orientacao(ax, ay, bx, by, cx, cy);
+            double d4 = orientacao(ax, ay, bx, by, dx, dy);
+            return ((d1 > 0) != (d2 > 0) || d1 == 0 || d2 == 0) && ((d3 > 0) != (d4 > 0) || d3 == 0 || d4 == 0);
+        }
+
+        private static double orientacao(double ax, double ay, double bx, double by, double cx, double cy) {
+            return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        }
+    }
+}
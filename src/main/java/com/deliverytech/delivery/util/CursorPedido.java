@@ -0,0 +1,39 @@
+package com.deliverytech.delivery.util;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.model.Pedido;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de pedidos ordenada por (dataPedido, id) decrescente
+ * Codificada em Base64 URL-safe para ser usada como token opaco no link "next"
+ */
+public record CursorPedido(LocalDateTime dataPedido, Long id) {
+
+    private static final char SEPARADOR = '|';
+
+    public static CursorPedido de(Pedido pedido) {
+        return new CursorPedido(pedido.getDataPedido(), pedido.getId());
+    }
+
+    public String codificar() {
+        String valor = dataPedido.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPedido decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador <= 0) throw new IllegalArgumentException();
+            return new CursorPedido(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
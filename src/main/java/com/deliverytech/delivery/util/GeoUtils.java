@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.util;
+
+/**
+ * Cálculos geográficos sobre coordenadas em graus decimais (WGS84)
+ */
+public final class GeoUtils {
+
+    public static final double RAIO_TERRA_KM = 6371.0088;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Distância em linha reta (grande círculo) pela fórmula de haversine
+     */
+    public static double distanciaKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double senoDeltaLat = Math.sin((lat2 - lat1) / 2);
+        double senoDeltaLon = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = senoDeltaLat * senoDeltaLat + Math.cos(lat1) * Math.cos(lat2) * senoDeltaLon * senoDeltaLon;
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
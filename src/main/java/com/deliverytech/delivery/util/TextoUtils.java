@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto para busca: minúsculas, sem acentos, quebrado em palavras
+ */
+public final class TextoUtils {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextoUtils() {
+    }
+
+    /**
+     * Palavras do texto sem acentos e em minúsculas, separadas por qualquer caractere que não seja letra ou dígito
+     */
+    public static String[] palavras(String texto) {
+        if (texto == null) {
+            return new String[0];
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        return Arrays.stream(SEPARADORES.split(normalizado)).filter(p -> !p.isEmpty()).toArray(String[]::new);
+    }
+}
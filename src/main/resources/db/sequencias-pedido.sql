@@ -0,0 +1,13 @@
+-- Sequências de pedido e item_pedido (allocationSize = 50 em Pedido e ItemPedido)
+-- Executado a cada inicialização no perfil docker, depois do ddl-auto=update (ver application-docker.properties)
+--
+-- Em bancos criados quando os ids vinham de IDENTITY, o update cria as sequências começando em 1 e os
+-- novos ids colidiriam com os pedidos já gravados. Cada sequência é levada para depois do maior id
+-- existente; nunca volta, para não repetir blocos já reservados por outra instância em execução.
+-- Sem blocos DO: o executor de scripts do Spring separa os comandos por ponto e vírgula.
+
+CREATE SEQUENCE IF NOT EXISTS pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('pedido_seq', GREATEST((SELECT last_value FROM pedido_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM pedido)));
+
+CREATE SEQUENCE IF NOT EXISTS item_pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('item_pedido_seq', GREATEST((SELECT last_value FROM item_pedido_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM item_pedido)));
@@ -0,0 +1,209 @@
+package com.deliverytech.delivery.dto;
+
+import com.deliverytech.delivery.model.Cliente;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.Produto;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.util.ClienteTestData;
+import com.deliverytech.delivery.util.PedidoTestData;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark das conversões entidade → DTO de resposta
+ * Compara os from() dos DTOs com o ModelMapper (mesma configuração do antigo ModelMapperConfig)
+ * e, para restaurantes, com a conversão anterior que lia criadoEm/atualizadoEm por reflexão
+ * Mede vazão (conversões por ms) e bytes alocados por conversão na thread atual, após aquecimento
+ * Só os bytes alocados são verificados no build padrão; a vazão depende da máquina e fica no benchmark opcional
+ */
+@DisplayName("Mapeamento - Benchmark from() x ModelMapper x reflexão")
+class MapeamentoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapeamentoBenchmarkTest.class);
+
+    private static final int QUANTIDADE = 200;
+    private static final int AQUECIMENTO = 100;
+    private static final int RODADAS = 200;
+
+    private final ModelMapper modelMapper = modelMapperLegado();
+    private final List<Restaurante> restaurantes = new ArrayList<>();
+    private final List<Produto> produtos = new ArrayList<>();
+    private final List<Cliente> clientes = new ArrayList<>();
+    private final List<Pedido> pedidos = new ArrayList<>();
+
+    MapeamentoBenchmarkTest() {
+        for (long id = 1; id <= QUANTIDADE; id++) {
+            Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+            restaurante.setLatitude(-23.55 + id / 10_000.0);
+            restaurante.setLongitude(-46.63 - id / 10_000.0);
+            restaurantes.add(restaurante);
+
+            Produto produto = PedidoTestData.createProdutoComRestaurante(id, id);
+            produto.setRestaurante(restaurante);
+            produtos.add(produto);
+
+            clientes.add(ClienteTestData.createClienteWithId(id));
+
+            Pedido pedido = PedidoTestData.createPedidoWithId(id);
+            pedido.setTotal(new BigDecimal("30.90").add(BigDecimal.valueOf(id)));
+            pedidos.add(pedido);
+        }
+    }
+
+    @Test
+    @DisplayName("from() deve produzir o mesmo DTO que o ModelMapper e a conversão por reflexão")
+    void should_ProduceSameDtos_When_MappingWithFrom() {
+        for (int i = 0; i < QUANTIDADE; i++) {
+            assertThat(RestauranteResponseDTO.from(restaurantes.get(i))).usingRecursiveComparison()
+                    .isEqualTo(modelMapper.map(restaurantes.get(i), RestauranteResponseDTO.class))
+                    .isEqualTo(restauranteComReflexao(restaurantes.get(i)));
+            assertThat(ProdutoResponseDTO.from(produtos.get(i))).usingRecursiveComparison()
+                    .isEqualTo(modelMapper.map(produtos.get(i), ProdutoResponseDTO.class));
+            assertThat(ClienteResponseDTO.from(clientes.get(i))).usingRecursiveComparison()
+                    .isEqualTo(modelMapper.map(clientes.get(i), ClienteResponseDTO.class));
+            // O ModelMapper copiava Pedido.valorTotal, que o fluxo de criação não preenche; from() usa o total gravado
+            assertThat(PedidoResumoDTO.from(pedidos.get(i))).usingRecursiveComparison()
+                    .ignoringFields("valorTotal")
+                    .isEqualTo(modelMapper.map(pedidos.get(i), PedidoResumoDTO.class));
+            assertThat(PedidoResumoDTO.from(pedidos.get(i)).getValorTotal()).isEqualTo(pedidos.get(i).getTotal());
+        }
+    }
+
+    @Test
+    @DisplayName("Listagem de restaurantes com from() deve alocar menos que ModelMapper e reflexão")
+    void should_AllocateLess_When_MappingRestaurantList() {
+        Medicao reflexao = medir(restaurantes, this::restauranteComReflexao);
+        Medicao mapper = medir(restaurantes, r -> modelMapper.map(r, RestauranteResponseDTO.class));
+        Medicao direto = medir(restaurantes, RestauranteResponseDTO::from);
+
+        logger.info("Restaurante → DTO - reflexão: {}; ModelMapper: {}; from(): {}", reflexao, mapper, direto);
+
+        assertThat(direto.bytesPorConversao()).isLessThan(mapper.bytesPorConversao());
+        assertThat(direto.bytesPorConversao()).isLessThan(reflexao.bytesPorConversao());
+    }
+
+    /**
+     * Comparação de vazão; fora do build padrão por depender da máquina. Rodar com -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: listagem de restaurantes com from() deve ser mais rápida que ModelMapper e reflexão")
+    void should_BeFaster_When_MappingRestaurantList() {
+        Medicao reflexao = medir(restaurantes, this::restauranteComReflexao);
+        Medicao mapper = medir(restaurantes, r -> modelMapper.map(r, RestauranteResponseDTO.class));
+        Medicao direto = medir(restaurantes, RestauranteResponseDTO::from);
+
+        assertThat(direto.conversoesPorMs()).isGreaterThan(mapper.conversoesPorMs());
+        assertThat(direto.conversoesPorMs()).isGreaterThan(reflexao.conversoesPorMs());
+    }
+
+    @Test
+    @DisplayName("Produtos, clientes e resumos de pedido com from() devem alocar menos que com ModelMapper")
+    void should_AllocateLess_When_MappingOtherEntities() {
+        Medicao produtoMapper = medir(produtos, p -> modelMapper.map(p, ProdutoResponseDTO.class));
+        Medicao produtoDireto = medir(produtos, ProdutoResponseDTO::from);
+        Medicao clienteMapper = medir(clientes, c -> modelMapper.map(c, ClienteResponseDTO.class));
+        Medicao clienteDireto = medir(clientes, ClienteResponseDTO::from);
+        Medicao pedidoMapper = medir(pedidos, p -> modelMapper.map(p, PedidoResumoDTO.class));
+        Medicao pedidoDireto = medir(pedidos, PedidoResumoDTO::from);
+
+        logger.info("Produto → DTO - ModelMapper: {}; from(): {}", produtoMapper, produtoDireto);
+        logger.info("Cliente → DTO - ModelMapper: {}; from(): {}", clienteMapper, clienteDireto);
+        logger.info("Pedido → resumo - ModelMapper: {}; from(): {}", pedidoMapper, pedidoDireto);
+
+        assertThat(produtoDireto.bytesPorConversao()).isLessThan(produtoMapper.bytesPorConversao());
+        assertThat(clienteDireto.bytesPorConversao()).isLessThan(clienteMapper.bytesPorConversao());
+        assertThat(pedidoDireto.bytesPorConversao()).isLessThan(pedidoMapper.bytesPorConversao());
+    }
+
+    /**
+     * Conversão anterior de RestauranteService: campos por getter e timestamps por reflexão
+     * A entidade não tem esses campos, então cada chamada lança e descarta duas NoSuchFieldException
+     */
+    private RestauranteResponseDTO restauranteComReflexao(Restaurante restaurante) {
+        RestauranteResponseDTO dto = new RestauranteResponseDTO();
+        dto.setId(restaurante.getId());
+        dto.setNome(restaurante.getNome());
+        dto.setCategoria(restaurante.getCategoria());
+        dto.setEndereco(restaurante.getEndereco());
+        dto.setTaxaEntrega(restaurante.getTaxaEntrega());
+        dto.setAvaliacao(restaurante.getAvaliacao());
+        dto.setAtivo(restaurante.isAtivo());
+        dto.setLatitude(restaurante.getLatitude());
+        dto.setLongitude(restaurante.getLongitude());
+        try {
+            Field criadoEm = restaurante.getClass().getDeclaredField("criadoEm");
+            criadoEm.setAccessible(true);
+            dto.setCriadoEm((LocalDateTime) criadoEm.get(restaurante));
+        } catch (Exception e) {
+            // Campo não existe, mantém null
+        }
+        try {
+            Field atualizadoEm = restaurante.getClass().getDeclaredField("atualizadoEm");
+            atualizadoEm.setAccessible(true);
+            dto.setAtualizadoEm((LocalDateTime) atualizadoEm.get(restaurante));
+        } catch (Exception e) {
+            // Campo não existe, mantém null
+        }
+        return dto;
+    }
+
+    private static ModelMapper modelMapperLegado() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        return mapper;
+    }
+
+    /**
+     * Converte a lista inteira a cada rodada; mede tempo e bytes alocados pela thread atual
+     */
+    private <E> Medicao medir(List<E> entidades, Function<E, ?> conversao) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long convertidos = 0;
+        for (int rodada = 0; rodada < AQUECIMENTO; rodada++) {
+            for (E entidade : entidades) {
+                convertidos += conversao.apply(entidade) != null ? 1 : 0;
+            }
+        }
+        long bytesInicio = threads.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            for (E entidade : entidades) {
+                convertidos += conversao.apply(entidade) != null ? 1 : 0;
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesInicio;
+        assertThat(convertidos).isEqualTo((long) (AQUECIMENTO + RODADAS) * entidades.size());
+
+        long conversoes = (long) RODADAS * entidades.size();
+        return new Medicao(conversoes * 1_000_000.0 / nanos, bytes / conversoes);
+    }
+
+    private record Medicao(double conversoesPorMs, long bytesPorConversao) {
+        @Override
+        public String toString() {
+            return String.format("%.0f conversões/ms, %d bytes/conversão", conversoesPorMs, bytesPorConversao);
+        }
+    }
+}
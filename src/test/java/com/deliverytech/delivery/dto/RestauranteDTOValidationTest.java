@@ -38,6 +38,8 @@ class RestauranteDTOValidationTest {
         dto.setTempoEntrega(45);
         dto.setHorarioFuncionamento("08:00-22:00");
         dto.setAvaliacao(4.5);
+        dto.setLatitude(-23.5505);
+        dto.setLongitude(-46.6333);
 
         Set<ConstraintViolation<RestauranteDTO>> violations = validator.validate(dto);
         assertTrue(violations.isEmpty());
@@ -140,6 +142,19 @@ class RestauranteDTOValidationTest {
         assertFalse(violations.isEmpty());
     }
 
+    @Test
+    @DisplayName("Deve rejeitar restaurante sem localização")
+    void deveRejeitarRestauranteSemLocalizacao() {
+        RestauranteDTO dto = criarRestauranteValido();
+        dto.setLatitude(null);
+        dto.setLongitude(null);
+
+        Set<ConstraintViolation<RestauranteDTO>> violations = validator.validate(dto);
+        assertEquals(2, violations.size());
+        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("latitude")));
+        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("longitude")));
+    }
+
     @Test
     @DisplayName("Deve aceitar campos opcionais nulos")
     void deveAceitarCamposOpcionaisNulos() {
@@ -150,6 +165,8 @@ class RestauranteDTOValidationTest {
         dto.setTelefone("(11) 99999-9999");
         dto.setTaxaEntrega(new BigDecimal("5.50"));
         dto.setTempoEntrega(45);
+        dto.setLatitude(-23.5505);
+        dto.setLongitude(-46.6333);
         // horarioFuncionamento e avaliacao são opcionais
 
         Set<ConstraintViolation<RestauranteDTO>> violations = validator.validate(dto);
@@ -166,6 +183,8 @@ class RestauranteDTOValidationTest {
         dto.setTempoEntrega(45);
         dto.setHorarioFuncionamento("08:00-22:00");
         dto.setAvaliacao(4.5);
+        dto.setLatitude(-23.5505);
+        dto.setLongitude(-46.6333);
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do tipo Money")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Deve somar e multiplicar em centavos com o mesmo resultado do BigDecimal")
+    void should_MatchBigDecimalArithmetic_When_SummingItems() {
+        // Given
+        BigDecimal preco = new BigDecimal("12.95");
+        BigDecimal taxa = new BigDecimal("5.50");
+
+        // When
+        Money total = Money.de(preco).vezes(3).mais(Money.de(taxa));
+
+        // Then
+        BigDecimal esperado = preco.multiply(BigDecimal.valueOf(3)).add(taxa);
+        assertThat(total.toBigDecimal()).isEqualTo(esperado);
+        assertThat(total.getCentavos()).isEqualTo(4435L);
+        assertThat(total.toString()).isEqualTo("44.35");
+    }
+
+    @Test
+    @DisplayName("Deve converter valores com menos casas sem perda e arredondar subcentavos com HALF_UP")
+    void should_RoundLikeDecimalColumn_When_ConvertingFromBigDecimal() {
+        assertThat(Money.centavosDe(new BigDecimal("7"))).isEqualTo(700L);
+        assertThat(Money.centavosDe(new BigDecimal("7.5"))).isEqualTo(750L);
+        assertThat(Money.centavosDe(new BigDecimal("0.005"))).isEqualTo(1L);
+        assertThat(Money.centavosDe(new BigDecimal("0.004"))).isEqualTo(0L);
+        assertThat(Money.centavosDe(new BigDecimal("-1.255"))).isEqualTo(-126L);
+        assertThatThrownBy(() -> Money.de(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve limitar ao intervalo e comparar por valor")
+    void should_ClampAndCompareByValue() {
+        Money minimo = Money.deCentavos(200);
+        Money maximo = Money.deCentavos(2500);
+
+        assertThat(Money.deCentavos(150).limitado(minimo, maximo)).isSameAs(minimo);
+        assertThat(Money.deCentavos(3000).limitado(minimo, maximo)).isSameAs(maximo);
+        assertThat(Money.deCentavos(900).limitado(minimo, maximo)).isEqualTo(Money.de(new BigDecimal("9.00")));
+        assertThat(Money.de(new BigDecimal("9.0"))).isEqualByComparingTo(Money.deCentavos(900));
+        assertThat(Money.deCentavos(0)).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção em estouro em vez de perder centavos")
+    void should_ThrowArithmeticException_When_Overflowing() {
+        Money enorme = Money.deCentavos(Long.MAX_VALUE / 2 + 1);
+
+        assertThatThrownBy(() -> enorme.vezes(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> enorme.mais(enorme)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Conversor deve gravar duas casas decimais e preservar nulos")
+    void should_ConvertToDecimalColumn_When_Persisting() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertThat(converter.convertToDatabaseColumn(Money.deCentavos(1295))).isEqualTo(new BigDecimal("12.95"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("12.95"))).isEqualTo(Money.deCentavos(1295));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Ferramenta de desenvolvimento que regenera src/main/resources/geo/cep-centroides.bin a partir de
+ * scripts/geo/cep-centroides.csv; fica no escopo de teste para não entrar no artefato da aplicação
+ *
+ * Uso:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.deliverytech.delivery.service.CepCentroideTabelaGerador \
+ *       -Dexec.args="scripts/geo/cep-centroides.csv src/main/resources/geo/cep-centroides.bin"
+ */
+public final class CepCentroideTabelaGerador {
+
+    private CepCentroideTabelaGerador() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: CepCentroideTabelaGerador <entrada.csv> <saida.bin>");
+        }
+        try (OutputStream saida = Files.newOutputStream(Path.of(args[1]))) {
+            CepCentroideTabela.escrever(Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8), saida);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.deliverytech.delivery.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes da tabela de centroides de CEP")
+class CepCentroideTabelaTest {
+
+    private static CepCentroideTabela tabela;
+
+    @BeforeAll
+    static void carregarTabelaDistribuida() {
+        tabela = new CepCentroideTabela(new ClassPathResource("geo/cep-centroides.bin"));
+    }
+
+    @Test
+    @DisplayName("Deve localizar o centroide da faixa que contém o CEP")
+    void should_ReturnRangeCentroid_When_CepIsCovered() {
+        // When - 01310-100 (Av. Paulista) está na faixa da Bela Vista
+        long centroide = tabela.localizar(CepCentroideTabela.cepNumerico("01310-100"));
+
+        // Then
+        assertThat(centroide).isNotEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+        assertThat(CepCentroideTabela.latitude(centroide)).isEqualTo(-23.556);
+        assertThat(CepCentroideTabela.longitude(centroide)).isEqualTo(-46.65);
+    }
+
+    @Test
+    @DisplayName("Deve incluir os limites das faixas e rejeitar CEPs fora da cobertura")
+    void should_HonourRangeBoundaries_When_Locating() {
+        assertThat(tabela.localizar(1_300_000)).isEqualTo(tabela.localizar(1_399_999));
+        assertThat(tabela.localizar(1_399_999)).isNotEqualTo(tabela.localizar(1_400_000));
+
+        assertThat(tabela.localizar(1_600_000)).isEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+        assertThat(tabela.localizar(99_999_999)).isEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+        assertThat(tabela.localizar(0)).isEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+        assertThat(tabela.localizar(-1)).isEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+    }
+
+    @Test
+    @DisplayName("Deve converter CEP com ou sem hífen e rejeitar formatos inválidos")
+    void should_ParseCep_When_FormatIsValid() {
+        assertThat(CepCentroideTabela.cepNumerico("01310-100")).isEqualTo(1_310_100);
+        assertThat(CepCentroideTabela.cepNumerico("01310100")).isEqualTo(1_310_100);
+        assertThat(CepCentroideTabela.cepNumerico("0131010")).isEqualTo(-1);
+        assertThat(CepCentroideTabela.cepNumerico("013101000")).isEqualTo(-1);
+        assertThat(CepCentroideTabela.cepNumerico("01310-1a0")).isEqualTo(-1);
+        assertThat(CepCentroideTabela.cepNumerico(null)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Deve mapear em memória o arquivo gerado a partir do CSV")
+    void should_MapGeneratedFile_When_LoadedFromFileSystem(@TempDir Path diretorio) throws Exception {
+        // Given - linhas fora de ordem e comentários
+        Path arquivo = diretorio.resolve("centroides.bin");
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            CepCentroideTabela.escrever(List.of(
+                    "# inicio,fim,latitude,longitude,regiao",
+                    "20000000,20199999,-22.9050,-43.1800,Rio de Janeiro - Centro",
+                    "01000000,01099999,-23.5489,-46.6388,São Paulo - Sé"), saida);
+        }
+
+        // When
+        CepCentroideTabela gerada = new CepCentroideTabela(new FileSystemResource(arquivo));
+
+        // Then
+        assertThat(gerada.getQuantidade()).isEqualTo(2);
+        long centroide = gerada.localizar(20_100_000);
+        assertThat(CepCentroideTabela.latitude(centroide)).isEqualTo(-22.905);
+        assertThat(CepCentroideTabela.longitude(centroide)).isEqualTo(-43.18);
+        assertThat(gerada.localizar(1_100_000)).isEqualTo(CepCentroideTabela.NAO_ENCONTRADO);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo com cabeçalho inválido ou faixas sobrepostas")
+    void should_RejectTable_When_FileIsCorrupt() throws Exception {
+        assertThatThrownBy(() -> new CepCentroideTabela(ByteBuffer.wrap(new byte[]{1, 2, 3})))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("cabeçalho");
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        CepCentroideTabela.escrever(List.of(
+                "01000000,01099999,-23.5,-46.6",
+                "01050000,01199999,-23.5,-46.6"), saida);
+        assertThatThrownBy(() -> new CepCentroideTabela(ByteBuffer.wrap(saida.toByteArray())))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("sobrepostas");
+    }
+}
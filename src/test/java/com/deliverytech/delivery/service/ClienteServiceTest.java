@@ -14,7 +14,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Arrays;
 import java.util.List;
@@ -35,25 +34,20 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
-
     @InjectMocks
     private ClienteService clienteService;
 
     private ClienteDTO validClienteDTO;
     private Cliente validCliente;
-    private ClienteResponseDTO validClienteResponseDTO;
 
     @BeforeEach
     void setUp() {
         // Preparar dados de teste para cada método
         validClienteDTO = ClienteTestData.createValidClienteDTO();
         validCliente = ClienteTestData.createValidCliente();
-        validClienteResponseDTO = ClienteTestData.createValidClienteResponseDTO();
         
         // Reset mocks para garantir isolamento entre testes
-        reset(clienteRepository, modelMapper);
+        reset(clienteRepository);
     }
 
     // ========== TESTES DE CADASTRO DE CLIENTE ==========
@@ -64,12 +58,8 @@ class ClienteServiceTest {
         // Given
         when(clienteRepository.findByEmail(validClienteDTO.getEmail()))
             .thenReturn(Optional.empty());
-        when(modelMapper.map(validClienteDTO, Cliente.class))
-            .thenReturn(validCliente);
         when(clienteRepository.save(any(Cliente.class)))
             .thenReturn(validCliente);
-        when(modelMapper.map(validCliente, ClienteResponseDTO.class))
-            .thenReturn(validClienteResponseDTO);
 
         // When
         ClienteResponseDTO result = clienteService.cadastrarCliente(validClienteDTO);
@@ -81,8 +71,6 @@ class ClienteServiceTest {
         
         verify(clienteRepository).findByEmail(validClienteDTO.getEmail());
         verify(clienteRepository).save(any(Cliente.class));
-        verify(modelMapper).map(validClienteDTO, Cliente.class);
-        verify(modelMapper).map(validCliente, ClienteResponseDTO.class);
     }
 
     @Test
@@ -113,8 +101,6 @@ class ClienteServiceTest {
         Long clienteId = 1L;
         when(clienteRepository.findById(clienteId))
             .thenReturn(Optional.of(validCliente));
-        when(modelMapper.map(validCliente, ClienteResponseDTO.class))
-            .thenReturn(validClienteResponseDTO);
 
         // When
         ClienteResponseDTO result = clienteService.buscarClientePorId(clienteId);
@@ -124,7 +110,6 @@ class ClienteServiceTest {
         assertThat(result.getId()).isEqualTo(clienteId);
         
         verify(clienteRepository).findById(clienteId);
-        verify(modelMapper).map(validCliente, ClienteResponseDTO.class);
     }
 
     @Test
@@ -142,7 +127,6 @@ class ClienteServiceTest {
             .hasMessageContaining(clienteId.toString());
 
         verify(clienteRepository).findById(clienteId);
-        verify(modelMapper, never()).map(any(), eq(ClienteResponseDTO.class));
     }
 
     // ========== TESTES DE BUSCA POR EMAIL ==========
@@ -154,8 +138,6 @@ class ClienteServiceTest {
         String email = "joao@email.com";
         when(clienteRepository.findByEmail(email))
             .thenReturn(Optional.of(validCliente));
-        when(modelMapper.map(validCliente, ClienteResponseDTO.class))
-            .thenReturn(validClienteResponseDTO);
 
         // When
         ClienteResponseDTO result = clienteService.buscarClientePorEmail(email);
@@ -165,7 +147,6 @@ class ClienteServiceTest {
         assertThat(result.getEmail()).isEqualTo(email);
         
         verify(clienteRepository).findByEmail(email);
-        verify(modelMapper).map(validCliente, ClienteResponseDTO.class);
     }
 
     @Test
@@ -182,7 +163,6 @@ class ClienteServiceTest {
             .hasMessageContaining("Cliente não encontrado com email: " + email);
 
         verify(clienteRepository).findByEmail(email);
-        verify(modelMapper, never()).map(any(), eq(ClienteResponseDTO.class));
     }
 
     // ========== TESTES DE ATUALIZAÇÃO ==========
@@ -195,14 +175,11 @@ class ClienteServiceTest {
         ClienteDTO updateDTO = ClienteTestData.createClienteDTOForUpdate();
         Cliente clienteExistente = ClienteTestData.createClienteWithId(clienteId);
         Cliente clienteAtualizado = ClienteTestData.createClienteWithId(clienteId);
-        ClienteResponseDTO responseDTO = ClienteTestData.createClienteResponseDTOWithId(clienteId);
 
         when(clienteRepository.findById(clienteId))
             .thenReturn(Optional.of(clienteExistente));
         when(clienteRepository.save(any(Cliente.class)))
             .thenReturn(clienteAtualizado);
-        when(modelMapper.map(clienteAtualizado, ClienteResponseDTO.class))
-            .thenReturn(responseDTO);
 
         // When
         ClienteResponseDTO result = clienteService.atualizarCliente(clienteId, updateDTO);
@@ -213,7 +190,6 @@ class ClienteServiceTest {
         
         verify(clienteRepository).findById(clienteId);
         verify(clienteRepository).save(any(Cliente.class));
-        verify(modelMapper).map(clienteAtualizado, ClienteResponseDTO.class);
     }
 
     @Test
@@ -277,8 +253,6 @@ class ClienteServiceTest {
             .thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class)))
             .thenReturn(cliente);
-        when(modelMapper.map(cliente, ClienteResponseDTO.class))
-            .thenReturn(validClienteResponseDTO);
 
         // When
         ClienteResponseDTO result = clienteService.ativarDesativarCliente(clienteId);
@@ -289,7 +263,6 @@ class ClienteServiceTest {
         
         verify(clienteRepository).findById(clienteId);
         verify(clienteRepository).save(cliente);
-        verify(modelMapper).map(cliente, ClienteResponseDTO.class);
     }
 
     // ========== TESTES DE LISTAGEM ==========
@@ -302,25 +275,18 @@ class ClienteServiceTest {
             ClienteTestData.createClienteWithId(1L),
             ClienteTestData.createClienteWithId(2L)
         );
-        List<ClienteResponseDTO> responseDTOs = Arrays.asList(
-            ClienteTestData.createClienteResponseDTOWithId(1L),
-            ClienteTestData.createClienteResponseDTOWithId(2L)
-        );
 
         when(clienteRepository.findByAtivoTrue())
             .thenReturn(clientesAtivos);
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
-            .thenReturn(responseDTOs.get(0), responseDTOs.get(1));
 
         // When
         List<ClienteResponseDTO> result = clienteService.listarClientesAtivos();
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
+        assertThat(result).extracting(ClienteResponseDTO::getId).containsExactly(1L, 2L);
         
         verify(clienteRepository).findByAtivoTrue();
-        verify(modelMapper, times(2)).map(any(Cliente.class), eq(ClienteResponseDTO.class));
     }
 
     @Test
@@ -338,6 +304,5 @@ class ClienteServiceTest {
         assertThat(result).isEmpty();
         
         verify(clienteRepository).findByAtivoTrue();
-        verify(modelMapper, never()).map(any(Cliente.class), eq(ClienteResponseDTO.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyService - Testes Unitários")
+class IdempotencyServiceTest {
+
+    private static final Map<String, Object> REQUISICAO = Map.of("clienteId", 1, "restauranteId", 2);
+
+    private MeterRegistry meterRegistry;
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new InMemoryIdempotencyStore(3);
+        idempotencyService = new IdempotencyService(store, new ObjectMapper(), meterRegistry, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a primeira resposta quando a chave for repetida")
+    void should_ReturnFirstResponse_When_KeyIsRepeated() {
+        // Given
+        AtomicInteger execucoes = new AtomicInteger();
+
+        // When
+        IdempotencyService.Resultado<String> primeiro = idempotencyService.executar("chave", REQUISICAO, String.class,
+                () -> "pedido-" + execucoes.incrementAndGet());
+        IdempotencyService.Resultado<String> segundo = idempotencyService.executar("chave", REQUISICAO, String.class,
+                () -> "pedido-" + execucoes.incrementAndGet());
+
+        // Then
+        assertThat(primeiro.valor()).isEqualTo("pedido-1");
+        assertThat(primeiro.reaproveitado()).isFalse();
+        assertThat(segundo.valor()).isEqualTo("pedido-1");
+        assertThat(segundo.reaproveitado()).isTrue();
+        assertThat(execucoes).hasValue(1);
+        assertThat(contador("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única vez quando requisições simultâneas usarem a mesma chave")
+    void should_ExecuteOnce_When_ConcurrentRequestsShareKey() throws Exception {
+        // Given
+        int requisicoes = 8;
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+
+        try {
+            // When
+            List<Future<IdempotencyService.Resultado<String>>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> idempotencyService.executar("chave", REQUISICAO, String.class, () -> {
+                execucoes.incrementAndGet();
+                emExecucao.countDown();
+                aguardar(liberar);
+                return "pedido-1";
+            })));
+            emExecucao.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < requisicoes; i++) {
+                resultados.add(executor.submit(() -> idempotencyService.executar("chave", REQUISICAO, String.class, () -> {
+                    execucoes.incrementAndGet();
+                    return "duplicado";
+                })));
+            }
+            // Garante que as duplicatas chegaram enquanto a primeira ainda executava
+            while (contador("colapsada") < requisicoes - 1) {
+                Thread.onSpinWait();
+            }
+            liberar.countDown();
+
+            // Then
+            for (Future<IdempotencyService.Resultado<String>> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS).valor()).isEqualTo("pedido-1");
+            }
+            assertThat(execucoes).hasValue(1);
+            assertThat(contador("colapsada")).isEqualTo(requisicoes - 1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve registrar a resposta quando a operação falhar")
+    void should_NotStoreResponse_When_OperationFails() {
+        // Given
+        AtomicInteger execucoes = new AtomicInteger();
+
+        // When
+        assertThatThrownBy(() -> idempotencyService.executar("chave", REQUISICAO, String.class, () -> {
+            execucoes.incrementAndGet();
+            throw new BusinessException("Produto indisponível");
+        })).isInstanceOf(BusinessException.class);
+        IdempotencyService.Resultado<String> retentativa = idempotencyService.executar("chave", REQUISICAO, String.class,
+                () -> "pedido-" + execucoes.incrementAndGet());
+
+        // Then
+        assertThat(retentativa.valor()).isEqualTo("pedido-2");
+        assertThat(retentativa.reaproveitado()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com conflito a mesma chave com outro conteúdo, sem executar de novo")
+    void should_RejectWithConflict_When_KeyIsReusedWithDifferentPayload() {
+        // Given
+        AtomicInteger execucoes = new AtomicInteger();
+        idempotencyService.executar("chave", REQUISICAO, String.class, () -> "pedido-" + execucoes.incrementAndGet());
+
+        // When / Then
+        assertThatThrownBy(() -> idempotencyService.executar("chave", Map.of("clienteId", 1, "restauranteId", 3),
+                String.class, () -> "pedido-" + execucoes.incrementAndGet()))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("requisição diferente");
+        assertThat(idempotencyService.executar("chave", Map.of("clienteId", 1, "restauranteId", 2), String.class,
+                () -> "pedido-" + execucoes.incrementAndGet()).valor()).isEqualTo("pedido-1");
+        assertThat(execucoes).hasValue(1);
+        assertThat(contador("conflito")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve descartar as chaves mais antigas quando o limite for atingido")
+    void should_EvictOldestKeys_When_CapacityIsExceeded() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            store.salvar("chave-" + i, i, Duration.ofMinutes(5));
+        }
+
+        // Then
+        assertThat(store.tamanho()).isEqualTo(3);
+        assertThat(store.buscar("chave-0")).isEmpty();
+        assertThat(store.buscar("chave-4")).contains(4);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar respostas com TTL expirado")
+    void should_IgnoreResponse_When_TtlExpired() {
+        // When
+        store.salvar("chave", "pedido", Duration.ZERO);
+
+        // Then
+        assertThat(store.buscar("chave")).isEmpty();
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("idempotencia.requisicoes").tag("resultado", resultado).counter().count();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração do outbox de eventos de pedido (H2, sem broker)
+ * O relay agendado fica desligado e a drenagem é acionada pelo próprio teste
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "api.outbox.relay.enabled=false",
+        "api.outbox.tamanho-lote=2",
+        "api.outbox.max-tentativas=2"
+})
+@DisplayName("OutboxRelay - Testes de Integração")
+class OutboxRelayIT {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private SinkControlado sink;
+
+    @Autowired
+    private SinkRegistro sinkRegistro;
+
+    @Autowired
+    private AssinanteEventos assinante;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Pedido pedido;
+
+    @BeforeEach
+    void setUp() {
+        sink.falhar = false;
+        sink.statusRejeitado = null;
+        outboxRelay.drenar();
+        sink.recebidos.clear();
+        sinkRegistro.recebidos.clear();
+        assinante.recebidos.clear();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Outbox");
+        cliente.setEmail("outbox" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Outbox");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setEndereco("Rua Outbox, 10");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante = restauranteRepository.save(restaurante);
+
+        pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setTotal(new BigDecimal("30.00"));
+        pedido = pedidoRepository.save(pedido);
+    }
+
+    @Test
+    @DisplayName("Deve entregar eventos de status em ordem aos sinks e assinantes locais")
+    void should_DeliverStatusEvents_When_RelayDrains() {
+        // Given
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PRONTO);
+
+        // When - lotes de 2 eventos
+        int entregues = outboxRelay.drenar();
+
+        // Then
+        assertThat(entregues).isEqualTo(3);
+        assertThat(sink.recebidos).extracting(EventoPedido::status)
+                .containsExactly(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.PRONTO);
+        assertThat(sink.recebidos).allSatisfy(evento -> {
+            assertThat(evento.tipo()).isEqualTo(TipoEventoPedido.STATUS_ALTERADO);
+            assertThat(evento.pedidoId()).isEqualTo(pedido.getId());
+            assertThat(evento.restauranteId()).isEqualTo(pedido.getRestaurante().getId());
+        });
+        assertThat(sink.recebidos).extracting(EventoPedido::sequencia).doesNotContainNull().isSorted();
+        assertThat(assinante.recebidos).hasSize(3);
+        assertThat(outboxEventoRepository.countByProcessadoEmIsNullAndDescartadoEmIsNull()).isZero();
+        assertThat(outboxRelay.drenar()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento quando a transação do pedido for desfeita")
+    void should_NotWriteEvent_When_TransitionFails() {
+        // When
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.ENTREGUE))
+                .isInstanceOf(ConflictException.class);
+
+        // Then
+        assertThat(outboxEventoRepository.countByProcessadoEmIsNullAndDescartadoEmIsNull()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve reentregar o evento só aos sinks que falharam")
+    void should_RedeliverOnlyToFailedSinks_When_SinkFails() {
+        // Given
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        sink.falhar = true;
+
+        // When
+        int entreguesComFalha = outboxRelay.drenar();
+        sink.falhar = false;
+        int entreguesDepois = outboxRelay.drenar();
+
+        // Then
+        assertThat(entreguesComFalha).isZero();
+        assertThat(entreguesDepois).isEqualTo(1);
+        assertThat(sink.recebidos).hasSize(1);
+        // O sink que aceitou na primeira tentativa não recebe o evento de novo
+        assertThat(sinkRegistro.recebidos).hasSize(1);
+        OutboxEvento evento = outboxEventoRepository.findById(sink.recebidos.get(0).id()).orElseThrow();
+        assertThat(evento.getTentativas()).isEqualTo(1);
+        assertThat(evento.getProcessadoEm()).isNotNull();
+        assertThat(evento.getSinksEntregues()).contains("SinkRegistro", "SinkControlado");
+        assertThat(evento.getReserva()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento que esgota as tentativas e seguir com os próximos")
+    void should_DiscardEvent_When_AttemptsExhausted() {
+        // Given - o primeiro evento sempre falha
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        sink.statusRejeitado = StatusPedido.CONFIRMADO;
+
+        // When
+        int primeira = outboxRelay.drenar();
+        int segunda = outboxRelay.drenar();
+        int terceira = outboxRelay.drenar();
+
+        // Then
+        assertThat(primeira).isZero();
+        assertThat(segunda).isZero();
+        assertThat(terceira).isEqualTo(1);
+        assertThat(sink.recebidos).extracting(EventoPedido::status).containsExactly(StatusPedido.PREPARANDO);
+        OutboxEvento descartado = outboxEventoRepository.findById(sinkRegistro.recebidos.get(0).id()).orElseThrow();
+        assertThat(descartado.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+        assertThat(descartado.getTentativas()).isEqualTo(2);
+        assertThat(descartado.getDescartadoEm()).isNotNull();
+        assertThat(descartado.getProcessadoEm()).isNull();
+        assertThat(descartado.getUltimoErro()).contains("Sink indisponível");
+        assertThat(outboxEventoRepository.countByProcessadoEmIsNullAndDescartadoEmIsNull()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve entregar eventos reservados por outra instância até a reserva vencer")
+    void should_SkipEvents_When_ReservedByAnotherInstance() {
+        // Given
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> ids = outboxEventoRepository.findIdsPendentes(agora, PageRequest.of(0, 10));
+
+        // When
+        Integer primeira = transactionTemplate.execute(status ->
+                outboxEventoRepository.reservar(ids, "instancia-a", agora.plusMinutes(1), agora));
+        Integer concorrente = transactionTemplate.execute(status ->
+                outboxEventoRepository.reservar(ids, "instancia-b", agora.plusMinutes(1), agora));
+        int entreguesReservados = outboxRelay.drenar();
+        Integer aposVencer = transactionTemplate.execute(status ->
+                outboxEventoRepository.reservar(ids, "instancia-c", agora.plusMinutes(3), agora.plusMinutes(2)));
+
+        // Then
+        assertThat(primeira).isEqualTo(1);
+        assertThat(concorrente).isZero();
+        assertThat(entreguesReservados).isZero();
+        assertThat(aposVencer).isEqualTo(1);
+        assertThat(outboxEventoRepository.findByReservaOrderByIdAsc("instancia-c")).hasSize(1);
+
+        transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.liberarReserva("instancia-c"));
+        assertThat(outboxRelay.drenar()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class OutboxTestConfig {
+
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE)
+        SinkControlado sinkControlado() {
+            return new SinkControlado();
+        }
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        SinkRegistro sinkRegistro() {
+            return new SinkRegistro();
+        }
+
+        @Bean
+        AssinanteEventos assinanteEventos() {
+            return new AssinanteEventos();
+        }
+    }
+
+    static class SinkControlado implements EventoPedidoSink {
+        final List<EventoPedido> recebidos = new CopyOnWriteArrayList<>();
+        volatile boolean falhar;
+        volatile StatusPedido statusRejeitado;
+
+        @Override
+        public void publicar(List<EventoPedido> eventos) {
+            if (falhar || eventos.stream().anyMatch(evento -> evento.status() == statusRejeitado)) {
+                throw new IllegalStateException("Sink indisponível");
+            }
+            recebidos.addAll(eventos);
+        }
+    }
+
+    /**
+     * Primeiro sink da lista: registra tudo o que recebe, inclusive eventos que falham nos seguintes
+     */
+    static class SinkRegistro implements EventoPedidoSink {
+        final List<EventoPedido> recebidos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publicar(List<EventoPedido> eventos) {
+            recebidos.addAll(eventos);
+        }
+    }
+
+    static class AssinanteEventos {
+        final List<EventoPedido> recebidos = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void aoReceber(EventoPedido evento) {
+            recebidos.add(evento);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.PagedResponse;
+import com.deliverytech.delivery.dto.PedidoResumoDTO;
+import com.deliverytech.delivery.enums.ModoContagem;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Teste de integração da paginação por cursor da listagem de pedidos
+ * Percorre todas as páginas pelo link next e confere ordem, ausência de repetições e custo por página
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Relay do outbox e acompanhamento do feed desligados para não contaminar as estatísticas do Hibernate
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000",
+        "api.pedidos.limite-contagem=50"
+})
+@DisplayName("PedidoService - Paginação por cursor")
+class PedidoCursorPaginacaoIT {
+
+    private static final int QUANTIDADE_PEDIDOS = 120;
+    private static final int TAMANHO_PAGINA = 25;
+    private static final String URL = "http://localhost/api/pedidos";
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long restauranteId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Cursor");
+        cliente.setEmail("cursor" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Cursor");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante = restauranteRepository.save(restaurante);
+        restauranteId = restaurante.getId();
+
+        // Grupos de pedidos com a mesma data para exercitar o desempate por id
+        LocalDateTime base = LocalDateTime.of(2025, 10, 8, 12, 0);
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setStatus(StatusPedido.PENDENTE);
+            pedido.setDataPedido(base.plusMinutes(i / 7));
+            pedido.setTotal(new BigDecimal("20.00"));
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas pelo link next sem repetir nem pular pedidos")
+    void should_VisitEveryPedidoOnce_When_FollowingNextLinks() {
+        List<PedidoResumoDTO> visitados = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        long comandosMaximo = 0;
+        while (cursor != null) {
+            statistics.clear();
+            PagedResponse<PedidoResumoDTO> pagina = pedidoService.listarPedidosPorCursor(null, null, null, null,
+                    restauranteId, cursor, TAMANHO_PAGINA, ModoContagem.NENHUMA, URL + "?restauranteId=" + restauranteId);
+            comandosMaximo = Math.max(comandosMaximo, statistics.getPrepareStatementCount());
+            visitados.addAll(pagina.getContent());
+            paginas++;
+
+            String next = pagina.getLinks().get("next");
+            assertThat(pagina.getPage().isHasNext()).isEqualTo(next != null);
+            cursor = next == null ? null : UriComponentsBuilder.fromUriString(next).build().getQueryParams().getFirst("cursor");
+            if (next != null) {
+                assertThat(next).contains("restauranteId=" + restauranteId);
+            }
+        }
+
+        Set<Long> ids = new HashSet<>();
+        visitados.forEach(pedido -> ids.add(pedido.getId()));
+        assertThat(ids).hasSize(QUANTIDADE_PEDIDOS);
+        assertThat(visitados).hasSize(QUANTIDADE_PEDIDOS);
+        assertThat(paginas).isEqualTo((QUANTIDADE_PEDIDOS + TAMANHO_PAGINA - 1) / TAMANHO_PAGINA);
+        for (int i = 1; i < visitados.size(); i++) {
+            PedidoResumoDTO anterior = visitados.get(i - 1);
+            PedidoResumoDTO atual = visitados.get(i);
+            assertThat(atual.getDataPedido()).isBeforeOrEqualTo(anterior.getDataPedido());
+            if (atual.getDataPedido().equals(anterior.getDataPedido())) {
+                assertThat(atual.getId()).isLessThan(anterior.getId());
+            }
+        }
+        assertThat(visitados.get(0).getNomeCliente()).isEqualTo("Cliente Cursor");
+
+        // Uma única consulta por página: sem COUNT e com cliente e restaurante no mesmo SELECT
+        assertThat(comandosMaximo).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve informar total exato ou limitado conforme o modo de contagem")
+    void should_ReportTotal_When_CountModeRequested() {
+        PagedResponse<PedidoResumoDTO> exata = pedidoService.listarPedidosPorCursor(null, null, null, null,
+                restauranteId, "", TAMANHO_PAGINA, ModoContagem.EXATA, URL);
+        PagedResponse<PedidoResumoDTO> limitada = pedidoService.listarPedidosPorCursor(null, null, null, null,
+                restauranteId, "", TAMANHO_PAGINA, ModoContagem.LIMITADA, URL);
+
+        assertThat(exata.getPage().getTotalElements()).isEqualTo(QUANTIDADE_PEDIDOS);
+        assertThat(exata.getPage().getTotalEstimado()).isFalse();
+        assertThat(limitada.getPage().getTotalElements()).isEqualTo(50L);
+        assertThat(limitada.getPage().getTotalEstimado()).isTrue();
+    }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.enums.FormatoExportacao;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Teste de integração da exportação de pedidos em NDJSON e CSV
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Relay do outbox e acompanhamento do feed desligados para não contaminar as estatísticas do Hibernate
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000"
+})
+@DisplayName("PedidoExportacaoService - Exportação de pedidos")
+class PedidoExportacaoIT {
+
+    // Mais de um ciclo de limpeza do contexto de persistência
+    private static final int QUANTIDADE_PEDIDOS = 1200;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 9, 1, 10, 0);
+
+    @Autowired
+    private PedidoExportacaoService pedidoExportacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Long restauranteId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Silva, \"Zé\"");
+        cliente.setEmail("exportacao" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("=Restaurante Exportação");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante = restauranteRepository.save(restaurante);
+        restauranteId = restaurante.getId();
+
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setStatus(i % 2 == 0 ? StatusPedido.ENTREGUE : StatusPedido.CANCELADO);
+            pedido.setDataPedido(BASE.plusHours(i));
+            pedido.setCepEntrega("01310-100");
+            pedido.setSubtotal(new BigDecimal("20.00"));
+            pedido.setTaxaEntrega(new BigDecimal("5.00"));
+            pedido.setTotal(new BigDecimal("25.00"));
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+    }
+
+    @Test
+    @DisplayName("Deve exportar um objeto JSON por linha em ordem cronológica com uma única consulta")
+    void should_WriteOneJsonObjectPerLine_When_ExportingNdjson() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        statistics.clear();
+        long linhas = pedidoExportacaoService.exportar(null, null, null, null, restauranteId,
+                FormatoExportacao.NDJSON, saida);
+
+        String conteudo = saida.toString(StandardCharsets.UTF_8);
+        String[] registros = conteudo.split("\n");
+        assertThat(linhas).isEqualTo(QUANTIDADE_PEDIDOS);
+        assertThat(conteudo).endsWith("}\n");
+        assertThat(registros).hasSize(QUANTIDADE_PEDIDOS);
+        JsonNode primeiro = objectMapper.readTree(registros[0]);
+        JsonNode ultimo = objectMapper.readTree(registros[QUANTIDADE_PEDIDOS - 1]);
+        assertThat(primeiro.get("dataPedido").asText()).isEqualTo("2025-09-01T10:00:00");
+        assertThat(primeiro.get("nomeCliente").asText()).isEqualTo("Silva, \"Zé\"");
+        assertThat(primeiro.get("total").decimalValue()).isEqualByComparingTo("25.00");
+        assertThat(ultimo.get("id").asLong()).isGreaterThan(primeiro.get("id").asLong());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve exportar CSV com cabeçalho, filtros aplicados e campos de texto escapados")
+    void should_WriteEscapedCsv_When_ExportingCsvWithFilters() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        LocalDate dia = BASE.toLocalDate();
+
+        long linhas = pedidoExportacaoService.exportar(StatusPedido.ENTREGUE, dia, dia, null, restauranteId,
+                FormatoExportacao.CSV, saida);
+
+        String[] registros = saida.toString(StandardCharsets.UTF_8).split("\n");
+        // 14 pedidos no primeiro dia (10h às 23h), metade ENTREGUE
+        assertThat(linhas).isEqualTo(7);
+        assertThat(registros).hasSize(8);
+        assertThat(registros[0]).startsWith("id,dataPedido,status");
+        assertThat(registros[1]).contains(",2025-09-01T10:00,ENTREGUE,")
+                .contains(",\"Silva, \"\"Zé\"\"\",")
+                .contains(",'=Restaurante Exportação,01310-100,20.00,5.00,25.00");
+    }
+}
@@ -0,0 +1,188 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EventoPedido;
+import com.deliverytech.delivery.model.OutboxEvento;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.model.TipoEventoPedido;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PedidoFeedService - Testes Unitários")
+class PedidoFeedServiceTest {
+
+    private static final Pattern ID_EVENTO = Pattern.compile("^id:(\\d+)", Pattern.MULTILINE);
+
+    private OutboxEventoRepository outboxEventoRepository;
+    private Deque<EmitterCapturado> emitters;
+    private PedidoFeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventoRepository = mock(OutboxEventoRepository.class);
+        emitters = new ArrayDeque<>();
+        feedService = new PedidoFeedService(outboxEventoRepository, new SimpleMeterRegistry(),
+                Duration.ofMinutes(1), 100) {
+            @Override
+            SseEmitter criarEmitter() {
+                return emitters.removeFirst();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o evento apenas para as conexões do restaurante do pedido")
+    void should_FanOutOnlyToRestaurant_When_EventIsDistributed() {
+        // Given
+        EmitterCapturado restaurante1a = novoEmitter();
+        EmitterCapturado restaurante1b = novoEmitter();
+        EmitterCapturado restaurante2 = novoEmitter();
+        feedService.assinar(1L, null);
+        feedService.assinar(1L, null);
+        feedService.assinar(2L, null);
+
+        // When
+        feedService.distribuir(evento(10L, 1L));
+        feedService.distribuir(evento(11L, 1L));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(restaurante1a.idsEnviados()).containsExactly(10L, 11L);
+            assertThat(restaurante1b.idsEnviados()).containsExactly(10L, 11L);
+        });
+        assertThat(restaurante2.idsEnviados()).isEmpty();
+        assertThat(feedService.getConexoes()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve reenviar eventos perdidos a partir do Last-Event-ID sem duplicar os eventos ao vivo")
+    void should_ReplayMissedEventsWithoutDuplicates_When_ResumingFromLastEventId() {
+        // Given
+        EmitterCapturado emitter = novoEmitter();
+        when(outboxEventoRepository.findByRestauranteIdAndSequenciaGreaterThanOrderBySequenciaAsc(eq(1L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(outbox(11L, 1L), outbox(12L, 1L)));
+
+        // When
+        feedService.assinar(1L, 10L);
+        feedService.distribuir(evento(12L, 1L));
+        feedService.distribuir(evento(13L, 1L));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(emitter.idsEnviados()).containsExactly(11L, 12L, 13L));
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar o outbox pela sequência de entrega, sem perder eventos de id menor confirmados depois")
+    void should_DistributeBySequence_When_LowerIdCommitsLate() {
+        // Given - o evento de id 5 foi confirmado depois do de id 50 e recebeu a sequência maior
+        EmitterCapturado emitter = novoEmitter();
+        feedService.assinar(1L, null);
+        when(outboxEventoRepository.findMaxSequencia()).thenReturn(Optional.of(10L));
+        when(outboxEventoRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(outbox(50L, 11L, 1L), outbox(5L, 12L, 1L)));
+
+        // When
+        feedService.acompanhar();
+        feedService.acompanhar();
+        feedService.acompanhar();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(emitter.idsEnviados()).containsExactly(11L, 12L));
+        verify(outboxEventoRepository).findBySequenciaGreaterThanOrderBySequenciaAsc(eq(12L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve remover a conexão quando o envio falhar")
+    void should_RemoveConnection_When_SendFails() {
+        // Given
+        EmitterCapturado emitter = novoEmitter();
+        emitter.falhar = true;
+        feedService.assinar(1L, null);
+
+        // When
+        feedService.distribuir(evento(10L, 1L));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> feedService.getConexoes() == 0);
+    }
+
+    private EmitterCapturado novoEmitter() {
+        EmitterCapturado emitter = new EmitterCapturado();
+        emitters.addLast(emitter);
+        return emitter;
+    }
+
+    private static EventoPedido evento(Long sequencia, Long restauranteId) {
+        return EventoPedido.from(outbox(sequencia, restauranteId));
+    }
+
+    private static OutboxEvento outbox(Long sequencia, Long restauranteId) {
+        return outbox(sequencia, sequencia, restauranteId);
+    }
+
+    private static OutboxEvento outbox(Long id, Long sequencia, Long restauranteId) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setId(id);
+        evento.setSequencia(sequencia);
+        evento.setTipo(TipoEventoPedido.STATUS_ALTERADO);
+        evento.setPedidoId(100L);
+        evento.setRestauranteId(restauranteId);
+        evento.setStatus(StatusPedido.CONFIRMADO);
+        evento.setCriadoEm(LocalDateTime.now());
+        return evento;
+    }
+
+    /**
+     * SseEmitter que registra os eventos enviados em vez de escrever na resposta HTTP
+     */
+    static class EmitterCapturado extends SseEmitter {
+        private final List<String> enviados = new CopyOnWriteArrayList<>();
+        volatile boolean falhar;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (falhar) {
+                throw new IOException("Conexão encerrada pelo cliente");
+            }
+            StringBuilder texto = new StringBuilder();
+            builder.build().forEach(parte -> texto.append(parte.getData()));
+            enviados.add(texto.toString());
+        }
+
+        List<Long> idsEnviados() {
+            return enviados.stream()
+                    .map(ID_EVENTO::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> Long.valueOf(matcher.group(1)))
+                    .toList();
+        }
+    }
+}
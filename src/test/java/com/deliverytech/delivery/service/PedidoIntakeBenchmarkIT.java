@@ -0,0 +1,200 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de integração do fluxo de criação de pedidos
+ * Compara o número de comandos SQL por pedido no fluxo antigo (item a item) e no fluxo em lote,
+ * e o custo de criar vários pedidos individualmente ou pelo endpoint de lote
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Mesmas configurações de batch usadas em application.properties
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        // Relay do outbox e acompanhamento do feed desligados para não contaminar as estatísticas do Hibernate
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000"
+})
+@DisplayName("PedidoService - Benchmark de comandos SQL por pedido")
+class PedidoIntakeBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoIntakeBenchmarkIT.class);
+
+    private static final int QUANTIDADE_ITENS = 12;
+    private static final int QUANTIDADE_PEDIDOS_LOTE = 100;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteServiceInterface clienteService;
+
+    @Autowired
+    private RestauranteServiceInterface restauranteService;
+
+    @Autowired
+    private ProdutoServiceInterface produtoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private PedidoDTO pedidoDTO;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Benchmark");
+        cliente.setEmail("benchmark" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Benchmark");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setEndereco("Rua Benchmark, 100");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante.setAvaliacao(4.5);
+        restaurante.setLatitude(-23.5505);
+        restaurante.setLongitude(-46.6333);
+        restaurante = restauranteRepository.save(restaurante);
+
+        List<ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_ITENS; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setPreco(new BigDecimal("10.00").add(BigDecimal.valueOf(i)));
+            produto.setCategoria("Prato");
+            produto.setRestaurante(restaurante);
+            produto = produtoRepository.save(produto);
+            itens.add(new ItemPedidoDTO(produto.getId(), 1 + i % 3, null));
+        }
+
+        pedidoDTO = new PedidoDTO(cliente.getId(), restaurante.getId(),
+                "Rua das Flores, 123 - Centro", "01310-100", null, itens);
+    }
+
+    @Test
+    @DisplayName("Fluxo em lote deve usar muito menos comandos SQL que o fluxo item a item")
+    void should_IssueFewerStatements_When_UsingBatchedIntake() {
+        long antes = medirComandos(this::criarPedidoItemAItem);
+        long depois = medirComandos(() -> pedidoService.criarPedido(pedidoDTO));
+
+        logger.info("Comandos SQL por pedido com {} itens - antes: {}, depois: {}",
+                QUANTIDADE_ITENS, antes, depois);
+
+        assertThat(antes).isGreaterThanOrEqualTo(2L * QUANTIDADE_ITENS);
+        assertThat(depois).isLessThanOrEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Lote de pedidos deve usar número de comandos SQL independente da quantidade de pedidos")
+    void should_KeepStatementCountFlat_When_CreatingOrdersInBatch() {
+        List<PedidoDTO> lote = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_PEDIDOS_LOTE; i++) {
+            lote.add(pedidoDTO);
+        }
+
+        // Uma transação por pedido, como em chamadas separadas ao POST /api/pedidos
+        long individuais = 0;
+        for (PedidoDTO dto : lote) {
+            individuais += medirComandos(() -> pedidoService.criarPedido(dto));
+        }
+        long emLote = medirComandos(() -> pedidoService.criarPedidosEmLote(lote));
+
+        logger.info("Comandos SQL para {} pedidos com {} itens - individuais: {}, lote: {}",
+                QUANTIDADE_PEDIDOS_LOTE, QUANTIDADE_ITENS, individuais, emLote);
+
+        assertThat(emLote).isLessThan(individuais / 5);
+    }
+
+    private long medirComandos(Runnable fluxo) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> fluxo.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Reproduz o fluxo anterior: produto buscado duas vezes por item,
+     * um INSERT por item (IDENTITY) e releitura completa do pedido no final
+     */
+    private void criarPedidoItemAItem() {
+        ClienteResponseDTO cliente = clienteService.buscarClientePorId(pedidoDTO.getClienteId());
+        restauranteService.buscarRestaurantePorId(pedidoDTO.getRestauranteId());
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedidoDTO itemDto : pedidoDTO.getItens()) {
+            ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(itemDto.getProdutoId());
+            total = total.add(produto.getPreco().multiply(BigDecimal.valueOf(itemDto.getQuantidade())));
+        }
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(clienteRepository.getReferenceById(cliente.getId()));
+        pedido.setRestaurante(restauranteRepository.getReferenceById(pedidoDTO.getRestauranteId()));
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setTotal(total);
+        pedido = pedidoRepository.save(pedido);
+
+        for (ItemPedidoDTO itemDto : pedidoDTO.getItens()) {
+            ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(itemDto.getProdutoId());
+            ItemPedido item = new ItemPedido();
+            item.setPedido(pedido);
+            item.setProduto(produtoRepository.getReferenceById(produto.getId()));
+            item.setQuantidade(itemDto.getQuantidade());
+            item.setPrecoUnitario(produto.getPreco());
+            itemPedidoRepository.saveAndFlush(item);
+        }
+
+        pedidoService.buscarPedidoPorId(pedido.getId());
+    }
+}
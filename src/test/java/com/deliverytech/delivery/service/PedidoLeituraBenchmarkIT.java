@@ -0,0 +1,187 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de integração da leitura de um pedido por ID
+ * Compara comandos SQL e bytes alocados por chamada entre o fluxo antigo
+ * (findById + itens + ModelMapper) e a consulta única com conversão direta
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Relay do outbox e acompanhamento do feed desligados para não contaminar as estatísticas do Hibernate
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000"
+})
+@DisplayName("PedidoService - Benchmark de leitura de pedido por ID")
+class PedidoLeituraBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoLeituraBenchmarkIT.class);
+
+    private static final int QUANTIDADE_ITENS = 12;
+    private static final int AQUECIMENTO = 300;
+    private static final int ITERACOES = 1000;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    // Mesma configuração do antigo ModelMapperConfig, reproduzida só para a comparação
+    private final ModelMapper modelMapper = modelMapperLegado();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Leitura");
+        cliente.setEmail("leitura" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Leitura");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setEndereco("Rua Leitura, 100");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante.setAvaliacao(4.5);
+        restaurante.setLatitude(-23.5505);
+        restaurante.setLongitude(-46.6333);
+        restaurante = restauranteRepository.save(restaurante);
+
+        List<ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_ITENS; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setPreco(new BigDecimal("10.00").add(BigDecimal.valueOf(i)));
+            produto.setCategoria("Prato");
+            produto.setRestaurante(restaurante);
+            produto = produtoRepository.save(produto);
+            itens.add(new ItemPedidoDTO(produto.getId(), 1 + i % 3, null));
+        }
+
+        pedidoId = pedidoService.criarPedido(new PedidoDTO(cliente.getId(), restaurante.getId(),
+                "Rua das Flores, 123 - Centro", "01310-100", null, itens)).getId();
+    }
+
+    @Test
+    @DisplayName("Consulta única deve usar um comando SQL e alocar menos que o fluxo com ModelMapper")
+    void should_UseSingleQueryAndAllocateLess_When_ReadingPedidoById() {
+        PedidoResponseDTO antigo = transactionTemplate.execute(status -> buscarPedidoComModelMapper());
+        PedidoResponseDTO novo = pedidoService.buscarPedidoPorId(pedidoId);
+        assertThat(novo.getItens()).hasSize(QUANTIDADE_ITENS);
+        assertThat(novo.getItens()).extracting(item -> item.getProduto().getNome())
+                .containsExactlyElementsOf(antigo.getItens().stream().map(item -> item.getProduto().getNome()).toList());
+
+        long comandosAntes = medirComandos(this::buscarPedidoComModelMapper);
+        long comandosDepois = medirComandos(() -> pedidoService.buscarPedidoPorId(pedidoId));
+
+        long bytesAntes = medirAlocacao(() -> transactionTemplate.execute(status -> buscarPedidoComModelMapper()));
+        long bytesDepois = medirAlocacao(() -> pedidoService.buscarPedidoPorId(pedidoId));
+
+        logger.info("Leitura de pedido com {} itens - comandos SQL antes: {}, depois: {}; " +
+                        "bytes alocados por chamada antes: {}, depois: {}",
+                QUANTIDADE_ITENS, comandosAntes, comandosDepois, bytesAntes, bytesDepois);
+
+        assertThat(comandosDepois).isEqualTo(1L);
+        assertThat(comandosAntes).isGreaterThan(comandosDepois);
+        assertThat(bytesDepois).isLessThan(bytesAntes);
+    }
+
+    private long medirComandos(Supplier<PedidoResponseDTO> leitura) {
+        statistics.clear();
+        transactionTemplate.execute(status -> leitura.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Média de bytes alocados pela thread atual por chamada, após aquecimento
+     */
+    private long medirAlocacao(Supplier<PedidoResponseDTO> leitura) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            leitura.get();
+        }
+        long inicio = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERACOES; i++) {
+            leitura.get();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - inicio) / ITERACOES;
+    }
+
+    /**
+     * Reproduz o fluxo anterior: pedido, cliente e restaurante por findById,
+     * itens em consulta separada com produtos carregados um a um e mapeamento por reflexão
+     */
+    private PedidoResponseDTO buscarPedidoComModelMapper() {
+        Pedido pedido = pedidoRepository.findById(pedidoId).orElseThrow();
+        PedidoResponseDTO response = modelMapper.map(pedido, PedidoResponseDTO.class);
+        List<ItemPedido> itens = itemPedidoRepository.findByPedidoId(pedidoId);
+        response.setItens(itens.stream().map(item -> modelMapper.map(item, ItemPedidoResponseDTO.class)).toList());
+        return response;
+    }
+
+    private static ModelMapper modelMapperLegado() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        return mapper;
+    }
+}
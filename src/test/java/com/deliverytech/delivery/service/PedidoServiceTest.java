@@ -1,12 +1,15 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.*;
+import com.deliverytech.delivery.enums.ModoContagem;
 import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.model.*;
 import com.deliverytech.delivery.repository.*;
 import com.deliverytech.delivery.util.PedidoTestData;
 import com.deliverytech.delivery.util.ClienteTestData;
+import com.deliverytech.delivery.util.CursorPedido;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,10 +17,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,7 +58,28 @@ class PedidoServiceTest {
     private ProdutoServiceInterface produtoService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    @Mock
+    private TaxaEntregaService taxaEntregaService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PedidosRecentesBuffer pedidosRecentes;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PedidoService pedidoService;
@@ -73,7 +103,8 @@ class PedidoServiceTest {
         
         // Reset mocks para garantir isolamento entre testes
         reset(pedidoRepository, itemPedidoRepository, clienteService, 
-              restauranteService, produtoService, modelMapper);
+              restauranteService, produtoService, produtoRepository, clienteRepository,
+              restauranteRepository, taxaEntregaService, outboxService, validator, eventPublisher);
     }
 
     // ========== TESTES DE CRIAÇÃO DE PEDIDO ==========
@@ -86,18 +117,12 @@ class PedidoServiceTest {
             .thenReturn(validClienteResponseDTO);
         when(restauranteService.buscarRestaurantePorId(validPedidoDTO.getRestauranteId()))
             .thenReturn(validRestauranteResponseDTO);
-        when(produtoService.buscarProdutoPorId(any(Long.class)))
-            .thenReturn(validProdutoResponseDTO);
-        when(restauranteService.calcularTaxaEntrega(any(Long.class), any(String.class)))
-            .thenReturn(new BigDecimal("5.00"));
-        when(modelMapper.map(any(ClienteResponseDTO.class), eq(Cliente.class)))
-            .thenReturn(validPedido.getCliente());
-        when(modelMapper.map(any(RestauranteResponseDTO.class), eq(Restaurante.class)))
-            .thenReturn(validPedido.getRestaurante());
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(PedidoTestData.createProdutoComRestaurante(1L, 1L)));
+        when(taxaEntregaService.calcularTaxa(any(Long.class), any(String.class)))
+            .thenReturn(new TaxaEntregaResponse(new BigDecimal("5.00"), 3.0, "20-45 min"));
         when(pedidoRepository.save(any(Pedido.class)))
             .thenReturn(validPedido);
-        when(pedidoService.buscarPedidoPorId(any(Long.class)))
-            .thenReturn(validPedidoResponseDTO);
 
         // When
         PedidoResponseDTO result = pedidoService.criarPedido(validPedidoDTO);
@@ -105,11 +130,77 @@ class PedidoServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(validPedido.getId());
+        assertThat(result.getCliente()).isSameAs(validClienteResponseDTO);
+        assertThat(result.getItens()).hasSize(1);
+        assertThat(result.getItens().get(0).getPrecoTotal()).isEqualByComparingTo(new BigDecimal("25.90"));
         
         verify(clienteService).buscarClientePorId(validPedidoDTO.getClienteId());
         verify(restauranteService).buscarRestaurantePorId(validPedidoDTO.getRestauranteId());
-        verify(produtoService, atLeastOnce()).buscarProdutoPorId(any(Long.class));
-        verify(pedidoRepository).save(any(Pedido.class));
+        verify(produtoRepository).findAllByIdComRestaurante(anyCollection());
+        verify(produtoService, never()).buscarProdutoPorId(any(Long.class));
+        // Cliente e restaurante do pedido vêm das respostas já carregadas, sem nova consulta
+        verify(pedidoRepository).save(argThat(pedido ->
+                pedido.getCliente().getId().equals(validClienteResponseDTO.getId())
+                        && pedido.getRestaurante().getNome().equals(validRestauranteResponseDTO.getNome())));
+        verifyNoInteractions(clienteRepository, restauranteRepository);
+        verify(itemPedidoRepository).saveAll(anyList());
+        verify(outboxService).registrarPedidoCriado(validPedido);
+        verify(eventPublisher).publishEvent(new PedidosCriados(List.of(validPedido)));
+        verify(itemPedidoRepository, never()).save(any(ItemPedido.class));
+        verify(pedidoRepository, never()).findById(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("Deve resolver todos os produtos do pedido em uma única consulta")
+    void should_ResolveProductsInSingleBatch_When_MultipleItems() {
+        // Given
+        PedidoDTO pedidoDTO = PedidoTestData.createPedidoDTOWithItems(Arrays.asList(
+            PedidoTestData.createItemPedidoDTOWithProduct(1L, 2),
+            PedidoTestData.createItemPedidoDTOWithProduct(2L, 1),
+            PedidoTestData.createItemPedidoDTOWithProduct(1L, 3)
+        ));
+        when(clienteService.buscarClientePorId(pedidoDTO.getClienteId()))
+            .thenReturn(validClienteResponseDTO);
+        when(restauranteService.buscarRestaurantePorId(pedidoDTO.getRestauranteId()))
+            .thenReturn(validRestauranteResponseDTO);
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(
+                PedidoTestData.createProdutoComRestaurante(1L, 1L),
+                PedidoTestData.createProdutoComRestaurante(2L, 1L)));
+        when(taxaEntregaService.calcularTaxa(any(Long.class), any(String.class)))
+            .thenReturn(new TaxaEntregaResponse(new BigDecimal("5.00"), 3.0, "20-45 min"));
+        when(pedidoRepository.save(any(Pedido.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        PedidoResponseDTO result = pedidoService.criarPedido(pedidoDTO);
+
+        // Then
+        // (12.95 * 2) + (12.95 * 1) + (12.95 * 3) + 5.00 taxa = 82.70
+        assertThat(result.getValorTotal()).isEqualByComparingTo(new BigDecimal("82.70"));
+        assertThat(result.getItens()).hasSize(3);
+
+        verify(produtoRepository, times(1)).findAllByIdComRestaurante(argThat(ids -> ids.size() == 2));
+        verify(itemPedidoRepository, times(1)).saveAll(argThat(itens -> ((List<?>) itens).size() == 3));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto não existe")
+    void should_ThrowNotFoundException_When_ProductNotFound() {
+        // Given
+        when(clienteService.buscarClientePorId(validPedidoDTO.getClienteId()))
+            .thenReturn(validClienteResponseDTO);
+        when(restauranteService.buscarRestaurantePorId(validPedidoDTO.getRestauranteId()))
+            .thenReturn(validRestauranteResponseDTO);
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.criarPedido(validPedidoDTO))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessageContaining("Produto");
+
+        verify(pedidoRepository, never()).save(any(Pedido.class));
     }
 
     @Test
@@ -156,21 +247,22 @@ class PedidoServiceTest {
     @DisplayName("Deve lançar exceção quando produto não está disponível")
     void should_ThrowBusinessException_When_ProductUnavailable() {
         // Given
-        ProdutoResponseDTO produtoIndisponivel = PedidoTestData.createUnavailableProdutoResponseDTO();
+        Produto produtoIndisponivel = PedidoTestData.createProdutoComRestaurante(1L, 1L);
+        produtoIndisponivel.setDisponivel(false);
         
         when(clienteService.buscarClientePorId(validPedidoDTO.getClienteId()))
             .thenReturn(validClienteResponseDTO);
         when(restauranteService.buscarRestaurantePorId(validPedidoDTO.getRestauranteId()))
             .thenReturn(validRestauranteResponseDTO);
-        when(produtoService.buscarProdutoPorId(any(Long.class)))
-            .thenReturn(produtoIndisponivel);
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(produtoIndisponivel));
 
         // When & Then
         assertThatThrownBy(() -> pedidoService.criarPedido(validPedidoDTO))
             .isInstanceOf(BusinessException.class)
             .hasMessageContaining("não está disponível");
 
-        verify(produtoService).buscarProdutoPorId(any(Long.class));
+        verify(produtoRepository).findAllByIdComRestaurante(anyCollection());
         verify(pedidoRepository, never()).save(any(Pedido.class));
     }
 
@@ -178,24 +270,102 @@ class PedidoServiceTest {
     @DisplayName("Deve lançar exceção quando produto não pertence ao restaurante")
     void should_ThrowBusinessException_When_ProductNotFromRestaurant() {
         // Given
-        ProdutoResponseDTO produtoOutroRestaurante = PedidoTestData.createProdutoResponseDTOWithRestaurante(2L);
+        Produto produtoOutroRestaurante = PedidoTestData.createProdutoComRestaurante(1L, 2L);
         
         when(clienteService.buscarClientePorId(validPedidoDTO.getClienteId()))
             .thenReturn(validClienteResponseDTO);
         when(restauranteService.buscarRestaurantePorId(validPedidoDTO.getRestauranteId()))
             .thenReturn(validRestauranteResponseDTO);
-        when(produtoService.buscarProdutoPorId(any(Long.class)))
-            .thenReturn(produtoOutroRestaurante);
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(produtoOutroRestaurante));
 
         // When & Then
         assertThatThrownBy(() -> pedidoService.criarPedido(validPedidoDTO))
             .isInstanceOf(BusinessException.class)
             .hasMessageContaining("não pertence ao restaurante");
 
-        verify(produtoService).buscarProdutoPorId(any(Long.class));
+        verify(produtoRepository).findAllByIdComRestaurante(anyCollection());
+        verify(pedidoRepository, never()).save(any(Pedido.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar o pedido quando a entrega não atende o CEP, em vez de cobrar taxa zero")
+    void should_ThrowBusinessException_When_DeliveryUnavailable() {
+        // Given
+        when(clienteService.buscarClientePorId(validPedidoDTO.getClienteId()))
+            .thenReturn(validClienteResponseDTO);
+        when(restauranteService.buscarRestaurantePorId(validPedidoDTO.getRestauranteId()))
+            .thenReturn(validRestauranteResponseDTO);
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(PedidoTestData.createProdutoComRestaurante(1L, 1L)));
+        when(taxaEntregaService.calcularTaxa(any(Long.class), any(String.class)))
+            .thenReturn(TaxaEntregaResponse.criarIndisponivel(validPedidoDTO.getCepEntrega(),
+                validPedidoDTO.getRestauranteId(), "Restaurante sem localização cadastrada"));
+
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.criarPedido(validPedidoDTO))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Entrega indisponível")
+            .hasMessageContaining("sem localização");
+
+        verify(pedidoRepository, never()).save(any(Pedido.class));
+        verifyNoInteractions(outboxService);
+    }
+
+    // ========== TESTES DE CRIAÇÃO EM LOTE ==========
+
+    @Test
+    @DisplayName("Deve criar pedidos válidos do lote e rejeitar os inválidos individualmente")
+    void should_ReturnPerOrderResults_When_BatchHasInvalidOrders() {
+        // Given
+        PedidoDTO valido = PedidoTestData.createValidPedidoDTO();
+        PedidoDTO produtoDeOutroRestaurante = PedidoTestData.createValidPedidoDTO();
+        produtoDeOutroRestaurante.setItens(List.of(PedidoTestData.createItemPedidoDTOWithProduct(2L, 1)));
+        PedidoDTO clienteInexistente = PedidoTestData.createPedidoDTOWithCliente(99L);
+
+        when(clienteRepository.findAllById(anyCollection()))
+            .thenReturn(List.of(ClienteTestData.createValidCliente()));
+        when(restauranteRepository.findAllById(anyCollection()))
+            .thenReturn(List.of(PedidoTestData.createValidRestaurante()));
+        when(produtoRepository.findAllByIdComRestaurante(anyCollection()))
+            .thenReturn(List.of(PedidoTestData.createProdutoComRestaurante(1L, 1L),
+                                PedidoTestData.createProdutoComRestaurante(2L, 2L)));
+        when(taxaEntregaService.calcularTaxa(any(Restaurante.class), any(String.class)))
+            .thenReturn(new TaxaEntregaResponse(new BigDecimal("5.00"), 3.0, "20-45 min"));
+
+        // When
+        List<ResultadoPedidoLoteDTO> resultados = pedidoService.criarPedidosEmLote(
+            Arrays.asList(valido, produtoDeOutroRestaurante, clienteInexistente, null));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoPedidoLoteDTO::getIndice).containsExactly(0, 1, 2, 3);
+        assertThat(resultados).extracting(ResultadoPedidoLoteDTO::isSucesso).containsExactly(true, false, false, false);
+        assertThat(resultados.get(0).getPedido().getValorTotal()).isEqualByComparingTo(new BigDecimal("30.90"));
+        assertThat(resultados.get(1).getErro()).contains("não pertence ao restaurante");
+        assertThat(resultados.get(2).getErro()).contains("Cliente");
+        assertThat(resultados.get(3).getErro()).contains("não pode ser nulo");
+
+        verify(clienteRepository).findAllById(argThat(ids -> ((Collection<?>) ids).size() == 2));
+        verify(restauranteRepository).findAllById(anyCollection());
+        verify(produtoRepository).findAllByIdComRestaurante(argThat(ids -> ids.size() == 2));
+        verify(pedidoRepository).saveAll(argThat(pedidos -> ((Collection<?>) pedidos).size() == 1));
+        verify(itemPedidoRepository).saveAll(argThat(itens -> ((Collection<?>) itens).size() == 1));
+        verify(clienteService, never()).buscarClientePorId(any(Long.class));
+        verify(restauranteService, never()).calcularTaxaEntrega(any(Long.class), any(String.class));
         verify(pedidoRepository, never()).save(any(Pedido.class));
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção quando o lote estiver vazio")
+    void should_ThrowBusinessException_When_BatchIsEmpty() {
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.criarPedidosEmLote(List.of()))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("vazio");
+
+        verifyNoInteractions(pedidoRepository, itemPedidoRepository);
+    }
+
     // ========== TESTES DE CÁLCULO DE VALOR ==========
 
     @Test
@@ -247,20 +417,15 @@ class PedidoServiceTest {
     // ========== TESTES DE BUSCA POR ID ==========
 
     @Test
-    @DisplayName("Deve retornar pedido quando ID existe")
+    @DisplayName("Deve retornar pedido com itens a partir de uma única consulta")
     void should_ReturnPedido_When_ValidIdProvided() {
         // Given
         Long pedidoId = 1L;
-        List<ItemPedido> itens = Arrays.asList(new ItemPedido());
+        ItemPedido item1 = createItemPedido(10L, 2);
+        ItemPedido item2 = createItemPedido(11L, 1);
         
-        when(pedidoRepository.findById(pedidoId))
-            .thenReturn(Optional.of(validPedido));
-        when(modelMapper.map(validPedido, PedidoResponseDTO.class))
-            .thenReturn(validPedidoResponseDTO);
-        when(itemPedidoRepository.findByPedidoId(pedidoId))
-            .thenReturn(itens);
-        when(modelMapper.map(any(ItemPedido.class), eq(ItemPedidoResponseDTO.class)))
-            .thenReturn(PedidoTestData.createValidItemPedidoResponseDTO());
+        when(pedidoRepository.findDetalheById(pedidoId))
+            .thenReturn(detalhe(validPedido, item1, item2));
 
         // When
         PedidoResponseDTO result = pedidoService.buscarPedidoPorId(pedidoId);
@@ -268,10 +433,29 @@ class PedidoServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(pedidoId);
+        assertThat(result.getCliente().getNome()).isEqualTo(validPedido.getCliente().getNome());
+        assertThat(result.getRestaurante().getId()).isEqualTo(validPedido.getRestaurante().getId());
+        assertThat(result.getItens()).extracting(ItemPedidoResponseDTO::getId).containsExactly(10L, 11L);
+        assertThat(result.getItens().get(0).getProduto().getNome()).isEqualTo("Pizza Margherita");
+        assertThat(result.getItens().get(0).getPrecoTotal()).isEqualByComparingTo(new BigDecimal("25.90"));
         
-        verify(pedidoRepository).findById(pedidoId);
-        verify(itemPedidoRepository).findByPedidoId(pedidoId);
-        verify(modelMapper).map(validPedido, PedidoResponseDTO.class);
+        verify(pedidoRepository).findDetalheById(pedidoId);
+        verifyNoInteractions(itemPedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retornar pedido sem itens quando a consulta não traz itens")
+    void should_ReturnEmptyItems_When_PedidoHasNoItems() {
+        // Given
+        Long pedidoId = 1L;
+        when(pedidoRepository.findDetalheById(pedidoId))
+            .thenReturn(detalhe(validPedido));
+
+        // When
+        PedidoResponseDTO result = pedidoService.buscarPedidoPorId(pedidoId);
+
+        // Then
+        assertThat(result.getItens()).isEmpty();
     }
 
     @Test
@@ -279,15 +463,15 @@ class PedidoServiceTest {
     void should_ThrowNotFoundException_When_PedidoNotFound() {
         // Given
         Long pedidoId = 999L;
-        when(pedidoRepository.findById(pedidoId))
-            .thenReturn(Optional.empty());
+        when(pedidoRepository.findDetalheById(pedidoId))
+            .thenReturn(List.of());
 
         // When & Then
         assertThatThrownBy(() -> pedidoService.buscarPedidoPorId(pedidoId))
             .isInstanceOf(EntityNotFoundException.class)
             .hasMessageContaining("Pedido não encontrado");
 
-        verify(pedidoRepository).findById(pedidoId);
+        verify(pedidoRepository).findDetalheById(pedidoId);
         verify(itemPedidoRepository, never()).findByPedidoId(any(Long.class));
     }
 
@@ -300,22 +484,23 @@ class PedidoServiceTest {
         Long pedidoId = 1L;
         StatusPedido novoStatus = StatusPedido.CONFIRMADO;
         
-        when(pedidoRepository.findById(pedidoId))
-            .thenReturn(Optional.of(validPedido));
-        when(pedidoRepository.save(any(Pedido.class)))
-            .thenReturn(validPedido);
-        when(pedidoService.buscarPedidoPorId(pedidoId))
-            .thenReturn(validPedidoResponseDTO);
+        when(pedidoRepository.findStatusResumoById(pedidoId))
+            .thenReturn(Optional.of(PedidoTestData.createStatusResumo(StatusPedido.PENDENTE)));
+        when(pedidoRepository.atualizarStatusSeAtual(pedidoId, StatusPedido.PENDENTE, novoStatus))
+            .thenReturn(1);
+        when(pedidoRepository.findDetalheById(pedidoId))
+            .thenReturn(detalhe(validPedido));
 
         // When
         PedidoResponseDTO result = pedidoService.atualizarStatusPedido(pedidoId, novoStatus);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(validPedido.getStatus()).isEqualTo(novoStatus);
         
-        verify(pedidoRepository).findById(pedidoId);
-        verify(pedidoRepository).save(validPedido);
+        verify(pedidoRepository).atualizarStatusSeAtual(pedidoId, StatusPedido.PENDENTE, novoStatus);
+        verify(pedidoRepository, never()).save(any(Pedido.class));
+        verify(outboxService).registrarStatusAlterado(eq(pedidoId), any(PedidoStatusResumo.class), eq(novoStatus));
+        verify(eventPublisher).publishEvent(new StatusPedidoAlterado(pedidoId, novoStatus));
     }
 
     @Test
@@ -325,7 +510,7 @@ class PedidoServiceTest {
         Long pedidoId = 999L;
         StatusPedido novoStatus = StatusPedido.CONFIRMADO;
         
-        when(pedidoRepository.findById(pedidoId))
+        when(pedidoRepository.findStatusResumoById(pedidoId))
             .thenReturn(Optional.empty());
 
         // When & Then
@@ -333,8 +518,43 @@ class PedidoServiceTest {
             .isInstanceOf(EntityNotFoundException.class)
             .hasMessageContaining("Pedido não encontrado");
 
-        verify(pedidoRepository).findById(pedidoId);
-        verify(pedidoRepository, never()).save(any(Pedido.class));
+        verify(pedidoRepository, never()).atualizarStatusSeAtual(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando a transição não for permitida")
+    void should_ThrowConflictException_When_TransitionIsNotAllowed() {
+        // Given
+        Long pedidoId = 1L;
+        when(pedidoRepository.findStatusResumoById(pedidoId))
+            .thenReturn(Optional.of(PedidoTestData.createStatusResumo(StatusPedido.ENTREGUE)));
+
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PREPARANDO))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("ENTREGUE");
+
+        verify(pedidoRepository, never()).atualizarStatusSeAtual(any(), any(), any());
+        verify(pedidoRepository, never()).findDetalheById(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando outra requisição alterar o status antes")
+    void should_ThrowConflictException_When_StatusChangedConcurrently() {
+        // Given
+        Long pedidoId = 1L;
+        when(pedidoRepository.findStatusResumoById(pedidoId))
+            .thenReturn(Optional.of(PedidoTestData.createStatusResumo(StatusPedido.PENDENTE)));
+        when(pedidoRepository.atualizarStatusSeAtual(pedidoId, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO))
+            .thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("alterado por outra requisição");
+
+        verify(pedidoRepository, never()).findDetalheById(any(Long.class));
+        verifyNoInteractions(outboxService);
     }
 
     // ========== TESTES DE CANCELAMENTO ==========
@@ -345,22 +565,33 @@ class PedidoServiceTest {
         // Given
         Long pedidoId = 1L;
         
-        when(pedidoRepository.findById(pedidoId))
-            .thenReturn(Optional.of(validPedido));
-        when(pedidoRepository.save(any(Pedido.class)))
-            .thenReturn(validPedido);
-        when(pedidoService.buscarPedidoPorId(pedidoId))
-            .thenReturn(validPedidoResponseDTO);
+        when(pedidoRepository.findStatusResumoById(pedidoId))
+            .thenReturn(Optional.of(PedidoTestData.createStatusResumo(StatusPedido.PENDENTE)));
+        when(pedidoRepository.atualizarStatusSeAtual(pedidoId, StatusPedido.PENDENTE, StatusPedido.CANCELADO))
+            .thenReturn(1);
+        when(pedidoRepository.findDetalheById(pedidoId))
+            .thenReturn(detalhe(validPedido));
 
         // When
         PedidoResponseDTO result = pedidoService.cancelarPedido(pedidoId);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(validPedido.getStatus()).isEqualTo(StatusPedido.CANCELADO);
         
-        verify(pedidoRepository).findById(pedidoId);
-        verify(pedidoRepository).save(validPedido);
+        verify(pedidoRepository).atualizarStatusSeAtual(pedidoId, StatusPedido.PENDENTE, StatusPedido.CANCELADO);
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito ao cancelar pedido já entregue")
+    void should_ThrowConflictException_When_CancellingDeliveredPedido() {
+        // Given
+        Long pedidoId = 1L;
+        when(pedidoRepository.findStatusResumoById(pedidoId))
+            .thenReturn(Optional.of(PedidoTestData.createStatusResumo(StatusPedido.ENTREGUE)));
+
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.cancelarPedido(pedidoId))
+            .isInstanceOf(ConflictException.class);
     }
 
     // ========== TESTES DE LISTAGEM ==========
@@ -374,28 +605,23 @@ class PedidoServiceTest {
             PedidoTestData.createPedidoWithId(1L),
             PedidoTestData.createPedidoWithId(2L)
         );
-        List<PedidoResumoDTO> resumos = Arrays.asList(
-            PedidoTestData.createValidPedidoResumoDTO(),
-            PedidoTestData.createValidPedidoResumoDTO()
-        );
 
         when(clienteService.buscarClientePorId(clienteId))
             .thenReturn(validClienteResponseDTO);
         when(pedidoRepository.findByClienteIdOrderByDataPedidoDesc(clienteId))
             .thenReturn(pedidos);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResumoDTO.class)))
-            .thenReturn(resumos.get(0), resumos.get(1));
 
         // When
         List<PedidoResumoDTO> result = pedidoService.buscarPedidosPorCliente(clienteId);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
+        assertThat(result).extracting(PedidoResumoDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.get(0).getNomeCliente()).isEqualTo(pedidos.get(0).getCliente().getNome());
+        assertThat(result.get(0).getValorTotal()).isEqualByComparingTo(pedidos.get(0).getTotal());
         
         verify(clienteService).buscarClientePorId(clienteId);
         verify(pedidoRepository).findByClienteIdOrderByDataPedidoDesc(clienteId);
-        verify(modelMapper, times(2)).map(any(Pedido.class), eq(PedidoResumoDTO.class));
     }
 
     @Test
@@ -404,14 +630,11 @@ class PedidoServiceTest {
         // Given
         Long restauranteId = 1L;
         List<Pedido> pedidos = Arrays.asList(PedidoTestData.createPedidoWithId(1L));
-        List<PedidoResumoDTO> resumos = Arrays.asList(PedidoTestData.createValidPedidoResumoDTO());
 
         when(restauranteService.buscarRestaurantePorId(restauranteId))
             .thenReturn(validRestauranteResponseDTO);
         when(pedidoRepository.findByRestauranteIdOrderByDataPedidoDesc(restauranteId))
             .thenReturn(pedidos);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResumoDTO.class)))
-            .thenReturn(resumos.get(0));
 
         // When
         List<PedidoResumoDTO> result = pedidoService.buscarPedidosPorRestaurante(restauranteId);
@@ -422,7 +645,6 @@ class PedidoServiceTest {
         
         verify(restauranteService).buscarRestaurantePorId(restauranteId);
         verify(pedidoRepository).findByRestauranteIdOrderByDataPedidoDesc(restauranteId);
-        verify(modelMapper).map(any(Pedido.class), eq(PedidoResumoDTO.class));
     }
 
     @Test
@@ -431,12 +653,9 @@ class PedidoServiceTest {
         // Given
         StatusPedido status = StatusPedido.PENDENTE;
         List<Pedido> pedidos = Arrays.asList(PedidoTestData.createPedidoWithStatus(status));
-        List<PedidoResumoDTO> resumos = Arrays.asList(PedidoTestData.createValidPedidoResumoDTO());
 
         when(pedidoRepository.findByStatusOrderByDataPedidoDesc(status))
             .thenReturn(pedidos);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResumoDTO.class)))
-            .thenReturn(resumos.get(0));
 
         // When
         List<PedidoResumoDTO> result = pedidoService.buscarPedidosPorStatus(status);
@@ -446,6 +665,149 @@ class PedidoServiceTest {
         assertThat(result).hasSize(1);
         
         verify(pedidoRepository).findByStatusOrderByDataPedidoDesc(status);
-        verify(modelMapper).map(any(Pedido.class), eq(PedidoResumoDTO.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve servir pedidos recentes do buffer em memória quando aquecido")
+    void should_ServeRecentPedidosFromBuffer_When_BufferIsReady() {
+        // Given
+        List<PedidoResumoDTO> recentes = List.of(PedidoTestData.createValidPedidoResumoDTO());
+        when(pedidosRecentes.isPronto()).thenReturn(true);
+        when(pedidosRecentes.recentes(10)).thenReturn(recentes);
+
+        // When
+        List<PedidoResumoDTO> result = pedidoService.buscarPedidosRecentes();
+
+        // Then
+        assertThat(result).isSameAs(recentes);
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve buscar pedidos recentes no banco enquanto o buffer não foi aquecido")
+    void should_ReadRecentPedidosFromDatabase_When_BufferNotReady() {
+        // Given
+        when(pedidosRecentes.isPronto()).thenReturn(false);
+        when(pedidoRepository.findTop10ByOrderByDataPedidoDesc())
+            .thenReturn(List.of(PedidoTestData.createPedidoWithId(1L)));
+
+        // When
+        List<PedidoResumoDTO> result = pedidoService.buscarPedidosRecentes();
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(pedidosRecentes).registrarConsultaBanco();
+        verify(pedidosRecentes, never()).recentes(anyInt());
+    }
+
+    // ========== TESTES DE PAGINAÇÃO POR CURSOR ==========
+
+    @Test
+    @DisplayName("Deve retornar link next com cursor da última linha quando há mais páginas")
+    void should_ReturnNextCursor_When_MoreRowsThanPageSize() {
+        // Given
+        List<Pedido> pedidos = pedidosDecrescentes(3);
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(isNull(), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(pedidos);
+
+        // When
+        PagedResponse<PedidoResumoDTO> result = pedidoService.listarPedidosPorCursor(
+            null, null, null, null, null, "", 2, ModoContagem.NENHUMA, "http://localhost/api/pedidos?cursor=&size=2");
+
+        // Then
+        assertThat(result.getContent()).extracting(PedidoResumoDTO::getId).containsExactly(3L, 2L);
+        assertThat(result.getPage().isHasNext()).isTrue();
+        assertThat(result.getPage().getTotalElements()).isNull();
+        String proximo = CursorPedido.de(pedidos.get(1)).codificar();
+        assertThat(result.getLinks().get("next")).isEqualTo("http://localhost/api/pedidos?size=2&cursor=" + proximo);
+        
+        verify(pedidoRepository).findPrimeiraPaginaPorCursor(isNull(), isNull(), isNull(), isNull(), isNull(),
+            argThat(limite -> limite.getPageSize() == 3 && limite.getOffset() == 0));
+        verify(pedidoRepository, never()).countPorCursor(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar a partir do cursor e omitir next na última página")
+    void should_SeekFromCursor_When_CursorProvided() {
+        // Given
+        LocalDateTime data = LocalDateTime.of(2025, 10, 8, 15, 30, 0, 123456000);
+        String cursor = new CursorPedido(data, 42L).codificar();
+        when(pedidoRepository.findPaginaAposCursor(any(), any(), any(), any(), any(), eq(data), eq(42L), any(Pageable.class)))
+            .thenReturn(pedidosDecrescentes(1));
+
+        // When
+        PagedResponse<PedidoResumoDTO> result = pedidoService.listarPedidosPorCursor(
+            null, null, null, null, null, cursor, 2, ModoContagem.NENHUMA, "http://localhost/api/pedidos?cursor=" + cursor);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getPage().isHasNext()).isFalse();
+        assertThat(result.getPage().isHasPrevious()).isTrue();
+        assertThat(result.getLinks()).doesNotContainKey("next");
+    }
+
+    @Test
+    @DisplayName("Deve informar total limitado como estimado quando passa do teto de contagem")
+    void should_ReportEstimatedTotal_When_CountExceedsLimit() {
+        // Given
+        ReflectionTestUtils.setField(pedidoService, "limiteContagem", 5);
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(any(), any(), any(), any(), any(), any(Pageable.class)))
+            .thenReturn(pedidosDecrescentes(2));
+        when(pedidoRepository.countPorCursorAte(any(), any(), any(), any(), any(), eq(6)))
+            .thenReturn(6L);
+
+        // When
+        PagedResponse<PedidoResumoDTO> result = pedidoService.listarPedidosPorCursor(
+            null, null, null, null, null, "", 10, ModoContagem.LIMITADA, "http://localhost/api/pedidos?cursor=");
+
+        // Then
+        assertThat(result.getPage().getTotalElements()).isEqualTo(5L);
+        assertThat(result.getPage().getTotalEstimado()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando cursor é inválido")
+    void should_ThrowException_When_CursorIsInvalid() {
+        // When & Then
+        assertThatThrownBy(() -> pedidoService.listarPedidosPorCursor(
+                null, null, null, null, null, "nao-e-um-cursor", 10, ModoContagem.NENHUMA, "http://localhost/api/pedidos"))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Cursor de paginação inválido");
+
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Linhas no formato retornado por findDetalheById: [pedido, item] (item null quando não há itens)
+     */
+    private static List<Object[]> detalhe(Pedido pedido, ItemPedido... itens) {
+        if (itens.length == 0) {
+            return List.<Object[]>of(new Object[]{pedido, null});
+        }
+        return Arrays.stream(itens).map(item -> new Object[]{pedido, item}).toList();
+    }
+
+    private static ItemPedido createItemPedido(Long id, int quantidade) {
+        Produto produto = PedidoTestData.createProdutoComRestaurante(1L, 1L);
+        ItemPedido item = new ItemPedido();
+        item.setId(id);
+        item.setProduto(produto);
+        item.setQuantidade(quantidade);
+        item.setPrecoUnitario(produto.getPreco());
+        item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(quantidade)));
+        return item;
+    }
+
+    private static List<Pedido> pedidosDecrescentes(int quantidade) {
+        LocalDateTime agora = LocalDateTime.of(2025, 10, 8, 12, 0);
+        List<Pedido> pedidos = new ArrayList<>();
+        for (long id = quantidade; id >= 1; id--) {
+            Pedido pedido = PedidoTestData.createPedidoWithId(id);
+            pedido.setDataPedido(agora.minusMinutes(quantidade - id));
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+}
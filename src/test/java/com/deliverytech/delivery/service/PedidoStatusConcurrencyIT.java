@@ -0,0 +1,135 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.model.*;
+import com.deliverytech.delivery.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Teste de concorrência das transições de status do pedido
+ * Várias threads disputam o mesmo pedido; apenas uma transição por status pode vencer
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PedidoService - Concorrência nas transições de status")
+class PedidoStatusConcurrencyIT {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Concorrência");
+        cliente.setEmail("concorrencia" + System.nanoTime() + "@email.com");
+        cliente = clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Concorrência");
+        restaurante.setCategoria("Brasileira");
+        restaurante.setEndereco("Rua Concorrência, 10");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante = restauranteRepository.save(restaurante);
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setTotal(new BigDecimal("30.00"));
+        pedidoId = pedidoRepository.save(pedido).getId();
+    }
+
+    @Test
+    @DisplayName("Apenas uma thread deve confirmar o pedido; as demais recebem conflito")
+    void should_AllowSingleWinner_When_ManyThreadsApplySameTransition() throws Exception {
+        List<Resultado> resultados = disputar(i -> () -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO));
+
+        assertThat(resultados).filteredOn(Resultado::sucesso).hasSize(1);
+        assertThat(resultados).filteredOn(r -> !r.sucesso())
+                .allSatisfy(r -> assertThat(r.erro()).isInstanceOf(ConflictException.class));
+        assertThat(pedidoRepository.findStatusById(pedidoId)).contains(StatusPedido.CONFIRMADO);
+    }
+
+    @Test
+    @DisplayName("Conclusões e cancelamentos simultâneos devem produzir exatamente uma transição")
+    void should_AllowSingleWinner_When_ThreadsRaceReadyAndCancel() throws Exception {
+        // PRONTO e CANCELADO são mutuamente exclusivos a partir de PREPARANDO
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PREPARANDO);
+
+        List<Resultado> resultados = disputar(i -> i % 2 == 0
+                ? () -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PRONTO)
+                : () -> pedidoService.cancelarPedido(pedidoId));
+
+        assertThat(resultados).filteredOn(Resultado::sucesso).hasSize(1);
+        assertThat(resultados).filteredOn(r -> !r.sucesso())
+                .allSatisfy(r -> assertThat(r.erro()).isInstanceOf(ConflictException.class));
+        assertThat(pedidoRepository.findStatusById(pedidoId)).get()
+                .isIn(StatusPedido.PRONTO, StatusPedido.CANCELADO);
+    }
+
+    private List<Resultado> disputar(IntFunction<Callable<?>> operacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Resultado>> futuros = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<?> tarefa = operacao.apply(i);
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        tarefa.call();
+                        return new Resultado(true, null);
+                    } catch (Exception e) {
+                        return new Resultado(false, e);
+                    }
+                }));
+            }
+            largada.countDown();
+
+            List<Resultado> resultados = new ArrayList<>();
+            for (Future<Resultado> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Resultado(boolean sucesso, Exception erro) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.PedidoResumoDTO;
+import com.deliverytech.delivery.model.Pedido;
+import com.deliverytech.delivery.model.StatusPedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.util.PedidoTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do buffer de pedidos recentes")
+class PedidosRecentesBufferTest {
+
+    private static final int CAPACIDADE = 8;
+    private static final LocalDateTime HOJE = LocalDateTime.of(2025, 10, 8, 0, 0);
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    private PedidosRecentesBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new PedidosRecentesBuffer(pedidoRepository, new SimpleMeterRegistry(), CAPACIDADE);
+    }
+
+    @Test
+    @DisplayName("Deve aquecer a partir dos pedidos mais novos do banco e servir do mais novo ao mais antigo")
+    void should_WarmFromNewestRows_When_ApplicationIsReady() {
+        // Given - banco retorna do mais novo para o mais antigo
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(isNull(), isNull(), isNull(), isNull(), isNull(),
+                argThat(limite -> limite.getPageSize() == CAPACIDADE)))
+            .thenReturn(new ArrayList<>(List.of(pedido(3L, 3), pedido(2L, 2), pedido(1L, 1))));
+        assertThat(buffer.isPronto()).isFalse();
+
+        // When
+        buffer.aquecer();
+
+        // Then
+        assertThat(buffer.isPronto()).isTrue();
+        assertThat(buffer.recentes(2)).extracting(PedidoResumoDTO::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar depois da carga do banco as escritas confirmadas durante o aquecimento")
+    void should_ApplyLiveWritesAfterSnapshot_When_ConfirmedDuringWarmUp() {
+        // Given - enquanto o banco é lido, o pedido 4 é criado e o pedido 1 é confirmado
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(any(), any(), any(), any(), any(), any(Pageable.class)))
+            .thenAnswer(invocacao -> {
+                buffer.registrarCriacao(pedido(4L, 4));
+                buffer.registrarCriacao(pedido(2L, 2));
+                buffer.registrarStatus(1L, StatusPedido.CONFIRMADO);
+                // Retrato lido antes da confirmação do pedido 1 e da criação do pedido 4
+                return new ArrayList<>(List.of(pedido(2L, 2), pedido(1L, 1)));
+            });
+
+        // When
+        buffer.aquecer();
+
+        // Then
+        List<PedidoResumoDTO> recentes = buffer.recentes(10);
+        assertThat(recentes).extracting(PedidoResumoDTO::getId).containsExactly(4L, 2L, 1L);
+        assertThat(recentes.get(2).getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas os N pedidos mais recentes")
+    void should_KeepLatestEntries_When_CapacityExceeded() {
+        // Given
+        aquecerVazio();
+
+        // When
+        for (long id = 1; id <= CAPACIDADE + 3; id++) {
+            buffer.registrarCriacao(pedido(id, (int) id));
+        }
+
+        // Then
+        assertThat(buffer.recentes(100)).hasSize(CAPACIDADE)
+            .extracting(PedidoResumoDTO::getId).first().isEqualTo((long) CAPACIDADE + 3);
+        assertThat(buffer.recentes(100)).extracting(PedidoResumoDTO::getId).doesNotContain(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar atualização de status atrasada que faria o status voltar")
+    void should_IgnoreStaleStatusUpdate_When_TransitionIsNotAllowed() {
+        // Given
+        aquecerVazio();
+        buffer.registrarCriacao(pedido(1L, 1));
+
+        // When
+        buffer.registrarStatus(1L, StatusPedido.CONFIRMADO);
+        buffer.registrarStatus(1L, StatusPedido.PREPARANDO);
+        buffer.registrarStatus(1L, StatusPedido.CONFIRMADO);
+        buffer.registrarStatus(99L, StatusPedido.CANCELADO);
+
+        // Then
+        assertThat(buffer.recentes(1).get(0).getStatus()).isEqualTo(StatusPedido.PREPARANDO);
+    }
+
+    @Test
+    @DisplayName("Deve continuar servindo do banco quando o aquecimento falha, sem reter escritas pendentes")
+    void should_StayNotReady_When_WarmUpFails() {
+        // Given
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(any(), any(), any(), any(), any(), any(Pageable.class)))
+            .thenThrow(new IllegalStateException("banco indisponível"));
+
+        // When
+        buffer.aquecer();
+
+        // Then
+        assertThat(buffer.isPronto()).isFalse();
+        buffer.registrarCriacao(pedido(1L, 1));
+        assertThat(buffer.recentes(10)).extracting(PedidoResumoDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar escritas concorrentes sem perder a consistência das leituras")
+    void should_StayConsistent_When_WrittenConcurrently() throws Exception {
+        // Given
+        aquecerVazio();
+        int threads = 8;
+        int porThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * porThread;
+            executor.submit(() -> {
+                largada.await();
+                for (int i = 1; i <= porThread; i++) {
+                    buffer.registrarCriacao(pedido(base + i, 1));
+                    buffer.recentes(CAPACIDADE);
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<PedidoResumoDTO> recentes = buffer.recentes(100);
+        assertThat(recentes).hasSize(CAPACIDADE);
+        assertThat(recentes).extracting(PedidoResumoDTO::getId).doesNotHaveDuplicates();
+    }
+
+    private void aquecerVazio() {
+        when(pedidoRepository.findPrimeiraPaginaPorCursor(any(), any(), any(), any(), any(), any(Pageable.class)))
+            .thenReturn(new ArrayList<>());
+        buffer.aquecer();
+    }
+
+    private static Pedido pedido(Long id, int hora) {
+        Pedido pedido = PedidoTestData.createPedidoWithId(id);
+        pedido.setDataPedido(HOJE.plusHours(hora));
+        return pedido;
+    }
+}
@@ -0,0 +1,129 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de alocação dos caminhos de preço: total do pedido e composição da taxa de entrega
+ * Compara as versões antigas em BigDecimal, reproduzidas aqui, com as versões em centavos
+ */
+@DisplayName("Precificação - Benchmark de alocação BigDecimal x Money")
+class PrecificacaoAlocacaoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecificacaoAlocacaoBenchmarkTest.class);
+
+    private static final int AQUECIMENTO = 50_000;
+    private static final int ITERACOES = 200_000;
+    private static final BigDecimal TAXA_MINIMA = new BigDecimal("2.00");
+    private static final BigDecimal TAXA_MAXIMA = new BigDecimal("25.00");
+
+    private final BigDecimal[] precos = new BigDecimal[12];
+    private final int[] quantidades = new int[12];
+    private final BigDecimal taxaBase = new BigDecimal("5.50");
+    private final String cep = "01310-101";
+
+    PrecificacaoAlocacaoBenchmarkTest() {
+        for (int i = 0; i < precos.length; i++) {
+            precos[i] = new BigDecimal("10.90").add(BigDecimal.valueOf(i));
+            quantidades[i] = 1 + i % 3;
+        }
+    }
+
+    @Test
+    @DisplayName("Total do pedido em centavos deve alocar menos que a soma em BigDecimal")
+    void should_AllocateLess_When_SummingOrderInCents() {
+        long antes = medirAlocacao(this::totalPedidoBigDecimal);
+        long depois = medirAlocacao(this::totalPedidoCentavos);
+
+        logger.info("Bytes alocados por total de pedido com {} itens - BigDecimal: {}, Money: {}",
+                precos.length, antes, depois);
+
+        assertThat(totalPedidoCentavos()).isEqualTo(totalPedidoBigDecimal());
+        assertThat(depois).isLessThan(antes);
+    }
+
+    @Test
+    @DisplayName("Composição da taxa em centavos deve alocar menos que com constantes BigDecimal por chamada")
+    void should_AllocateLess_When_ComposingFeeInCents() {
+        long antes = medirAlocacao(this::taxaBigDecimal);
+        long depois = medirAlocacao(this::taxaCentavos);
+
+        logger.info("Bytes alocados por composição de taxa - BigDecimal: {}, Money: {}", antes, depois);
+
+        assertThat(taxaCentavos()).isEqualTo(taxaBigDecimal());
+        assertThat(depois).isLessThan(antes);
+    }
+
+    private long totalPedidoBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < precos.length; i++) {
+            total = total.add(precos[i].multiply(BigDecimal.valueOf(quantidades[i])));
+        }
+        return total.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Mesmo laço de PedidoService.validarItens
+     */
+    private long totalPedidoCentavos() {
+        long totalCentavos = 0;
+        for (int i = 0; i < precos.length; i++) {
+            totalCentavos = Math.addExact(totalCentavos,
+                    Math.multiplyExact(Money.centavosDe(precos[i]), (long) quantidades[i]));
+        }
+        return totalCentavos;
+    }
+
+    /**
+     * Composição anterior: constantes criadas a cada chamada e CEP limpo por regex
+     */
+    private long taxaBigDecimal() {
+        BigDecimal taxaDistancia = new BigDecimal("1.50");
+        BigDecimal taxaHorario = new BigDecimal("2.00");
+        String cepLimpo = cep.replaceAll("[^0-9]", "");
+        BigDecimal taxaClima = Integer.parseInt(cepLimpo.substring(7, 8)) <= 1 ? new BigDecimal("1.50") : BigDecimal.ZERO;
+
+        BigDecimal taxaTotal = taxaBase.add(taxaDistancia).add(taxaHorario).add(taxaClima);
+        if (taxaTotal.compareTo(TAXA_MINIMA) < 0) taxaTotal = TAXA_MINIMA;
+        if (taxaTotal.compareTo(TAXA_MAXIMA) > 0) taxaTotal = TAXA_MAXIMA;
+        BigDecimal adicionais = taxaDistancia.add(taxaHorario).add(taxaClima);
+        return taxaTotal.movePointRight(2).longValueExact() + adicionais.signum();
+    }
+
+    private long taxaCentavos() {
+        Money adicionais = TaxaEntregaService.calcularTaxaDistancia(5.0)
+                .mais(Money.deCentavos(200))
+                .mais(TaxaEntregaService.calcularTaxaClima(cep));
+        return TaxaEntregaService.calcularTaxaTotal(taxaBase, adicionais).getCentavos() + Long.signum(adicionais.getCentavos());
+    }
+
+    /**
+     * Média de bytes alocados pela thread atual por chamada, após aquecimento
+     */
+    private long medirAlocacao(LongSupplier operacao) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long soma = 0;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            soma += operacao.getAsLong();
+        }
+        long inicio = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERACOES; i++) {
+            soma += operacao.getAsLong();
+        }
+        long bytes = threads.getThreadAllocatedBytes(threadId) - inicio;
+        assertThat(soma).isPositive();
+        return bytes / ITERACOES;
+    }
+}
@@ -0,0 +1,177 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RegrasPrecoPicoDTO;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.model.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do motor de adicional de horário de pico")
+class PrecoPicoServiceTest {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+    private static final int CEP_SAO_PAULO = 1_310_100;
+    private static final int CEP_RIO = 20_040_002;
+
+    @Test
+    @DisplayName("Regras padrão devem manter os horários de pico de dias úteis e fins de semana")
+    void should_ReproduceDefaultPeakHours_When_UsingBundledRules() {
+        PrecoPicoService service = new PrecoPicoService(regrasPadrao(), relogioEm(LocalDateTime.of(2025, 10, 8, 12, 30)));
+
+        // Quarta-feira: almoço das 11h às 15h
+        JanelaPreco almoco = service.janelaEm(LocalDateTime.of(2025, 10, 8, 12, 30));
+        assertThat(almoco.adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(200));
+        assertThat(almoco.inicio()).isEqualTo(LocalDateTime.of(2025, 10, 8, 11, 0));
+        assertThat(almoco.fim()).isEqualTo(LocalDateTime.of(2025, 10, 8, 15, 0));
+
+        JanelaPreco tarde = service.janelaEm(LocalDateTime.of(2025, 10, 8, 16, 0));
+        assertThat(tarde.adicional(CEP_SAO_PAULO)).isEqualTo(Money.ZERO);
+        assertThat(tarde.inicio()).isEqualTo(almoco.fim());
+        assertThat(tarde.fim()).isEqualTo(LocalDateTime.of(2025, 10, 8, 18, 0));
+
+        // Sábado: jantar das 19h às 23h
+        JanelaPreco sabado = service.janelaEm(LocalDateTime.of(2025, 10, 11, 22, 59));
+        assertThat(sabado.adicional(CEP_RIO)).isEqualTo(Money.deCentavos(200));
+        assertThat(sabado.fim()).isEqualTo(LocalDateTime.of(2025, 10, 11, 23, 0));
+    }
+
+    @Test
+    @DisplayName("Deve usar as janelas de feriado no lugar das janelas do dia da semana")
+    void should_UseHolidayWindows_When_DateIsHoliday() {
+        // Given - 20/11/2026 é sexta-feira e feriado nacional
+        PrecoPicoService service = new PrecoPicoService(regrasPadrao(), relogioEm(LocalDateTime.of(2026, 11, 20, 11, 30)));
+
+        // When
+        JanelaPreco manha = service.janelaAtual();
+        JanelaPreco almoco = service.janelaEm(LocalDateTime.of(2026, 11, 20, 15, 30));
+
+        // Then - em dia útil 11h30 seria pico; no feriado o almoço começa às 12h
+        assertThat(manha.adicional(CEP_SAO_PAULO)).isEqualTo(Money.ZERO);
+        assertThat(manha.fim()).isEqualTo(LocalDateTime.of(2026, 11, 20, 12, 0));
+        assertThat(almoco.adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(200));
+    }
+
+    @Test
+    @DisplayName("Deve calcular os feriados nacionais de cada ano e somar as datas avulsas da zona")
+    void should_ComputeNationalHolidays_When_YearIsNotListed() {
+        // Given - zona sem o calendário nacional, só com uma data avulsa
+        List<DayOfWeek> uteis = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+        RegrasPrecoPicoDTO.Janela almoco = new RegrasPrecoPicoDTO.Janela(uteis, LocalTime.of(11, 0), LocalTime.of(15, 0),
+                new BigDecimal("2.00"));
+        RegrasPrecoPicoDTO regras = new RegrasPrecoPicoDTO(List.of(new RegrasPrecoPicoDTO.Zona("sao-paulo", 1_000_000,
+                9_999_999, List.of(almoco), List.of(LocalDate.of(2027, 1, 25)), false, List.of(), BigDecimal.ONE)));
+        PrecoPicoService padrao = new PrecoPicoService(regrasPadrao(), relogioEm(LocalDateTime.of(2027, 3, 26, 11, 30)));
+        PrecoPicoService local = new PrecoPicoService(regras, relogioEm(LocalDateTime.of(2027, 3, 26, 11, 30)));
+
+        // Then - Sexta-feira Santa de 2027 (26/03) e 15/11/2030, sexta-feira, seguem o calendário nacional
+        assertThat(FeriadosNacionais.pascoa(2027)).isEqualTo(LocalDate.of(2027, 3, 28));
+        assertThat(padrao.janelaAtual().adicional(CEP_SAO_PAULO)).isEqualTo(Money.ZERO);
+        assertThat(padrao.janelaEm(LocalDateTime.of(2030, 11, 15, 12, 30)).adicional(CEP_SAO_PAULO))
+                .isEqualTo(Money.deCentavos(200));
+        assertThat(padrao.janelaEm(LocalDateTime.of(2030, 11, 15, 11, 30)).adicional(CEP_SAO_PAULO))
+                .isEqualTo(Money.ZERO);
+        assertThat(local.janelaAtual().adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(200));
+        assertThat(local.janelaEm(LocalDateTime.of(2027, 1, 25, 12, 0)).adicional(CEP_SAO_PAULO)).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o adicional da zona do CEP e o multiplicador de demanda publicado")
+    void should_ApplyZoneSurchargeAndMultiplier_When_RulesAreSwapped() {
+        // Given - quarta-feira, 19h
+        PrecoPicoService service = new PrecoPicoService(regrasPorZona(), relogioEm(LocalDateTime.of(2025, 10, 8, 19, 0)));
+        JanelaPreco antes = service.janelaAtual();
+        assertThat(antes.adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(300));
+        assertThat(antes.adicional(CEP_RIO)).isEqualTo(Money.deCentavos(100));
+        assertThat(service.janelaAtual()).isSameAs(antes);
+
+        // When
+        service.definirMultiplicadorDemanda("sao-paulo", new BigDecimal("1.5"));
+        JanelaPreco depois = service.janelaAtual();
+
+        // Then - a janela já entregue continua com as regras antigas
+        assertThat(depois.sequencia()).isGreaterThan(antes.sequencia());
+        assertThat(depois.adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(450));
+        assertThat(depois.adicional(CEP_RIO)).isEqualTo(Money.deCentavos(100));
+        assertThat(antes.adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(300));
+        assertThat(service.getRegras().zonas().get(0).multiplicadorDemanda()).isEqualByComparingTo("1.5");
+    }
+
+    @Test
+    @DisplayName("Deve estender a janela após a meia-noite e prevalecer o maior adicional em sobreposição")
+    void should_WrapMidnightAndKeepHighestSurcharge_When_WindowsOverlap() {
+        // Given - domingo 23h à 1h com 4,00, sobreposto a domingo 22h às 24h com 2,50
+        RegrasPrecoPicoDTO regras = new RegrasPrecoPicoDTO(List.of(zona("padrao", null, null, List.of(
+                janela(DayOfWeek.SUNDAY, "23:00", "01:00", "4.00"),
+                janela(DayOfWeek.SUNDAY, "22:00", "00:00", "2.50")))));
+        PrecoPicoService service = new PrecoPicoService(regras, relogioEm(LocalDateTime.of(2025, 10, 12, 22, 0)));
+
+        // Then
+        assertThat(service.janelaEm(LocalDateTime.of(2025, 10, 12, 22, 30)).adicional(CEP_RIO))
+                .isEqualTo(Money.deCentavos(250));
+        assertThat(service.janelaEm(LocalDateTime.of(2025, 10, 12, 23, 30)).adicional(CEP_RIO))
+                .isEqualTo(Money.deCentavos(400));
+        JanelaPreco segunda = service.janelaEm(LocalDateTime.of(2025, 10, 13, 0, 30));
+        assertThat(segunda.adicional(CEP_RIO)).isEqualTo(Money.deCentavos(400));
+        assertThat(segunda.inicio()).isEqualTo(LocalDateTime.of(2025, 10, 12, 23, 0));
+        assertThat(segunda.fim()).isEqualTo(LocalDateTime.of(2025, 10, 13, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Deve recusar regras com faixas de CEP sobrepostas e manter as regras em vigor")
+    void should_RejectRules_When_CepRangesOverlap() {
+        // Given
+        PrecoPicoService service = new PrecoPicoService(regrasPorZona(), relogioEm(LocalDateTime.of(2025, 10, 8, 19, 0)));
+        RegrasPrecoPicoDTO sobrepostas = new RegrasPrecoPicoDTO(List.of(
+                zona("sao-paulo", 1_000_000, 9_999_999, List.of()),
+                zona("abc", 9_000_000, 9_999_999, List.of())));
+
+        // When / Then
+        assertThatThrownBy(() -> service.atualizarRegras(sobrepostas))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("sobrepostas");
+        assertThat(service.janelaAtual().adicional(CEP_SAO_PAULO)).isEqualTo(Money.deCentavos(300));
+    }
+
+    static RegrasPrecoPicoDTO regrasPadrao() {
+        try (InputStream entrada = new ClassPathResource("precificacao/regras-pico.json").getInputStream()) {
+            return new ObjectMapper().findAndRegisterModules().readValue(entrada, RegrasPrecoPicoDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Clock relogioEm(LocalDateTime instante) {
+        return Clock.fixed(instante.atZone(FUSO).toInstant(), FUSO);
+    }
+
+    private RegrasPrecoPicoDTO regrasPorZona() {
+        List<DayOfWeek> todos = List.of(DayOfWeek.values());
+        return new RegrasPrecoPicoDTO(List.of(
+                zona("sao-paulo", 1_000_000, 9_999_999, List.of(
+                        new RegrasPrecoPicoDTO.Janela(todos, LocalTime.of(18, 0), LocalTime.of(22, 0), new BigDecimal("3.00")))),
+                zona("padrao", null, null, List.of(
+                        new RegrasPrecoPicoDTO.Janela(todos, LocalTime.of(18, 0), LocalTime.of(22, 0), new BigDecimal("1.00"))))));
+    }
+
+    private RegrasPrecoPicoDTO.Zona zona(String nome, Integer cepInicio, Integer cepFim,
+                                         List<RegrasPrecoPicoDTO.Janela> janelas) {
+        return new RegrasPrecoPicoDTO.Zona(nome, cepInicio, cepFim, janelas, List.of(), false, List.of(), BigDecimal.ONE);
+    }
+
+    private RegrasPrecoPicoDTO.Janela janela(DayOfWeek dia, String inicio, String fim, String adicional) {
+        return new RegrasPrecoPicoDTO.Janela(List.of(dia), LocalTime.parse(inicio), LocalTime.parse(fim),
+                new BigDecimal(adicional));
+    }
+}
@@ -0,0 +1,180 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.FiltroRestauranteDTO;
+import com.deliverytech.delivery.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de integração da busca avançada com 1 mil, 10 mil e 100 mil restaurantes
+ * Compara o fluxo anterior (filtro de texto no banco, avaliação e taxa filtradas em Java, ordenação e
+ * conversão da lista inteira) com a Specification paginada, que resolve tudo no SQL pelos índices compostos
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.deliverytech=WARN",
+        "logging.level.com.deliverytech.delivery.service.RestauranteBuscaAvancadaBenchmarkIT=INFO"
+})
+@DisplayName("RestauranteService - Benchmark da busca avançada")
+class RestauranteBuscaAvancadaBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteBuscaAvancadaBenchmarkIT.class);
+
+    private static final int[] TAMANHOS = {1_000, 10_000, 100_000};
+    private static final String[] CATEGORIAS = {"Pizzaria", "Hamburgueria", "Japonesa", "Italiana", "Brasileira",
+            "Mexicana", "Chinesa", "Árabe", "Vegetariana", "Lanches"};
+    private static final String ENDERECO = "Rua Busca Avançada, ";
+    private static final int MEDICOES = 5;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM restaurante WHERE endereco LIKE ?", ENDERECO + "%");
+    }
+
+    @Test
+    @DisplayName("Specification paginada deve retornar a mesma página que o filtro em Java, pelo índice composto")
+    void should_ReturnSamePage_When_FilteringInDatabase() {
+        Random aleatorio = new Random(22);
+        int inseridos = 0;
+
+        for (int tamanho : TAMANHOS) {
+            inserir(inseridos, tamanho, aleatorio);
+            inseridos = tamanho;
+
+            FiltroRestauranteDTO filtro = filtro();
+            List<Long> esperado = transactionTemplate.execute(status ->
+                    buscarFiltrandoEmJava(filtro()).stream().limit(20).map(RestauranteResponseDTO::getId).toList());
+            Page<RestauranteResponseDTO> pagina = transactionTemplate.execute(status -> restauranteService.buscarAvancado(filtro));
+            assertThat(pagina.getContent()).extracting(RestauranteResponseDTO::getId).containsExactlyElementsOf(esperado);
+            assertThat(pagina.getTotalElements()).isEqualTo(
+                    transactionTemplate.execute(status -> (long) buscarFiltrandoEmJava(filtro()).size()));
+        }
+
+        // Com estatísticas atualizadas, a consulta deve partir do índice composto por categoria
+        jdbcTemplate.execute("ANALYZE");
+        String plano = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM restaurante WHERE categoria = 'Pizzaria' AND ativo = TRUE AND avaliacao >= 4.0 "
+                        + "AND taxa_entrega <= 8.00 ORDER BY avaliacao DESC, id DESC LIMIT 20", String.class);
+        logger.info("Plano da busca avançada: {}", plano.replaceAll("\\s+", " "));
+        assertThat(plano).containsIgnoringCase("IDX_RESTAURANTE_CATEGORIA_ATIVO_AVALIACAO_ID");
+    }
+
+    /**
+     * Comparação de tempo; fora do build padrão por depender da máquina. Rodar com -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: Specification paginada deve ser mais rápida que o filtro em Java a partir de 10 mil restaurantes")
+    void should_BeFaster_When_FilteringInDatabase() {
+        Random aleatorio = new Random(22);
+        int inseridos = 0;
+
+        for (int tamanho : TAMANHOS) {
+            inserir(inseridos, tamanho, aleatorio);
+            inseridos = tamanho;
+
+            double msJava = medirTempo(() -> buscarFiltrandoEmJava(filtro()));
+            double msBanco = medirTempo(() -> restauranteService.buscarAvancado(filtro()).getContent());
+            logger.info("Busca avançada com {} restaurantes - filtro em Java: {} ms; Specification paginada: {} ms",
+                    tamanho, String.format("%.1f", msJava), String.format("%.1f", msBanco));
+
+            if (tamanho >= 10_000) {
+                assertThat(msBanco).isLessThan(msJava);
+            }
+        }
+    }
+
+    private FiltroRestauranteDTO filtro() {
+        FiltroRestauranteDTO filtro = FiltroRestauranteDTO.porCategoria("pizzaria", true);
+        filtro.setAvaliacaoMinima(4.0);
+        filtro.setTaxaMaxima(new BigDecimal("8.00"));
+        filtro.setOrdenacao("avaliacao_desc");
+        filtro.setTamanho(20);
+        return filtro;
+    }
+
+    /**
+     * Fluxo anterior de buscarAvancado: só texto e ativo no banco, o resto em Java sobre a lista inteira
+     * O desempate pelo id (decrescente, como a Specification) só existe para comparar as páginas
+     */
+    private List<RestauranteResponseDTO> buscarFiltrandoEmJava(FiltroRestauranteDTO filtro) {
+        List<Restaurante> restaurantes = restauranteRepository.findWithFilters(
+                filtro.getNome(), filtro.getCategoria(), filtro.getEndereco(), filtro.getAtivo());
+        restaurantes = restaurantes.stream()
+                .filter(r -> r.getAvaliacao() >= filtro.getAvaliacaoMinima())
+                .filter(r -> r.getTaxaEntrega().compareTo(filtro.getTaxaMaxima()) <= 0)
+                .sorted(Comparator.comparing(Restaurante::getAvaliacao).thenComparing(Restaurante::getId).reversed())
+                .collect(Collectors.toList());
+        return restaurantes.stream().map(RestauranteResponseDTO::from).collect(Collectors.toList());
+    }
+
+    private void inserir(int de, int ate, Random aleatorio) {
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = de; i < ate; i++) {
+            linhas.add(new Object[] {
+                    "Restaurante Busca " + i,
+                    CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)],
+                    ENDERECO + i,
+                    new BigDecimal(aleatorio.nextInt(1500)).movePointLeft(2),
+                    1.0 + aleatorio.nextInt(41) / 10.0,
+                    aleatorio.nextInt(10) != 0
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO restaurante (nome, categoria, endereco, taxa_entrega, avaliacao, ativo) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", linhas);
+    }
+
+    private double medirTempo(Supplier<List<RestauranteResponseDTO>> busca) {
+        transactionTemplate.executeWithoutResult(status -> busca.get());
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            transactionTemplate.executeWithoutResult(status -> busca.get());
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / MEDICOES;
+    }
+}
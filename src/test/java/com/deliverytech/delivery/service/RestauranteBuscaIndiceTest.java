@@ -0,0 +1,259 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do índice invertido de busca de restaurantes")
+class RestauranteBuscaIndiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteBuscaIndiceTest.class);
+
+    private static final String[] NOMES = {"Pizzaria", "Cantina", "Sushi", "Açaí", "Hamburgueria", "Padaria",
+            "Churrascaria", "Esfiha", "Lanchonete", "Pastelaria", "Sorveteria", "Bistrô", "Temakeria", "Café"};
+    private static final String[] COMPLEMENTOS = {"do João", "da Vila", "Paulista", "São Jorge", "Bela Vista",
+            "do Centro", "Mooca", "Pinheiros", "Itália", "Oriental", "Família", "Express"};
+    private static final String[] CATEGORIAS = {"Pizzaria", "Japonesa", "Brasileira", "Lanches", "Árabe", "Doces"};
+    private static final String[] RUAS = {"Rua Augusta", "Avenida Paulista", "Rua da Consolação", "Rua Oscar Freire",
+            "Avenida Rebouças", "Rua Vergueiro", "Alameda Santos", "Rua Haddock Lobo"};
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    private RestauranteBuscaIndice indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new RestauranteBuscaIndice(restauranteRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar os mesmos restaurantes que a varredura por palavras e paginar sem repetir")
+    void should_MatchScanAndPaginate_When_Searching() {
+        // Given
+        List<Restaurante> restaurantes = restaurantes(1500, new Random(21));
+        when(restauranteRepository.findAll()).thenReturn(restaurantes);
+
+        for (String texto : new String[] {"pizz", "Sao Jorge", "paulista", "rua augusta cafe", "ÁRABE", "xyz", "r"}) {
+            for (Boolean ativo : new Boolean[] {null, true, false}) {
+                // When
+                List<Long> todos = indice.buscar(texto, ativo, Pageable.unpaged()).getContent();
+                List<Long> paginados = new ArrayList<>();
+                Page<Long> pagina = indice.buscar(texto, ativo, PageRequest.of(0, 7));
+                paginados.addAll(pagina.getContent());
+                while (pagina.hasNext()) {
+                    pagina = indice.buscar(texto, ativo, pagina.nextPageable());
+                    paginados.addAll(pagina.getContent());
+                }
+
+                // Then
+                List<Long> esperados = buscaExaustiva(restaurantes, texto, ativo);
+                assertThat(todos).as("%s ativo=%s", texto, ativo).containsExactlyInAnyOrderElementsOf(esperados);
+                assertThat(paginados).as("%s ativo=%s", texto, ativo).containsExactlyElementsOf(todos);
+                assertThat(indice.buscar(texto, ativo, PageRequest.of(0, 7)).getTotalElements()).isEqualTo(esperados.size());
+            }
+        }
+        verify(restauranteRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância: nome antes de categoria e endereço, palavra inteira antes de prefixo")
+    void should_RankByFieldAndExactness_When_Searching() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Cantina Italiana", "Italiana", "Rua Pizza, 10"),
+                restaurante(2L, "Forno Bom", "Pizza", "Rua das Flores, 20"),
+                restaurante(3L, "Pizza Bella", "Italiana", "Rua das Flores, 30"),
+                restaurante(4L, "Pizzaria São Jorge", "Italiana", "Rua das Flores, 40"),
+                restaurante(5L, "Sushi Bar", "Japonesa", "Rua das Flores, 50")));
+
+        // When
+        List<Long> pizza = indice.buscar("pizza", null, Pageable.unpaged()).getContent();
+        List<Long> flores = indice.buscar("flores pizz", null, Pageable.unpaged()).getContent();
+
+        // Then
+        assertThat(pizza).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(flores).containsExactly(3L, 4L, 2L);
+        assertThat(indice.buscar("sao jorge", null, Pageable.unpaged()).getContent()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastro, alteração, desativação e remoção sem recarregar do banco")
+    void should_UpdateIncrementally_When_RestaurantsChange() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João", "Pizzaria", "Rua Augusta, 100"),
+                restaurante(2L, "Sushi Bar", "Japonesa", "Rua Augusta, 200")));
+        assertThat(indice.buscar("augusta", null, Pageable.unpaged()).getContent()).containsExactly(1L, 2L);
+
+        // When
+        indice.registrar(restaurante(3L, "Esfiha da Praça", "Árabe", "Rua Augusta, 300"));
+        indice.registrar(restaurante(1L, "Cantina do João", "Italiana", "Rua Augusta, 100"));
+        Restaurante sushi = restaurante(2L, "Sushi Bar", "Japonesa", "Rua Augusta, 200");
+        sushi.setAtivo(false);
+        indice.registrar(sushi);
+
+        // Then
+        assertThat(indice.buscar("pizzaria", null, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(indice.buscar("joao", null, Pageable.unpaged()).getContent()).containsExactly(1L);
+        assertThat(indice.buscar("augusta", true, Pageable.unpaged()).getContent()).containsExactly(1L, 3L);
+        assertThat(indice.buscar("augusta", false, Pageable.unpaged()).getContent()).containsExactly(2L);
+
+        indice.registrarRemocao(3L);
+        assertThat(indice.buscar("esfiha", null, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(indice.quantidadeRestaurantes()).isEqualTo(2);
+        verify(restauranteRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve corrigir na reconciliação as escritas de outra instância sem desfazer as recebidas durante a leitura")
+    void should_ReindexDivergentDocuments_When_Reconciling() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João", "Pizzaria", "Rua Augusta, 100"),
+                restaurante(2L, "Sushi Bar", "Japonesa", "Rua Augusta, 200")));
+        indice.carregar();
+
+        // Outra instância renomeou o 1, excluiu o 2 e criou o 3; durante a leitura, esta instância altera o 3
+        when(restauranteRepository.findAll()).thenAnswer(invocacao -> {
+            indice.registrar(restaurante(3L, "Esfiha da Praça", "Árabe", "Rua Augusta, 300"));
+            return List.of(
+                    restaurante(1L, "Cantina do João", "Italiana", "Rua Augusta, 100"),
+                    restaurante(3L, "Esfiha Antiga", "Árabe", "Rua Augusta, 300"));
+        });
+
+        // When
+        indice.reconciliar();
+
+        // Then
+        assertThat(indice.buscar("cantina", null, Pageable.unpaged()).getContent()).containsExactly(1L);
+        assertThat(indice.buscar("pizzaria", null, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(indice.buscar("sushi", null, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(indice.buscar("praca", null, Pageable.unpaged()).getContent()).containsExactly(3L);
+        assertThat(indice.buscar("antiga", null, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(indice.quantidadeRestaurantes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve buscar com 50 mil restaurantes mais rápido que a varredura com LIKE em memória")
+    void should_BeFasterThanScan_When_Searching50kRestaurants() {
+        // Given
+        List<Restaurante> restaurantes = restaurantes(50_000, new Random(4));
+        when(restauranteRepository.findAll()).thenReturn(restaurantes);
+        indice.carregar();
+        Random aleatorio = new Random(9);
+        String[] consultas = new String[400];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = switch (i % 3) {
+                case 0 -> NOMES[aleatorio.nextInt(NOMES.length)] + " " + COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)];
+                case 1 -> "sushi " + aleatorio.nextInt(50_000);
+                default -> COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)].split(" ")[0];
+            };
+        }
+        Pageable pagina = PageRequest.of(0, 10);
+
+        // When
+        long encontrados = 0;
+        for (String consulta : consultas) {
+            encontrados += indice.buscar(consulta, true, pagina).getNumberOfElements();
+        }
+        long inicio = System.nanoTime();
+        for (String consulta : consultas) {
+            encontrados += indice.buscar(consulta, true, pagina).getNumberOfElements();
+        }
+        double indiceMicros = (System.nanoTime() - inicio) / 1_000.0 / consultas.length;
+
+        for (String consulta : consultas) {
+            encontrados += varreduraLike(restaurantes, consulta);
+        }
+        inicio = System.nanoTime();
+        for (String consulta : consultas) {
+            encontrados += varreduraLike(restaurantes, consulta);
+        }
+        double varreduraMicros = (System.nanoTime() - inicio) / 1_000.0 / consultas.length;
+
+        // Then
+        logger.info("Busca textual com 50 mil restaurantes - índice: {} µs; varredura LIKE: {} µs por consulta",
+                String.format("%.1f", indiceMicros), String.format("%.1f", varreduraMicros));
+        assertThat(encontrados).isPositive();
+        assertThat(indiceMicros).isLessThan(varreduraMicros);
+    }
+
+    /**
+     * Cada palavra da consulta é prefixo de alguma palavra do nome, categoria ou endereço
+     */
+    private List<Long> buscaExaustiva(List<Restaurante> restaurantes, String texto, Boolean ativo) {
+        String[] consulta = TextoUtils.palavras(texto);
+        return restaurantes.stream()
+                .filter(r -> ativo == null || r.isAtivo() == ativo)
+                .filter(r -> {
+                    List<String> palavras = new ArrayList<>();
+                    palavras.addAll(Arrays.asList(TextoUtils.palavras(r.getNome())));
+                    palavras.addAll(Arrays.asList(TextoUtils.palavras(r.getCategoria())));
+                    palavras.addAll(Arrays.asList(TextoUtils.palavras(r.getEndereco())));
+                    return consulta.length > 0 && Arrays.stream(consulta)
+                            .allMatch(q -> palavras.stream().anyMatch(p -> p.startsWith(q)));
+                })
+                .map(Restaurante::getId)
+                .toList();
+    }
+
+    /**
+     * Equivalente em memória da busca anterior no banco: LIKE '%texto%' em nome, categoria e endereço
+     */
+    private int varreduraLike(List<Restaurante> restaurantes, String texto) {
+        String textoMinusculo = texto.toLowerCase();
+        int encontrados = 0;
+        for (Restaurante restaurante : restaurantes) {
+            if (restaurante.isAtivo() && (restaurante.getNome().toLowerCase().contains(textoMinusculo)
+                    || restaurante.getCategoria().toLowerCase().contains(textoMinusculo)
+                    || restaurante.getEndereco().toLowerCase().contains(textoMinusculo))) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+
+    private List<Restaurante> restaurantes(int quantidade, Random aleatorio) {
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (long id = 1; id <= quantidade; id++) {
+            Restaurante restaurante = restaurante(id,
+                    NOMES[aleatorio.nextInt(NOMES.length)] + " " + COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)] + " " + id,
+                    CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)],
+                    RUAS[aleatorio.nextInt(RUAS.length)] + ", " + (1 + aleatorio.nextInt(3000)));
+            restaurante.setAtivo(id % 5 != 0);
+            restaurantes.add(restaurante);
+        }
+        return restaurantes;
+    }
+
+    private Restaurante restaurante(Long id, String nome, String categoria, String endereco) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setNome(nome);
+        restaurante.setCategoria(categoria);
+        restaurante.setEndereco(endereco);
+        return restaurante;
+    }
+}
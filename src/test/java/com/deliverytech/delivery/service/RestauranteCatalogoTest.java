@@ -0,0 +1,180 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do catálogo de restaurantes em memória")
+class RestauranteCatalogoTest {
+
+    private static final String[] CATEGORIAS = {"Pizzaria", "Japonesa", "Brasileira", "Hamburgueria", "Árabe"};
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    private RestauranteCatalogo catalogo;
+    private List<Restaurante> restaurantes;
+
+    @BeforeEach
+    void setUp() {
+        Random aleatorio = new Random(5);
+        restaurantes = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            Restaurante restaurante = restaurante(id, "Restaurante " + (char) ('A' + aleatorio.nextInt(26)) + id,
+                    CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)]);
+            restaurante.setAtivo(id % 7 != 0);
+            restaurante.setAvaliacao(1.0 + aleatorio.nextInt(41) / 10.0);
+            restaurante.setTaxaEntrega(new BigDecimal(aleatorio.nextInt(1500)).movePointLeft(2));
+            restaurantes.add(restaurante);
+        }
+        catalogo = new RestauranteCatalogo(restauranteRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve responder categorias e sugestões como as varreduras da tabela")
+    void should_MatchTableScans_When_ReadingSnapshot() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(restaurantes);
+
+        // When
+        RestauranteCatalogo.Snapshot snapshot = catalogo.atual();
+
+        // Then
+        assertThat(snapshot.categorias()).containsExactlyElementsOf(
+                restaurantes.stream().map(Restaurante::getCategoria).distinct().sorted().toList());
+        for (String texto : new String[] {"re", "piz", "ARAB", "japonês", "rante", "XYZ"}) {
+            assertThat(snapshot.sugestoes(texto, 10)).as(texto).containsExactlyElementsOf(sugestoesVarrendo(texto));
+        }
+        verify(restauranteRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve publicar nova versão nas escritas sem alterar a versão já obtida nem consultar o banco")
+    void should_PublishNewVersion_When_RestaurantsChange() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João", "Pizzaria"),
+                restaurante(2L, "Sushi Bar", "Japonesa")));
+        RestauranteCatalogo.Snapshot anterior = catalogo.atual();
+
+        // When - nova categoria, restaurante desativado e outro removido
+        catalogo.registrar(restaurante(3L, "Esfiha da Praça", "Árabe"));
+        Restaurante pizzaria = restaurante(1L, "Pizzaria do João", "Pizzaria");
+        pizzaria.setAtivo(false);
+        catalogo.registrar(pizzaria);
+        catalogo.registrarRemocao(2L);
+
+        // Then
+        RestauranteCatalogo.Snapshot atual = catalogo.atual();
+        assertThat(atual).isNotSameAs(anterior);
+        assertThat(atual.categorias()).containsExactly("Pizzaria", "Árabe");
+        assertThat(atual.sugestoes("pizz", 10)).isEmpty();
+        assertThat(atual.total()).isEqualTo(2);
+
+        assertThat(anterior.categorias()).containsExactly("Japonesa", "Pizzaria");
+        assertThat(anterior.sugestoes("pizz", 10)).containsExactly("Pizzaria", "Pizzaria do João");
+        assertThat(anterior.total()).isEqualTo(2);
+        verify(restauranteRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar escritas anteriores à primeira carga, que já lê o estado confirmado")
+    void should_IgnoreWrites_When_NotLoadedYet() {
+        // Given
+        Restaurante novo = restaurante(1L, "Cantina Nova", "Italiana");
+        catalogo.registrar(novo);
+        when(restauranteRepository.findAll()).thenReturn(List.of(novo));
+
+        // When
+        RestauranteCatalogo.Snapshot snapshot = catalogo.atual();
+
+        // Then
+        assertThat(snapshot.total()).isEqualTo(1);
+        assertThat(snapshot.categorias()).containsExactly("Italiana");
+    }
+
+    @Test
+    @DisplayName("Deve publicar versão corrigida na reconciliação só quando o banco diverge do catálogo")
+    void should_PublishCorrectedVersion_When_ReconcilingDivergentRestaurants() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João", "Pizzaria"),
+                restaurante(2L, "Sushi Bar", "Japonesa")));
+        RestauranteCatalogo.Snapshot carregado = catalogo.atual();
+        catalogo.reconciliar();
+        assertThat(catalogo.atual()).isSameAs(carregado);
+
+        // Outra instância renomeou o 1, excluiu o 2 e criou o 3; durante a leitura, esta instância altera o 3
+        when(restauranteRepository.findAll()).thenAnswer(invocacao -> {
+            catalogo.registrar(restaurante(3L, "Esfiha da Praça", "Árabe"));
+            return List.of(
+                    restaurante(1L, "Cantina do João", "Italiana"),
+                    restaurante(3L, "Esfiha Antiga", "Árabe"));
+        });
+        long geracaoAntes = catalogo.geracao();
+
+        // When
+        catalogo.reconciliar();
+
+        // Then
+        RestauranteCatalogo.Snapshot atual = catalogo.atual();
+        assertThat(atual.categorias()).containsExactly("Italiana", "Árabe");
+        assertThat(atual.sugestoes("cantina", 10)).containsExactly("Cantina do João");
+        assertThat(atual.sugestoes("pizz", 10)).isEmpty();
+        assertThat(atual.sugestoes("esfiha", 10)).containsExactly("Esfiha da Praça");
+        assertThat(atual.total()).isEqualTo(2);
+        assertThat(catalogo.geracao()).isGreaterThan(geracaoAntes);
+    }
+
+    /**
+     * Varredura de todos os termos ativos: palavra começando pelo texto, termos que começam por ele primeiro,
+     * depois maior avaliação média, mais restaurantes e ordem alfabética
+     */
+    private List<String> sugestoesVarrendo(String texto) {
+        String prefixo = TextoUtils.palavras(texto)[0];
+        Map<String, List<Restaurante>> porTermo = new HashMap<>();
+        for (Restaurante restaurante : restaurantes) {
+            if (restaurante.isAtivo()) {
+                porTermo.computeIfAbsent(restaurante.getNome(), t -> new ArrayList<>()).add(restaurante);
+                porTermo.computeIfAbsent(restaurante.getCategoria(), t -> new ArrayList<>()).add(restaurante);
+            }
+        }
+        return porTermo.keySet().stream()
+                .filter(termo -> Arrays.stream(TextoUtils.palavras(termo)).anyMatch(p -> p.startsWith(prefixo)))
+                .sorted(Comparator.comparing((String termo) -> !TextoUtils.palavras(termo)[0].startsWith(prefixo))
+                        .thenComparing(termo -> -porTermo.get(termo).stream().mapToDouble(Restaurante::getAvaliacao).average().orElseThrow())
+                        .thenComparing(termo -> -porTermo.get(termo).size())
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+
+    private Restaurante restaurante(Long id, String nome, String categoria) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setNome(nome);
+        restaurante.setCategoria(categoria);
+        return restaurante;
+    }
+}
@@ -0,0 +1,167 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.EstatisticasRestauranteDTO;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes das estatísticas incrementais de restaurantes")
+class RestauranteEstatisticasTest {
+
+    private static final String[] CATEGORIAS = {"Pizzaria", "Japonesa", "Brasileira", "Hamburgueria", "Árabe"};
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestauranteEstatisticas estatisticas;
+    private Map<Long, Restaurante> banco;
+    private Random aleatorio;
+
+    @BeforeEach
+    void setUp() {
+        aleatorio = new Random(23);
+        banco = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            Restaurante restaurante = restauranteAleatorio(id);
+            banco.put(id, restaurante);
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        estatisticas = new RestauranteEstatisticas(restauranteRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve manter os totais iguais ao recálculo da tabela após cadastros, alterações, ativações e remoções")
+    void should_MatchRecalculation_When_RestaurantsChange() {
+        // Given
+        when(restauranteRepository.findResumoEstatisticas()).thenAnswer(invocacao -> linhas(banco));
+        assertEstatisticasIguais(estatisticas.atual(), banco);
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            long id = 1 + aleatorio.nextInt(400);
+            int operacao = aleatorio.nextInt(10);
+            if (operacao == 0 && banco.containsKey(id)) {
+                banco.remove(id);
+                estatisticas.registrarRemocao(id);
+            } else if (operacao < 4 && banco.containsKey(id)) {
+                Restaurante restaurante = banco.get(id);
+                restaurante.setAtivo(!restaurante.isAtivo());
+                estatisticas.registrar(restaurante);
+            } else {
+                Restaurante restaurante = restauranteAleatorio(id);
+                banco.put(id, restaurante);
+                estatisticas.registrar(restaurante);
+            }
+        }
+
+        // Then
+        assertEstatisticasIguais(estatisticas.atual(), banco);
+        verify(restauranteRepository, times(1)).findResumoEstatisticas();
+    }
+
+    @Test
+    @DisplayName("Deve corrigir na reconciliação a divergência causada por escritas fora do serviço")
+    void should_RepairDrift_When_Reconciling() {
+        // Given
+        when(restauranteRepository.findResumoEstatisticas()).thenAnswer(invocacao -> linhas(banco));
+        estatisticas.carregar();
+        banco.remove(1L);
+        banco.get(2L).setAtivo(!banco.get(2L).isAtivo());
+        banco.put(500L, restauranteAleatorio(500L));
+        assertThat(estatisticas.atual().getTotalRestaurantes()).isEqualTo(300L);
+
+        // When
+        estatisticas.reconciliar();
+        estatisticas.reconciliar();
+
+        // Then
+        assertEstatisticasIguais(estatisticas.atual(), banco);
+        assertThat(meterRegistry.counter("restaurantes.estatisticas.divergencias").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar as escritas confirmadas enquanto a reconciliação lia o banco")
+    void should_KeepConcurrentWrites_When_Reconciling() {
+        // Given
+        when(restauranteRepository.findResumoEstatisticas()).thenAnswer(invocacao -> linhas(banco));
+        estatisticas.carregar();
+        Restaurante novo = restauranteAleatorio(501L);
+        // A leitura da reconciliação não vê o restaurante, cujo commit é refletido durante ela
+        when(restauranteRepository.findResumoEstatisticas()).thenAnswer(invocacao -> {
+            List<Object[]> linhas = linhas(banco);
+            estatisticas.registrar(novo);
+            return linhas;
+        });
+
+        // When
+        estatisticas.reconciliar();
+
+        // Then
+        banco.put(501L, novo);
+        assertEstatisticasIguais(estatisticas.atual(), banco);
+        assertThat(meterRegistry.counter("restaurantes.estatisticas.divergencias").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar escritas anteriores à primeira carga, que já lê o estado confirmado")
+    void should_IgnoreWrites_When_NotLoadedYet() {
+        // Given
+        estatisticas.registrar(banco.get(1L));
+        estatisticas.registrarRemocao(2L);
+        when(restauranteRepository.findResumoEstatisticas()).thenAnswer(invocacao -> linhas(banco));
+
+        // When
+        EstatisticasRestauranteDTO resultado = estatisticas.atual();
+
+        // Then
+        assertEstatisticasIguais(resultado, banco);
+    }
+
+    private void assertEstatisticasIguais(EstatisticasRestauranteDTO resultado, Map<Long, Restaurante> restaurantes) {
+        List<Restaurante> todos = new ArrayList<>(restaurantes.values());
+        long ativos = todos.stream().filter(Restaurante::isAtivo).count();
+        assertThat(resultado.getTotalRestaurantes()).isEqualTo(todos.size());
+        assertThat(resultado.getRestaurantesAtivos()).isEqualTo(ativos);
+        assertThat(resultado.getRestaurantesInativos()).isEqualTo(todos.size() - ativos);
+        assertThat(resultado.getTotalCategorias()).isEqualTo(
+                todos.stream().filter(Restaurante::isAtivo).map(Restaurante::getCategoria).distinct().count());
+        assertThat(resultado.getAvaliacaoMedia()).isCloseTo(
+                todos.stream().mapToDouble(Restaurante::getAvaliacao).average().orElse(0.0), within(1e-9));
+        assertThat(resultado.getTaxaMedia()).isCloseTo(
+                todos.stream().mapToDouble(r -> r.getTaxaEntrega().doubleValue()).average().orElse(0.0), within(1e-9));
+    }
+
+    private List<Object[]> linhas(Map<Long, Restaurante> restaurantes) {
+        return restaurantes.values().stream()
+                .map(r -> new Object[] {r.getId(), r.isAtivo(), r.getCategoria(), r.getAvaliacao(), r.getTaxaEntrega()})
+                .toList();
+    }
+
+    private Restaurante restauranteAleatorio(long id) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setCategoria(CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)]);
+        restaurante.setAtivo(aleatorio.nextInt(4) != 0);
+        restaurante.setAvaliacao(1.0 + aleatorio.nextInt(41) / 10.0);
+        restaurante.setTaxaEntrega(new BigDecimal(aleatorio.nextInt(1500)).movePointLeft(2));
+        return restaurante;
+    }
+}
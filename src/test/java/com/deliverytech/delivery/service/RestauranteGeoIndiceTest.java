@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.GeoUtils;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do índice espacial de restaurantes")
+class RestauranteGeoIndiceTest {
+
+    // Praça da Sé
+    private static final double LATITUDE = -23.5505;
+    private static final double LONGITUDE = -46.6333;
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    private RestauranteGeoIndice indice;
+    private List<Restaurante> restaurantes;
+
+    @BeforeEach
+    void setUp() {
+        // Grande São Paulo, com alguns no Rio de Janeiro
+        Random aleatorio = new Random(42);
+        restaurantes = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            boolean rio = id % 100 == 0;
+            restaurantes.add(restauranteEm(id,
+                    (rio ? -22.90 : -23.75) + aleatorio.nextDouble() * 0.35,
+                    (rio ? -43.35 : -46.85) + aleatorio.nextDouble() * 0.45));
+        }
+        indice = new RestauranteGeoIndice(restauranteRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve retornar os k mais próximos dentro do raio, iguais à busca exaustiva")
+    void should_MatchBruteForce_When_QueryingNearest() {
+        // Given
+        when(restauranteRepository.findByAtivoTrue()).thenReturn(restaurantes);
+        double[][] pontos = { {LATITUDE, LONGITUDE}, {-23.70, -46.80}, {-23.40, -46.40}, {-22.90, -43.18} };
+
+        for (double[] ponto : pontos) {
+            for (double raio : new double[] {2.0, 23.1}) {
+                // When
+                List<Long> ids = indice.maisProximos(ponto[0], ponto[1], 25, raio);
+
+                // Then
+                assertThat(ids).as("ponto %s, raio %s", ponto, raio)
+                        .containsExactlyElementsOf(buscaExaustiva(ponto[0], ponto[1], 25, raio));
+            }
+        }
+        verify(restauranteRepository, times(1)).findByAtivoTrue();
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio quando não há restaurantes no raio")
+    void should_ReturnEmpty_When_NothingWithinRadius() {
+        // Given
+        when(restauranteRepository.findByAtivoTrue()).thenReturn(restaurantes);
+
+        // When - Belo Horizonte
+        List<Long> ids = indice.maisProximos(-19.92, -43.94, 20, 23.1);
+
+        // Then
+        assertThat(ids).isEmpty();
+        assertThat(indice.tamanho()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("Deve refletir criação, mudança de localização, desativação e remoção sem recarregar")
+    void should_UpdateIncrementally_When_RestaurantsChange() {
+        // Given
+        when(restauranteRepository.findByAtivoTrue()).thenReturn(List.of());
+        Restaurante se = restauranteEm(1L, LATITUDE, LONGITUDE);
+        Restaurante paulista = restauranteEm(2L, -23.5614, -46.6560);
+        indice.registrar(se);
+        indice.registrar(paulista);
+        assertThat(indice.maisProximos(LATITUDE, LONGITUDE, 5, 23.1)).containsExactly(1L, 2L);
+
+        // When - Sé muda para o Rio, Paulista é desativado e volta, restaurante novo em Pinheiros
+        se.setLatitude(-22.90);
+        se.setLongitude(-43.18);
+        indice.registrar(se);
+        paulista.setAtivo(false);
+        indice.registrar(paulista);
+        indice.registrar(restauranteEm(3L, -23.5670, -46.6920));
+
+        // Then
+        assertThat(indice.maisProximos(LATITUDE, LONGITUDE, 5, 23.1)).containsExactly(3L);
+        paulista.setAtivo(true);
+        indice.registrar(paulista);
+        indice.registrarRemocao(3L);
+        assertThat(indice.maisProximos(LATITUDE, LONGITUDE, 5, 23.1)).containsExactly(2L);
+        assertThat(indice.tamanho()).isEqualTo(2);
+        verify(restauranteRepository, times(1)).findByAtivoTrue();
+    }
+
+    @Test
+    @DisplayName("Deve corrigir na reconciliação os restaurantes desativados, movidos ou criados em outra instância")
+    void should_FixDivergentRestaurants_When_Reconciling() {
+        // Given
+        when(restauranteRepository.findByAtivoTrue()).thenReturn(List.of(
+                restauranteEm(1L, LATITUDE, LONGITUDE), restauranteEm(2L, -23.5614, -46.6560)));
+        indice.carregar();
+
+        // Outra instância desativou o 2, moveu o 1 para o Rio e criou o 3; durante a leitura, esta instância move o 4
+        when(restauranteRepository.findByAtivoTrue()).thenAnswer(invocacao -> {
+            indice.registrar(restauranteEm(4L, -23.5580, -46.6400));
+            return List.of(restauranteEm(1L, -22.90, -43.18), restauranteEm(3L, -23.5670, -46.6920),
+                    restauranteEm(4L, -23.0, -45.0));
+        });
+
+        // When
+        indice.reconciliar();
+
+        // Then
+        assertThat(indice.maisProximos(LATITUDE, LONGITUDE, 5, 23.1)).containsExactly(4L, 3L);
+        assertThat(indice.maisProximos(-22.90, -43.18, 5, 1.0)).containsExactly(1L);
+        assertThat(indice.tamanho()).isEqualTo(3);
+    }
+
+    private List<Long> buscaExaustiva(double latitude, double longitude, int k, double raio) {
+        return restaurantes.stream()
+                .filter(r -> GeoUtils.distanciaKm(latitude, longitude, r.getLatitude(), r.getLongitude()) <= raio)
+                .sorted(Comparator.comparingDouble(
+                        r -> GeoUtils.distanciaKm(latitude, longitude, r.getLatitude(), r.getLongitude())))
+                .limit(k)
+                .map(Restaurante::getId)
+                .toList();
+    }
+
+    private Restaurante restauranteEm(Long id, double latitude, double longitude) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setLatitude(latitude);
+        restaurante.setLongitude(longitude);
+        return restaurante;
+    }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteDTO;
+import com.deliverytech.delivery.dto.ZonaEntregaDTO;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Escritas em restaurantes chegam aos índices em memória só depois do commit (RestauranteAlterado e
+ * RestauranteRemovido); uma transação desfeita não deixa rastro nos índices
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false"
+})
+@DisplayName("RestauranteService - Índices em memória após o commit")
+class RestauranteIndicesIT {
+
+    private static final double LATITUDE = -23.5505;
+    private static final double LONGITUDE = -46.6333;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private RestauranteGeoIndice restauranteGeoIndice;
+
+    @Autowired
+    private RestauranteBuscaIndice restauranteBuscaIndice;
+
+    @Autowired
+    private RestauranteCatalogo restauranteCatalogo;
+
+    @Autowired
+    private ZonasEntregaIndice zonasEntregaIndice;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Deve refletir criação, zonas e exclusão nos índices somente após o commit")
+    void should_UpdateIndexes_When_TransactionCommits() {
+        // Given
+        RestauranteDTO dto = RestauranteTestData.createValidRestauranteDTO();
+        dto.setNome("Cantina Quatrocentona");
+        long geracaoAntes = restauranteCatalogo.geracao();
+
+        // When
+        Long id = transactionTemplate.execute(status -> {
+            Long criado = restauranteService.criar(dto).getId();
+            assertThat(restauranteBuscaIndice.buscar("quatrocentona", null, PageRequest.of(0, 10))).isEmpty();
+            return criado;
+        });
+
+        // Then
+        assertThat(restauranteCatalogo.geracao()).isGreaterThan(geracaoAntes);
+        assertThat(restauranteBuscaIndice.buscar("quatrocentona", null, PageRequest.of(0, 10))).containsExactly(id);
+        assertThat(restauranteGeoIndice.maisProximos(LATITUDE, LONGITUDE, 50, 1.0)).contains(id);
+
+        restauranteService.definirZonasEntrega(id, List.of(
+                new ZonaEntregaDTO("Centro", TipoZonaEntrega.RAIO, 2.0, null, new BigDecimal("4.00"))));
+        assertThat(zonasEntregaIndice.possuiZonas(id)).isTrue();
+        assertThat(zonasEntregaIndice.taxaBaseEm(id, LATITUDE, LONGITUDE)).isEqualByComparingTo("4.00");
+
+        restauranteService.deletarRestaurante(id);
+        assertThat(restauranteBuscaIndice.buscar("quatrocentona", null, PageRequest.of(0, 10))).isEmpty();
+        assertThat(restauranteGeoIndice.maisProximos(LATITUDE, LONGITUDE, 50, 1.0)).doesNotContain(id);
+        assertThat(zonasEntregaIndice.possuiZonas(id)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lista de zonas com elemento nulo sem alterar as zonas do restaurante")
+    void should_RejectNullZone_When_DefiningZones() {
+        // Given
+        RestauranteDTO dto = RestauranteTestData.createValidRestauranteDTO();
+        dto.setNome("Empório Zona Nula");
+        Long id = restauranteService.criar(dto).getId();
+        restauranteService.definirZonasEntrega(id, List.of(
+                new ZonaEntregaDTO("Centro", TipoZonaEntrega.RAIO, 2.0, null, new BigDecimal("4.00"))));
+
+        // When / Then
+        assertThatThrownBy(() -> restauranteService.definirZonasEntrega(id, Arrays.asList(
+                new ZonaEntregaDTO("Norte", TipoZonaEntrega.RAIO, 3.0, null, new BigDecimal("5.00")), null)))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo("ZONA_ENTREGA_INVALIDA"));
+        assertThat(restauranteService.listarZonasEntrega(id)).extracting(ZonaEntregaDTO::getNome).containsExactly("Centro");
+        assertThat(zonasEntregaIndice.taxaBaseEm(id, LATITUDE, LONGITUDE)).isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    @DisplayName("Deve recusar no cadastro nome quase igual ao de um restaurante já confirmado")
+    void should_RejectSimilarName_When_Creating() {
+        // Given
+        RestauranteDTO dto = RestauranteTestData.createValidRestauranteDTO();
+        dto.setNome("Tasca do Zé Minhoto");
+        restauranteService.criar(dto);
+
+        RestauranteDTO similar = RestauranteTestData.createValidRestauranteDTO();
+        similar.setNome("TASCA DO ZE MINHOTO!");
+
+        // When / Then
+        assertThatThrownBy(() -> restauranteService.criar(similar))
+                .isInstanceOf(ConflictException.class)
+                .satisfies(e -> assertThat(((ConflictException) e).getConflictType()).isEqualTo("RESTAURANTE_DUPLICADO"));
+        assertThat(restauranteBuscaIndice.buscar("minhoto", null, PageRequest.of(0, 10))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar os índices quando a transação é desfeita")
+    void should_LeaveIndexesUntouched_When_TransactionRollsBack() {
+        // Given
+        RestauranteDTO dto = RestauranteTestData.createValidRestauranteDTO();
+        dto.setNome("Bistrô Desfeito");
+        long geracaoAntes = restauranteCatalogo.geracao();
+        int tamanhoAntes = restauranteGeoIndice.tamanho();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            restauranteService.criar(dto);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(restauranteCatalogo.geracao()).isEqualTo(geracaoAntes);
+        assertThat(restauranteGeoIndice.tamanho()).isEqualTo(tamanhoAntes);
+        assertThat(restauranteBuscaIndice.buscar("desfeito", null, PageRequest.of(0, 10))).isEmpty();
+    }
+}
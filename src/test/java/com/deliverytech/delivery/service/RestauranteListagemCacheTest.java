@@ -0,0 +1,277 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteAlterado;
+import com.deliverytech.delivery.dto.RestauranteRemovido;
+import com.deliverytech.delivery.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do cache da listagem paginada de restaurantes")
+class RestauranteListagemCacheTest {
+
+    private static final Pageable PRIMEIRA = PageRequest.of(0, 10, Sort.by("nome"));
+    private static final long VALIDADE_MS = 60_000;
+
+    @Mock
+    private GeracaoListagem geracaoCompartilhada;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryGeracaoListagem geracao;
+    private RelogioAjustavel relogio;
+    private RestauranteListagemCache cache;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        geracao = new InMemoryGeracaoListagem();
+        relogio = new RelogioAjustavel();
+        cache = new RestauranteListagemCache(geracao, meterRegistry, 3, VALIDADE_MS, relogio);
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve servir do cache consultas equivalentes depois de normalizar os filtros")
+    void should_ServeCachedPage_When_QueryIsEquivalent() {
+        // When
+        Page<RestauranteResponseDTO> primeira = cache.obter("Pizzaria  do João", "Italiana", true, PRIMEIRA, consulta());
+        Page<RestauranteResponseDTO> mesmaBusca = cache.obter(" pizzaria do joao!", null, true, PRIMEIRA, consulta());
+        cache.obter(null, "Pizzaria", null, PRIMEIRA, consulta());
+        cache.obter(null, "PIZZARIA", null, PRIMEIRA, consulta());
+        cache.obter(null, "Pizzaria", null, PageRequest.of(1, 10, Sort.by("nome")), consulta());
+        cache.obter(null, "Pizzaria", null, PageRequest.of(0, 10, Sort.by("avaliacao")), consulta());
+        cache.obter("  ", null, null, PRIMEIRA, consulta());
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+
+        // Then
+        assertThat(mesmaBusca.getContent()).isEqualTo(primeira.getContent());
+        assertThat(execucoes).hasValue(5);
+        assertThat(consultas("busca+ativo", "hit")).isEqualTo(1.0);
+        assertThat(consultas("busca+ativo", "miss")).isEqualTo(1.0);
+        assertThat(consultas("categoria", "hit")).isEqualTo(1.0);
+        assertThat(consultas("categoria", "miss")).isEqualTo(3.0);
+        assertThat(consultas("todos", "hit")).isEqualTo(1.0);
+        assertThat(consultas("todos", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve deixar de servir as páginas após uma escrita em restaurantes, sem esvaziar o cache")
+    void should_MissAfterWrite_When_GenerationAdvances() {
+        // Given
+        cache.obter(null, null, true, PRIMEIRA, consulta());
+        cache.obter(null, null, true, PRIMEIRA, consulta());
+        assertThat(execucoes).hasValue(1);
+
+        // When
+        cache.aoAlterar(new RestauranteAlterado(RestauranteTestData.createRestauranteWithId(1L)));
+
+        // Then
+        assertThat(cache.tamanho()).isEqualTo(1);
+        cache.obter(null, null, true, PRIMEIRA, consulta());
+        cache.obter(null, null, true, PRIMEIRA, consulta());
+        assertThat(execucoes).hasValue(2);
+        assertThat(consultas("ativo", "miss")).isEqualTo(2.0);
+        assertThat(cache.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar a página de uma consulta durante a qual uma escrita foi confirmada")
+    void should_NotStorePage_When_WriteCommitsDuringQuery() {
+        // Given
+        Supplier<Page<RestauranteResponseDTO>> comEscrita = () -> {
+            cache.aoRemover(new RestauranteRemovido(1L));
+            return consulta().get();
+        };
+
+        // When
+        cache.obter(null, null, null, PRIMEIRA, comEscrita);
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+
+        // Then
+        assertThat(execucoes).hasValue(2);
+        assertThat(consultas("todos", "miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a página menos usada ao atingir a capacidade e não guardar listagens sem paginação")
+    void should_EvictLeastRecentlyUsed_When_Full() {
+        // Given
+        for (int pagina = 0; pagina < 3; pagina++) {
+            cache.obter(null, null, null, PageRequest.of(pagina, 10), consulta());
+        }
+        cache.obter(null, null, null, PageRequest.of(0, 10), consulta());
+
+        // When
+        cache.obter(null, null, null, PageRequest.of(3, 10), consulta());
+        cache.obter(null, null, null, Pageable.unpaged(), consulta());
+
+        // Then
+        assertThat(cache.tamanho()).isEqualTo(3);
+        assertThat(meterRegistry.get("restaurantes.listagem.cache.descartes").functionCounter().count()).isEqualTo(1.0);
+        cache.obter(null, null, null, PageRequest.of(0, 10), consulta());
+        cache.obter(null, null, null, PageRequest.of(1, 10), consulta());
+        assertThat(execucoes).hasValue(6);
+    }
+
+    @Test
+    @DisplayName("Não deve usar o cache dentro de uma transação de escrita, que vê alterações ainda não confirmadas")
+    void should_BypassCache_When_InsideReadWriteTransaction() {
+        // Given
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // When
+            cache.obter(null, null, null, PRIMEIRA, consulta());
+            cache.obter(null, null, null, PageRequest.of(1, 10), consulta());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertThat(execucoes).hasValue(3);
+        assertThat(cache.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias próprias a cada chamador, sem que alterá-las mude o cache")
+    void should_ReturnIndependentCopies_When_CallerMutatesPage() {
+        // Given
+        Page<RestauranteResponseDTO> primeira = cache.obter(null, null, null, PRIMEIRA, consulta());
+        primeira.getContent().get(0).setNome("Alterado pelo primeiro chamador");
+
+        // When
+        Page<RestauranteResponseDTO> segunda = cache.obter(null, null, null, PRIMEIRA, consulta());
+        segunda.getContent().get(0).setDistanciaKm(1.5);
+        Page<RestauranteResponseDTO> terceira = cache.obter(null, null, null, PRIMEIRA, consulta());
+
+        // Then
+        assertThat(execucoes).hasValue(1);
+        assertThat(terceira).isNotSameAs(segunda);
+        assertThat(terceira.getContent().get(0)).isNotSameAs(segunda.getContent().get(0));
+        assertThat(terceira.getContent().get(0).getNome()).isEqualTo("Pizzaria do João");
+        assertThat(terceira.getContent().get(0).getDistanciaKm()).isNull();
+        assertThat(terceira.getTotalElements()).isEqualTo(1);
+        assertThat(terceira.getPageable()).isEqualTo(PRIMEIRA);
+        assertThatThrownBy(() -> terceira.getContent().add(new RestauranteResponseDTO()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Deve consultar de novo quando a página passa da validade, mesmo sem escrita")
+    void should_MissAfterExpiry_When_TtlElapses() {
+        // Given
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+        relogio.avancar(Duration.ofMillis(VALIDADE_MS - 1));
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+
+        // When
+        relogio.avancar(Duration.ofMillis(1));
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+
+        // Then
+        assertThat(execucoes).hasValue(2);
+        assertThat(consultas("todos", "hit")).isEqualTo(2.0);
+        assertThat(consultas("todos", "miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar as páginas quando a geração compartilhada avança em outra instância")
+    void should_MissAfterRemoteWrite_When_SharedGenerationAdvances() {
+        // Given
+        cache = new RestauranteListagemCache(geracaoCompartilhada, meterRegistry, 3, VALIDADE_MS, relogio);
+        when(geracaoCompartilhada.atual()).thenReturn(7L, 7L, 7L, 8L, 8L, 8L);
+        cache.obter(null, "Pizzaria", null, PRIMEIRA, consulta());
+        cache.obter(null, "Pizzaria", null, PRIMEIRA, consulta());
+
+        // When
+        cache.obter(null, "Pizzaria", null, PRIMEIRA, consulta());
+        cache.obter(null, "Pizzaria", null, PRIMEIRA, consulta());
+
+        // Then
+        assertThat(execucoes).hasValue(2);
+        verify(geracaoCompartilhada, never()).avancar();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco sem cache quando a geração compartilhada está indisponível")
+    void should_BypassCache_When_SharedGenerationFails() {
+        // Given
+        cache = new RestauranteListagemCache(geracaoCompartilhada, meterRegistry, 3, VALIDADE_MS, relogio);
+        when(geracaoCompartilhada.atual()).thenThrow(new IllegalStateException("Redis indisponível"));
+        doThrow(new IllegalStateException("Redis indisponível")).when(geracaoCompartilhada).avancar();
+
+        // When
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+        cache.obter(null, null, null, PRIMEIRA, consulta());
+        cache.aoRemover(new RestauranteRemovido(1L));
+
+        // Then
+        assertThat(execucoes).hasValue(2);
+        assertThat(cache.tamanho()).isZero();
+    }
+
+    private Supplier<Page<RestauranteResponseDTO>> consulta() {
+        return () -> {
+            execucoes.incrementAndGet();
+            RestauranteResponseDTO dto = new RestauranteResponseDTO();
+            dto.setId(1L);
+            dto.setNome("Pizzaria do João");
+            return new PageImpl<>(List.of(dto), PRIMEIRA, 1);
+        };
+    }
+
+    private double consultas(String formato, String resultado) {
+        return meterRegistry.get("restaurantes.listagem.cache.consultas")
+                .tag("formato", formato).tag("resultado", resultado).counter().count();
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2026-03-02T12:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
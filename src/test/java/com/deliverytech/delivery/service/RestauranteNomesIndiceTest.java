@@ -0,0 +1,294 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import com.deliverytech.delivery.util.TextoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do índice de nomes similares de restaurantes")
+class RestauranteNomesIndiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteNomesIndiceTest.class);
+
+    private static final String[] PREFIXOS = {"Pizzaria", "Cantina", "Bar", "Restaurante", "Lanchonete", "Padaria",
+            "Casa", "Sabor", "Cozinha", "Empório"};
+    private static final String[] LIGACOES = {"da", "do", "de", "dos", "das"};
+    private static final String[] INICIOS = {"b", "c", "d", "f", "g", "j", "l", "m", "n", "p", "r", "s", "t", "v", "x",
+            "z", "ch", "lh", "nh", "br", "tr", "pr", "gr", "cr", "fl", "pl", "bl"};
+    private static final String[] VOGAIS = {"a", "e", "i", "o", "u", "ã", "é", "ô", "á", "í"};
+    private static final String[] FINAIS = {"", "", "", "r", "s", "l", "n", "m"};
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    private RestauranteNomesIndice indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new RestauranteNomesIndice(restauranteRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve achar nomes com erro de digitação, acento, caixa ou pontuação diferentes, mas não nomes apenas parecidos")
+    void should_FindNearDuplicates_When_NamesDifferSlightly() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João"),
+                restaurante(2L, "Sushi Bar"),
+                restaurante(3L, "Cantina da Vila")));
+
+        // When / Then
+        assertThat(ids("pizaria do joao")).containsExactly(1L);
+        assertThat(indice.buscarSimilares("PIZZARIA DO JOÃO!", 10)).singleElement()
+                .satisfies(similar -> assertThat(similar.similaridade()).isEqualTo(1.0));
+        assertThat(ids("Sushi Bars")).containsExactly(2L);
+        assertThat(ids("Pizzaria da Vila")).isEmpty();
+        assertThat(ids("Sushi Bar Express")).isEmpty();
+        assertThat(ids(" - ")).isEmpty();
+        for (String[] par : new String[][] {{"Pizzaria do João", "pizaria do joao"}, {"Sushi Bar", "Sushi Bar Express"},
+                {"Cantina da Vila", "Pizzaria da Vila"}}) {
+            assertThat(RestauranteNomesIndice.jaccard(RestauranteNomesIndice.trigramas(par[0]), RestauranteNomesIndice.trigramas(par[1])))
+                    .isCloseTo(jaccardPorConjuntos(par[0], par[1]), within(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastro, renomeação e remoção sem recarregar do banco")
+    void should_UpdateIncrementally_When_RestaurantsChange() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João"),
+                restaurante(2L, "Sushi Bar")));
+        assertThat(ids("pizzaria do joao")).containsExactly(1L);
+
+        // When
+        indice.registrar(restaurante(3L, "Pizzaria do Joãozinho"));
+        indice.registrar(restaurante(1L, "Cantina do João"));
+        indice.registrarRemocao(2L);
+
+        // Then
+        assertThat(ids("pizzaria do joao")).containsExactly(3L);
+        assertThat(ids("cantina do joao")).containsExactly(1L);
+        assertThat(ids("sushi bar")).isEmpty();
+        assertThat(indice.quantidadeNomes()).isEqualTo(2);
+        verify(restauranteRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o índice na reconciliação com os nomes do banco, mantendo os escritos durante a leitura")
+    void should_RebuildFromDatabase_When_Reconciling() {
+        // Given
+        when(restauranteRepository.findAll()).thenReturn(List.of(
+                restaurante(1L, "Pizzaria do João"),
+                restaurante(2L, "Sushi Bar"),
+                restaurante(3L, "Cantina da Vila")));
+        indice.carregar();
+
+        // Outra instância renomeou o 1, excluiu o 2 e criou o 4; durante a leitura, esta instância renomeia o 4
+        when(restauranteRepository.findAll()).thenAnswer(invocacao -> {
+            indice.registrar(restaurante(4L, "Churrascaria Paulista"));
+            return List.of(
+                    restaurante(1L, "Cantina do Porto"),
+                    restaurante(3L, "Cantina da Vila"),
+                    restaurante(4L, "Churrascaria Gaúcha"));
+        });
+
+        // When
+        indice.reconciliar();
+
+        // Then
+        assertThat(ids("pizzaria do joao")).isEmpty();
+        assertThat(ids("cantina do porto")).containsExactly(1L);
+        assertThat(ids("sushi bar")).isEmpty();
+        assertThat(ids("cantina da vila")).containsExactly(3L);
+        assertThat(ids("churrascaria paulista")).containsExactly(4L);
+        assertThat(ids("churrascaria gaucha")).isEmpty();
+        assertThat(indice.quantidadeNomes()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve responder como a comparação com todos os nomes com 100 mil restaurantes")
+    void should_MatchScan_When_Checking100kNames() {
+        // Given
+        CemMilNomes cenario = carregarCemMilNomes();
+
+        // When / Then
+        long encontrados = 0;
+        for (int i = 0; i < 300; i++) {
+            String consulta = cenario.consultas()[i];
+            List<RestauranteNomesIndice.Similar> similares = indice.buscarSimilares(consulta, Integer.MAX_VALUE);
+            encontrados += similares.size();
+            assertThat(similares)
+                    .as(consulta)
+                    .extracting(RestauranteNomesIndice.Similar::id)
+                    .containsExactlyInAnyOrderElementsOf(similaresVarrendo(cenario.trigramas(), consulta));
+        }
+        assertThat(encontrados).isPositive();
+    }
+
+    /**
+     * Medição de latência; fora do build padrão por depender da máquina. Rodar com -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: deve responder abaixo de 1 ms e bem mais rápido que a comparação com todos os nomes")
+    void should_AnswerUnderOneMillisecond_When_Checking100kNames() {
+        // Given
+        CemMilNomes cenario = carregarCemMilNomes();
+        String[] consultas = cenario.consultas();
+
+        // When
+        for (int rodada = 0; rodada < 3; rodada++) {
+            for (String consulta : consultas) {
+                indice.buscarSimilares(consulta, 5);
+            }
+        }
+        // Melhor de três medições por consulta, para não contar pausas de GC e do escalonador
+        long[] nanos = new long[consultas.length];
+        Arrays.fill(nanos, Long.MAX_VALUE);
+        for (int rodada = 0; rodada < 3; rodada++) {
+            for (int i = 0; i < consultas.length; i++) {
+                long inicio = System.nanoTime();
+                indice.buscarSimilares(consultas[i], 5);
+                nanos[i] = Math.min(nanos[i], System.nanoTime() - inicio);
+            }
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[nanos.length / 2] / 1_000.0;
+        double p99 = nanos[nanos.length * 99 / 100] / 1_000.0;
+
+        long inicioVarredura = System.nanoTime();
+        for (int i = 0; i < 300; i++) {
+            similaresVarrendo(cenario.trigramas(), consultas[i]);
+        }
+        double varreduraMicros = (System.nanoTime() - inicioVarredura) / 1_000.0 / 300;
+
+        // Then
+        logger.info("Nomes similares com 100 mil restaurantes: p50 {} µs, p99 {} µs; comparação com todos: {} µs",
+                String.format("%.1f", p50), String.format("%.1f", p99), String.format("%.1f", varreduraMicros));
+        assertThat(p50).isLessThan(1_000.0);
+        assertThat(p99).isLessThan(varreduraMicros / 10);
+    }
+
+    private record CemMilNomes(long[][] trigramas, String[] consultas) {
+    }
+
+    /**
+     * Carrega 100 mil nomes aleatórios e monta 2 mil consultas, metade com erro de digitação de um nome existente
+     */
+    private CemMilNomes carregarCemMilNomes() {
+        Random aleatorio = new Random(24);
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            restaurantes.add(restaurante(id, nomeAleatorio(aleatorio)));
+        }
+        when(restauranteRepository.findAll()).thenReturn(restaurantes);
+        indice.carregar();
+        long[][] trigramas = restaurantes.stream().map(r -> RestauranteNomesIndice.trigramas(r.getNome())).toArray(long[][]::new);
+
+        String[] consultas = new String[2_000];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = i % 2 == 0
+                    ? comErroDeDigitacao(restaurantes.get(aleatorio.nextInt(restaurantes.size())).getNome(), aleatorio)
+                    : nomeAleatorio(aleatorio);
+        }
+        return new CemMilNomes(trigramas, consultas);
+    }
+
+    /**
+     * Referência: Jaccard dos trigramas da consulta com os de cada restaurante
+     */
+    private List<Long> similaresVarrendo(long[][] trigramas, String consulta) {
+        long[] alvo = RestauranteNomesIndice.trigramas(consulta);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < trigramas.length; i++) {
+            if (RestauranteNomesIndice.jaccard(alvo, trigramas[i]) >= RestauranteNomesIndice.SIMILARIDADE_MINIMA - 1e-9) {
+                ids.add(i + 1L);
+            }
+        }
+        return ids;
+    }
+
+    private double jaccardPorConjuntos(String a, String b) {
+        Set<Long> comuns = new HashSet<>();
+        Arrays.stream(RestauranteNomesIndice.trigramas(a)).forEach(comuns::add);
+        Set<Long> todos = new HashSet<>(comuns);
+        List<Long> deB = Arrays.stream(RestauranteNomesIndice.trigramas(b)).boxed().toList();
+        comuns.retainAll(deB);
+        todos.addAll(deB);
+        return (double) comuns.size() / todos.size();
+    }
+
+    private List<Long> ids(String nome) {
+        return indice.buscarSimilares(nome, 10).stream().map(RestauranteNomesIndice.Similar::id).toList();
+    }
+
+    /**
+     * Tipo de estabelecimento comum (às vezes) seguido de um ou dois nomes próprios inventados
+     */
+    private String nomeAleatorio(Random aleatorio) {
+        List<String> partes = new ArrayList<>();
+        if (aleatorio.nextInt(10) < 6) {
+            partes.add(PREFIXOS[aleatorio.nextInt(PREFIXOS.length)]);
+        }
+        partes.add(palavraAleatoria(aleatorio));
+        if (aleatorio.nextBoolean()) {
+            if (aleatorio.nextBoolean()) {
+                partes.add(LIGACOES[aleatorio.nextInt(LIGACOES.length)]);
+            }
+            partes.add(palavraAleatoria(aleatorio));
+        }
+        return String.join(" ", partes);
+    }
+
+    private String palavraAleatoria(Random aleatorio) {
+        StringBuilder palavra = new StringBuilder();
+        int silabas = 2 + aleatorio.nextInt(2);
+        for (int s = 0; s < silabas; s++) {
+            palavra.append(INICIOS[aleatorio.nextInt(INICIOS.length)]).append(VOGAIS[aleatorio.nextInt(VOGAIS.length)])
+                    .append(FINAIS[aleatorio.nextInt(FINAIS.length)]);
+        }
+        return Character.toUpperCase(palavra.charAt(0)) + palavra.substring(1);
+    }
+
+    /**
+     * Uma letra trocada, removida ou duplicada, ou duas letras vizinhas invertidas
+     */
+    private String comErroDeDigitacao(String nome, Random aleatorio) {
+        String texto = String.join(" ", TextoUtils.palavras(nome));
+        int posicao = aleatorio.nextInt(texto.length() - 1);
+        return switch (aleatorio.nextInt(4)) {
+            case 0 -> texto.substring(0, posicao) + (char) ('a' + aleatorio.nextInt(26)) + texto.substring(posicao + 1);
+            case 1 -> texto.substring(0, posicao) + texto.substring(posicao + 1);
+            case 2 -> texto.substring(0, posicao) + texto.charAt(posicao) + texto.substring(posicao);
+            default -> texto.substring(0, posicao) + texto.charAt(posicao + 1) + texto.charAt(posicao) + texto.substring(posicao + 2);
+        };
+    }
+
+    private Restaurante restaurante(Long id, String nome) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setNome(nome);
+        return restaurante;
+    }
+}
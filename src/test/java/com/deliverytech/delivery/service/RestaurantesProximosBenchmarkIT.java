@@ -0,0 +1,176 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de integração da busca de restaurantes próximos com 8 mil restaurantes ativos numa cidade
+ * Compara o fluxo anterior (todos os ativos carregados e uma cotação por restaurante) com a busca
+ * pelo índice espacial, em entidades carregadas e tempo por chamada
+ * Cada execução usa um CEP diferente para que o cache de cotações não seja aproveitado
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000",
+        "api.taxa-entrega.cache.capacidade=100",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.deliverytech=WARN",
+        "logging.level.com.deliverytech.delivery.service.RestaurantesProximosBenchmarkIT=INFO"
+})
+@DisplayName("RestauranteService - Benchmark de restaurantes próximos")
+class RestaurantesProximosBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantesProximosBenchmarkIT.class);
+
+    private static final int QUANTIDADE_RESTAURANTES = 8000;
+    private static final int MEDICOES = 5;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private TaxaEntregaService taxaEntregaService;
+
+    @Autowired
+    private RestauranteGeoIndice restauranteGeoIndice;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    // CEPs da Bela Vista (01300-000 a 01399-999), todos com o mesmo centroide
+    private int proximoCep = 1_300_000;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Random aleatorio = new Random(7);
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_RESTAURANTES; i++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setNome("Restaurante Próximo " + i);
+            restaurante.setCategoria("Brasileira");
+            restaurante.setEndereco("Rua Benchmark, " + i);
+            restaurante.setTaxaEntrega(new BigDecimal("4.00"));
+            restaurante.setAvaliacao(4.0);
+            restaurante.setLatitude(-23.75 + aleatorio.nextDouble() * 0.35);
+            restaurante.setLongitude(-46.85 + aleatorio.nextDouble() * 0.45);
+            restaurantes.add(restaurante);
+        }
+        // O índice foi carregado na inicialização; os restaurantes do benchmark entram como criações
+        restauranteRepository.saveAll(restaurantes).forEach(restauranteGeoIndice::registrar);
+    }
+
+    @Test
+    @DisplayName("Busca pelo índice deve retornar as mesmas distâncias carregando só os candidatos")
+    void should_ReturnSameDistancesLoadingOnlyCandidates_When_UsingSpatialIndex() {
+        // Empates na distância arredondada podem trocar restaurantes equivalentes; as distâncias devem coincidir
+        List<Double> esperado = transactionTemplate.execute(status -> distancias(buscarVarrendoTodos(novoCep())));
+        List<Double> obtido = transactionTemplate.execute(status ->
+                distancias(restauranteService.buscarRestaurantesProximos(novoCep())));
+        assertThat(obtido).hasSize(20).containsExactlyElementsOf(esperado);
+
+        long entidadesVarredura = medirEntidades(() -> buscarVarrendoTodos(novoCep()));
+        long entidadesIndice = medirEntidades(() -> restauranteService.buscarRestaurantesProximos(novoCep()));
+
+        // Só os candidatos do índice (20 + margem) são carregados do banco
+        assertThat(entidadesIndice).isLessThanOrEqualTo(25L);
+        assertThat(entidadesVarredura).isGreaterThanOrEqualTo(QUANTIDADE_RESTAURANTES);
+    }
+
+    /**
+     * Comparação de tempo; fora do build padrão por depender da máquina. Rodar com -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: busca pelo índice deve ser mais rápida que a varredura de todos os ativos")
+    void should_BeFaster_When_UsingSpatialIndex() {
+        double msVarredura = medirTempo(() -> buscarVarrendoTodos(novoCep()));
+        double msIndice = medirTempo(() -> restauranteService.buscarRestaurantesProximos(novoCep()));
+
+        logger.info("Restaurantes próximos entre {} ativos - varredura: {} ms; índice: {} ms",
+                QUANTIDADE_RESTAURANTES, String.format("%.1f", msVarredura), String.format("%.1f", msIndice));
+        assertThat(msIndice).isLessThan(msVarredura);
+    }
+
+    /**
+     * Fluxo anterior: todos os ativos, uma cotação (com nova busca do restaurante) por ativo, ordenação completa
+     */
+    private List<RestauranteResponseDTO> buscarVarrendoTodos(String cep) {
+        List<RestauranteResponseDTO> disponiveis = new ArrayList<>();
+        for (Restaurante restaurante : restauranteRepository.findByAtivoTrue()) {
+            TaxaEntregaResponse taxa = taxaEntregaService.calcularTaxa(restaurante.getId(), cep);
+            if (Boolean.TRUE.equals(taxa.getEntregaDisponivel())) {
+                RestauranteResponseDTO dto = RestauranteResponseDTO.from(restaurante);
+                dto.setDistanciaKm(taxa.getDistancia());
+                disponiveis.add(dto);
+            }
+        }
+        disponiveis.sort(Comparator.comparing(RestauranteResponseDTO::getDistanciaKm));
+        return disponiveis.subList(0, Math.min(20, disponiveis.size()));
+    }
+
+    private List<Double> distancias(List<RestauranteResponseDTO> restaurantes) {
+        return restaurantes.stream().map(RestauranteResponseDTO::getDistanciaKm).toList();
+    }
+
+    private long medirEntidades(Supplier<List<RestauranteResponseDTO>> busca) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> busca.get());
+        return statistics.getEntityLoadCount();
+    }
+
+    private double medirTempo(Supplier<List<RestauranteResponseDTO>> busca) {
+        transactionTemplate.executeWithoutResult(status -> busca.get());
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            transactionTemplate.executeWithoutResult(status -> busca.get());
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / MEDICOES;
+    }
+
+    private String novoCep() {
+        return String.format("%08d", proximoCep++);
+    }
+}
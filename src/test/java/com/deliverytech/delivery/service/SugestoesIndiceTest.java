@@ -0,0 +1,138 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.util.TextoUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do índice de autocomplete de restaurantes")
+class SugestoesIndiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SugestoesIndiceTest.class);
+
+    private static final String[] PALAVRAS = {"Pizzaria", "Cantina", "Sushi", "Açaí", "Hamburgueria", "Padaria",
+            "Churrascaria", "Esfiha", "Lanchonete", "Pastelaria", "Sorveteria", "Bistrô", "Temakeria", "Café"};
+    private static final String[] COMPLEMENTOS = {"do João", "da Vila", "Paulista", "São Jorge", "Bela Vista",
+            "do Centro", "Mooca", "Pinheiros", "Itália", "Oriental", "Família", "Express"};
+
+    @Test
+    @DisplayName("Deve sugerir ignorando acentos e maiúsculas, por palavra e com várias palavras")
+    void should_MatchAccentFoldedWordPrefixes_When_Suggesting() {
+        // Given
+        SugestoesIndice indice = new SugestoesIndice(List.of(
+                new SugestoesIndice.Termo("Açaí da Vila", 4.5, 1),
+                new SugestoesIndice.Termo("Café São Jorge", 4.0, 1),
+                new SugestoesIndice.Termo("Pão de Açúcar Café", 3.0, 1),
+                new SugestoesIndice.Termo("Árabe", 4.2, 3)));
+
+        // When / Then
+        assertThat(indice.sugerir("acai", 10)).containsExactly("Açaí da Vila");
+        assertThat(indice.sugerir("ÁRA", 10)).containsExactly("Árabe");
+        assertThat(indice.sugerir("sao j", 10)).containsExactly("Café São Jorge");
+        assertThat(indice.sugerir("cafe", 10)).containsExactly("Café São Jorge", "Pão de Açúcar Café");
+        assertThat(indice.sugerir("vila acai", 10)).containsExactly("Açaí da Vila");
+        assertThat(indice.sugerir("afé", 10)).isEmpty();
+        assertThat(indice.sugerir("  -  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ordenar quem começa pelo texto primeiro, depois avaliação e quantidade de restaurantes")
+    void should_RankByPositionRatingAndPopularity_When_Suggesting() {
+        // Given
+        SugestoesIndice indice = new SugestoesIndice(List.of(
+                new SugestoesIndice.Termo("Pizzaria", 4.1, 40),
+                new SugestoesIndice.Termo("Pizzaria Bella", 4.1, 1),
+                new SugestoesIndice.Termo("Pizza Express", 4.8, 1),
+                new SugestoesIndice.Termo("Forno de Pizza", 5.0, 1),
+                new SugestoesIndice.Termo("Pizza Pizza", 3.0, 1),
+                new SugestoesIndice.Termo("Pizzaria Pizza Nostra", 2.0, 1)));
+
+        // When / Then
+        assertThat(indice.sugerir("pizz", 10))
+                .containsExactly("Pizza Express", "Pizzaria", "Pizzaria Bella", "Pizza Pizza", "Pizzaria Pizza Nostra",
+                        "Forno de Pizza");
+        assertThat(indice.sugerir("pizz", 2)).containsExactly("Pizza Express", "Pizzaria");
+    }
+
+    @Test
+    @DisplayName("Deve responder com p99 abaixo de 1 ms e igual à varredura com 50 mil restaurantes")
+    void should_AnswerUnderOneMillisecondAtP99_When_IndexHas50kRestaurants() {
+        // Given
+        Random aleatorio = new Random(20);
+        List<SugestoesIndice.Termo> termos = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            termos.add(new SugestoesIndice.Termo(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)] + " "
+                    + COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)] + " " + i,
+                    1.0 + aleatorio.nextInt(41) / 10.0, 1));
+        }
+        for (String categoria : PALAVRAS) {
+            termos.add(new SugestoesIndice.Termo(categoria, 1.0 + aleatorio.nextInt(41) / 10.0, 3500));
+        }
+        SugestoesIndice indice = new SugestoesIndice(termos);
+        String[] consultas = new String[2_000];
+        for (int i = 0; i < consultas.length; i++) {
+            String palavra = TextoUtils.palavras(i % 2 == 0
+                    ? PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]
+                    : COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)])[0];
+            consultas[i] = palavra.substring(0, Math.min(palavra.length(), 2 + aleatorio.nextInt(4)));
+        }
+        assertThat(indice.sugerir("pizz", 10)).isEqualTo(sugestoesVarrendo(termos, "pizz"));
+        assertThat(indice.sugerir("vis", 10)).isEqualTo(sugestoesVarrendo(termos, "vis"));
+
+        // When
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (String consulta : consultas) {
+                indice.sugerir(consulta, 10);
+            }
+        }
+        long[] nanos = new long[consultas.length];
+        long encontrados = 0;
+        for (int i = 0; i < consultas.length; i++) {
+            long inicio = System.nanoTime();
+            encontrados += indice.sugerir(consultas[i], 10).size();
+            nanos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[nanos.length / 2] / 1_000.0;
+        double p99 = nanos[nanos.length * 99 / 100] / 1_000.0;
+
+        // Then
+        logger.info("Autocomplete com {} termos: p50 {} µs, p99 {} µs", indice.quantidadeTermos(),
+                String.format("%.1f", p50), String.format("%.1f", p99));
+        assertThat(encontrados).isEqualTo(10L * consultas.length);
+        assertThat(p99).isLessThan(1_000.0);
+    }
+
+    /**
+     * Varredura de referência para consulta de uma palavra, com a mesma ordem de ranking do índice
+     */
+    private List<String> sugestoesVarrendo(List<SugestoesIndice.Termo> termos, String prefixo) {
+        return termos.stream()
+                .filter(t -> Arrays.stream(TextoUtils.palavras(t.texto())).anyMatch(p -> p.startsWith(prefixo)))
+                .sorted((a, b) -> {
+                    boolean aComeca = TextoUtils.palavras(a.texto())[0].startsWith(prefixo);
+                    boolean bComeca = TextoUtils.palavras(b.texto())[0].startsWith(prefixo);
+                    if (aComeca != bComeca) {
+                        return aComeca ? -1 : 1;
+                    }
+                    if (a.avaliacao() != b.avaliacao()) {
+                        return Double.compare(b.avaliacao(), a.avaliacao());
+                    }
+                    if (a.restaurantes() != b.restaurantes()) {
+                        return Integer.compare(b.restaurantes(), a.restaurantes());
+                    }
+                    return a.texto().compareTo(b.texto());
+                })
+                .limit(10)
+                .map(SugestoesIndice.Termo::texto)
+                .toList();
+    }
+}
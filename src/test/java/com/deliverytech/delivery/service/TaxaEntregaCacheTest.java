@@ -0,0 +1,220 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.RegrasPrecoPicoDTO;
+import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do cache de cotações de taxa de entrega")
+class TaxaEntregaCacheTest {
+
+    private static final int CEP = 1_310_100;
+    private static final TabelaPrecoPico SEM_REGRAS = TabelaPrecoPico.compilar(new RegrasPrecoPicoDTO(List.of()));
+    private static final long VALIDADE_MS = 60_000;
+
+    @Mock
+    private GeracaoListagem geracaoCompartilhada;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RelogioAjustavel relogio;
+    private TaxaEntregaCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relogio = new RelogioAjustavel();
+        cache = new TaxaEntregaCache(new InMemoryGeracaoListagem(), meterRegistry, 3, VALIDADE_MS, relogio);
+    }
+
+    @Test
+    @DisplayName("Deve servir cópias da cotação dentro da mesma janela")
+    void should_ReturnCopy_When_QuoteIsCachedInWindow() {
+        // Given
+        JanelaPreco janela = janela(1);
+        assertThat(cache.buscar(1L, CEP, janela)).isNull();
+        cache.salvar(1L, CEP, janela, cache.geracao(), cotacao("7.50"));
+
+        // When
+        TaxaEntregaResponse primeira = cache.buscar(1L, CEP, janela);
+        primeira.setTaxaEntrega(BigDecimal.ONE);
+        TaxaEntregaResponse segunda = cache.buscar(1L, CEP, janela);
+
+        // Then
+        assertThat(segunda.getTaxaEntrega()).isEqualByComparingTo("7.50");
+        assertThat(cache.taxaAcerto()).isEqualTo(2.0 / 3.0);
+        assertThat(meterRegistry.get("taxa.entrega.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    @DisplayName("Deve expirar todas as cotações na virada da janela de preço")
+    void should_ExpireQuotes_When_WindowChanges() {
+        // Given
+        JanelaPreco almoco = janela(1);
+        cache.salvar(1L, CEP, almoco, cache.geracao(), cotacao("7.50"));
+        cache.buscar(1L, CEP, almoco);
+
+        // When
+        JanelaPreco tarde = janela(2);
+
+        // Then
+        assertThat(cache.buscar(1L, CEP, tarde)).isNull();
+        assertThat(cache.tamanho()).isZero();
+
+        // Cálculo atrasado da janela anterior não entra no cache nem volta a janela
+        cache.salvar(1L, CEP, almoco, cache.geracao(), cotacao("7.50"));
+        assertThat(cache.buscar(1L, CEP, almoco)).isNull();
+        assertThat(cache.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve remover cotações do restaurante alterado e descartar cálculos anteriores à alteração")
+    void should_EvictRestaurantQuotes_When_RestaurantChanges() {
+        // Given
+        JanelaPreco janela = janela(1);
+        cache.buscar(1L, CEP, janela);
+        cache.salvar(1L, CEP, janela, cache.geracao(), cotacao("7.50"));
+        cache.salvar(2L, CEP, janela, cache.geracao(), cotacao("4.00"));
+        long geracaoLidaAntes = cache.geracao();
+
+        // When
+        cache.invalidarRestaurante(1L);
+        cache.salvar(1L, CEP + 1, janela, geracaoLidaAntes, cotacao("7.50"));
+
+        // Then
+        assertThat(cache.buscar(1L, CEP, janela)).isNull();
+        assertThat(cache.buscar(1L, CEP + 1, janela)).isNull();
+        assertThat(cache.buscar(2L, CEP, janela)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve descartar a cotação menos usada ao atingir a capacidade")
+    void should_EvictLeastRecentlyUsed_When_CapacityIsReached() {
+        // Given
+        JanelaPreco janela = janela(1);
+        cache.buscar(1L, CEP, janela);
+        for (int i = 0; i < 3; i++) {
+            cache.salvar(1L, CEP + i, janela, cache.geracao(), cotacao("5.00"));
+        }
+        cache.buscar(1L, CEP, janela);
+
+        // When
+        cache.salvar(1L, CEP + 3, janela, cache.geracao(), cotacao("5.00"));
+
+        // Then
+        assertThat(cache.tamanho()).isEqualTo(3);
+        assertThat(cache.buscar(1L, CEP, janela)).isNotNull();
+        assertThat(cache.buscar(1L, CEP + 1, janela)).isNull();
+        assertThat(meterRegistry.get("taxa.entrega.cache.descartes").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve deixar de servir a cotação quando ela passa da validade")
+    void should_MissAfterExpiry_When_TtlElapses() {
+        // Given
+        JanelaPreco janela = janela(1);
+        cache.buscar(1L, CEP, janela);
+        cache.salvar(1L, CEP, janela, cache.geracao(), cotacao("7.50"));
+        relogio.avancar(Duration.ofMillis(VALIDADE_MS - 1));
+        assertThat(cache.buscar(1L, CEP, janela)).isNotNull();
+
+        // When
+        relogio.avancar(Duration.ofMillis(1));
+
+        // Then
+        assertThat(cache.buscar(1L, CEP, janela)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar o cache e descartar cálculos em andamento quando a geração compartilhada avança em outra instância")
+    void should_ClearCache_When_SharedGenerationAdvances() {
+        // Given
+        cache = new TaxaEntregaCache(geracaoCompartilhada, meterRegistry, 3, VALIDADE_MS, relogio);
+        when(geracaoCompartilhada.atual()).thenReturn(7L, 7L, 8L);
+        JanelaPreco janela = janela(1);
+        cache.buscar(1L, CEP, janela);
+        cache.salvar(1L, CEP, janela, cache.geracao(), cotacao("7.50"));
+        long geracaoLidaAntes = cache.geracao();
+        assertThat(cache.buscar(1L, CEP, janela)).isNotNull();
+
+        // When
+        cache.geracao();
+        cache.salvar(2L, CEP, janela, geracaoLidaAntes, cotacao("4.00"));
+
+        // Then
+        assertThat(cache.buscar(1L, CEP, janela)).isNull();
+        assertThat(cache.buscar(2L, CEP, janela)).isNull();
+        assertThat(cache.tamanho()).isZero();
+        verify(geracaoCompartilhada, never()).avancar();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar nem servir cotações quando a geração compartilhada está indisponível")
+    void should_BypassCache_When_SharedGenerationFails() {
+        // Given
+        cache = new TaxaEntregaCache(geracaoCompartilhada, meterRegistry, 3, VALIDADE_MS, relogio);
+        when(geracaoCompartilhada.atual()).thenReturn(7L).thenThrow(new IllegalStateException("Redis indisponível"));
+        JanelaPreco janela = janela(1);
+        cache.buscar(1L, CEP, janela);
+        cache.salvar(1L, CEP, janela, cache.geracao(), cotacao("7.50"));
+
+        // When
+        cache.salvar(2L, CEP, janela, cache.geracao(), cotacao("4.00"));
+
+        // Then
+        assertThat(cache.buscar(1L, CEP, janela)).isNull();
+        assertThat(cache.buscar(2L, CEP, janela)).isNull();
+        assertThat(cache.tamanho()).isZero();
+    }
+
+    private JanelaPreco janela(long sequencia) {
+        LocalDateTime inicio = LocalDateTime.of(2025, 10, 8, 11, 0).plusHours(4 * (sequencia - 1));
+        return new JanelaPreco(inicio, inicio.plusHours(4), sequencia, SEM_REGRAS, new Money[0]);
+    }
+
+    private TaxaEntregaResponse cotacao(String taxa) {
+        return new TaxaEntregaResponse(new BigDecimal(taxa), 2.4, "20-45 min");
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-10-08T12:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.CalculoTaxaMultiplaDTO;
+import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de integração do cálculo de taxas para vários restaurantes
+ * Compara o laço antigo (uma busca e um cálculo por id) com o cálculo em conjunto,
+ * em comandos SQL e tempo por chamada para 1, 10 e 100 ids
+ * Cada execução usa um CEP diferente para que o cache de cotações não seja aproveitado
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.outbox.relay.enabled=false",
+        "api.feed.acompanhamento.enabled=false",
+        "api.restaurantes.busca.reconciliacao-ms=3600000",
+        "api.restaurantes.zonas.reconciliacao-ms=3600000",
+        "api.restaurantes.geo.reconciliacao-ms=3600000",
+        "api.restaurantes.catalogo.reconciliacao-ms=3600000",
+        "api.restaurantes.nomes.reconciliacao-ms=3600000",
+        "logging.level.com.deliverytech.delivery.service.TaxaEntregaService=WARN"
+})
+@DisplayName("TaxaEntregaService - Benchmark de taxas múltiplas")
+class TaxaEntregaMultiplaBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxaEntregaMultiplaBenchmarkIT.class);
+
+    private static final int[] QUANTIDADES = {1, 10, 100};
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 50;
+
+    @Autowired
+    private TaxaEntregaService taxaEntregaService;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private final List<Long> ids = new ArrayList<>();
+    private int proximoCep = 1_300_000;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setNome("Restaurante Taxa " + i);
+            restaurante.setCategoria("Brasileira");
+            restaurante.setEndereco("Rua Benchmark, " + i);
+            restaurante.setTaxaEntrega(new BigDecimal("4.00"));
+            restaurante.setAvaliacao(4.0);
+            restaurante.setLatitude(-23.55 - i * 0.001);
+            restaurante.setLongitude(-46.63 - i * 0.001);
+            restaurantes.add(restaurante);
+        }
+        restauranteRepository.saveAll(restaurantes).forEach(restaurante -> ids.add(restaurante.getId()));
+    }
+
+    @Test
+    @DisplayName("Cálculo em conjunto deve usar uma consulta independente da quantidade de ids")
+    void should_UseSingleQuery_When_CalculatingFeesForManyRestaurants() {
+        for (int quantidade : QUANTIDADES) {
+            Long[] lote = ids.subList(0, quantidade).toArray(new Long[0]);
+
+            long comandosLaco = medirComandos(cep -> calcularItemAItem(cep, lote));
+            long comandosConjunto = medirComandos(cep -> calcularEmConjunto(cep, lote));
+            double microsLaco = medirTempo(cep -> calcularItemAItem(cep, lote));
+            double microsConjunto = medirTempo(cep -> calcularEmConjunto(cep, lote));
+
+            logger.info("Taxas para {} ids - laço: {} comandos, {} us; conjunto: {} comando, {} us",
+                    quantidade, comandosLaco, String.format("%.1f", microsLaco), comandosConjunto,
+                    String.format("%.1f", microsConjunto));
+
+            assertThat(comandosLaco).isEqualTo(quantidade);
+            assertThat(comandosConjunto).isEqualTo(1L);
+        }
+    }
+
+    private List<TaxaEntregaResponse> calcularEmConjunto(String cep, Long[] lote) {
+        CalculoTaxaMultiplaDTO dto = new CalculoTaxaMultiplaDTO(cep, Arrays.asList(lote));
+        dto.setOrdenarPorTaxa(true);
+        return taxaEntregaService.calcularTaxasMultiplas(dto);
+    }
+
+    /**
+     * Fluxo anterior: uma busca por id e cálculo sequencial
+     */
+    private List<TaxaEntregaResponse> calcularItemAItem(String cep, Long[] lote) {
+        List<TaxaEntregaResponse> taxas = new ArrayList<>();
+        for (Long id : lote) {
+            taxas.add(taxaEntregaService.calcularTaxa(id, cep));
+        }
+        return taxas;
+    }
+
+    private long medirComandos(Function<String, List<TaxaEntregaResponse>> calculo) {
+        String cep = novoCep();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> calculo.apply(cep));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private double medirTempo(Function<String, List<TaxaEntregaResponse>> calculo) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(calculo);
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            executar(calculo);
+        }
+        return (System.nanoTime() - inicio) / 1_000.0 / MEDICOES;
+    }
+
+    private void executar(Function<String, List<TaxaEntregaResponse>> calculo) {
+        String cep = novoCep();
+        transactionTemplate.executeWithoutResult(status -> calculo.apply(cep));
+    }
+
+    private String novoCep() {
+        return String.format("%08d", proximoCep++);
+    }
+}
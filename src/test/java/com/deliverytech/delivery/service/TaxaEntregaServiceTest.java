@@ -0,0 +1,223 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.CalculoTaxaMultiplaDTO;
+import com.deliverytech.delivery.dto.TaxaEntregaResponse;
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import com.deliverytech.delivery.model.ZonaEntrega;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do cálculo de taxa de entrega")
+class TaxaEntregaServiceTest {
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    @Spy
+    private CepCentroideTabela cepCentroides = new CepCentroideTabela(new ClassPathResource("geo/cep-centroides.bin"));
+
+    @Spy
+    private TaxaEntregaCache taxaEntregaCache = new TaxaEntregaCache(new InMemoryGeracaoListagem(), new SimpleMeterRegistry(), 100, 60_000);
+
+    // Quarta-feira, 12h30: pico do almoço nas regras padrão
+    @Spy
+    private PrecoPicoService precoPicoService = new PrecoPicoService(PrecoPicoServiceTest.regrasPadrao(),
+            PrecoPicoServiceTest.relogioEm(LocalDateTime.of(2025, 10, 8, 12, 30)));
+
+    @Spy
+    private ZonasEntregaIndice zonasEntrega = new ZonasEntregaIndice(mock(RestauranteRepository.class),
+            taxaEntregaCache, new SimpleMeterRegistry());
+
+    @InjectMocks
+    private TaxaEntregaService taxaEntregaService;
+
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        // Praça da Sé
+        restaurante = RestauranteTestData.createValidRestaurante();
+        restaurante.setLatitude(-23.5505);
+        restaurante.setLongitude(-46.6333);
+    }
+
+    @Test
+    @DisplayName("Deve calcular a mesma distância e tempo para o mesmo restaurante e CEP, reaproveitando a cotação")
+    void should_ReturnSameDistance_When_CalledRepeatedly() {
+        // Given
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse primeira = taxaEntregaService.calcularTaxa(1L, "01310-100");
+        TaxaEntregaResponse segunda = taxaEntregaService.calcularTaxa(1L, "01310100");
+
+        // Then - centro ao centroide da Bela Vista: ~1,8 km em linha reta, ~2,4 km pela malha
+        assertThat(primeira.getEntregaDisponivel()).isTrue();
+        assertThat(primeira.getDistancia()).isEqualTo(2.4);
+        assertThat(segunda.getDistancia()).isEqualTo(primeira.getDistancia());
+        assertThat(segunda.getTempoEstimado()).isEqualTo(primeira.getTempoEstimado());
+        verify(restauranteRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve somar o adicional de pico da janela atual à taxa")
+    void should_AddPeakSurcharge_When_QuotingDuringPeakWindow() {
+        // Given
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "01310-100");
+
+        // Then - até 3 km não há adicional de distância; CEP final 0 tem adicional de clima de 1,50
+        assertThat(resposta.getTaxaDistancia()).isEqualByComparingTo("3.50");
+        assertThat(resposta.getTaxaEntrega())
+                .isEqualByComparingTo(restaurante.getTaxaEntrega().add(new BigDecimal("3.50")));
+        assertThat(resposta.getObservacoes()).contains("Taxa de horário de pico aplicada.");
+        verify(precoPicoService).janelaAtual();
+    }
+
+    @Test
+    @DisplayName("Deve recusar entrega para outra cidade além da distância máxima")
+    void should_ReturnUnavailable_When_DestinationIsTooFar() {
+        // Given
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When - centro do Rio de Janeiro
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "20040-002");
+
+        // Then
+        assertThat(resposta.getEntregaDisponivel()).isFalse();
+        assertThat(resposta.getObservacoes()).startsWith("Região muito distante");
+    }
+
+    @Test
+    @DisplayName("Deve recusar entrega quando o CEP está fora da cobertura da tabela")
+    void should_ReturnUnavailable_When_CepIsNotCovered() {
+        // Given
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "01600-000");
+
+        // Then
+        assertThat(resposta.getEntregaDisponivel()).isFalse();
+        assertThat(resposta.getObservacoes()).isEqualTo("CEP fora da área de cobertura");
+    }
+
+    @Test
+    @DisplayName("Deve recusar entrega quando o restaurante não tem coordenadas")
+    void should_ReturnUnavailable_When_RestaurantHasNoLocation() {
+        // Given
+        restaurante.setLatitude(null);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "01310-100");
+
+        // Then
+        assertThat(resposta.getEntregaDisponivel()).isFalse();
+        assertThat(resposta.getObservacoes()).isEqualTo("Restaurante sem localização cadastrada");
+        verifyNoInteractions(cepCentroides);
+    }
+
+    @Test
+    @DisplayName("Deve usar a taxa base da zona de entrega que cobre o CEP")
+    void should_UseZoneBaseFee_When_RestaurantHasDeliveryZones() {
+        // Given
+        restaurante.getZonasEntrega().add(new ZonaEntrega("Centro expandido", TipoZonaEntrega.RAIO, 3.0, null,
+                new BigDecimal("2.00")));
+        zonasEntrega.registrar(restaurante);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "01310-100");
+
+        // Then - taxa base da zona no lugar da taxa do restaurante, mais o adicional de distância e pico
+        assertThat(resposta.getEntregaDisponivel()).isTrue();
+        assertThat(resposta.getTaxaBase()).isEqualByComparingTo("2.00");
+        assertThat(resposta.getTaxaEntrega()).isEqualByComparingTo("5.50");
+    }
+
+    @Test
+    @DisplayName("Deve recusar entrega quando o CEP está fora de todas as zonas do restaurante")
+    void should_ReturnUnavailable_When_CepIsOutsideDeliveryZones() {
+        // Given - ~1,8 km até a Bela Vista, zona de 1 km
+        restaurante.getZonasEntrega().add(new ZonaEntrega("Sé", TipoZonaEntrega.RAIO, 1.0, null, null));
+        zonasEntrega.registrar(restaurante);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        TaxaEntregaResponse resposta = taxaEntregaService.calcularTaxa(1L, "01310-100");
+
+        // Then
+        assertThat(resposta.getEntregaDisponivel()).isFalse();
+        assertThat(resposta.getObservacoes()).isEqualTo("CEP fora das zonas de entrega do restaurante");
+    }
+
+    @Test
+    @DisplayName("Deve carregar todos os restaurantes em uma consulta e ignorar inativos quando apenasAtivos")
+    void should_LoadRestaurantsOnce_When_CalculatingMultipleFees() {
+        // Given
+        Restaurante inativo = restauranteEm(2L, -23.5614, -46.6911);
+        inativo.setAtivo(false);
+        when(restauranteRepository.findAllById(List.of(1L, 2L, 99L))).thenReturn(List.of(restaurante, inativo));
+        CalculoTaxaMultiplaDTO dto = new CalculoTaxaMultiplaDTO("01310-100", List.of(1L, 2L, 1L, 99L));
+
+        // When
+        List<TaxaEntregaResponse> taxas = taxaEntregaService.calcularTaxasMultiplas(dto);
+
+        // Then
+        assertThat(taxas).extracting(TaxaEntregaResponse::getRestauranteId).containsExactly(1L);
+        verify(restauranteRepository).findAllById(List.of(1L, 2L, 99L));
+        verify(restauranteRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por taxa com indisponíveis no final quando ordenarPorTaxa")
+    void should_SortByFee_When_OrdenarPorTaxaIsSet() {
+        // Given - Pinheiros fica mais longe da Av. Paulista que a Sé
+        Restaurante pinheiros = restauranteEm(2L, -23.5670, -46.6920);
+        pinheiros.setTaxaEntrega(new BigDecimal("1.00"));
+        Restaurante distante = restauranteEm(3L, -22.9050, -43.1800);
+        when(restauranteRepository.findAllById(List.of(3L, 1L, 2L, 99L)))
+            .thenReturn(List.of(restaurante, pinheiros, distante));
+        CalculoTaxaMultiplaDTO dto = new CalculoTaxaMultiplaDTO("01310-100", List.of(3L, 1L, 2L, 99L));
+        dto.setApenasAtivos(false);
+        dto.setOrdenarPorTaxa(true);
+
+        // When
+        List<TaxaEntregaResponse> taxas = taxaEntregaService.calcularTaxasMultiplas(dto);
+
+        // Then
+        assertThat(taxas).extracting(TaxaEntregaResponse::getRestauranteId).containsExactly(2L, 1L, 3L, 99L);
+        assertThat(taxas.get(3).getObservacoes()).isEqualTo("Restaurante não encontrado");
+    }
+
+    private Restaurante restauranteEm(Long id, double latitude, double longitude) {
+        Restaurante outro = RestauranteTestData.createRestauranteWithId(id);
+        outro.setLatitude(latitude);
+        outro.setLongitude(longitude);
+        return outro;
+    }
+}
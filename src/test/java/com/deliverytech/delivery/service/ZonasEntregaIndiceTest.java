@@ -0,0 +1,255 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.model.Restaurante;
+import com.deliverytech.delivery.model.TipoZonaEntrega;
+import com.deliverytech.delivery.model.ZonaEntrega;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.GeoUtils;
+import com.deliverytech.delivery.util.RestauranteTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.geom.Path2D;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do índice de zonas de entrega")
+class ZonasEntregaIndiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZonasEntregaIndiceTest.class);
+
+    // Praça da Sé
+    private static final double LATITUDE = -23.5505;
+    private static final double LONGITUDE = -46.6333;
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    @Mock
+    private TaxaEntregaCache taxaEntregaCache;
+
+    private ZonasEntregaIndice indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new ZonasEntregaIndice(restauranteRepository, taxaEntregaCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve retornar quem entrega no ponto igual ao teste exato de todas as zonas")
+    void should_MatchBruteForce_When_QueryingWhoDelivers() {
+        // Given
+        List<Restaurante> restaurantes = restaurantesComZonas(1500, new Random(42));
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenReturn(restaurantes);
+        Random aleatorio = new Random(7);
+
+        for (int i = 0; i < 3000; i++) {
+            double latitude = -23.75 + aleatorio.nextDouble() * 0.35;
+            double longitude = -46.85 + aleatorio.nextDouble() * 0.45;
+
+            // When
+            List<Long> ids = indice.quemEntrega(latitude, longitude, 10);
+
+            // Then
+            assertThat(ids).as("ponto %s %s", latitude, longitude)
+                    .containsExactlyElementsOf(buscaExaustiva(restaurantes, latitude, longitude, 10));
+        }
+        verify(restauranteRepository, times(1)).findAtivosComZonasEntrega();
+    }
+
+    @Test
+    @DisplayName("Deve usar a menor taxa entre as zonas do restaurante que contêm o ponto")
+    void should_ReturnLowestFee_When_ZonesOverlap() {
+        // Given - raio de 3 km a R$ 6,00 e quadrado de ~2 km ao redor da Sé a R$ 3,00
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenReturn(List.of());
+        Restaurante restaurante = restauranteEm(1L, LATITUDE, LONGITUDE);
+        restaurante.getZonasEntrega().add(new ZonaEntrega("Raio", TipoZonaEntrega.RAIO, 3.0, null, new BigDecimal("6.00")));
+        restaurante.getZonasEntrega().add(new ZonaEntrega("Centro", TipoZonaEntrega.POLIGONO, null,
+                ZonasEntregaIndice.codificarVertices(quadrado(LATITUDE, LONGITUDE, 0.01)), new BigDecimal("3.00")));
+        indice.registrar(restaurante);
+
+        // When / Then
+        assertThat(indice.taxaBaseEm(1L, LATITUDE + 0.005, LONGITUDE)).isEqualByComparingTo("3.00");
+        assertThat(indice.taxaBaseEm(1L, LATITUDE + 0.02, LONGITUDE)).isEqualByComparingTo("6.00");
+        assertThat(indice.taxaBaseEm(1L, LATITUDE + 0.05, LONGITUDE)).isNull();
+        assertThat(indice.taxaBaseEm(2L, LATITUDE, LONGITUDE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve refletir alteração de zonas, desativação e remoção sem recompilar tudo")
+    void should_UpdateIncrementally_When_ZonesChange() {
+        // Given
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenReturn(List.of());
+        Restaurante se = restauranteEm(1L, LATITUDE, LONGITUDE);
+        se.getZonasEntrega().add(new ZonaEntrega("Sé", TipoZonaEntrega.RAIO, 2.0, null, null));
+        Restaurante pinheiros = restauranteEm(2L, -23.5670, -46.6920);
+        pinheiros.getZonasEntrega().add(new ZonaEntrega("Oeste", TipoZonaEntrega.RAIO, 10.0, null, null));
+        indice.registrar(se);
+        indice.registrar(pinheiros);
+        assertThat(indice.quemEntrega(LATITUDE, LONGITUDE, 5)).containsExactly(1L, 2L);
+
+        // When - Sé troca o raio por um polígono longe do centro e Pinheiros é desativado
+        se.getZonasEntrega().clear();
+        se.getZonasEntrega().add(new ZonaEntrega("Norte", TipoZonaEntrega.POLIGONO, null,
+                ZonasEntregaIndice.codificarVertices(quadrado(-23.48, -46.63, 0.02)), null));
+        indice.registrar(se);
+        pinheiros.setAtivo(false);
+        indice.registrar(pinheiros);
+
+        // Then
+        assertThat(indice.quemEntrega(LATITUDE, LONGITUDE, 5)).isEmpty();
+        assertThat(indice.quemEntrega(-23.48, -46.63, 5)).containsExactly(1L);
+        assertThat(indice.possuiZonas(2L)).isFalse();
+        indice.registrarRemocao(1L);
+        assertThat(indice.quemEntrega(-23.48, -46.63, 5)).isEmpty();
+        assertThat(indice.quantidadeRestaurantes()).isZero();
+        verify(restauranteRepository, times(1)).findAtivosComZonasEntrega();
+    }
+
+    @Test
+    @DisplayName("Deve recompilar na reconciliação os restaurantes divergentes do banco e descartar suas cotações")
+    void should_RecompileDivergentRestaurants_When_Reconciling() {
+        // Given
+        Restaurante se = restauranteComRaio(1L, LATITUDE, LONGITUDE, 2.0);
+        Restaurante pinheiros = restauranteComRaio(2L, -23.5670, -46.6920, 10.0);
+        Restaurante mooca = restauranteComRaio(4L, -23.5600, -46.5990, 3.0);
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenReturn(List.of(se, pinheiros, mooca));
+        indice.carregar();
+
+        // Outra instância trocou a zona do 1, desativou o 2 e criou zonas no 3; durante a leitura, esta instância altera o 3
+        Restaurante seNorte = restauranteEm(1L, LATITUDE, LONGITUDE);
+        seNorte.getZonasEntrega().add(new ZonaEntrega("Norte", TipoZonaEntrega.POLIGONO, null,
+                ZonasEntregaIndice.codificarVertices(quadrado(-23.48, -46.63, 0.02)), null));
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenAnswer(invocacao -> {
+            indice.registrar(restauranteComRaio(3L, -23.5430, -46.6420, 1.0));
+            return List.of(seNorte, restauranteComRaio(3L, -23.5430, -46.6420, 8.0),
+                    restauranteComRaio(4L, -23.5600, -46.5990, 3.0));
+        });
+
+        // When
+        indice.reconciliar();
+
+        // Then
+        assertThat(indice.quemEntrega(LATITUDE, LONGITUDE, 5)).isEmpty();
+        assertThat(indice.quemEntrega(-23.48, -46.63, 5)).containsExactly(1L);
+        assertThat(indice.possuiZonas(2L)).isFalse();
+        assertThat(indice.quemEntrega(-23.5430, -46.6420 + 0.03, 5)).doesNotContain(3L);
+        assertThat(indice.possuiZonas(4L)).isTrue();
+        verify(taxaEntregaCache).invalidarRestaurante(1L);
+        verify(taxaEntregaCache).invalidarRestaurante(2L);
+        verifyNoMoreInteractions(taxaEntregaCache);
+    }
+
+    @Test
+    @DisplayName("Deve responder quem entrega em menos de 1 ms com 8 mil restaurantes com zonas")
+    void should_AnswerUnderOneMillisecond_When_ManyRestaurantsHaveZones() {
+        // Given
+        when(restauranteRepository.findAtivosComZonasEntrega()).thenReturn(restaurantesComZonas(8000, new Random(11)));
+        indice.carregar();
+        Random aleatorio = new Random(3);
+        int consultas = 20_000;
+        long encontrados = 0;
+
+        // When
+        long inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            encontrados += indice.quemEntrega(-23.75 + aleatorio.nextDouble() * 0.35,
+                    -46.85 + aleatorio.nextDouble() * 0.45, 25).size();
+        }
+        double microssegundos = (System.nanoTime() - inicio) / 1_000.0 / consultas;
+
+        // Then
+        logger.info("Zonas de entrega: {} µs por consulta, {} restaurantes por ponto",
+                String.format("%.1f", microssegundos), String.format("%.1f", (double) encontrados / consultas));
+        assertThat(encontrados).isPositive();
+        assertThat(microssegundos).isLessThan(1_000.0);
+    }
+
+    /**
+     * Metade com raio, metade com polígono irregular (possivelmente côncavo) ao redor do restaurante
+     */
+    private List<Restaurante> restaurantesComZonas(int quantidade, Random aleatorio) {
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (long id = 1; id <= quantidade; id++) {
+            Restaurante restaurante = restauranteEm(id,
+                    -23.75 + aleatorio.nextDouble() * 0.35, -46.85 + aleatorio.nextDouble() * 0.45);
+            if (id % 2 == 0) {
+                restaurante.getZonasEntrega().add(new ZonaEntrega("Raio", TipoZonaEntrega.RAIO,
+                        0.5 + aleatorio.nextDouble() * 5.5, null, null));
+            } else {
+                int lados = 3 + aleatorio.nextInt(8);
+                List<double[]> vertices = new ArrayList<>();
+                for (int i = 0; i < lados; i++) {
+                    double angulo = 2 * Math.PI * i / lados;
+                    double alcance = 0.005 + aleatorio.nextDouble() * 0.05;
+                    vertices.add(new double[] {restaurante.getLatitude() + alcance * Math.sin(angulo),
+                            restaurante.getLongitude() + alcance * Math.cos(angulo)});
+                }
+                restaurante.getZonasEntrega().add(new ZonaEntrega("Polígono", TipoZonaEntrega.POLIGONO, null,
+                        ZonasEntregaIndice.codificarVertices(vertices), null));
+            }
+            restaurantes.add(restaurante);
+        }
+        return restaurantes;
+    }
+
+    private List<Long> buscaExaustiva(List<Restaurante> restaurantes, double latitude, double longitude, int k) {
+        return restaurantes.stream()
+                .filter(r -> r.getZonasEntrega().stream().anyMatch(zona -> contem(r, zona, latitude, longitude)))
+                .sorted(Comparator.comparingDouble(
+                        r -> GeoUtils.distanciaKm(latitude, longitude, r.getLatitude(), r.getLongitude())))
+                .limit(k)
+                .map(Restaurante::getId)
+                .toList();
+    }
+
+    private boolean contem(Restaurante restaurante, ZonaEntrega zona, double latitude, double longitude) {
+        if (zona.getTipo() == TipoZonaEntrega.RAIO) {
+            return GeoUtils.distanciaKm(restaurante.getLatitude(), restaurante.getLongitude(), latitude, longitude)
+                    <= zona.getRaioKm();
+        }
+        Path2D.Double poligono = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+        List<double[]> vertices = ZonasEntregaIndice.decodificarVertices(zona.getVertices());
+        poligono.moveTo(vertices.get(0)[1], vertices.get(0)[0]);
+        for (double[] vertice : vertices.subList(1, vertices.size())) {
+            poligono.lineTo(vertice[1], vertice[0]);
+        }
+        poligono.closePath();
+        return poligono.contains(longitude, latitude);
+    }
+
+    private List<double[]> quadrado(double latitude, double longitude, double metadeLado) {
+        return List.of(
+                new double[] {latitude - metadeLado, longitude - metadeLado},
+                new double[] {latitude - metadeLado, longitude + metadeLado},
+                new double[] {latitude + metadeLado, longitude + metadeLado},
+                new double[] {latitude + metadeLado, longitude - metadeLado});
+    }
+
+    private Restaurante restauranteComRaio(Long id, double latitude, double longitude, double raioKm) {
+        Restaurante restaurante = restauranteEm(id, latitude, longitude);
+        restaurante.getZonasEntrega().add(new ZonaEntrega("Raio", TipoZonaEntrega.RAIO, raioKm, null, null));
+        return restaurante;
+    }
+
+    private Restaurante restauranteEm(Long id, double latitude, double longitude) {
+        Restaurante restaurante = RestauranteTestData.createRestauranteWithId(id);
+        restaurante.setLatitude(latitude);
+        restaurante.setLongitude(longitude);
+        return restaurante;
+    }
+}
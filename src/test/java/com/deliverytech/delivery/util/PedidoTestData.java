@@ -151,6 +151,39 @@ public class PedidoTestData {
         return restaurante;
     }
 
+    public static Produto createProdutoComRestaurante(Long produtoId, Long restauranteId) {
+        Restaurante restaurante = createValidRestaurante();
+        restaurante.setId(restauranteId);
+        Produto produto = new Produto();
+        produto.setId(produtoId);
+        produto.setNome("Pizza Margherita");
+        produto.setDescricao("Deliciosa pizza com molho de tomate e mussarela");
+        produto.setPreco(new BigDecimal("12.95"));
+        produto.setCategoria("Pizza");
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        return produto;
+    }
+
+    public static PedidoStatusResumo createStatusResumo(StatusPedido status) {
+        return new PedidoStatusResumo() {
+            @Override
+            public StatusPedido getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getRestauranteId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getClienteId() {
+                return 1L;
+            }
+        };
+    }
+
     public static RestauranteResponseDTO createValidRestauranteResponseDTO() {
         RestauranteResponseDTO restaurante = new RestauranteResponseDTO();
         restaurante.setId(1L);
@@ -17,6 +17,8 @@ public class RestauranteTestData {
         dto.setCategoria("Pizzaria");
         dto.setEndereco("Rua das Pizzas, 456 - Centro - São Paulo/SP - CEP: 01234-567");
         dto.setTaxaEntrega(new BigDecimal("5.50"));
+        dto.setLatitude(-23.5505);
+        dto.setLongitude(-46.6333);
         return dto;
     }
 